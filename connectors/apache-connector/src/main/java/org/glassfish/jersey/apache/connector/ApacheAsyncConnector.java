@@ -0,0 +1,955 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.apache.connector;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Configuration;
+
+import javax.net.ssl.SSLContext;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.PerRequestPropertiesConnector;
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.message.internal.OutboundMessageContext;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.AuthCache;
+import org.apache.http.client.CookieStore;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.conn.ssl.SSLContexts;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.auth.BasicScheme;
+import org.apache.http.impl.client.BasicAuthCache;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.ManagedNHttpClientConnectionFactory;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.conn.NHttpClientConnectionManager;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
+import org.apache.http.nio.entity.NByteArrayEntity;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.VersionInfo;
+
+import jersey.repackaged.com.google.common.util.concurrent.Futures;
+import jersey.repackaged.com.google.common.util.concurrent.MoreExecutors;
+import jersey.repackaged.com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * A {@link Connector} that utilizes the Apache HTTP Async Client to send and receive
+ * HTTP request and responses without blocking a thread for the whole duration of the request.
+ * <p>
+ * The connector supports the same properties as {@link ApacheConnector}, except that the
+ * {@link ApacheClientProperties#CONNECTION_MANAGER} property value (if set) MUST be an instance of
+ * {@link NHttpClientConnectionManager}.
+ * </p>
+ * <p>
+ * Request entities are serialized in the invoking thread. By default ({@link RequestEntityProcessing#CHUNKED}) the entity
+ * is streamed to the I/O reactor in chunks of the {@link ClientProperties#CHUNKED_ENCODING_SIZE configured size} and sent
+ * using the chunked transfer encoding; the serialization blocks while too much entity data wait to be sent. The request
+ * is sent once the entity serialization starts, i.e. once the request headers are final. Entities of requests with
+ * the {@link ClientProperties#REQUEST_ENTITY_PROCESSING} property set to {@link RequestEntityProcessing#BUFFERED} are
+ * buffered in memory and sent with a known {@code Content-Length}.
+ * </p>
+ * <p>
+ * The connection pool properties ({@link ApacheClientProperties#CONNECTION_POOL_MAX_TOTAL},
+ * {@link ApacheClientProperties#CONNECTION_POOL_MAX_PER_ROUTE}, {@link ApacheClientProperties#CONNECTION_POOL_ROUTE_MAX},
+ * {@link ApacheClientProperties#CONNECTION_POOL_TIME_TO_LIVE}) are applied to the connection manager created by the
+ * connector and are ignored (a warning is logged) if a custom connection manager is configured. Idle and expired
+ * connections of any pooling connection manager are evicted by a thread shared among all the Apache connectors.
+ * </p>
+ * <p>
+ * The response is made available as soon as the response status line and headers are received.
+ * The response entity is then streamed from the I/O reactor to the response entity input stream; the connection
+ * input is suspended whenever too much unread entity data is buffered. Consequently, the
+ * {@link AsyncConnectorCallback} passed to {@link #apply(ClientRequest, AsyncConnectorCallback)} is invoked
+ * from an I/O reactor thread and MUST NOT read the response entity in that thread.
+ * </p>
+ * <p>
+ * If a {@link org.glassfish.jersey.client.ClientResponse} is obtained and an entity is not read from the response then
+ * {@link org.glassfish.jersey.client.ClientResponse#close()} MUST be called after processing the response to release
+ * connection-based resources.
+ * </p>
+ *
+ * @see ApacheAsyncConnectorProvider
+ * @since 2.15
+ */
+class ApacheAsyncConnector implements PerRequestPropertiesConnector {
+
+    private static final Logger LOGGER = Logger.getLogger(ApacheAsyncConnector.class.getName());
+
+    private static final String release;
+
+    static {
+        final VersionInfo vi = VersionInfo.loadVersionInfo("org.apache.http.nio.client",
+                HttpAsyncClientBuilder.class.getClassLoader());
+        release = (vi != null) ? vi.getRelease() : VersionInfo.UNAVAILABLE;
+    }
+
+    /**
+     * Amount of unread response entity data after which the connection input is suspended.
+     */
+    private static final int MAX_BUFFERED_ENTITY_SIZE = 256 * 1024;
+    /**
+     * Amount of unsent request entity data after which the request entity serialization is blocked.
+     */
+    private static final int MAX_BUFFERED_REQUEST_ENTITY_SIZE = 256 * 1024;
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final ConnectionPoolMonitor.KnownRoutes knownRoutes = new ConnectionPoolMonitor.KnownRoutes();
+    private final ConnectionPoolMonitor poolMonitor;
+    private final CloseableHttpAsyncClient client;
+    private final CookieStore cookieStore;
+    private final boolean preemptiveBasicAuth;
+    private final RequestConfig requestConfig;
+    private final int chunkSize;
+
+    /**
+     * Create the new Apache HTTP Async Client connector.
+     *
+     * @param config client configuration.
+     */
+    ApacheAsyncConnector(final Configuration config) {
+        final SSLContext sslContext = ApacheConnector.getSslContext(config);
+        final HttpAsyncClientBuilder clientBuilder = HttpAsyncClientBuilder.create();
+
+        final NHttpClientConnectionManager connectionManager = getConnectionManager(config, sslContext);
+        clientBuilder.setConnectionManager(connectionManager);
+        if (sslContext != null) {
+            clientBuilder.setSSLContext(sslContext);
+        }
+
+        HttpHost proxy = null;
+        if (config != null) {
+            final Object credentialsProvider = config.getProperty(ApacheClientProperties.CREDENTIALS_PROVIDER);
+            if (credentialsProvider instanceof CredentialsProvider) {
+                clientBuilder.setDefaultCredentialsProvider((CredentialsProvider) credentialsProvider);
+            }
+
+            final Object proxyUri = config.getProperty(ClientProperties.PROXY_URI);
+            if (proxyUri != null) {
+                final URI u = ApacheConnector.getProxyUri(proxyUri);
+                final String userName =
+                        ClientProperties.getValue(config.getProperties(), ClientProperties.PROXY_USERNAME, String.class);
+                if (userName != null) {
+                    final String password =
+                            ClientProperties.getValue(config.getProperties(), ClientProperties.PROXY_PASSWORD, String.class);
+                    if (password != null) {
+                        final CredentialsProvider credsProvider = new BasicCredentialsProvider();
+                        credsProvider.setCredentials(
+                                new AuthScope(u.getHost(), u.getPort()),
+                                new UsernamePasswordCredentials(userName, password)
+                        );
+                        clientBuilder.setDefaultCredentialsProvider(credsProvider);
+                    }
+                }
+                proxy = new HttpHost(u.getHost(), u.getPort(), u.getScheme());
+            }
+
+            final Boolean preemptiveBasicAuthProperty = (Boolean) config.getProperties()
+                    .get(ApacheClientProperties.PREEMPTIVE_BASIC_AUTHENTICATION);
+            this.preemptiveBasicAuth = (preemptiveBasicAuthProperty != null) ? preemptiveBasicAuthProperty : false;
+        } else {
+            this.preemptiveBasicAuth = false;
+        }
+
+        requestConfig = ApacheConnector.createRequestConfig(config);
+        chunkSize = config == null ? DEFAULT_CHUNK_SIZE : ClientProperties.getValue(config.getProperties(),
+                ClientProperties.CHUNKED_ENCODING_SIZE, DEFAULT_CHUNK_SIZE, Integer.class);
+
+        if (requestConfig.getCookieSpec() == null || !requestConfig.getCookieSpec().equals(CookieSpecs.IGNORE_COOKIES)) {
+            this.cookieStore = new BasicCookieStore();
+            clientBuilder.setDefaultCookieStore(cookieStore);
+        } else {
+            this.cookieStore = null;
+        }
+        clientBuilder.setDefaultRequestConfig(requestConfig);
+        clientBuilder.setRoutePlanner(new RouteRecordingPlanner(
+                proxy != null ? new DefaultProxyRoutePlanner(proxy) : new DefaultRoutePlanner(null), knownRoutes));
+
+        this.client = clientBuilder.build();
+        this.client.start();
+        this.poolMonitor = createPoolMonitor(config, connectionManager);
+    }
+
+    private NHttpClientConnectionManager getConnectionManager(final Configuration config, final SSLContext sslContext) {
+        final Object cmObject = config == null ? null : config.getProperties().get(ApacheClientProperties.CONNECTION_MANAGER);
+
+        if (cmObject != null) {
+            if (cmObject instanceof NHttpClientConnectionManager) {
+                ApacheConnector.warnIgnoredPoolProperties(config.getProperties());
+                return (NHttpClientConnectionManager) cmObject;
+            } else {
+                LOGGER.log(
+                        Level.WARNING,
+                        LocalizationMessages.IGNORING_VALUE_OF_PROPERTY(
+                                ApacheClientProperties.CONNECTION_MANAGER,
+                                cmObject.getClass().getName(),
+                                NHttpClientConnectionManager.class.getName())
+                );
+            }
+        }
+
+        final Registry<SchemeIOSessionStrategy> registry = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", new SSLIOSessionStrategy(
+                        sslContext != null ? sslContext : SSLContexts.createDefault(),
+                        SSLIOSessionStrategy.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER))
+                .build();
+
+        final int timeToLive = config == null ? 0 : ClientProperties.getValue(config.getProperties(),
+                ApacheClientProperties.CONNECTION_POOL_TIME_TO_LIVE, 0, Integer.class);
+
+        final PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT), ManagedNHttpClientConnectionFactory.INSTANCE,
+                    registry, DefaultSchemePortResolver.INSTANCE, SystemDefaultDnsResolver.INSTANCE,
+                    timeToLive > 0 ? timeToLive : -1, TimeUnit.MILLISECONDS);
+        } catch (final IOReactorException e) {
+            throw new ProcessingException(LocalizationMessages.FAILED_TO_START_IO_REACTOR(e.getMessage()), e);
+        }
+
+        if (config != null) {
+            ApacheConnector.configurePool(connectionManager, config.getProperties(), knownRoutes);
+        }
+        return connectionManager;
+    }
+
+    private ConnectionPoolMonitor createPoolMonitor(final Configuration config,
+                                                    final NHttpClientConnectionManager connectionManager) {
+        if (!(connectionManager instanceof ConnPoolControl)) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        final ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(
+                connectionManager, (ConnPoolControl<HttpRoute>) connectionManager, knownRoutes);
+
+        if (config != null) {
+            ApacheConnector.configurePoolMonitor(monitor, config.getProperties());
+        }
+        return monitor;
+    }
+
+    /**
+     * Get the {@link HttpAsyncClient}.
+     *
+     * @return the {@link HttpAsyncClient}.
+     */
+    public HttpAsyncClient getHttpAsyncClient() {
+        return client;
+    }
+
+    /**
+     * Get the connection pool statistics.
+     *
+     * @return connection pool statistics or {@code null} if the connection manager used by the connector is not
+     * a connection pool.
+     */
+    public ConnectionPoolStatistics getConnectionPoolStatistics() {
+        return poolMonitor;
+    }
+
+    /**
+     * Get the {@link CookieStore}.
+     *
+     * @return the {@link CookieStore} instance or {@code null} when {@value ApacheClientProperties#DISABLE_COOKIES} set to
+     * {@code true}.
+     */
+    public CookieStore getCookieStore() {
+        return cookieStore;
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) throws ProcessingException {
+        final SettableFuture<ClientResponse> responseFuture = execute(request);
+        try {
+            return responseFuture.get();
+        } catch (final InterruptedException e) {
+            responseFuture.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ProcessingException) {
+                throw (ProcessingException) cause;
+            }
+            throw new ProcessingException(cause);
+        }
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        final SettableFuture<ClientResponse> responseFuture;
+        try {
+            responseFuture = execute(request);
+        } catch (final Throwable t) {
+            callback.failure(t);
+            return Futures.immediateFailedFuture(t);
+        }
+
+        Futures.addCallback(responseFuture,
+                new jersey.repackaged.com.google.common.util.concurrent.FutureCallback<ClientResponse>() {
+                    @Override
+                    public void onSuccess(final ClientResponse response) {
+                        callback.response(response);
+                    }
+
+                    @Override
+                    public void onFailure(final Throwable failure) {
+                        callback.failure(failure);
+                    }
+                });
+        return responseFuture;
+    }
+
+    /**
+     * Start the asynchronous execution of the request.
+     * <p>
+     * The request entity (if any) is serialized in the calling thread; a streamed entity is being sent while it is
+     * serialized. The returned future is completed as soon as the response head is received or the request execution
+     * fails; cancelling it aborts the HTTP exchange.
+     * </p>
+     *
+     * @param clientRequest client request to be executed.
+     * @return client response future.
+     */
+    private SettableFuture<ClientResponse> execute(final ClientRequest clientRequest) {
+        final SettableFuture<ClientResponse> responseFuture = SettableFuture.create();
+        if (clientRequest.getEntity() == null) {
+            start(clientRequest, null, responseFuture);
+            return responseFuture;
+        }
+        if (clientRequest.resolveProperty(ClientProperties.REQUEST_ENTITY_PROCESSING,
+                RequestEntityProcessing.class) == RequestEntityProcessing.BUFFERED) {
+            start(clientRequest, getBufferedEntity(clientRequest), responseFuture);
+            return responseFuture;
+        }
+
+        final StreamedEntity entity = new StreamedEntity(chunkSize);
+        clientRequest.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+            @Override
+            public OutputStream getOutputStream(final int contentLength) throws IOException {
+                // the entity headers are final once the entity stream is committed
+                start(clientRequest, entity, responseFuture);
+                return entity.outputStream;
+            }
+        });
+        try {
+            clientRequest.writeEntity();
+        } catch (final IOException e) {
+            abort(entity, responseFuture, e);
+            throw new ProcessingException(LocalizationMessages.ERROR_WRITING_ENTITY(), e);
+        } catch (final RuntimeException e) {
+            abort(entity, responseFuture, e);
+            throw e;
+        }
+        return responseFuture;
+    }
+
+    private static void abort(final StreamedEntity entity,
+                              final SettableFuture<ClientResponse> responseFuture,
+                              final Exception failure) {
+        entity.fail(failure);
+        // aborts the exchange, if started
+        responseFuture.cancel(true);
+    }
+
+    private void start(final ClientRequest clientRequest,
+                       final HttpEntity entity,
+                       final SettableFuture<ClientResponse> responseFuture) {
+        final HttpUriRequest request = getUriHttpRequest(clientRequest, entity);
+        final Map<String, String> clientHeadersSnapshot =
+                ApacheConnector.writeOutBoundHeaders(clientRequest.getHeaders(), request);
+        HeaderUtils.checkHeaderChanges(clientHeadersSnapshot, clientRequest.getHeaders(), this.getClass().getName());
+
+        final HttpHost host = new HttpHost(request.getURI().getHost(), request.getURI().getPort(), request.getURI().getScheme());
+        final HttpClientContext context = HttpClientContext.create();
+        if (preemptiveBasicAuth) {
+            final AuthCache authCache = new BasicAuthCache();
+            authCache.put(host, new BasicScheme());
+            context.setAuthCache(authCache);
+        }
+
+        final ResponseConsumer consumer = new ResponseConsumer(clientRequest, context, responseFuture);
+
+        final Future<ClientResponse> exchange = client.execute(HttpAsyncMethods.create(host, request), consumer, context,
+                new FutureCallback<ClientResponse>() {
+                    @Override
+                    public void completed(final ClientResponse result) {
+                        consumer.entityStream.complete(null);
+                    }
+
+                    @Override
+                    public void failed(final Exception ex) {
+                        fail(ex);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        fail(new CancellationException());
+                    }
+
+                    private void fail(final Exception ex) {
+                        consumer.entityStream.complete(ex);
+                        responseFuture.setException(ex instanceof ProcessingException ? ex : new ProcessingException(ex));
+                    }
+                });
+        consumer.entityStream.exchange = exchange;
+
+        responseFuture.addListener(new Runnable() {
+            @Override
+            public void run() {
+                if (responseFuture.isCancelled()) {
+                    exchange.cancel(true);
+                }
+            }
+        }, MoreExecutors.sameThreadExecutor());
+    }
+
+    private HttpUriRequest getUriHttpRequest(final ClientRequest clientRequest, final HttpEntity entity) {
+        return RequestBuilder
+                .create(clientRequest.getMethod())
+                .setUri(clientRequest.getUri())
+                .setConfig(ApacheConnector.resolveRequestConfig(requestConfig, clientRequest))
+                .setEntity(entity)
+                .build();
+    }
+
+    private static HttpEntity getBufferedEntity(final ClientRequest clientRequest) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        clientRequest.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+            @Override
+            public OutputStream getOutputStream(final int contentLength) throws IOException {
+                return buffer;
+            }
+        });
+        try {
+            clientRequest.writeEntity();
+        } catch (final IOException e) {
+            throw new ProcessingException(LocalizationMessages.ERROR_BUFFERING_ENTITY(), e);
+        }
+        return new NByteArrayEntity(buffer.toByteArray());
+    }
+
+    @Override
+    public String getName() {
+        return "Apache HttpAsyncClient " + release;
+    }
+
+    @Override
+    public Set<String> getPerRequestProperties() {
+        return ApacheConnector.PER_REQUEST_PROPERTIES;
+    }
+
+    @Override
+    public void close() {
+        if (poolMonitor != null) {
+            poolMonitor.close();
+        }
+        try {
+            client.close();
+        } catch (final IOException e) {
+            throw new ProcessingException(LocalizationMessages.FAILED_TO_STOP_CLIENT(), e);
+        }
+    }
+
+    /**
+     * Route planner recording the planned routes as the routes known to the connection pool. The non-blocking
+     * connection factory is not aware of the routes of the created connections.
+     */
+    private static final class RouteRecordingPlanner implements HttpRoutePlanner {
+
+        private final HttpRoutePlanner planner;
+        private final ConnectionPoolMonitor.KnownRoutes routes;
+
+        private RouteRecordingPlanner(final HttpRoutePlanner planner, final ConnectionPoolMonitor.KnownRoutes routes) {
+            this.planner = planner;
+            this.routes = routes;
+        }
+
+        @Override
+        public HttpRoute determineRoute(final HttpHost target, final HttpRequest request, final HttpContext context)
+                throws HttpException {
+            final HttpRoute route = planner.determineRoute(target, request, context);
+            routes.addConnected(route);
+            return route;
+        }
+    }
+
+    /**
+     * Request entity sent by the I/O reactor while it is being serialized.
+     * <p>
+     * The entity is written to the {@link #outputStream entity output stream} in chunks of the configured size
+     * which are sent using the chunked transfer encoding. Writing blocks once the amount of unsent data exceeds
+     * {@link #MAX_BUFFERED_REQUEST_ENTITY_SIZE}; the connection output is suspended while no data are waiting
+     * to be sent. Data written once the exchange has been completed (e.g. the response has been received before
+     * the whole entity was sent) or aborted are discarded.
+     * </p>
+     */
+    private static final class StreamedEntity extends AbstractHttpEntity implements HttpAsyncContentProducer {
+
+        private final Deque<ByteBuffer> chunks = new ArrayDeque<ByteBuffer>();
+        private final Object lock = new Object();
+        private final OutputStream outputStream;
+
+        private int buffered;
+        private boolean completed;
+        private boolean closed;
+        private IOException failure;
+        private IOControl suspended;
+
+        private StreamedEntity(final int chunkSize) {
+            this.outputStream = new ChunkOutputStream(chunkSize);
+            setChunked(true);
+        }
+
+        private void put(final ByteBuffer chunk) throws IOException {
+            synchronized (lock) {
+                while (buffered >= MAX_BUFFERED_REQUEST_ENTITY_SIZE && !closed && failure == null) {
+                    try {
+                        lock.wait();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+                if (closed || failure != null) {
+                    return;
+                }
+                chunks.add(chunk);
+                buffered += chunk.remaining();
+                resume();
+            }
+        }
+
+        private void complete() {
+            synchronized (lock) {
+                completed = true;
+                resume();
+            }
+        }
+
+        private void fail(final Exception failure) {
+            synchronized (lock) {
+                this.failure = failure instanceof IOException ? (IOException) failure : new IOException(failure);
+                chunks.clear();
+                buffered = 0;
+                lock.notifyAll();
+                resume();
+            }
+        }
+
+        private void resume() {
+            if (suspended != null) {
+                suspended.requestOutput();
+                suspended = null;
+            }
+        }
+
+        @Override
+        public void produceContent(final ContentEncoder encoder, final IOControl ioctrl) throws IOException {
+            synchronized (lock) {
+                if (failure != null) {
+                    throw failure;
+                }
+                ByteBuffer chunk;
+                while ((chunk = chunks.peek()) != null) {
+                    buffered -= encoder.write(chunk);
+                    if (chunk.hasRemaining()) {
+                        // the channel is full, the rest is written once the channel is writable
+                        break;
+                    }
+                    chunks.poll();
+                }
+                lock.notifyAll();
+
+                if (chunks.isEmpty()) {
+                    if (completed) {
+                        encoder.complete();
+                    } else {
+                        suspended = ioctrl;
+                        ioctrl.suspendOutput();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (lock) {
+                closed = true;
+                chunks.clear();
+                buffered = 0;
+                suspended = null;
+                lock.notifyAll();
+            }
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return true;
+        }
+
+        @Override
+        public InputStream getContent() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void writeTo(final OutputStream out) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Entity output stream handing the written data over to the I/O reactor in chunks.
+         */
+        private final class ChunkOutputStream extends OutputStream {
+
+            private final int chunkSize;
+            private byte[] chunk;
+            private int position;
+
+            private ChunkOutputStream(final int chunkSize) {
+                this.chunkSize = chunkSize;
+                this.chunk = new byte[chunkSize];
+            }
+
+            @Override
+            public void write(final int b) throws IOException {
+                if (position == chunkSize) {
+                    flushChunk();
+                }
+                chunk[position++] = (byte) b;
+            }
+
+            @Override
+            public void write(final byte[] b, int off, int len) throws IOException {
+                while (len > 0) {
+                    if (position == chunkSize) {
+                        flushChunk();
+                    }
+                    final int written = Math.min(len, chunkSize - position);
+                    System.arraycopy(b, off, chunk, position, written);
+                    position += written;
+                    off += written;
+                    len -= written;
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (position > 0) {
+                    flushChunk();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+                complete();
+            }
+
+            private void flushChunk() throws IOException {
+                put(ByteBuffer.wrap(chunk, 0, position));
+                chunk = new byte[chunkSize];
+                position = 0;
+            }
+        }
+    }
+
+    /**
+     * Response consumer that completes the response future once the response head is received and
+     * feeds the response entity data to the {@link EntityStream response entity stream}.
+     */
+    private static final class ResponseConsumer extends AbstractAsyncResponseConsumer<ClientResponse> {
+
+        private final ClientRequest clientRequest;
+        private final HttpClientContext context;
+        private final SettableFuture<ClientResponse> responseFuture;
+        private final EntityStream entityStream = new EntityStream();
+
+        private ClientResponse response;
+        private ByteBuffer readBuffer;
+
+        private ResponseConsumer(final ClientRequest clientRequest,
+                                 final HttpClientContext context,
+                                 final SettableFuture<ClientResponse> responseFuture) {
+            this.clientRequest = clientRequest;
+            this.context = context;
+            this.responseFuture = responseFuture;
+        }
+
+        @Override
+        protected void onResponseReceived(final HttpResponse httpResponse) throws HttpException, IOException {
+            response = ApacheConnector.createResponse(httpResponse, clientRequest, context);
+            response.setEntityStream(entityStream);
+            if (httpResponse.getEntity() == null) {
+                entityStream.complete(null);
+            }
+            responseFuture.set(response);
+        }
+
+        @Override
+        protected void onEntityEnclosed(final HttpEntity entity, final ContentType contentType) throws IOException {
+            readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        }
+
+        @Override
+        protected void onContentReceived(final ContentDecoder decoder, final IOControl ioctrl) throws IOException {
+            int read;
+            while ((read = decoder.read(readBuffer)) > 0) {
+                readBuffer.flip();
+                final byte[] chunk = new byte[read];
+                readBuffer.get(chunk);
+                readBuffer.clear();
+                entityStream.feed(chunk, ioctrl);
+            }
+        }
+
+        @Override
+        protected ClientResponse buildResult(final HttpContext context) throws Exception {
+            return response;
+        }
+
+        @Override
+        protected void releaseResources() {
+            readBuffer = null;
+        }
+    }
+
+    /**
+     * Response entity input stream fed by the I/O reactor.
+     * <p>
+     * Reads block until the entity data are available. The connection input is suspended once the amount of unread
+     * data exceeds {@link #MAX_BUFFERED_ENTITY_SIZE} and resumed once the reader drains half of it.
+     * </p>
+     */
+    private static final class EntityStream extends InputStream {
+
+        private final Deque<byte[]> chunks = new ArrayDeque<byte[]>();
+        private final Object lock = new Object();
+
+        private volatile Future<?> exchange;
+
+        private byte[] current;
+        private int position;
+        private int buffered;
+        private boolean completed;
+        private boolean closed;
+        private Exception failure;
+        private IOControl suspended;
+
+        private void feed(final byte[] chunk, final IOControl ioctrl) {
+            synchronized (lock) {
+                if (closed) {
+                    return;
+                }
+                chunks.add(chunk);
+                buffered += chunk.length;
+                if (buffered > MAX_BUFFERED_ENTITY_SIZE && suspended == null) {
+                    suspended = ioctrl;
+                    ioctrl.suspendInput();
+                }
+                lock.notifyAll();
+            }
+        }
+
+        private void complete(final Exception failure) {
+            synchronized (lock) {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+                this.failure = failure;
+                lock.notifyAll();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            final int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            synchronized (lock) {
+                while (current == null) {
+                    if (closed) {
+                        throw new IOException(LocalizationMessages.ERROR_READING_CLOSED_STREAM());
+                    }
+                    current = chunks.poll();
+                    if (current != null) {
+                        position = 0;
+                        break;
+                    }
+                    if (completed) {
+                        if (failure != null) {
+                            throw failure instanceof IOException ? (IOException) failure : new IOException(failure);
+                        }
+                        return -1;
+                    }
+                    try {
+                        lock.wait();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+
+                final int read = Math.min(len, current.length - position);
+                System.arraycopy(current, position, b, off, read);
+                position += read;
+                if (position == current.length) {
+                    current = null;
+                }
+                buffered -= read;
+                if (suspended != null && buffered < MAX_BUFFERED_ENTITY_SIZE / 2) {
+                    suspended.requestInput();
+                    suspended = null;
+                }
+                return read;
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            synchronized (lock) {
+                return buffered;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            final boolean abort;
+            synchronized (lock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                abort = !completed;
+                chunks.clear();
+                current = null;
+                buffered = 0;
+                lock.notifyAll();
+            }
+            final Future<?> exchange = this.exchange;
+            if (abort && exchange != null) {
+                // the entity has not been fully received - the connection cannot be reused
+                exchange.cancel(true);
+            }
+        }
+    }
+}
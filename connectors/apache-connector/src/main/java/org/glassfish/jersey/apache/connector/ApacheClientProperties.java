@@ -118,6 +118,10 @@ public final class ApacheClientProperties {
      * If you want to use this client in multi-threaded environment, be sure you override default value with
      * {@link org.apache.http.impl.conn.PoolingHttpClientConnectionManager} instance.
      * <p/>
+     * Connectors created by {@link ApacheAsyncConnectorProvider} require an instance of
+     * {@code org.apache.http.nio.conn.NHttpClientConnectionManager} instead. If the property is absent,
+     * a pooling connection manager backed by a default I/O reactor is used by these connectors.
+     * <p/>
      * The name of the configuration property is <tt>{@value}</tt>.
      */
     public static final String CONNECTION_MANAGER = "jersey.config.apache.client.connectionManager";
@@ -135,6 +139,141 @@ public final class ApacheClientProperties {
      */
     public static final String REQUEST_CONFIG = "jersey.config.apache.client.requestConfig";
 
+    /**
+     * The maximum number of connections kept by the default connection pool in total.
+     * <p/>
+     * The property is ignored if a custom {@link #CONNECTION_MANAGER connection manager} is configured.
+     * <p/>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * <p/>
+     * If the property is absent the Apache HTTP client default ({@code 20}) is used.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 2.15
+     */
+    public static final String CONNECTION_POOL_MAX_TOTAL = "jersey.config.apache.client.connectionPool.maxTotal";
+
+    /**
+     * The default maximum number of connections kept by the default connection pool per route.
+     * <p/>
+     * The property is ignored if a custom {@link #CONNECTION_MANAGER connection manager} is configured.
+     * <p/>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * <p/>
+     * If the property is absent the Apache HTTP client default ({@code 2}) is used.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 2.15
+     */
+    public static final String CONNECTION_POOL_MAX_PER_ROUTE = "jersey.config.apache.client.connectionPool.maxPerRoute";
+
+    /**
+     * Maximum numbers of pooled connections for particular routes, overriding the
+     * {@link #CONNECTION_POOL_MAX_PER_ROUTE default maximum per route}.
+     * <p/>
+     * The property is ignored if a custom {@link #CONNECTION_MANAGER connection manager} is configured.
+     * <p/>
+     * The value MUST be an instance of {@link java.util.Map} of routes to {@link java.lang.Integer} maximums. A route
+     * may be specified either as an {@link org.apache.http.conn.routing.HttpRoute}, as a target
+     * {@link org.apache.http.HttpHost} or as a target {@link java.net.URI} or {@code String} (e.g.
+     * {@code "https://example.com"}). Routes specified by a target host are direct routes, routes through a proxy
+     * have to be specified as {@code HttpRoute} instances.
+     * <p/>
+     * A default value is not set.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 2.15
+     */
+    public static final String CONNECTION_POOL_ROUTE_MAX = "jersey.config.apache.client.connectionPool.routeMax";
+
+    /**
+     * The time to live of pooled connections in milliseconds. Connections older than the time to live are
+     * not reused and are closed.
+     * <p/>
+     * The property is ignored if a custom {@link #CONNECTION_MANAGER connection manager} is configured.
+     * <p/>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * <p/>
+     * If the property is absent the pooled connections are kept alive as long as allowed by the server.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 2.15
+     */
+    public static final String CONNECTION_POOL_TIME_TO_LIVE = "jersey.config.apache.client.connectionPool.timeToLive";
+
+    /**
+     * The time in milliseconds after which idle pooled connections are evicted (closed) by a background task
+     * of the connector.
+     * <p/>
+     * Setting either this property or the {@link #CONNECTION_POOL_TIME_TO_LIVE connection time to live} starts the
+     * background eviction task that also closes expired connections. The task runs every
+     * {@link #CONNECTION_POOL_EVICTION_INTERVAL eviction interval}.
+     * <p/>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * <p/>
+     * A default value is not set, idle connections are not evicted.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 2.15
+     */
+    public static final String CONNECTION_POOL_IDLE_TIMEOUT = "jersey.config.apache.client.connectionPool.idleTimeout";
+
+    /**
+     * The interval in milliseconds in which the background task evicts idle and expired pooled connections.
+     * <p/>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * <p/>
+     * The default value is {@code 5000}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 2.15
+     */
+    public static final String CONNECTION_POOL_EVICTION_INTERVAL =
+            "jersey.config.apache.client.connectionPool.evictionInterval";
+
+    /**
+     * Enables ({@code true}) or disables ({@code false}) the check of stale pooled connections before they are reused
+     * for a request.
+     * <p/>
+     * The check adds a small overhead to each request, but prevents failures of requests sent over connections
+     * that have been closed by the server while they were idle in the pool. When the check is disabled, the
+     * {@link #CONNECTION_POOL_IDLE_TIMEOUT idle connection eviction} should be used to limit such failures.
+     * <p/>
+     * The value MUST be an instance convertible to {@link java.lang.Boolean}.
+     * <p/>
+     * If the property is absent the setting of the {@link #REQUEST_CONFIG request config} is used (the check
+     * is enabled by default).
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 2.15
+     */
+    public static final String CONNECTION_POOL_VALIDATE_CONNECTIONS =
+            "jersey.config.apache.client.connectionPool.validateConnections";
+
+    /**
+     * A value of {@code true} registers the {@link ConnectionPoolStatistics connection pool statistics} of the
+     * connector as an MXBean in the platform MBean server.
+     * <p/>
+     * The MXBean is registered under the {@code org.glassfish.jersey:type=ApacheConnector,subType=ConnectionPool,name=[id]}
+     * object name and unregistered once the connector is closed.
+     * <p/>
+     * The value MUST be an instance convertible to {@link java.lang.Boolean}.
+     * <p/>
+     * The default value is {@code false}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 2.15
+     */
+    public static final String CONNECTION_POOL_MBEANS_ENABLED = "jersey.config.apache.client.connectionPool.mbeansEnabled";
+
     private ApacheClientProperties() {
         // prevents instantiation
     }
@@ -49,9 +49,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -72,6 +77,7 @@ import org.glassfish.jersey.client.ClientResponse;
 import org.glassfish.jersey.client.RequestEntityProcessing;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.PerRequestPropertiesConnector;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.message.internal.HeaderUtils;
 import org.glassfish.jersey.message.internal.OutboundMessageContext;
@@ -81,6 +87,8 @@ import org.glassfish.jersey.message.internal.Statuses;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.AuthCache;
@@ -119,6 +127,7 @@ import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.impl.io.ChunkedOutputStream;
 import org.apache.http.io.SessionOutputBuffer;
+import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.util.TextUtils;
 import org.apache.http.util.VersionInfo;
 
@@ -140,6 +149,14 @@ import jersey.repackaged.com.google.common.util.concurrent.MoreExecutors;
  * <li>{@link ClientProperties#REQUEST_ENTITY_PROCESSING} - default value is {@link RequestEntityProcessing#CHUNKED}</li>
  * <li>{@link ApacheClientProperties#PREEMPTIVE_BASIC_AUTHENTICATION}</li>
  * <li>{@link ApacheClientProperties#SSL_CONFIG}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_MAX_TOTAL}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_MAX_PER_ROUTE}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_ROUTE_MAX}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_TIME_TO_LIVE}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_IDLE_TIMEOUT}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_EVICTION_INTERVAL}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_VALIDATE_CONNECTIONS}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_MBEANS_ENABLED}</li>
  * </ul>
  * <p>
  * This connector uses {@link RequestEntityProcessing#CHUNKED chunked encoding} as a default setting. This can
@@ -183,22 +200,38 @@ import jersey.repackaged.com.google.common.util.concurrent.MoreExecutors;
  * @see ApacheClientProperties#CONNECTION_MANAGER
  */
 @SuppressWarnings("deprecation")
-class ApacheConnector implements Connector {
+class ApacheConnector implements PerRequestPropertiesConnector {
 
     private static final Logger LOGGER = Logger.getLogger(ApacheConnector.class.getName());
 
+    /**
+     * Properties resolved per request by {@link #resolveRequestConfig(RequestConfig, ClientRequest)}.
+     */
+    static final Set<String> REQUEST_CONFIG_PROPERTIES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            ClientProperties.FOLLOW_REDIRECTS,
+            ClientProperties.CONNECT_TIMEOUT,
+            ClientProperties.READ_TIMEOUT)));
+
+    static final Set<String> PER_REQUEST_PROPERTIES;
+
     private static final VersionInfo vi;
     private static final String release;
 
     static {
         vi = VersionInfo.loadVersionInfo("org.apache.http.client", HttpClientBuilder.class.getClassLoader());
         release = (vi != null) ? vi.getRelease() : VersionInfo.UNAVAILABLE;
+
+        final Set<String> perRequestProperties = new HashSet<String>(REQUEST_CONFIG_PROPERTIES);
+        perRequestProperties.add(ClientProperties.REQUEST_ENTITY_PROCESSING);
+        PER_REQUEST_PROPERTIES = Collections.unmodifiableSet(perRequestProperties);
     }
 
     private final CloseableHttpClient client;
     private final CookieStore cookieStore;
     private final boolean preemptiveBasicAuth;
     private final RequestConfig requestConfig;
+    private final ConnectionPoolMonitor.KnownRoutes knownRoutes = new ConnectionPoolMonitor.KnownRoutes();
+    private final ConnectionPoolMonitor poolMonitor;
 
     /**
      * Create the new Apache HTTP Client connector.
@@ -206,8 +239,6 @@ class ApacheConnector implements Connector {
      * @param config client configuration.
      */
     ApacheConnector(final Configuration config) {
-        Object reqConfig = null;
-
         if (config != null) {
             final Object connectionManager = config.getProperties().get(ApacheClientProperties.CONNECTION_MANAGER);
 
@@ -222,38 +253,17 @@ class ApacheConnector implements Connector {
                     );
                 }
             }
-
-            reqConfig = config.getProperties().get(ApacheClientProperties.REQUEST_CONFIG);
-            if (reqConfig != null) {
-                if (!(reqConfig instanceof RequestConfig)) {
-                    LOGGER.log(
-                            Level.WARNING,
-                            LocalizationMessages.IGNORING_VALUE_OF_PROPERTY(
-                                    ApacheClientProperties.REQUEST_CONFIG,
-                                    reqConfig.getClass().getName(),
-                                    RequestConfig.class.getName())
-                    );
-                    reqConfig = null;
-                }
-            }
         }
 
         final SSLContext sslContext = getSslContext(config);
         final HttpClientBuilder clientBuilder = HttpClientBuilder.create();
 
-        clientBuilder.setConnectionManager(getConnectionManager(config, sslContext));
+        final HttpClientConnectionManager connectionManager = getConnectionManager(config, sslContext);
+        clientBuilder.setConnectionManager(connectionManager);
         clientBuilder.setSslcontext(sslContext);
+        this.poolMonitor = createPoolMonitor(config, connectionManager);
 
-        final RequestConfig.Builder requestConfigBuilder = RequestConfig.custom();
-
-        int connectTimeout = 0;
-        int socketTimeout = 0;
-        boolean ignoreCookies = false;
         if (config != null) {
-            connectTimeout = ClientProperties.getValue(config.getProperties(), ClientProperties.CONNECT_TIMEOUT, 0);
-            socketTimeout = ClientProperties.getValue(config.getProperties(), ClientProperties.READ_TIMEOUT, 0);
-            ignoreCookies = PropertiesHelper.isProperty(config.getProperties(), ApacheClientProperties.DISABLE_COOKIES);
-
             final Object credentialsProvider = config.getProperty(ApacheClientProperties.CREDENTIALS_PROVIDER);
             if (credentialsProvider != null && (credentialsProvider instanceof CredentialsProvider)) {
                 clientBuilder.setDefaultCredentialsProvider((CredentialsProvider) credentialsProvider);
@@ -289,6 +299,52 @@ class ApacheConnector implements Connector {
             this.preemptiveBasicAuth = false;
         }
 
+        requestConfig = createRequestConfig(config);
+
+        if (requestConfig.getCookieSpec() == null || !requestConfig.getCookieSpec().equals(CookieSpecs.IGNORE_COOKIES)) {
+            this.cookieStore = new BasicCookieStore();
+            clientBuilder.setDefaultCookieStore(cookieStore);
+        } else {
+            this.cookieStore = null;
+        }
+        clientBuilder.setDefaultRequestConfig(requestConfig);
+        this.client = clientBuilder.build();
+    }
+
+    /**
+     * Create the default request configuration from the client configuration properties.
+     *
+     * @param config client configuration.
+     * @return default request configuration.
+     */
+    static RequestConfig createRequestConfig(final Configuration config) {
+        Object reqConfig = null;
+        int connectTimeout = 0;
+        int socketTimeout = 0;
+        boolean ignoreCookies = false;
+        Boolean validateConnections = null;
+
+        if (config != null) {
+            reqConfig = config.getProperties().get(ApacheClientProperties.REQUEST_CONFIG);
+            if (reqConfig != null) {
+                if (!(reqConfig instanceof RequestConfig)) {
+                    LOGGER.log(
+                            Level.WARNING,
+                            LocalizationMessages.IGNORING_VALUE_OF_PROPERTY(
+                                    ApacheClientProperties.REQUEST_CONFIG,
+                                    reqConfig.getClass().getName(),
+                                    RequestConfig.class.getName())
+                    );
+                    reqConfig = null;
+                }
+            }
+
+            connectTimeout = ClientProperties.getValue(config.getProperties(), ClientProperties.CONNECT_TIMEOUT, 0);
+            socketTimeout = ClientProperties.getValue(config.getProperties(), ClientProperties.READ_TIMEOUT, 0);
+            ignoreCookies = PropertiesHelper.isProperty(config.getProperties(), ApacheClientProperties.DISABLE_COOKIES);
+            validateConnections = ClientProperties.getValue(config.getProperties(),
+                    ApacheClientProperties.CONNECTION_POOL_VALIDATE_CONNECTIONS, Boolean.class);
+        }
 
         if (reqConfig != null) {
             final RequestConfig.Builder reqConfigBuilder = RequestConfig.copy((RequestConfig) reqConfig);
@@ -301,27 +357,25 @@ class ApacheConnector implements Connector {
             if (ignoreCookies) {
                 reqConfigBuilder.setCookieSpec(CookieSpecs.IGNORE_COOKIES);
             }
-            requestConfig = reqConfigBuilder.build();
+            if (validateConnections != null) {
+                reqConfigBuilder.setStaleConnectionCheckEnabled(validateConnections);
+            }
+            return reqConfigBuilder.build();
         } else {
+            final RequestConfig.Builder requestConfigBuilder = RequestConfig.custom();
             requestConfigBuilder.setConnectTimeout(connectTimeout);
             requestConfigBuilder.setSocketTimeout(socketTimeout);
             if (ignoreCookies) {
                 requestConfigBuilder.setCookieSpec(CookieSpecs.IGNORE_COOKIES);
             }
-            requestConfig = requestConfigBuilder.build();
-        }
-
-        if (requestConfig.getCookieSpec() == null || !requestConfig.getCookieSpec().equals(CookieSpecs.IGNORE_COOKIES)) {
-            this.cookieStore = new BasicCookieStore();
-            clientBuilder.setDefaultCookieStore(cookieStore);
-        } else {
-            this.cookieStore = null;
+            if (validateConnections != null) {
+                requestConfigBuilder.setStaleConnectionCheckEnabled(validateConnections);
+            }
+            return requestConfigBuilder.build();
         }
-        clientBuilder.setDefaultRequestConfig(requestConfig);
-        this.client = clientBuilder.build();
     }
 
-    private SSLContext getSslContext(final Configuration config) {
+    static SSLContext getSslContext(final Configuration config) {
         if (config == null) {
             return null;
         }
@@ -340,6 +394,7 @@ class ApacheConnector implements Connector {
         // Connection manager from configuration.
         if (cmObject != null) {
             if (cmObject instanceof HttpClientConnectionManager) {
+                warnIgnoredPoolProperties(config.getProperties());
                 return (HttpClientConnectionManager) cmObject;
             } else {
                 LOGGER.log(
@@ -399,8 +454,12 @@ class ApacheConnector implements Connector {
         final Integer chunkSize = ClientProperties.getValue(config.getProperties(),
                 ClientProperties.CHUNKED_ENCODING_SIZE, 4096, Integer.class);
 
-        final PoolingHttpClientConnectionManager connectionManager =
-                new PoolingHttpClientConnectionManager(registry, new ConnectionFactory(chunkSize));
+        final int timeToLive = ClientProperties.getValue(config.getProperties(),
+                ApacheClientProperties.CONNECTION_POOL_TIME_TO_LIVE, 0, Integer.class);
+
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                registry, new ConnectionFactory(chunkSize, knownRoutes), null, null,
+                timeToLive > 0 ? timeToLive : -1, TimeUnit.MILLISECONDS);
 
         if (useSystemProperties) {
             String s = System.getProperty("http.keepAlive", "true");
@@ -412,9 +471,133 @@ class ApacheConnector implements Connector {
             }
         }
 
+        configurePool(connectionManager, config.getProperties(), knownRoutes);
+
         return connectionManager;
     }
 
+    /**
+     * Log a warning if any of the connection pool properties that are applied only to the connection manager created
+     * by the connector is set, although a custom {@link ApacheClientProperties#CONNECTION_MANAGER connection manager}
+     * is configured.
+     *
+     * @param properties client configuration properties.
+     */
+    static void warnIgnoredPoolProperties(final Map<String, Object> properties) {
+        final List<String> ignored = new ArrayList<String>();
+        for (final String name : new String[] {
+                ApacheClientProperties.CONNECTION_POOL_MAX_TOTAL,
+                ApacheClientProperties.CONNECTION_POOL_MAX_PER_ROUTE,
+                ApacheClientProperties.CONNECTION_POOL_ROUTE_MAX,
+                ApacheClientProperties.CONNECTION_POOL_TIME_TO_LIVE}) {
+            if (properties.containsKey(name)) {
+                ignored.add(name);
+            }
+        }
+        if (!ignored.isEmpty()) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.IGNORING_CONNECTION_POOL_PROPERTIES(ignored));
+        }
+    }
+
+    /**
+     * Apply the connection pool size limits configured in the client properties to the connection pool.
+     *
+     * @param pool        connection pool to be configured.
+     * @param properties  client configuration properties.
+     * @param knownRoutes routes known to the connection pool, updated with the configured routes.
+     */
+    static void configurePool(final ConnPoolControl<HttpRoute> pool,
+                              final Map<String, Object> properties,
+                              final ConnectionPoolMonitor.KnownRoutes knownRoutes) {
+        final Integer maxTotal = ClientProperties.getValue(properties,
+                ApacheClientProperties.CONNECTION_POOL_MAX_TOTAL, Integer.class);
+        if (maxTotal != null && maxTotal > 0) {
+            pool.setMaxTotal(maxTotal);
+        }
+        final Integer maxPerRoute = ClientProperties.getValue(properties,
+                ApacheClientProperties.CONNECTION_POOL_MAX_PER_ROUTE, Integer.class);
+        if (maxPerRoute != null && maxPerRoute > 0) {
+            pool.setDefaultMaxPerRoute(maxPerRoute);
+        }
+        final Map<?, ?> routeMax = ClientProperties.getValue(properties,
+                ApacheClientProperties.CONNECTION_POOL_ROUTE_MAX, Map.class);
+        if (routeMax != null) {
+            for (final Map.Entry<?, ?> entry : routeMax.entrySet()) {
+                final HttpRoute route = toRoute(entry.getKey());
+                final Integer max = PropertiesHelper.convertValue(entry.getValue(), Integer.class);
+                if (route != null && max != null && max > 0) {
+                    pool.setMaxPerRoute(route, max);
+                    knownRoutes.addConfigured(route);
+                }
+            }
+        }
+    }
+
+    private static HttpRoute toRoute(final Object route) {
+        if (route instanceof HttpRoute) {
+            return (HttpRoute) route;
+        }
+
+        final HttpHost host;
+        if (route instanceof HttpHost) {
+            host = (HttpHost) route;
+        } else if (route instanceof URI || route instanceof String) {
+            final URI uri = route instanceof URI ? (URI) route : URI.create((String) route);
+            host = new HttpHost(uri.getHost(), uri.getPort() != -1 ? uri.getPort() : getDefaultPort(uri.getScheme()),
+                    uri.getScheme());
+        } else {
+            LOGGER.log(Level.WARNING, LocalizationMessages.IGNORING_CONNECTION_POOL_ROUTE(
+                    route, route == null ? null : route.getClass().getName()));
+            return null;
+        }
+
+        final boolean secure = "https".equalsIgnoreCase(host.getSchemeName());
+        final HttpHost target = host.getPort() != -1 ? host
+                : new HttpHost(host.getHostName(), getDefaultPort(host.getSchemeName()), host.getSchemeName());
+        return new HttpRoute(target, null, secure);
+    }
+
+    private static int getDefaultPort(final String scheme) {
+        return "https".equalsIgnoreCase(scheme) ? 443 : 80;
+    }
+
+    private ConnectionPoolMonitor createPoolMonitor(final Configuration config,
+                                                    final HttpClientConnectionManager connectionManager) {
+        if (!(connectionManager instanceof ConnPoolControl)) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        final ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(
+                connectionManager, (ConnPoolControl<HttpRoute>) connectionManager, knownRoutes);
+
+        if (config != null) {
+            configurePoolMonitor(monitor, config.getProperties());
+        }
+        return monitor;
+    }
+
+    /**
+     * Start the connection eviction and register the statistics MBean of the connection pool monitor
+     * as configured in the client properties.
+     *
+     * @param monitor    connection pool monitor.
+     * @param properties client configuration properties.
+     */
+    static void configurePoolMonitor(final ConnectionPoolMonitor monitor, final Map<String, Object> properties) {
+        final int idleTimeout = ClientProperties.getValue(properties,
+                ApacheClientProperties.CONNECTION_POOL_IDLE_TIMEOUT, 0, Integer.class);
+        final int timeToLive = ClientProperties.getValue(properties,
+                ApacheClientProperties.CONNECTION_POOL_TIME_TO_LIVE, 0, Integer.class);
+        if (idleTimeout > 0 || timeToLive > 0) {
+            monitor.startEviction(idleTimeout, ClientProperties.getValue(properties,
+                    ApacheClientProperties.CONNECTION_POOL_EVICTION_INTERVAL, 5000, Integer.class));
+        }
+        if (PropertiesHelper.isProperty(properties, ApacheClientProperties.CONNECTION_POOL_MBEANS_ENABLED)) {
+            monitor.registerMBean();
+        }
+    }
+
     private static String[] split(final String s) {
         if (TextUtils.isBlank(s)) {
             return null;
@@ -442,7 +625,17 @@ class ApacheConnector implements Connector {
         return cookieStore;
     }
 
-    private static URI getProxyUri(final Object proxy) {
+    /**
+     * Get the connection pool statistics.
+     *
+     * @return connection pool statistics or {@code null} if the connection manager used by the connector is not
+     * a connection pool.
+     */
+    public ConnectionPoolStatistics getConnectionPoolStatistics() {
+        return poolMonitor;
+    }
+
+    static URI getProxyUri(final Object proxy) {
         if (proxy instanceof URI) {
             return (URI) proxy;
         } else if (proxy instanceof String) {
@@ -470,41 +663,7 @@ class ApacheConnector implements Connector {
             HeaderUtils.checkHeaderChanges(clientHeadersSnapshot, clientRequest.getHeaders(),
                     this.getClass().getName());
 
-            final Response.StatusType status = response.getStatusLine().getReasonPhrase() == null ?
-                    Statuses.from(response.getStatusLine().getStatusCode()) :
-                    Statuses.from(response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase());
-
-            final ClientResponse responseContext = new ClientResponse(status, clientRequest);
-            final List<URI> redirectLocations = context.getRedirectLocations();
-            if (redirectLocations != null && !redirectLocations.isEmpty()) {
-                responseContext.setResolvedRequestUri(redirectLocations.get(redirectLocations.size() - 1));
-            }
-
-            final Header[] respHeaders = response.getAllHeaders();
-            final MultivaluedMap<String, String> headers = responseContext.getHeaders();
-            for (final Header header : respHeaders) {
-                final String headerName = header.getName();
-                List<String> list = headers.get(headerName);
-                if (list == null) {
-                    list = new ArrayList<String>();
-                }
-                list.add(header.getValue());
-                headers.put(headerName, list);
-            }
-
-            final HttpEntity entity = response.getEntity();
-
-            if (entity != null) {
-                if (headers.get(HttpHeaders.CONTENT_LENGTH) == null) {
-                    headers.add(HttpHeaders.CONTENT_LENGTH, String.valueOf(entity.getContentLength()));
-                }
-
-                final Header contentEncoding = entity.getContentEncoding();
-                if (headers.get(HttpHeaders.CONTENT_ENCODING) == null && contentEncoding != null) {
-                    headers.add(HttpHeaders.CONTENT_ENCODING, contentEncoding.getValue());
-                }
-            }
-
+            final ClientResponse responseContext = createResponse(response, clientRequest, context);
 
             try {
                 responseContext.setEntityStream(new HttpClientResponseInputStream(response));
@@ -518,6 +677,55 @@ class ApacheConnector implements Connector {
         }
     }
 
+    /**
+     * Create a new client response context from the received Apache HTTP response. The response entity stream is
+     * not set.
+     *
+     * @param response      received Apache HTTP response.
+     * @param clientRequest client request the response has been received for.
+     * @param context       HTTP client context of the request execution.
+     * @return new client response context.
+     */
+    static ClientResponse createResponse(final HttpResponse response,
+                                         final ClientRequest clientRequest,
+                                         final HttpClientContext context) {
+        final Response.StatusType status = response.getStatusLine().getReasonPhrase() == null ?
+                Statuses.from(response.getStatusLine().getStatusCode()) :
+                Statuses.from(response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase());
+
+        final ClientResponse responseContext = new ClientResponse(status, clientRequest);
+        final List<URI> redirectLocations = context.getRedirectLocations();
+        if (redirectLocations != null && !redirectLocations.isEmpty()) {
+            responseContext.setResolvedRequestUri(redirectLocations.get(redirectLocations.size() - 1));
+        }
+
+        final Header[] respHeaders = response.getAllHeaders();
+        final MultivaluedMap<String, String> headers = responseContext.getHeaders();
+        for (final Header header : respHeaders) {
+            final String headerName = header.getName();
+            List<String> list = headers.get(headerName);
+            if (list == null) {
+                list = new ArrayList<String>();
+            }
+            list.add(header.getValue());
+            headers.put(headerName, list);
+        }
+
+        final HttpEntity entity = response.getEntity();
+
+        if (entity != null) {
+            if (headers.get(HttpHeaders.CONTENT_LENGTH) == null) {
+                headers.add(HttpHeaders.CONTENT_LENGTH, String.valueOf(entity.getContentLength()));
+            }
+
+            final Header contentEncoding = entity.getContentEncoding();
+            if (headers.get(HttpHeaders.CONTENT_ENCODING) == null && contentEncoding != null) {
+                headers.add(HttpHeaders.CONTENT_ENCODING, contentEncoding.getValue());
+            }
+        }
+        return responseContext;
+    }
+
     @Override
     public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
         return MoreExecutors.sameThreadExecutor().submit(new Runnable() {
@@ -539,8 +747,16 @@ class ApacheConnector implements Connector {
         return "Apache HttpClient " + release;
     }
 
+    @Override
+    public Set<String> getPerRequestProperties() {
+        return PER_REQUEST_PROPERTIES;
+    }
+
     @Override
     public void close() {
+        if (poolMonitor != null) {
+            poolMonitor.close();
+        }
         try {
             client.close();
         } catch (final IOException e) {
@@ -553,9 +769,7 @@ class ApacheConnector implements Connector {
     }
 
     private HttpUriRequest getUriHttpRequest(final ClientRequest clientRequest) {
-        final Boolean redirectsEnabled =
-                clientRequest.resolveProperty(ClientProperties.FOLLOW_REDIRECTS, requestConfig.isRedirectsEnabled());
-        final RequestConfig config = RequestConfig.copy(requestConfig).setRedirectsEnabled(redirectsEnabled).build();
+        final RequestConfig config = resolveRequestConfig(requestConfig, clientRequest);
 
         final Boolean bufferingEnabled = clientRequest.resolveProperty(ClientProperties.REQUEST_ENTITY_PROCESSING,
                 RequestEntityProcessing.class) == RequestEntityProcessing.BUFFERED;
@@ -570,6 +784,30 @@ class ApacheConnector implements Connector {
     }
 
 
+    /**
+     * Create the request configuration of a single request.
+     *
+     * @param defaultConfig default request configuration of the connector.
+     * @param clientRequest client request.
+     * @return request configuration with the request-specific property values applied.
+     */
+    static RequestConfig resolveRequestConfig(final RequestConfig defaultConfig, final ClientRequest clientRequest) {
+        final Boolean redirectsEnabled =
+                clientRequest.resolveProperty(ClientProperties.FOLLOW_REDIRECTS, defaultConfig.isRedirectsEnabled());
+        final RequestConfig.Builder configBuilder = RequestConfig.copy(defaultConfig).setRedirectsEnabled(redirectsEnabled);
+        // Timeouts may be overridden per request (e.g. in a web target configuration sharing the connector).
+        // Zero value means an infinite timeout, same as in the connector configuration.
+        final Integer connectTimeout = clientRequest.resolveProperty(ClientProperties.CONNECT_TIMEOUT, Integer.class);
+        if (connectTimeout != null) {
+            configBuilder.setConnectTimeout(connectTimeout);
+        }
+        final Integer socketTimeout = clientRequest.resolveProperty(ClientProperties.READ_TIMEOUT, Integer.class);
+        if (socketTimeout != null) {
+            configBuilder.setSocketTimeout(socketTimeout);
+        }
+        return configBuilder.build();
+    }
+
     private HttpEntity getHttpEntity(final ClientRequest clientRequest, final boolean bufferingEnabled) {
         final Object entity = clientRequest.getEntity();
 
@@ -627,7 +865,7 @@ class ApacheConnector implements Connector {
         }
     }
 
-    private static Map<String, String> writeOutBoundHeaders(final MultivaluedMap<String, Object> headers, final HttpUriRequest request) {
+    static Map<String, String> writeOutBoundHeaders(final MultivaluedMap<String, Object> headers, final HttpRequest request) {
         final Map<String, String> stringHeaders = HeaderUtils.asStringHeadersSingleValue(headers);
 
         for (final Map.Entry<String, String> e : stringHeaders.entrySet()) {
@@ -666,13 +904,16 @@ class ApacheConnector implements Connector {
         private static final AtomicLong COUNTER = new AtomicLong();
 
         private final int chunkSize;
+        private final ConnectionPoolMonitor.KnownRoutes routes;
 
-        private ConnectionFactory(final int chunkSize) {
+        private ConnectionFactory(final int chunkSize, final ConnectionPoolMonitor.KnownRoutes routes) {
             this.chunkSize = chunkSize;
+            this.routes = routes;
         }
 
         @Override
         public ManagedHttpClientConnection create(final HttpRoute route, final ConnectionConfig config) {
+            routes.addConnected(route);
             final String id = "http-outgoing-" + Long.toString(COUNTER.getAndIncrement());
 
             return new HttpClientConnection(id, config.getBufferSize(), chunkSize);
@@ -66,6 +66,14 @@ import org.apache.http.client.HttpClient;
  * - default value is {@link org.glassfish.jersey.client.RequestEntityProcessing#CHUNKED}</li>
  * <li>{@link ApacheClientProperties#PREEMPTIVE_BASIC_AUTHENTICATION}</li>
  * <li>{@link ApacheClientProperties#SSL_CONFIG}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_MAX_TOTAL}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_MAX_PER_ROUTE}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_ROUTE_MAX}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_TIME_TO_LIVE}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_IDLE_TIMEOUT}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_EVICTION_INTERVAL}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_VALIDATE_CONNECTIONS}</li>
+ * <li>{@link ApacheClientProperties#CONNECTION_POOL_MBEANS_ENABLED}</li>
  * </ul>
  * </p>
  * <p>
@@ -129,6 +137,33 @@ public class ApacheConnectorProvider implements ConnectorProvider {
      * @since 2.8
      */
     public static HttpClient getHttpClient(Configurable<?> component) {
+        return getApacheConnector(component).getHttpClient();
+    }
+
+    /**
+     * Retrieve the {@link ConnectionPoolStatistics connection pool statistics} of the connector used by
+     * {@link org.glassfish.jersey.client.JerseyClient} or {@link org.glassfish.jersey.client.JerseyWebTarget}
+     * configured to use {@code ApacheConnectorProvider}.
+     * <p>
+     * The returned statistics are live, i.e. the instance may be retrieved once (e.g. in
+     * {@link org.glassfish.jersey.client.ClientLifecycleListener#onInit()}) and queried repeatedly.
+     * </p>
+     *
+     * @param component {@code JerseyClient} or {@code JerseyWebTarget} instance that is configured to use
+     *                  {@code ApacheConnectorProvider}.
+     * @return connection pool statistics or {@code null} if the configured
+     *         {@link ApacheClientProperties#CONNECTION_MANAGER connection manager} is not a connection pool.
+     *
+     * @throws java.lang.IllegalArgumentException in case the {@code component} is neither {@code JerseyClient}
+     *                                            nor {@code JerseyWebTarget} instance or in case the component
+     *                                            is not configured to use a {@code ApacheConnectorProvider}.
+     * @since 2.15
+     */
+    public static ConnectionPoolStatistics getConnectionPoolStatistics(Configurable<?> component) {
+        return getApacheConnector(component).getConnectionPoolStatistics();
+    }
+
+    private static ApacheConnector getApacheConnector(Configurable<?> component) {
         if (!(component instanceof Initializable)) {
             throw new IllegalArgumentException(
                     LocalizationMessages.INVALID_CONFIGURABLE_COMPONENT_TYPE(component.getClass().getName()));
@@ -142,7 +177,7 @@ public class ApacheConnectorProvider implements ConnectorProvider {
         }
 
         if (connector instanceof ApacheConnector) {
-            return ((ApacheConnector) connector).getHttpClient();
+            return (ApacheConnector) connector;
         }
 
         throw new IllegalArgumentException(LocalizationMessages.EXPECTED_CONNECTOR_PROVIDER_NOT_USED());
@@ -0,0 +1,327 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.apache.connector;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.nio.conn.NHttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+import jersey.repackaged.com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Connection pool statistics and maintenance of an {@link ApacheConnector} or {@link ApacheAsyncConnector}.
+ * <p>
+ * Besides providing the {@link ConnectionPoolStatistics statistics} the monitor runs the (optional) background
+ * eviction of idle and expired connections and manages the registration of the statistics MXBean. The eviction
+ * of all the connectors runs in a single shared daemon thread.
+ * </p>
+ *
+ * @since 2.15
+ */
+final class ConnectionPoolMonitor implements ConnectionPoolStatistics {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPoolMonitor.class.getName());
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    /**
+     * Eviction executor shared by all the connection pool monitors, initialized on first use.
+     */
+    private static final class SharedEvictor {
+
+        private static final ScheduledThreadPoolExecutor INSTANCE = createEvictor();
+
+        private static ScheduledThreadPoolExecutor createEvictor() {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                    .setNameFormat("jersey-apache-connector-evictor-%d")
+                    .setDaemon(true)
+                    .build());
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
+    /**
+     * Closes the expired and idle connections of a connection manager.
+     */
+    private static interface Eviction {
+
+        /**
+         * Close the expired connections and, if the idle timeout is positive, the connections idle longer than the timeout.
+         *
+         * @param idleTimeout idle timeout in milliseconds.
+         */
+        void evict(int idleTimeout);
+    }
+
+    /**
+     * Routes known to a connection pool - the routes with a configured maximum and the routes connections have been
+     * opened to.
+     * <p>
+     * Routes without any leased, available or pending connection are dropped (unless configured) once the number
+     * of the known routes exceeds the pool size, so that the routes of the connections closed long ago do not
+     * accumulate. Routes are recorded only after the registry has been {@link #bind(ConnPoolControl) bound}
+     * to the connection pool.
+     * </p>
+     */
+    static final class KnownRoutes {
+
+        private final Set<HttpRoute> configured = Collections.newSetFromMap(new ConcurrentHashMap<HttpRoute, Boolean>());
+        private final Set<HttpRoute> connected = Collections.newSetFromMap(new ConcurrentHashMap<HttpRoute, Boolean>());
+        private volatile ConnPoolControl<HttpRoute> pool;
+
+        private void bind(final ConnPoolControl<HttpRoute> pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * Add a route with a configured maximum.
+         *
+         * @param route configured route.
+         */
+        void addConfigured(final HttpRoute route) {
+            configured.add(route);
+        }
+
+        /**
+         * Add a route a connection is being leased for.
+         *
+         * @param route route of a connection.
+         */
+        void addConnected(final HttpRoute route) {
+            final ConnPoolControl<HttpRoute> pool = this.pool;
+            if (pool != null && connected.add(route) && connected.size() > pool.getMaxTotal()) {
+                // the connection of the added route may not be pooled yet
+                prune(pool, route);
+            }
+        }
+
+        private Set<HttpRoute> get(final ConnPoolControl<HttpRoute> pool) {
+            prune(pool, null);
+            final Set<HttpRoute> routes = new HashSet<HttpRoute>(configured);
+            routes.addAll(connected);
+            return routes;
+        }
+
+        private void prune(final ConnPoolControl<HttpRoute> pool, final HttpRoute retained) {
+            for (final Iterator<HttpRoute> iterator = connected.iterator(); iterator.hasNext(); ) {
+                final HttpRoute route = iterator.next();
+                if (!route.equals(retained) && !configured.contains(route)) {
+                    final PoolStats stats = pool.getStats(route);
+                    if (stats.getLeased() == 0 && stats.getAvailable() == 0 && stats.getPending() == 0) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    private final Eviction eviction;
+    private final ConnPoolControl<HttpRoute> pool;
+    private final KnownRoutes routes;
+
+    private ScheduledFuture<?> evictionTask;
+    private ObjectName objectName;
+
+    /**
+     * Create new connection pool monitor of a blocking connection manager.
+     *
+     * @param connectionManager pooling connection manager.
+     * @param pool              connection pool control of the connection manager.
+     * @param routes            routes known to the connection pool, bound to the pool by the monitor.
+     */
+    ConnectionPoolMonitor(final HttpClientConnectionManager connectionManager,
+                          final ConnPoolControl<HttpRoute> pool,
+                          final KnownRoutes routes) {
+        this(new Eviction() {
+            @Override
+            public void evict(final int idleTimeout) {
+                connectionManager.closeExpiredConnections();
+                if (idleTimeout > 0) {
+                    connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+                }
+            }
+        }, pool, routes);
+    }
+
+    /**
+     * Create new connection pool monitor of a non-blocking connection manager.
+     *
+     * @param connectionManager pooling non-blocking connection manager.
+     * @param pool              connection pool control of the connection manager.
+     * @param routes            routes known to the connection pool, bound to the pool by the monitor.
+     */
+    ConnectionPoolMonitor(final NHttpClientConnectionManager connectionManager,
+                          final ConnPoolControl<HttpRoute> pool,
+                          final KnownRoutes routes) {
+        this(new Eviction() {
+            @Override
+            public void evict(final int idleTimeout) {
+                connectionManager.closeExpiredConnections();
+                if (idleTimeout > 0) {
+                    connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+                }
+            }
+        }, pool, routes);
+    }
+
+    private ConnectionPoolMonitor(final Eviction eviction, final ConnPoolControl<HttpRoute> pool, final KnownRoutes routes) {
+        this.eviction = eviction;
+        this.pool = pool;
+        this.routes = routes;
+        routes.bind(pool);
+    }
+
+    /**
+     * Start the background eviction of expired connections and of connections idle longer than the given timeout.
+     *
+     * @param idleTimeout idle timeout in milliseconds, idle connections are not evicted if not positive.
+     * @param interval    eviction interval in milliseconds.
+     */
+    synchronized void startEviction(final int idleTimeout, final int interval) {
+        evictionTask = SharedEvictor.INSTANCE.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    eviction.evict(idleTimeout);
+                } catch (final RuntimeException e) {
+                    LOGGER.log(Level.FINE, LocalizationMessages.ERROR_EVICTING_CONNECTIONS(), e);
+                }
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Register the statistics MXBean in the platform MBean server.
+     */
+    synchronized void registerMBean() {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final String name = "org.glassfish.jersey:type=ApacheConnector,subType=ConnectionPool,name=pool-"
+                + COUNTER.incrementAndGet();
+        try {
+            objectName = new ObjectName(name);
+            mBeanServer.registerMBean(this, objectName);
+        } catch (final JMException e) {
+            objectName = null;
+            LOGGER.log(Level.WARNING, LocalizationMessages.ERROR_CONNECTION_POOL_MBEAN_REGISTRATION(name), e);
+        }
+    }
+
+    /**
+     * Get the object name of the registered statistics MXBean.
+     *
+     * @return statistics MXBean object name or {@code null} if not registered.
+     */
+    synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Stop the background eviction and unregister the statistics MXBean.
+     */
+    synchronized void close() {
+        if (evictionTask != null) {
+            evictionTask.cancel(false);
+            evictionTask = null;
+        }
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (final JMException e) {
+                LOGGER.log(Level.FINE, LocalizationMessages.ERROR_CONNECTION_POOL_MBEAN_UNREGISTRATION(objectName), e);
+            }
+            objectName = null;
+        }
+    }
+
+    @Override
+    public int getMaxTotal() {
+        return pool.getMaxTotal();
+    }
+
+    @Override
+    public int getDefaultMaxPerRoute() {
+        return pool.getDefaultMaxPerRoute();
+    }
+
+    @Override
+    public int getLeased() {
+        return pool.getTotalStats().getLeased();
+    }
+
+    @Override
+    public int getPending() {
+        return pool.getTotalStats().getPending();
+    }
+
+    @Override
+    public int getAvailable() {
+        return pool.getTotalStats().getAvailable();
+    }
+
+    @Override
+    public Map<String, PoolStats> getRouteStatistics() {
+        final Map<String, PoolStats> statistics = new TreeMap<String, PoolStats>();
+        for (final HttpRoute route : routes.get(pool)) {
+            statistics.put(route.toString(), pool.getStats(route));
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.apache.connector;
+
+import java.util.Map;
+
+import javax.management.MXBean;
+
+import org.apache.http.pool.PoolStats;
+
+/**
+ * Statistics of the connection pool used by a connector created by {@link ApacheConnectorProvider} or
+ * {@link ApacheAsyncConnectorProvider}.
+ * <p>
+ * The statistics are live - each method call returns the current state of the connection pool. An instance can be
+ * retrieved using {@link ApacheConnectorProvider#getConnectionPoolStatistics(javax.ws.rs.core.Configurable)} or
+ * {@link ApacheAsyncConnectorProvider#getConnectionPoolStatistics(javax.ws.rs.core.Configurable)}
+ * (e.g. from {@link org.glassfish.jersey.client.ClientLifecycleListener#onInit()}) or, if
+ * {@link ApacheClientProperties#CONNECTION_POOL_MBEANS_ENABLED enabled}, via JMX.
+ * </p>
+ *
+ * @since 2.15
+ */
+@MXBean
+public interface ConnectionPoolStatistics {
+
+    /**
+     * Get the maximum number of connections in the pool.
+     *
+     * @return maximum number of pooled connections.
+     */
+    public int getMaxTotal();
+
+    /**
+     * Get the default maximum number of connections per route.
+     *
+     * @return default maximum number of connections per route.
+     */
+    public int getDefaultMaxPerRoute();
+
+    /**
+     * Get the number of connections currently leased (used by requests).
+     *
+     * @return number of leased connections.
+     */
+    public int getLeased();
+
+    /**
+     * Get the number of requests currently waiting for a connection to be leased from the pool.
+     *
+     * @return number of pending connection requests.
+     */
+    public int getPending();
+
+    /**
+     * Get the number of idle connections available in the pool.
+     *
+     * @return number of available connections.
+     */
+    public int getAvailable();
+
+    /**
+     * Get the statistics of the individual routes known to the connection pool.
+     * <p>
+     * The routes known to the pool are the routes with a {@link ApacheClientProperties#CONNECTION_POOL_ROUTE_MAX
+     * configured maximum} and, when the default connection manager is used, the routes the connections have
+     * been leased for. Routes without any leased, available or pending connection may be dropped.
+     * </p>
+     *
+     * @return map of route string representations to the route statistics.
+     */
+    public Map<String, PoolStats> getRouteStatistics();
+}
@@ -0,0 +1,245 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.apache.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ApacheAsyncConnector} tests.
+ */
+public class ApacheAsyncConnectorTest extends JerseyTest {
+
+    private static final int LARGE_ENTITY_SIZE = 2 * 1024 * 1024;
+
+    @Path("test")
+    public static class TestResource {
+
+        @GET
+        public String get() {
+            return "GET";
+        }
+
+        @POST
+        public String post(final String entity) {
+            return "POST:" + entity;
+        }
+
+        @GET
+        @Path("large")
+        public byte[] large(@QueryParam("size") final int size) {
+            return largeEntity(size);
+        }
+
+        @POST
+        @Path("echo")
+        public String echo(@HeaderParam("Transfer-Encoding") final String transferEncoding,
+                           @HeaderParam("Content-Length") final String contentLength,
+                           final byte[] entity) {
+            return transferEncoding + ":" + contentLength + ":" + Arrays.equals(largeEntity(entity.length), entity);
+        }
+    }
+
+    private static byte[] largeEntity(final int size) {
+        final byte[] entity = new byte[size];
+        for (int i = 0; i < size; i++) {
+            entity[i] = (byte) (i % 127);
+        }
+        return entity;
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(TestResource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.connectorProvider(new ApacheAsyncConnectorProvider());
+    }
+
+    @Test
+    public void testSyncGet() {
+        final Response response = target("test").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("GET", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testSyncPost() {
+        final Response response = target("test").request().post(Entity.text("entity"));
+        assertEquals(200, response.getStatus());
+        assertEquals("POST:entity", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testAsyncGetFuture() throws Exception {
+        final Future<String> future = target("test").request().async().get(String.class);
+        assertEquals("GET", future.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncPostCallback() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<String> result = new AtomicReference<String>();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        target("test").request().async().post(Entity.text("entity"), new InvocationCallback<String>() {
+            @Override
+            public void completed(final String response) {
+                result.set(response);
+                latch.countDown();
+            }
+
+            @Override
+            public void failed(final Throwable throwable) {
+                failure.set(throwable);
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertNull(failure.get());
+        assertEquals("POST:entity", result.get());
+    }
+
+    @Test
+    public void testLargeStreamedEntity() throws Exception {
+        final Response response = target("test").path("large").queryParam("size", LARGE_ENTITY_SIZE).request().get();
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(largeEntity(LARGE_ENTITY_SIZE), response.readEntity(byte[].class));
+
+        final Future<byte[]> future = target("test").path("large").queryParam("size", LARGE_ENTITY_SIZE)
+                .request().async().get(byte[].class);
+        assertTrue(Arrays.equals(largeEntity(LARGE_ENTITY_SIZE), future.get(10, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    public void testCloseUnreadStream() throws Exception {
+        final Response response = target("test").path("large").queryParam("size", LARGE_ENTITY_SIZE).request().get();
+        final InputStream entityStream = response.readEntity(InputStream.class);
+        assertTrue(entityStream.read(new byte[1024]) > 0);
+        entityStream.close();
+
+        // connector is still usable
+        assertEquals("GET", target("test").request().get(String.class));
+    }
+
+    @Test
+    public void testGetHttpAsyncClient() {
+        final HttpAsyncClient client = ApacheAsyncConnectorProvider.getHttpAsyncClient(client());
+        assertNotNull(client);
+    }
+
+    @Test
+    public void testChunkedPost() throws Exception {
+        final Entity<byte[]> entity = Entity.entity(largeEntity(LARGE_ENTITY_SIZE), MediaType.APPLICATION_OCTET_STREAM_TYPE);
+
+        assertEquals("chunked:null:true", target("test").path("echo").request().post(entity, String.class));
+        assertEquals("chunked:null:true", target("test").path("echo").request().async().post(entity, String.class)
+                .get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBufferedPost() {
+        final Entity<byte[]> entity = Entity.entity(largeEntity(1000), MediaType.APPLICATION_OCTET_STREAM_TYPE);
+
+        assertEquals("null:1000:true", target("test").path("echo")
+                .property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED)
+                .request().post(entity, String.class));
+    }
+
+    @Test
+    public void testChunkedPostWriteFailure() {
+        final StreamingOutput failing = new StreamingOutput() {
+            @Override
+            public void write(final OutputStream output) throws IOException, WebApplicationException {
+                output.write(largeEntity(LARGE_ENTITY_SIZE));
+                throw new IOException("failed");
+            }
+        };
+
+        try {
+            target("test").path("echo").request().post(Entity.entity(failing, MediaType.APPLICATION_OCTET_STREAM_TYPE));
+            fail("The request entity failure has not been propagated.");
+        } catch (final ProcessingException expected) {
+            // expected
+        }
+
+        // connector is still usable
+        assertEquals("GET", target("test").request().get(String.class));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.apache.connector;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriBuilder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.apache.http.pool.PoolStats;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Connection pool configuration and statistics tests.
+ */
+public class ConnectionPoolTest extends JerseyTest {
+
+    @Path("pool")
+    public static class PoolResource {
+
+        @GET
+        public String get() {
+            return "pool";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(PoolResource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.property(ApacheClientProperties.CONNECTION_POOL_MAX_TOTAL, 50);
+        config.property(ApacheClientProperties.CONNECTION_POOL_MAX_PER_ROUTE, 10);
+        config.property(ApacheClientProperties.CONNECTION_POOL_ROUTE_MAX,
+                Collections.singletonMap("http://example.com", 3));
+        config.property(ApacheClientProperties.CONNECTION_POOL_IDLE_TIMEOUT, 60000);
+        config.property(ApacheClientProperties.CONNECTION_POOL_MBEANS_ENABLED, true);
+        config.connectorProvider(new ApacheConnectorProvider());
+    }
+
+    @Test
+    public void testPoolConfiguration() {
+        final ConnectionPoolStatistics statistics = ApacheConnectorProvider.getConnectionPoolStatistics(client());
+
+        assertEquals(50, statistics.getMaxTotal());
+        assertEquals(10, statistics.getDefaultMaxPerRoute());
+        final PoolStats exampleRoute = statistics.getRouteStatistics().get("{}->http://example.com:80");
+        assertNotNull(exampleRoute);
+        assertEquals(3, exampleRoute.getMax());
+    }
+
+    @Test
+    public void testPoolStatistics() {
+        final ConnectionPoolStatistics statistics = ApacheConnectorProvider.getConnectionPoolStatistics(client());
+
+        final Response response = target("pool").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals(1, statistics.getLeased());
+
+        assertEquals("pool", response.readEntity(String.class));
+        assertEquals(0, statistics.getLeased());
+        assertEquals(1, statistics.getAvailable());
+        assertEquals(0, statistics.getPending());
+
+        final Map<String, PoolStats> routes = statistics.getRouteStatistics();
+        assertEquals(2, routes.size());
+    }
+
+    @Test
+    public void testMBeanRegistration() throws Exception {
+        final ConnectionPoolStatistics statistics = ApacheConnectorProvider.getConnectionPoolStatistics(client());
+        assertEquals("pool", target("pool").request().get(String.class));
+
+        final ObjectName name = ((ConnectionPoolMonitor) statistics).getObjectName();
+        assertNotNull(name);
+
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        assertTrue(mBeanServer.isRegistered(name));
+        assertEquals(50, mBeanServer.getAttribute(name, "MaxTotal"));
+        assertEquals(1, mBeanServer.getAttribute(name, "Available"));
+
+        client().close();
+        assertFalse(mBeanServer.isRegistered(name));
+    }
+
+    @Test
+    public void testUnpooledRoutesDropped() {
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .property(ApacheClientProperties.CONNECTION_POOL_MAX_TOTAL, 1)
+                .connectorProvider(new ApacheConnectorProvider()));
+        try {
+            final ConnectionPoolStatistics statistics = ApacheConnectorProvider.getConnectionPoolStatistics(client);
+
+            for (final String host : new String[] {"localhost", "127.0.0.1"}) {
+                assertEquals("pool", client.target(UriBuilder.fromUri(getBaseUri()).host(host))
+                        .path("pool").request().get(String.class));
+            }
+
+            // the idle connection to localhost has been closed to make room for the connection to 127.0.0.1
+            final Map<String, PoolStats> routes = statistics.getRouteStatistics();
+            assertEquals(routes.keySet().toString(), 1, routes.size());
+            assertTrue(routes.keySet().iterator().next().contains("127.0.0.1"));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testAsyncPoolStatistics() {
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .property(ApacheClientProperties.CONNECTION_POOL_MAX_TOTAL, 20)
+                .connectorProvider(new ApacheAsyncConnectorProvider()));
+        try {
+            final ConnectionPoolStatistics statistics = ApacheAsyncConnectorProvider.getConnectionPoolStatistics(client);
+            assertEquals(20, statistics.getMaxTotal());
+
+            assertEquals("pool", client.target(getBaseUri()).path("pool").request().get(String.class));
+
+            final Map<String, PoolStats> routes = statistics.getRouteStatistics();
+            assertEquals(1, routes.size());
+            assertEquals(0, routes.values().iterator().next().getLeased());
+        } finally {
+            client.close();
+        }
+    }
+}
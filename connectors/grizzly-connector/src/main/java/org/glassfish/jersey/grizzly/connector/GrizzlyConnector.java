@@ -43,9 +43,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -63,7 +67,7 @@ import org.glassfish.jersey.client.ClientRequest;
 import org.glassfish.jersey.client.ClientResponse;
 import org.glassfish.jersey.client.RequestEntityProcessing;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
-import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.PerRequestPropertiesConnector;
 import org.glassfish.jersey.internal.Version;
 import org.glassfish.jersey.internal.util.collection.ByteBufferInputStream;
 import org.glassfish.jersey.internal.util.collection.NonBlockingInputStream;
@@ -79,6 +83,7 @@ import com.ning.http.client.AsyncHttpClientConfig;
 import com.ning.http.client.HttpResponseBodyPart;
 import com.ning.http.client.HttpResponseHeaders;
 import com.ning.http.client.HttpResponseStatus;
+import com.ning.http.client.PerRequestConfig;
 import com.ning.http.client.ProxyServerSelector;
 import com.ning.http.client.Request;
 import com.ning.http.client.RequestBuilder;
@@ -94,7 +99,17 @@ import jersey.repackaged.com.google.common.util.concurrent.SettableFuture;
  * @author Stepan Kopriva (stepan.kopriva at oracle.com)
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
-class GrizzlyConnector implements Connector {
+class GrizzlyConnector implements PerRequestPropertiesConnector {
+
+    /**
+     * Properties resolved for each request. Connect timeout is not among them, since it can only be set
+     * when the underlying client is created.
+     */
+    private static final Set<String> PER_REQUEST_PROPERTIES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            ClientProperties.FOLLOW_REDIRECTS,
+            ClientProperties.READ_TIMEOUT,
+            ClientProperties.REQUEST_ENTITY_PROCESSING,
+            ClientProperties.CHUNKED_ENCODING_SIZE)));
 
     private final AsyncHttpClient grizzlyClient;
 
@@ -375,6 +390,13 @@ class GrizzlyConnector implements Connector {
 
         builder.setFollowRedirects(requestContext.resolveProperty(ClientProperties.FOLLOW_REDIRECTS, true));
 
+        final Integer readTimeout = requestContext.resolveProperty(ClientProperties.READ_TIMEOUT, Integer.class);
+        if (readTimeout != null) {
+            final PerRequestConfig perRequestConfig = new PerRequestConfig();
+            perRequestConfig.setRequestTimeoutInMs(readTimeout);
+            builder.setPerRequestConfig(perRequestConfig);
+        }
+
         if (requestContext.hasEntity()) {
 
             final RequestEntityProcessing entityProcessing =
@@ -506,4 +528,9 @@ class GrizzlyConnector implements Connector {
     public String getName() {
         return String.format("Async HTTP Grizzly Connector %s", Version.getVersion());
     }
+
+    @Override
+    public Set<String> getPerRequestProperties() {
+        return PER_REQUEST_PROPERTIES;
+    }
 }
@@ -40,15 +40,20 @@
 package org.glassfish.jersey.grizzly2.httpserver;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -63,6 +68,7 @@ import org.glassfish.jersey.grizzly2.httpserver.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.ExtendedLogger;
 import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.message.internal.InboundHeaderSource;
 import org.glassfish.jersey.process.internal.RequestScoped;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerException;
@@ -72,6 +78,7 @@ import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.ConfigHelper;
 import org.glassfish.jersey.server.internal.ContainerUtils;
+import org.glassfish.jersey.server.internal.RequestEntityBuffer;
 import org.glassfish.jersey.server.spi.Container;
 import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
@@ -81,10 +88,14 @@ import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.api.TypeLiteral;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
+import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.CompletionHandler;
+import org.glassfish.grizzly.ReadHandler;
+import org.glassfish.grizzly.http.io.NIOInputStream;
 import org.glassfish.grizzly.http.server.HttpHandler;
 import org.glassfish.grizzly.http.server.Request;
 import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.grizzly.http.util.MimeHeaders;
 import org.glassfish.grizzly.utils.Charsets;
 
 /**
@@ -98,6 +109,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
 
     private static final ExtendedLogger logger =
             new ExtendedLogger(Logger.getLogger(GrizzlyHttpContainer.class.getName()), Level.FINEST);
+    private static final long DEFAULT_NON_BLOCKING_TIMEOUT = 60000;
 
     private final Type RequestTYPE = (new TypeLiteral<Ref<Request>>() {
     }).getType();
@@ -110,6 +122,17 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
      * {@link org.glassfish.grizzly.http.server.Response#sendError}.
      */
     private boolean configSetStatusOverSendError;
+    /**
+     * Cached value of configuration property
+     * {@link org.glassfish.jersey.server.ServerProperties#INBOUND_ENTITY_NON_BLOCKING_BUFFER}.
+     * If positive, request entities are received in a non-blocking way before the request is processed.
+     */
+    private int configNonBlockingBuffer;
+    /**
+     * Cached value of configuration property
+     * {@link org.glassfish.jersey.server.ServerProperties#INBOUND_ENTITY_NON_BLOCKING_TIMEOUT}.
+     */
+    private long configNonBlockingTimeout;
 
     /**
      * Referencing factory for Grizzly request.
@@ -178,14 +201,77 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         }
     };
 
+    /**
+     * Read-only view of Grizzly request headers used to avoid eager copying of all the request headers.
+     * <p>
+     * The view is {@link #invalidate() invalidated} once the Grizzly request may be recycled.
+     * </p>
+     */
+    private static final class GrizzlyRequestHeaders implements InboundHeaderSource {
+
+        private volatile Request request;
+
+        private GrizzlyRequestHeaders(final Request request) {
+            this.request = request;
+        }
+
+        /**
+         * Invalidate the view, the headers of the Grizzly request must not be read any more.
+         */
+        private void invalidate() {
+            request = null;
+        }
+
+        private Request getRequest() {
+            final Request request = this.request;
+            if (request == null) {
+                throw new IllegalStateException(LocalizationMessages.REQUEST_HEADERS_RECYCLED());
+            }
+            return request;
+        }
+
+        @Override
+        public Iterable<String> getHeaderNames() {
+            return getRequest().getHeaderNames();
+        }
+
+        @Override
+        public List<String> getHeaderValues(final String name) {
+            final MimeHeaders headers = getRequest().getRequest().getHeaders();
+            int index = headers.indexOf(name, 0);
+            if (index < 0) {
+                return null;
+            }
+            final String first = headers.getValue(index).toString();
+            index = headers.indexOf(name, index + 1);
+            if (index < 0) {
+                return Collections.singletonList(first);
+            }
+
+            final List<String> values = new ArrayList<>(2);
+            values.add(first);
+            do {
+                values.add(headers.getValue(index).toString());
+                index = headers.indexOf(name, index + 1);
+            } while (index >= 0);
+            return values;
+        }
+    }
+
     private static final class ResponseWriter implements ContainerResponseWriter {
 
         private final String name;
         private final Response grizzlyResponse;
+        private final ContainerRequest requestContext;
         private final boolean configSetStatusOverSendError;
+        private volatile boolean suspendedForEntity = false;
+        private volatile TimeoutHandler timeoutHandler;
+        private final AtomicBoolean receivingEntity = new AtomicBoolean(false);
 
-        ResponseWriter(final Response response, final boolean configSetStatusOverSendError) {
+        ResponseWriter(final Response response, final ContainerRequest requestContext,
+                       final boolean configSetStatusOverSendError) {
             this.grizzlyResponse = response;
+            this.requestContext = requestContext;
             this.configSetStatusOverSendError = configSetStatusOverSendError;
 
             if (logger.isDebugLoggable()) {
@@ -205,6 +291,8 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         public void commit() {
             try {
                 if (grizzlyResponse.isSuspended()) {
+                    // the request is recycled once the response is resumed
+                    requestContext.detachHeaders();
                     grizzlyResponse.resume();
                 }
             } finally {
@@ -212,16 +300,82 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
             }
         }
 
+        /**
+         * Suspend the Grizzly response while the request entity is being received in a non-blocking way.
+         * <p>
+         * The response is resumed when committed. Subsequent {@link #suspend suspend} made by Jersey runtime only
+         * updates the timeout of this suspension. If the entity is not {@link #entityReceived() received} within the given
+         * timeout, the response is finished with {@code 408 Request Timeout} status.
+         * </p>
+         *
+         * @param readTimeout maximal time in milliseconds to wait for the entity, zero or less for no timeout.
+         */
+        void suspendForEntity(final long readTimeout) {
+            receivingEntity.set(true);
+            suspend(Math.max(0, readTimeout), TimeUnit.MILLISECONDS);
+            suspendedForEntity = true;
+            logger.debugLog("{0} - suspendForEntity() called", name);
+        }
+
+        /**
+         * Check whether the request entity is still being received, i.e. the request has neither been handed over
+         * to the application nor has the entity read timed out.
+         *
+         * @return {@code true} if the entity is being received.
+         */
+        boolean isReceivingEntity() {
+            return receivingEntity.get();
+        }
+
+        /**
+         * Cancel the entity read timeout once the request is about to be handed over to the application.
+         *
+         * @return {@code false} if the entity read has already timed out and the request must not be processed.
+         */
+        boolean entityReceived() {
+            if (!receivingEntity.compareAndSet(true, false)) {
+                return false;
+            }
+            // the application processing is not bound by the read timeout
+            grizzlyResponse.getSuspendContext().setTimeout(0, TimeUnit.MILLISECONDS);
+            return true;
+        }
+
         @Override
         public boolean suspend(final long timeOut, final TimeUnit timeUnit, final TimeoutHandler timeoutHandler) {
+            try {
+                this.timeoutHandler = timeoutHandler;
+                if (suspendedForEntity) {
+                    grizzlyResponse.getSuspendContext().setTimeout(timeOut, timeUnit);
+                    return true;
+                }
+                return suspend(timeOut, timeUnit);
+            } finally {
+                logger.debugLog("{0} - suspend(...) called", name);
+            }
+        }
+
+        private boolean suspend(final long timeOut, final TimeUnit timeUnit) {
             try {
                 grizzlyResponse.suspend(timeOut, timeUnit, EMPTY_COMPLETION_HANDLER,
                         new org.glassfish.grizzly.http.server.TimeoutHandler() {
 
                             @Override
                             public boolean onTimeout(final Response response) {
-                                if (timeoutHandler != null) {
-                                    timeoutHandler.onTimeout(ResponseWriter.this);
+                                if (receivingEntity.compareAndSet(true, false)) {
+                                    // the request entity has not been received in time; the remaining entity data
+                                    // are not read, hence the connection cannot be reused
+                                    logger.debugLog("{0} - request entity read timed out", name);
+                                    response.setStatus(408, "Request Timeout");
+                                    response.setHeader("Connection", "close");
+                                    // resuming finishes the response, cancelling the suspension would not
+                                    response.resume();
+                                    return false;
+                                }
+
+                                final TimeoutHandler handler = timeoutHandler;
+                                if (handler != null) {
+                                    handler.onTimeout(ResponseWriter.this);
                                 }
 
                                 // TODO should we return true in some cases instead?
@@ -233,8 +387,6 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
                 return true;
             } catch (final IllegalStateException ex) {
                 return false;
-            } finally {
-                logger.debugLog("{0} - suspend(...) called", name);
             }
         }
 
@@ -331,6 +483,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         this.appHandler = new ApplicationHandler(application, new GrizzlyBinder());
         this.containerListener = ConfigHelper.getContainerLifecycleListener(appHandler);
         cacheConfigSetStatusOverSendError();
+        cacheConfigNonBlockingBuffer();
     }
 
     /**
@@ -344,6 +497,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         this.appHandler = new ApplicationHandler(application, new GrizzlyBinder(), parentLocator);
         this.containerListener = ConfigHelper.getContainerLifecycleListener(appHandler);
         cacheConfigSetStatusOverSendError();
+        cacheConfigNonBlockingBuffer();
     }
 
     @Override
@@ -354,17 +508,15 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
 
     @Override
     public void service(final Request request, final Response response) {
-        final ResponseWriter responseWriter = new ResponseWriter(response, configSetStatusOverSendError);
+        final GrizzlyRequestHeaders headers = new GrizzlyRequestHeaders(request);
         try {
             logger.debugLog("GrizzlyHttpContainer.service(...) started");
             final URI baseUri = getBaseUri(request);
             final ContainerRequest requestContext = new ContainerRequest(baseUri,
                     getRequestUri(baseUri, request), request.getMethod().getMethodString(),
                     getSecurityContext(request), new GrizzlyRequestPropertiesDelegate(request));
-            requestContext.setEntityStream(request.getInputStream());
-            for (final String headerName : request.getHeaderNames()) {
-                requestContext.headers(headerName, request.getHeaders(headerName));
-            }
+            requestContext.headers(headers);
+            final ResponseWriter responseWriter = new ResponseWriter(response, requestContext, configSetStatusOverSendError);
             requestContext.setWriter(responseWriter);
 
             requestContext.setRequestScopedInitializer(new RequestScopedInitializer() {
@@ -375,12 +527,87 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
                     locator.<Ref<Response>>getService(ResponseTYPE).set(response);
                 }
             });
-            appHandler.handle(requestContext);
+            if (configNonBlockingBuffer > 0 && (request.getContentLengthLong() > 0 || request.getRequest().isChunked())) {
+                responseWriter.suspendForEntity(configNonBlockingTimeout);
+                request.getNIOInputStream().notifyAvailable(new EntityReadHandler(appHandler, responseWriter,
+                        request.getNIOInputStream(), requestContext, configNonBlockingBuffer));
+            } else {
+                requestContext.setEntityStream(request.getInputStream());
+                appHandler.handle(requestContext);
+            }
         } finally {
+            if (!response.isSuspended()) {
+                // the request is recycled once this method returns (suspended responses detach the headers on commit)
+                headers.invalidate();
+            }
             logger.debugLog("GrizzlyHttpContainer.service(...) finished");
         }
     }
 
+    /**
+     * Receives the request entity in a non-blocking way and hands the request over to the application once the entity
+     * has been received or once the buffered part of the entity has reached the configured size.
+     */
+    private static final class EntityReadHandler implements ReadHandler {
+
+        private final ApplicationHandler appHandler;
+        private final ResponseWriter responseWriter;
+        private final NIOInputStream input;
+        private final ContainerRequest requestContext;
+        private final RequestEntityBuffer buffer;
+
+        private EntityReadHandler(final ApplicationHandler appHandler, final ResponseWriter responseWriter,
+                                  final NIOInputStream input, final ContainerRequest requestContext, final int bufferSize) {
+            this.appHandler = appHandler;
+            this.responseWriter = responseWriter;
+            this.input = input;
+            this.requestContext = requestContext;
+            this.buffer = new RequestEntityBuffer(bufferSize);
+        }
+
+        @Override
+        public void onDataAvailable() throws Exception {
+            read();
+            if (buffer.isFull()) {
+                // the rest of the entity is read from the blocking stream by the application
+                handle(buffer.partial(input));
+            } else if (responseWriter.isReceivingEntity()) {
+                input.notifyAvailable(this);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() throws Exception {
+            read();
+            handle(buffer.complete());
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            handle(buffer.fail(t));
+        }
+
+        private void read() {
+            if (input.readyData() > 0) {
+                final Buffer data = input.readBuffer();
+                final byte[] bytes = new byte[data.remaining()];
+                data.get(bytes);
+                data.tryDispose();
+                buffer.put(ByteBuffer.wrap(bytes));
+            }
+        }
+
+        private void handle(final InputStream entityStream) {
+            logger.debugLog("GrizzlyHttpContainer - {0} bytes of the request entity received", buffer.getSize());
+            if (!responseWriter.entityReceived()) {
+                // the response has already been finished by the read timeout
+                return;
+            }
+            requestContext.setEntityStream(entityStream);
+            appHandler.handle(requestContext);
+        }
+    }
+
     @Override
     public ResourceConfig getConfiguration() {
         return appHandler.getConfiguration();
@@ -399,6 +626,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         containerListener.onReload(this);
         containerListener.onStartup(this);
         cacheConfigSetStatusOverSendError();
+        cacheConfigNonBlockingBuffer();
     }
 
     @Override
@@ -481,4 +709,17 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         this.configSetStatusOverSendError = ServerProperties.getValue(getConfiguration().getProperties(),
                 ServerProperties.RESPONSE_SET_STATUS_OVER_SEND_ERROR, false, Boolean.class);
     }
+
+    /**
+     * The method reads and caches values of configuration properties
+     * {@link org.glassfish.jersey.server.ServerProperties#INBOUND_ENTITY_NON_BLOCKING_BUFFER} and
+     * {@link org.glassfish.jersey.server.ServerProperties#INBOUND_ENTITY_NON_BLOCKING_TIMEOUT} for future purposes.
+     */
+    private void cacheConfigNonBlockingBuffer() {
+        this.configNonBlockingBuffer = ServerProperties.getValue(getConfiguration().getProperties(),
+                ServerProperties.INBOUND_ENTITY_NON_BLOCKING_BUFFER, 0, Integer.class);
+        this.configNonBlockingTimeout = ServerProperties.getValue(getConfiguration().getProperties(),
+                ServerProperties.INBOUND_ENTITY_NON_BLOCKING_TIMEOUT,
+                DEFAULT_NON_BLOCKING_TIMEOUT, Long.class);
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.grizzly2.httpserver;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.UriBuilder;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.glassfish.grizzly.http.server.HttpServer;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests receiving of request entities in a non-blocking way by {@link GrizzlyHttpContainer}.
+ */
+public class NonBlockingEntityTest {
+
+    private static final int PORT = Integer.getInteger("jersey.config.test.container.port", 9998);
+    private static final URI BASE_URI = UriBuilder.fromUri("http://localhost/").port(PORT).build();
+
+    private static final AtomicInteger invocations = new AtomicInteger();
+
+    private HttpServer server;
+
+    @Path("echo")
+    public static class EchoResource {
+
+        @POST
+        public byte[] echo(final byte[] entity) {
+            invocations.incrementAndGet();
+            return entity;
+        }
+    }
+
+    private void startServer(final int bufferSize, final long timeout) {
+        invocations.set(0);
+        server = GrizzlyHttpServerFactory.createHttpServer(BASE_URI, new ResourceConfig(EchoResource.class)
+                .property(ServerProperties.INBOUND_ENTITY_NON_BLOCKING_BUFFER, bufferSize)
+                .property(ServerProperties.INBOUND_ENTITY_NON_BLOCKING_TIMEOUT, timeout));
+    }
+
+    @After
+    public void tearDown() {
+        if (server != null) {
+            server.shutdownNow();
+            server = null;
+        }
+    }
+
+    private static byte[] post(final byte[] entity) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) BASE_URI.resolve("echo").toURL().openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/octet-stream");
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(entity.length);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(entity);
+        }
+
+        assertEquals(200, connection.getResponseCode());
+        try (InputStream in = connection.getInputStream()) {
+            final ByteArrayOutputStream received = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                received.write(buffer, 0, read);
+            }
+            return received.toByteArray();
+        }
+    }
+
+    private static byte[] entity(final int size) {
+        final byte[] entity = new byte[size];
+        for (int i = 0; i < size; i++) {
+            entity[i] = (byte) i;
+        }
+        return entity;
+    }
+
+    @Test
+    public void testEntityReceivedBeforeProcessing() throws Exception {
+        startServer(1024 * 1024, 0);
+
+        final byte[] entity = entity(100 * 1024);
+        assertTrue(Arrays.equals(entity, post(entity)));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void testEntityLargerThanBuffer() throws Exception {
+        startServer(16, 0);
+
+        final byte[] entity = entity(100 * 1024);
+        assertTrue(Arrays.equals(entity, post(entity)));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void testEntityReadTimeout() throws Exception {
+        startServer(1024, 500);
+
+        try (Socket socket = new Socket(BASE_URI.getHost(), PORT)) {
+            socket.setSoTimeout(10000);
+            final OutputStream out = socket.getOutputStream();
+            out.write(("POST /echo HTTP/1.1\r\n"
+                    + "Host: localhost:" + PORT + "\r\n"
+                    + "Content-Type: application/octet-stream\r\n"
+                    + "Content-Length: 10\r\n"
+                    + "\r\n"
+                    + "abc").getBytes("US-ASCII"));
+            out.flush();
+
+            // the rest of the entity is never sent
+            final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "US-ASCII"));
+            final String statusLine = in.readLine();
+            assertTrue(statusLine, statusLine.startsWith("HTTP/1.1 408"));
+        }
+        assertEquals(0, invocations.get());
+    }
+}
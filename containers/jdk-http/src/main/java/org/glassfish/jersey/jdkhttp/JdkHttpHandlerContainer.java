@@ -59,6 +59,7 @@ import javax.ws.rs.core.UriBuilder;
 
 import org.glassfish.jersey.internal.MapPropertiesDelegate;
 import org.glassfish.jersey.jdkhttp.internal.LocalizationMessages;
+import org.glassfish.jersey.message.internal.InboundHeaderSource;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerException;
 import org.glassfish.jersey.server.ContainerRequest;
@@ -169,7 +170,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
                 exchange.getRequestMethod(), getSecurityContext(exchange.getPrincipal(), isSecure),
                 new MapPropertiesDelegate());
         requestContext.setEntityStream(exchange.getRequestBody());
-        requestContext.getHeaders().putAll(exchange.getRequestHeaders());
+        requestContext.headers(new JdkRequestHeaders(exchange.getRequestHeaders()));
         requestContext.setWriter(responseWriter);
         try {
             appHandler.handle(requestContext);
@@ -247,6 +248,28 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
         this.containerListener.onShutdown(this);
     }
 
+    /**
+     * Read-only view of JDK HTTP server request headers used to avoid eager copying of all the request headers.
+     */
+    private static final class JdkRequestHeaders implements InboundHeaderSource {
+
+        private final Headers headers;
+
+        private JdkRequestHeaders(final Headers headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public Iterable<String> getHeaderNames() {
+            return headers.keySet();
+        }
+
+        @Override
+        public List<String> getHeaderValues(final String name) {
+            return headers.get(name);
+        }
+    }
+
     private static final class ResponseWriter implements ContainerResponseWriter {
 
         private final HttpExchange exchange;
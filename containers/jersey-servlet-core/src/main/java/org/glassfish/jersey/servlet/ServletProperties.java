@@ -161,6 +161,65 @@ public final class ServletProperties {
      */
     public static final String SERVICE_LOCATOR = "jersey.config.servlet.context.serviceLocator";
 
+    /**
+     * If set to {@code true}, Jersey servlet container will use the Servlet 3.1 non-blocking I/O
+     * ({@code javax.servlet.ReadListener} and {@code javax.servlet.WriteListener}) to read request entities
+     * and write response entities without blocking servlet container threads.
+     * <p>
+     * In this mode the request is put into asynchronous mode as soon as it is received, the request entity
+     * is read as the data become available and the request is dispatched to the Jersey application only once the whole
+     * entity has been received (or once the request entity buffer is full). Response entity data written by Jersey are
+     * drained to the client whenever the underlying servlet output stream is ready to accept them.
+     * </p>
+     * <p>
+     * The mode is enabled also when the
+     * {@link org.glassfish.jersey.server.ServerProperties#INBOUND_ENTITY_NON_BLOCKING_BUFFER} property is set
+     * to a positive value.
+     * </p>
+     * <p>
+     * The property is ignored (and the standard blocking I/O is used) when the servlet container does not support
+     * Servlet 3.1 non-blocking I/O, when the request does not support asynchronous processing or when
+     * {@link #FILTER_FORWARD_ON_404} is enabled.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public static final String NON_BLOCKING_IO = "jersey.config.servlet.nonBlockingIo";
+
+    /**
+     * Maximal number of request entity bytes buffered per request by the {@link #NON_BLOCKING_IO non-blocking I/O} mode.
+     * <p>
+     * Once the given number of request entity bytes has been received, the request is dispatched to the Jersey application
+     * and the rest of the entity is read as the application consumes it; no more than the given number of bytes
+     * is read ahead. This bounds the memory used by requests of slow clients. The number of request entity bytes
+     * received before the request is dispatched is overridden by
+     * the {@link org.glassfish.jersey.server.ServerProperties#INBOUND_ENTITY_NON_BLOCKING_BUFFER} property, if set.
+     * </p>
+     * <p>
+     * Response entity data are never held back by this limit: writing of the response entity does not block,
+     * the data the client has not accepted yet are queued until the servlet output stream is ready.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@code Integer} type or a {@code String} convertible
+     * to {@code Integer} type.
+     * </p>
+     * <p>
+     * The default value is {@code 65536}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public static final String NON_BLOCKING_IO_BUFFER_SIZE = "jersey.config.servlet.nonBlockingIo.bufferSize";
+
     private ServletProperties() {
         // prevents instantiation
     }
@@ -40,15 +40,19 @@
 package org.glassfish.jersey.servlet;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.security.AccessController;
 import java.security.Principal;
 import java.security.PrivilegedActionException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.logging.Level;
@@ -78,6 +82,7 @@ import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.internal.util.collection.Values;
 import org.glassfish.jersey.message.internal.HeaderValueException;
+import org.glassfish.jersey.message.internal.InboundHeaderSource;
 import org.glassfish.jersey.message.internal.MediaTypes;
 import org.glassfish.jersey.process.internal.RequestScoped;
 import org.glassfish.jersey.server.ApplicationHandler;
@@ -85,6 +90,7 @@ import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.InternalServerProperties;
+import org.glassfish.jersey.server.internal.RequestEntityBuffer;
 import org.glassfish.jersey.server.internal.RuntimeExecutorsBinder;
 import org.glassfish.jersey.server.spi.RequestScopedInitializer;
 import org.glassfish.jersey.servlet.internal.LocalizationMessages;
@@ -95,6 +101,8 @@ import org.glassfish.jersey.servlet.internal.Utils;
 import org.glassfish.jersey.servlet.internal.spi.ServletContainerProvider;
 import org.glassfish.jersey.servlet.spi.AsyncContextDelegate;
 import org.glassfish.jersey.servlet.spi.AsyncContextDelegateProvider;
+import org.glassfish.jersey.servlet.spi.NonBlockingIoDelegate;
+import org.glassfish.jersey.servlet.spi.NonBlockingIoDelegateProvider;
 
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.api.ServiceLocator;
@@ -115,6 +123,8 @@ public class WebComponent {
 
     private static final Logger LOGGER = Logger.getLogger(WebComponent.class.getName());
 
+    private static final int DEFAULT_NON_BLOCKING_IO_BUFFER_SIZE = 64 * 1024;
+
     private final Type REQUEST_TYPE = (new TypeLiteral<Ref<HttpServletRequest>>() {}).getType();
     private final Type RESPONSE_TYPE = (new TypeLiteral<Ref<HttpServletResponse>>() {}).getType();
 
@@ -153,6 +163,31 @@ public class WebComponent {
         };
     }
 
+    /**
+     * Return the first found {@link NonBlockingIoDelegateProvider}
+     * (via {@link Providers#getAllProviders(org.glassfish.hk2.api.ServiceLocator, Class)}) if the
+     * {@link ServletProperties#NON_BLOCKING_IO non-blocking I/O} or the
+     * {@link ServerProperties#INBOUND_ENTITY_NON_BLOCKING_BUFFER non-blocking request entity reading} is enabled and can be used.
+     *
+     * @param resourceConfig Jersey application configuration.
+     * @return non-blocking I/O delegate provider or {@code null} if the non-blocking I/O should not be used.
+     */
+    private NonBlockingIoDelegateProvider getNonBlockingIoDelegateProvider(final ResourceConfig resourceConfig) {
+        if (forwardOn404 || !(nonBlockingEntityBufferSize > 0 || ServerProperties.getValue(resourceConfig.getProperties(),
+                ServletProperties.NON_BLOCKING_IO, false, Boolean.class))) {
+            return null;
+        }
+
+        final Iterator<NonBlockingIoDelegateProvider> providers = Providers.getAllProviders(appHandler.getServiceLocator(),
+                NonBlockingIoDelegateProvider.class).iterator();
+        if (providers.hasNext()) {
+            return providers.next();
+        }
+
+        LOGGER.config(LocalizationMessages.NON_BLOCKING_IO_NOT_SUPPORTED());
+        return null;
+    }
+
     @SuppressWarnings("JavaDoc")
     private static class HttpServletRequestReferencingFactory extends ReferencingFactory<HttpServletRequest> {
         @Inject
@@ -258,6 +293,7 @@ public class WebComponent {
             }).to(WebConfig.class).in(Singleton.class);
 
             install(new ServiceFinderBinder<>(AsyncContextDelegateProvider.class, applicationProperties, RuntimeType.SERVER));
+            install(new ServiceFinderBinder<>(NonBlockingIoDelegateProvider.class, applicationProperties, RuntimeType.SERVER));
         }
     }
 
@@ -287,6 +323,18 @@ public class WebComponent {
      * Asynchronous context delegate provider.
      */
     private final AsyncContextDelegateProvider asyncExtensionDelegate;
+    /**
+     * Non-blocking I/O delegate provider, {@code null} if the non-blocking I/O is not used.
+     */
+    private final NonBlockingIoDelegateProvider nonBlockingIoDelegateProvider;
+    /**
+     * Cached value of configuration property {@link ServletProperties#NON_BLOCKING_IO_BUFFER_SIZE}.
+     */
+    private final int nonBlockingIoBufferSize;
+    /**
+     * Cached value of configuration property {@link ServerProperties#INBOUND_ENTITY_NON_BLOCKING_BUFFER}.
+     */
+    private final int nonBlockingEntityBufferSize;
 
     /**
      * Create and initialize new web component instance.
@@ -319,6 +367,11 @@ public class WebComponent {
                 && resourceConfig.isProperty(ServletProperties.FILTER_FORWARD_ON_404);
         this.configSetStatusOverSendError = ServerProperties.getValue(resourceConfig.getProperties(),
                 ServerProperties.RESPONSE_SET_STATUS_OVER_SEND_ERROR, false, Boolean.class);
+        this.nonBlockingIoBufferSize = ServerProperties.getValue(resourceConfig.getProperties(),
+                ServletProperties.NON_BLOCKING_IO_BUFFER_SIZE, DEFAULT_NON_BLOCKING_IO_BUFFER_SIZE, Integer.class);
+        this.nonBlockingEntityBufferSize = ServerProperties.getValue(resourceConfig.getProperties(),
+                ServerProperties.INBOUND_ENTITY_NON_BLOCKING_BUFFER, 0, Integer.class);
+        this.nonBlockingIoDelegateProvider = getNonBlockingIoDelegateProvider(resourceConfig);
         this.backgroundTaskScheduler = appHandler.getServiceLocator()
                 .getService(ScheduledExecutorService.class, new RuntimeExecutorsBinder.BackgroundSchedulerLiteral());
     }
@@ -347,6 +400,12 @@ public class WebComponent {
             final HttpServletRequest servletRequest,
             final HttpServletResponse servletResponse) throws ServletException, IOException {
 
+        final NonBlockingIoDelegate nonBlockingIoDelegate = nonBlockingIoDelegateProvider != null
+                ? nonBlockingIoDelegateProvider.createDelegate(servletRequest, servletResponse, nonBlockingIoBufferSize) : null;
+        if (nonBlockingIoDelegate != null) {
+            return serviceNonBlocking(baseUri, requestUri, servletRequest, servletResponse, nonBlockingIoDelegate);
+        }
+
         final ContainerRequest requestContext = new ContainerRequest(baseUri, requestUri,
                 servletRequest.getMethod(), getSecurityContext(servletRequest), new ServletPropertiesDelegate(servletRequest));
         requestContext.setEntityStream(servletRequest.getInputStream());
@@ -384,13 +443,7 @@ public class WebComponent {
             });
         } catch (final HeaderValueException hve) {
             final Response.Status status = Response.Status.BAD_REQUEST;
-            if (configSetStatusOverSendError) {
-                servletResponse.reset();
-                //noinspection deprecation
-                servletResponse.setStatus(status.getStatusCode(), status.getReasonPhrase());
-            } else {
-                servletResponse.sendError(status.getStatusCode(), status.getReasonPhrase());
-            }
+            sendErrorStatus(servletResponse, status);
 
             return Values.of(status.getStatusCode());
         } catch (final Exception e) {
@@ -399,6 +452,104 @@ public class WebComponent {
 
     }
 
+    /**
+     * Dispatch client requests to a resource class using the non-blocking I/O. The request is dispatched to the Jersey
+     * application only after the request entity has been read by the given {@link NonBlockingIoDelegate delegate}.
+     *
+     * @param baseUri               the base URI of the request.
+     * @param requestUri            the URI of the request.
+     * @param servletRequest        the servlet request.
+     * @param servletResponse       the servlet response.
+     * @param nonBlockingIoDelegate delegate used to read and write entities without blocking.
+     * @return lazily initialized response status code {@link Value value provider}.
+     * @throws javax.servlet.ServletException if the HTTP request cannot be handled.
+     */
+    private Value<Integer> serviceNonBlocking(
+            final URI baseUri,
+            final URI requestUri,
+            final HttpServletRequest servletRequest,
+            final HttpServletResponse servletResponse,
+            final NonBlockingIoDelegate nonBlockingIoDelegate) throws ServletException {
+
+        final ContainerRequest requestContext = new ContainerRequest(baseUri, requestUri,
+                servletRequest.getMethod(), getSecurityContext(servletRequest), new ServletPropertiesDelegate(servletRequest));
+
+        final ResponseWriter responseWriter;
+        try {
+            addRequestHeaders(servletRequest, requestContext);
+            filterFormParameters(servletRequest, requestContext);
+
+            responseWriter = new ResponseWriter(
+                    forwardOn404,
+                    configSetStatusOverSendError,
+                    servletResponse,
+                    nonBlockingIoDelegate,
+                    backgroundTaskScheduler);
+        } catch (final HeaderValueException hve) {
+            final Response.Status status = Response.Status.BAD_REQUEST;
+            try {
+                sendErrorStatus(servletResponse, status);
+            } catch (final IOException e) {
+                throw new ServletException(e);
+            }
+            return Values.of(status.getStatusCode());
+        }
+
+        requestContext.setRequestScopedInitializer(new RequestScopedInitializer() {
+            @Override
+            public void initialize(final ServiceLocator locator) {
+                locator.<Ref<HttpServletRequest>>getService(REQUEST_TYPE).set(servletRequest);
+                locator.<Ref<HttpServletResponse>>getService(RESPONSE_TYPE).set(servletResponse);
+            }
+        });
+        requestContext.setWriter(responseWriter);
+
+        final RequestEntityBuffer entityBuffer = new RequestEntityBuffer(
+                nonBlockingEntityBufferSize > 0 ? nonBlockingEntityBufferSize : Math.max(1, nonBlockingIoBufferSize));
+        nonBlockingIoDelegate.readEntity(entityBuffer, new NonBlockingIoDelegate.EntityCallback() {
+            @Override
+            public void completed(final InputStream entity) {
+                requestContext.setEntityStream(entity);
+                appHandler.handle(requestContext);
+            }
+
+            @Override
+            public void failed(final Throwable error) {
+                LOGGER.log(Level.FINE, LocalizationMessages.NON_BLOCKING_IO_READ_FAILED(requestContext.getRequestUri()), error);
+                try {
+                    responseWriter.failure(error);
+                } catch (final RuntimeException e) {
+                    // failure is re-thrown by the response writer; there is no caller to propagate it to.
+                    LOGGER.log(Level.FINER, e.getMessage(), e);
+                }
+            }
+        });
+
+        return Values.lazy(new Value<Integer>() {
+            @Override
+            public Integer get() {
+                return responseWriter.getResponseStatus();
+            }
+        });
+    }
+
+    /**
+     * Send an error status to the client honoring the {@link ServerProperties#RESPONSE_SET_STATUS_OVER_SEND_ERROR} setting.
+     *
+     * @param servletResponse servlet response to send the error status with.
+     * @param status          error status.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void sendErrorStatus(final HttpServletResponse servletResponse, final Response.Status status) throws IOException {
+        if (configSetStatusOverSendError) {
+            servletResponse.reset();
+            //noinspection deprecation
+            servletResponse.setStatus(status.getStatusCode(), status.getReasonPhrase());
+        } else {
+            servletResponse.sendError(status.getStatusCode(), status.getReasonPhrase());
+        }
+    }
+
     /**
      * Get default {@link SecurityContext} for given {@code request}.
      *
@@ -498,24 +649,49 @@ public class WebComponent {
     }
 
     /**
-     * Copy request headers present in {@code request} into {@code requestContext} ignoring {@code null} values.
+     * Make request headers present in {@code request} available in {@code requestContext} ignoring {@code null} values.
+     * The headers are read through from the servlet request and copied only when modified.
      *
-     * @param request http servlet request to copy headers from.
-     * @param requestContext container request to copy headers to.
+     * @param request http servlet request to read headers from.
+     * @param requestContext container request to make headers available in.
      */
-    @SuppressWarnings("unchecked")
     private void addRequestHeaders(final HttpServletRequest request, final ContainerRequest requestContext) {
-        final Enumeration<String> names = request.getHeaderNames();
-        while (names.hasMoreElements()) {
-            final String name = names.nextElement();
+        requestContext.headers(new ServletRequestHeaders(request));
+    }
+
+    /**
+     * Read-only view of servlet request headers used to avoid eager copying of all the request headers.
+     */
+    private static final class ServletRequestHeaders implements InboundHeaderSource {
+
+        private final HttpServletRequest request;
+
+        private ServletRequestHeaders(final HttpServletRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterable<String> getHeaderNames() {
+            return Collections.list((Enumeration<String>) request.getHeaderNames());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<String> getHeaderValues(final String name) {
+            List<String> result = null;
 
             final Enumeration<String> values = request.getHeaders(name);
             while (values.hasMoreElements()) {
                 final String value = values.nextElement();
                 if (value != null) { // filter out null values
-                    requestContext.header(name, value);
+                    if (result == null) {
+                        result = new ArrayList<>(1);
+                    }
+                    result.add(value);
                 }
             }
+            return result;
         }
     }
 
@@ -60,12 +60,14 @@ import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.internal.JerseyRequestTimeoutHandler;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.glassfish.jersey.servlet.spi.AsyncContextDelegate;
+import org.glassfish.jersey.servlet.spi.NonBlockingIoDelegate;
 
 import jersey.repackaged.com.google.common.util.concurrent.SettableFuture;
 
 /**
  * An internal implementation of {@link ContainerResponseWriter} for Servlet containers.
- * The writer depends on provided {@link AsyncContextDelegate} to support async functionality.
+ * The writer depends on provided {@link AsyncContextDelegate} to support async functionality. If the delegate is
+ * a {@link NonBlockingIoDelegate} the response entity is written to the non-blocking output stream provided by the delegate.
  *
  * @author Paul Sandoz (paul.sandoz at oracle.com)
  * @author Jakub Podlesak (jakub.podlesak at oracle.com)
@@ -173,7 +175,8 @@ public class ResponseWriter implements ContainerResponseWriter {
             return null;
         } else {
             try {
-                final OutputStream outputStream = response.getOutputStream();
+                final OutputStream outputStream = asyncExt instanceof NonBlockingIoDelegate
+                        ? ((NonBlockingIoDelegate) asyncExt).getOutputStream() : response.getOutputStream();
 
                 // delegating output stream prevents closing the underlying servlet output stream,
                 // so that any Servlet filters in the chain can still write to the response after us.
@@ -0,0 +1,102 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.servlet.spi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.glassfish.jersey.server.internal.RequestEntityBuffer;
+
+/**
+ * Servlet container response writer async extension that, in addition to the {@link AsyncContextDelegate asynchronous
+ * request processing}, reads the request entity and writes the response entity using non-blocking I/O.
+ * <p>
+ * An instance is created per request by {@link NonBlockingIoDelegateProvider}. Once
+ * {@link #readEntity(RequestEntityBuffer, EntityCallback) reading of the request entity} has started the request
+ * is in asynchronous mode, hence {@link #suspend()} does not need to put the request into asynchronous mode again
+ * and {@link #complete()} is deferred until all the data written to the {@link #getOutputStream() response output stream}
+ * are flushed to the client.
+ * </p>
+ *
+ * @since 2.15
+ */
+public interface NonBlockingIoDelegate extends AsyncContextDelegate {
+
+    /**
+     * Callback notified once the request entity has been read.
+     */
+    public static interface EntityCallback {
+
+        /**
+         * Invoked when the whole request entity has been received or when the request entity buffer is full.
+         * In the latter case the remaining entity data are read as the returned stream is consumed.
+         *
+         * @param entity input stream providing the request entity data.
+         */
+        public void completed(InputStream entity);
+
+        /**
+         * Invoked when reading of the request entity has failed.
+         *
+         * @param error cause of the failure.
+         */
+        public void failed(Throwable error);
+    }
+
+    /**
+     * Put the request into asynchronous mode and start reading the request entity without blocking the calling thread.
+     * The received data are put into the given buffer. The provided callback is notified, possibly on a different thread,
+     * once the whole entity has been received or once the buffer is {@link RequestEntityBuffer#isFull() full}.
+     *
+     * @param buffer   buffer of the request entity data received before the request is processed.
+     * @param callback callback to be notified when the request entity is read.
+     */
+    public void readEntity(RequestEntityBuffer buffer, EntityCallback callback);
+
+    /**
+     * Get an output stream the response entity should be written to. Writing to the stream does not block, the data
+     * are buffered and sent to the client whenever the underlying servlet output stream is ready.
+     *
+     * @return non-blocking response entity output stream.
+     * @throws IOException if the output stream cannot be obtained.
+     */
+    public OutputStream getOutputStream() throws IOException;
+}
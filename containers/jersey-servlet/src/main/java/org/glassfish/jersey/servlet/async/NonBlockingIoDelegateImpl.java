@@ -0,0 +1,456 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.servlet.async;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.glassfish.jersey.server.internal.RequestEntityBuffer;
+import org.glassfish.jersey.servlet.async.internal.LocalizationMessages;
+import org.glassfish.jersey.servlet.spi.NonBlockingIoDelegate;
+
+/**
+ * Servlet 3.1 {@link NonBlockingIoDelegate} implementation based on {@link ReadListener} and {@link WriteListener}.
+ * <p>
+ * The request entity is read ahead into a {@link RequestEntityBuffer request entity buffer} whenever the servlet container
+ * signals data availability. The entity is passed to Jersey once it has been fully received or once the buffer has been
+ * filled up; in the latter case the rest of the entity is read as the entity stream is consumed, with no more than
+ * the buffer size of the data read ahead. Response entity data written
+ * by Jersey are written directly to the servlet output stream as long as it is ready, otherwise they are handed over
+ * to the {@link WriteListener} that writes them once the container signals the write possibility. The writing thread
+ * is never blocked. The asynchronous context is completed only after all the queued data have been written.
+ * </p>
+ * <p>
+ * This class must not be loaded on containers that do not support Servlet 3.1 API.
+ * </p>
+ *
+ * @since 2.15
+ */
+final class NonBlockingIoDelegateImpl implements NonBlockingIoDelegate {
+
+    private static final Logger LOGGER = Logger.getLogger(NonBlockingIoDelegateImpl.class.getName());
+
+    private static final int NEVER_TIMEOUT_VALUE = -1;
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final int bufferSize;
+
+    private final Object lock = new Object();
+
+    private AsyncContext asyncContext;
+    private NonBlockingOutputStream outputStream;
+    private boolean completeRequested;
+    private boolean completed;
+
+    /**
+     * Create a Servlet 3.1 {@link NonBlockingIoDelegate} with given {@code request} and {@code response}.
+     *
+     * @param request    request to read the entity from.
+     * @param response   response to write the entity to.
+     * @param bufferSize maximal number of the remaining request entity bytes read ahead once the request has been passed
+     *                   to Jersey.
+     */
+    NonBlockingIoDelegateImpl(final HttpServletRequest request, final HttpServletResponse response, final int bufferSize) {
+        this.request = request;
+        this.response = response;
+        this.bufferSize = Math.max(1, bufferSize);
+    }
+
+    @Override
+    public void readEntity(final RequestEntityBuffer buffer, final EntityCallback callback) {
+        final AsyncContext context;
+        synchronized (lock) {
+            asyncContext = request.startAsync(request, response);
+            // Jersey takes care of suspend timeouts itself.
+            asyncContext.setTimeout(NEVER_TIMEOUT_VALUE);
+            context = asyncContext;
+        }
+
+        final ServletInputStream inputStream;
+        try {
+            inputStream = request.getInputStream();
+        } catch (final IOException e) {
+            callback.failed(e);
+            return;
+        }
+
+        if (!hasEntity()) {
+            // Nothing to wait for - the stream is empty and reading from it does not block.
+            callback.completed(inputStream);
+            return;
+        }
+
+        inputStream.setReadListener(new EntityInputStream(inputStream, context, buffer, callback));
+    }
+
+    /**
+     * Determine whether the request is expected to contain an entity.
+     *
+     * @return {@code true} if the request declares a non-zero content length or uses transfer encoding.
+     */
+    private boolean hasEntity() {
+        final long contentLength = request.getContentLengthLong();
+        return contentLength > 0 || (contentLength == -1 && request.getHeader("Transfer-Encoding") != null);
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        synchronized (lock) {
+            if (outputStream == null) {
+                outputStream = new NonBlockingOutputStream(response.getOutputStream());
+            }
+            return outputStream;
+        }
+    }
+
+    @Override
+    public void suspend() throws IllegalStateException {
+        synchronized (lock) {
+            // The request has been put into asynchronous mode already when the entity started to be read.
+            if (asyncContext == null) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    @Override
+    public void complete() {
+        synchronized (lock) {
+            completeRequested = true;
+            if (outputStream == null || outputStream.isDrained()) {
+                completeAsyncContext();
+            }
+        }
+    }
+
+    /**
+     * Complete the asynchronous context if not completed yet. Must be called while holding the {@link #lock}.
+     */
+    private void completeAsyncContext() {
+        if (!completed && asyncContext != null) {
+            completed = true;
+            asyncContext.complete();
+        }
+    }
+
+    /**
+     * Request entity input stream fed by the servlet container read notifications.
+     * <p>
+     * Until the entity is passed to Jersey, the data are read into the {@link RequestEntityBuffer request entity buffer}.
+     * Once the buffer is full, the entity stream passed to Jersey consists of the buffered data followed by this stream.
+     * This stream reads at most {@link #bufferSize} bytes ahead from the servlet input stream; once its read-ahead queue
+     * is full, no more data are read from the servlet input stream until the consumer of this stream reads some of the
+     * queued data. Reading resumes on the consumer thread; the container notifies the listener again once it runs out
+     * of the available data. All the methods use the stream instance monitor for synchronization.
+     * </p>
+     */
+    private final class EntityInputStream extends InputStream implements ReadListener {
+
+        private final ServletInputStream delegate;
+        private final AsyncContext context;
+        private final RequestEntityBuffer entityBuffer;
+        private final EntityCallback callback;
+
+        private final Deque<byte[]> chunks = new ArrayDeque<>();
+        private int position;
+        private int buffered;
+
+        private boolean finished;
+        private Throwable error;
+        private boolean dispatched;
+
+        private EntityInputStream(final ServletInputStream delegate, final AsyncContext context,
+                                  final RequestEntityBuffer entityBuffer, final EntityCallback callback) {
+            this.delegate = delegate;
+            this.context = context;
+            this.entityBuffer = entityBuffer;
+            this.callback = callback;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            final boolean dispatch;
+            synchronized (this) {
+                pump();
+                dispatch = !dispatched && entityBuffer.isFull();
+                dispatched |= dispatch;
+            }
+            if (dispatch) {
+                // the rest of the entity is read from this stream
+                dispatch(entityBuffer.partial(this));
+            }
+        }
+
+        @Override
+        public void onAllDataRead() throws IOException {
+            final boolean dispatch;
+            synchronized (this) {
+                finished = true;
+                notifyAll();
+
+                dispatch = !dispatched;
+                dispatched = true;
+            }
+            if (dispatch) {
+                dispatch(entityBuffer.complete());
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            final boolean notify;
+            synchronized (this) {
+                error = t;
+                notifyAll();
+
+                notify = !dispatched;
+                dispatched = true;
+            }
+            if (notify) {
+                callback.failed(t);
+            }
+        }
+
+        /**
+         * Pass the stream to the callback on a container thread so that the listener notification returns and
+         * the container is able to notify the listener again while the stream is being consumed.
+         */
+        private void dispatch(final InputStream entity) {
+            context.start(new Runnable() {
+                @Override
+                public void run() {
+                    callback.completed(entity);
+                }
+            });
+        }
+
+        /**
+         * Read the data available in the servlet input stream until the request entity buffer (before the entity is passed
+         * to Jersey) or the read-ahead queue (afterwards) is full. Must be called while holding the stream monitor.
+         *
+         * @throws IOException if reading from the servlet input stream fails.
+         */
+        private void pump() throws IOException {
+            while (!finished && delegate.isReady()) {
+                final int free = dispatched
+                        ? bufferSize - buffered : entityBuffer.getCapacity() - entityBuffer.getSize();
+                if (free <= 0) {
+                    break;
+                }
+
+                final byte[] chunk = new byte[Math.min(READ_BUFFER_SIZE, free)];
+                final int read = delegate.read(chunk);
+                if (read == -1) {
+                    finished = true;
+                } else if (read > 0 && !dispatched) {
+                    entityBuffer.put(ByteBuffer.wrap(chunk, 0, read));
+                } else if (read > 0) {
+                    chunks.addLast(read == chunk.length ? chunk : Arrays.copyOf(chunk, read));
+                    buffered += read;
+                }
+            }
+            notifyAll();
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            while (chunks.isEmpty()) {
+                if (error != null) {
+                    throw new IOException(error);
+                }
+                if (finished) {
+                    return -1;
+                }
+                // The read-ahead may have stopped on a full buffer while the servlet input stream is still ready,
+                // in which case the container does not notify the listener again.
+                pump();
+                if (!chunks.isEmpty() || finished) {
+                    continue;
+                }
+                try {
+                    wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+
+            final byte[] head = chunks.peekFirst();
+            final int count = Math.min(len, head.length - position);
+            System.arraycopy(head, position, b, off, count);
+
+            position += count;
+            if (position == head.length) {
+                chunks.pollFirst();
+                position = 0;
+            }
+            buffered -= count;
+
+            // Resume reading ahead as there is a free space in the buffer now.
+            pump();
+            return count;
+        }
+
+        @Override
+        public synchronized int available() throws IOException {
+            return buffered;
+        }
+    }
+
+    /**
+     * Output stream that writes data to the servlet output stream only when it is ready and queues them otherwise.
+     * The queued data are written by the write listener, the writing thread never waits for the client. Data written
+     * to a slow client therefore stay in memory until the client accepts them.
+     */
+    private final class NonBlockingOutputStream extends OutputStream implements WriteListener {
+
+        private final ServletOutputStream delegate;
+        private final Deque<byte[]> queue = new ArrayDeque<>();
+
+        private boolean flushRequested;
+        private boolean failed;
+
+        private NonBlockingOutputStream(final ServletOutputStream delegate) {
+            this.delegate = delegate;
+            delegate.setWriteListener(this);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            synchronized (lock) {
+                if (failed) {
+                    throw new IOException(LocalizationMessages.NON_BLOCKING_WRITE_FAILED());
+                }
+                if (queue.isEmpty() && delegate.isReady()) {
+                    delegate.write(b, off, len);
+                    return;
+                }
+
+                // the listener writes the data once the container is able to accept them
+                queue.addLast(Arrays.copyOfRange(b, off, off + len));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (lock) {
+                if (queue.isEmpty() && delegate.isReady()) {
+                    delegate.flush();
+                } else {
+                    flushRequested = true;
+                }
+            }
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            synchronized (lock) {
+                while (!queue.isEmpty() && delegate.isReady()) {
+                    delegate.write(queue.pollFirst());
+                }
+
+                if (queue.isEmpty()) {
+                    if (flushRequested && delegate.isReady()) {
+                        flushRequested = false;
+                        delegate.flush();
+                    }
+                    if (completeRequested) {
+                        completeAsyncContext();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            LOGGER.log(Level.FINE, LocalizationMessages.NON_BLOCKING_WRITE_FAILED(), t);
+            synchronized (lock) {
+                failed = true;
+                queue.clear();
+
+                if (completeRequested) {
+                    completeAsyncContext();
+                }
+            }
+        }
+
+        /**
+         * Must be called while holding the {@link #lock}.
+         *
+         * @return {@code true} if there are no data waiting to be written.
+         */
+        private boolean isDrained() {
+            return queue.isEmpty() || failed;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.servlet.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.glassfish.jersey.server.internal.RequestEntityBuffer;
+import org.glassfish.jersey.servlet.spi.NonBlockingIoDelegate;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link NonBlockingIoDelegateImpl} read and write listeners.
+ */
+public class NonBlockingIoDelegateImplTest {
+
+    /**
+     * Servlet input stream with a controllable amount of data available for reading.
+     */
+    private static class TestInputStream extends ServletInputStream {
+
+        private final byte[] data;
+        private volatile int available;
+        private int position;
+        private ReadListener listener;
+
+        private TestInputStream(final String data, final int available) {
+            this.data = data.getBytes();
+            this.available = available;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position == data.length;
+        }
+
+        @Override
+        public boolean isReady() {
+            return position < available || isFinished();
+        }
+
+        @Override
+        public void setReadListener(final ReadListener readListener) {
+            this.listener = readListener;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (isFinished()) {
+                return -1;
+            }
+            if (position >= available) {
+                throw new IllegalStateException();
+            }
+            return data[position++];
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (isFinished()) {
+                return -1;
+            }
+            final int count = Math.min(len, available - position);
+            System.arraycopy(data, position, b, off, count);
+            position += count;
+            return count;
+        }
+    }
+
+    /**
+     * Servlet output stream with a controllable readiness.
+     */
+    private static class TestOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        private volatile boolean ready;
+        private WriteListener listener;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            this.listener = writeListener;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (!ready) {
+                throw new IllegalStateException();
+            }
+            written.write(b);
+        }
+    }
+
+    private final AtomicBoolean asyncCompleted = new AtomicBoolean();
+
+    private NonBlockingIoDelegateImpl createDelegate(final TestInputStream in, final TestOutputStream out, final int bufferSize) {
+        final AsyncContext asyncContext = proxy(AsyncContext.class, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if ("start".equals(method.getName())) {
+                    ((Runnable) args[0]).run();
+                } else if ("complete".equals(method.getName())) {
+                    asyncCompleted.set(true);
+                }
+                return null;
+            }
+        });
+        final HttpServletRequest request = proxy(HttpServletRequest.class, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "startAsync":
+                        return asyncContext;
+                    case "getInputStream":
+                        return in;
+                    case "getContentLengthLong":
+                        return in == null ? 0L : (long) in.data.length;
+                    default:
+                        return null;
+                }
+            }
+        });
+        final HttpServletResponse response = proxy(HttpServletResponse.class, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                return "getOutputStream".equals(method.getName()) ? out : null;
+            }
+        });
+        return new NonBlockingIoDelegateImpl(request, response, bufferSize);
+    }
+
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static NonBlockingIoDelegate.EntityCallback callback(final AtomicReference<InputStream> entity) {
+        return new NonBlockingIoDelegate.EntityCallback() {
+            @Override
+            public void completed(final InputStream stream) {
+                entity.set(stream);
+            }
+
+            @Override
+            public void failed(final Throwable error) {
+                throw new AssertionError(error);
+            }
+        };
+    }
+
+    private static String read(final InputStream stream) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[3];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toString();
+    }
+
+    @Test
+    public void testEntityPassedOnceRead() throws Exception {
+        final TestInputStream in = new TestInputStream("hello", 2);
+        final AtomicReference<InputStream> entity = new AtomicReference<>();
+        createDelegate(in, null, 1024).readEntity(new RequestEntityBuffer(1024), callback(entity));
+
+        in.listener.onDataAvailable();
+        assertNull(entity.get());
+
+        in.available = 5;
+        in.listener.onDataAvailable();
+        in.listener.onAllDataRead();
+        assertEquals("hello", read(entity.get()));
+    }
+
+    @Test
+    public void testEntityReadAheadIsBounded() throws Exception {
+        final TestInputStream in = new TestInputStream("0123456789", 10);
+        final AtomicReference<InputStream> entity = new AtomicReference<>();
+        createDelegate(in, null, 4).readEntity(new RequestEntityBuffer(4), callback(entity));
+
+        in.listener.onDataAvailable();
+        // The buffer is full - entity is passed on without reading the rest of the data.
+        assertEquals(4, in.position);
+        assertEquals(4, entity.get().available());
+
+        assertEquals("0123456789", read(entity.get()));
+    }
+
+    @Test
+    public void testEntityBufferSizeIndependentOfReadAhead() throws Exception {
+        final TestInputStream in = new TestInputStream("0123456789", 10);
+        final AtomicReference<InputStream> entity = new AtomicReference<>();
+        createDelegate(in, null, 2).readEntity(new RequestEntityBuffer(6), callback(entity));
+
+        in.listener.onDataAvailable();
+        // The request entity buffer is full - entity is passed on without reading the rest of the data.
+        assertEquals(6, in.position);
+        assertEquals(6, entity.get().available());
+
+        final byte[] buffered = new byte[6];
+        assertEquals(6, entity.get().read(buffered));
+        assertEquals("012345", new String(buffered));
+        // The rest of the entity is read ahead by at most 2 bytes.
+        assertEquals('6', entity.get().read());
+        assertEquals(9, in.position);
+
+        assertEquals("789", read(entity.get()));
+    }
+
+    @Test
+    public void testWriterNotBlockedWhenNotReady() throws Exception {
+        final TestOutputStream out = new TestOutputStream();
+        final OutputStream stream = createDelegate(null, out, 4).getOutputStream();
+
+        // the data exceed the buffer size, yet they are handed over to the write listener without waiting
+        stream.write("ab".getBytes());
+        stream.write("cdef".getBytes());
+        assertEquals("", out.written.toString());
+
+        out.ready = true;
+        out.listener.onWritePossible();
+        assertEquals("abcdef", out.written.toString());
+    }
+
+    @Test
+    public void testCompleteDeferredUntilDrained() throws Exception {
+        final TestOutputStream out = new TestOutputStream();
+        final NonBlockingIoDelegateImpl delegate = createDelegate(null, out, 4);
+        delegate.readEntity(new RequestEntityBuffer(4), callback(new AtomicReference<InputStream>()));
+
+        delegate.getOutputStream().write("ab".getBytes());
+        delegate.complete();
+        assertFalse(asyncCompleted.get());
+
+        out.ready = true;
+        out.listener.onWritePossible();
+        assertTrue(asyncCompleted.get());
+        assertEquals("ab", out.written.toString());
+    }
+}
@@ -45,7 +45,7 @@ import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.Principal;
-import java.util.Enumeration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -66,6 +66,7 @@ import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.ExtendedLogger;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.jetty.internal.LocalizationMessages;
+import org.glassfish.jersey.message.internal.InboundHeaderSource;
 import org.glassfish.jersey.process.internal.RequestScoped;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerException;
@@ -183,11 +184,7 @@ public final class JettyHttpContainer extends AbstractHandler implements Contain
                     getSecurityContext(request),
                     new MapPropertiesDelegate());
             requestContext.setEntityStream(request.getInputStream());
-            final Enumeration<String> headerNames = request.getHeaderNames();
-            while (headerNames.hasMoreElements()) {
-                final String headerName = headerNames.nextElement();
-                requestContext.headers(headerName, request.getHeader(headerName));
-            }
+            requestContext.headers(new JettyRequestHeaders(request));
             requestContext.setWriter(responseWriter);
             requestContext.setRequestScopedInitializer(new RequestScopedInitializer() {
                 @Override
@@ -253,6 +250,29 @@ public final class JettyHttpContainer extends AbstractHandler implements Contain
         }
     }
 
+    /**
+     * Read-only view of Jetty request headers used to avoid eager copying of all the request headers.
+     */
+    private static final class JettyRequestHeaders implements InboundHeaderSource {
+
+        private final Request request;
+
+        private JettyRequestHeaders(final Request request) {
+            this.request = request;
+        }
+
+        @Override
+        public Iterable<String> getHeaderNames() {
+            return Collections.list(request.getHeaderNames());
+        }
+
+        @Override
+        public List<String> getHeaderValues(final String name) {
+            final String value = request.getHeader(name);
+            return value == null ? null : Collections.singletonList(value);
+        }
+    }
+
     private static final class ResponseWriter implements ContainerResponseWriter {
 
         private final Response response;
@@ -45,6 +45,7 @@ import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.Principal;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -61,6 +62,7 @@ import org.glassfish.jersey.internal.MapPropertiesDelegate;
 import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.ExtendedLogger;
 import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.message.internal.InboundHeaderSource;
 import org.glassfish.jersey.process.internal.RequestScoped;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerException;
@@ -143,6 +145,29 @@ public final class SimpleContainer implements org.simpleframework.http.core.Cont
     private volatile ApplicationHandler appHandler;
     private volatile ContainerLifecycleListener containerListener;
 
+    /**
+     * Read-only view of Simple framework request headers used to avoid eager copying of all the request headers.
+     */
+    private static final class SimpleRequestHeaders implements InboundHeaderSource {
+
+        private final Request request;
+
+        private SimpleRequestHeaders(final Request request) {
+            this.request = request;
+        }
+
+        @Override
+        public Iterable<String> getHeaderNames() {
+            return request.getNames();
+        }
+
+        @Override
+        public List<String> getHeaderValues(final String name) {
+            final String value = request.getValue(name);
+            return value == null ? null : Collections.singletonList(value);
+        }
+    }
+
     private static final class Writer implements ContainerResponseWriter {
         private final Response response;
 
@@ -243,9 +268,7 @@ public final class SimpleContainer implements org.simpleframework.http.core.Cont
                     getSecurityContext(request),
                     new MapPropertiesDelegate());
             requestContext.setEntityStream(request.getInputStream());
-            for (final String headerName : request.getNames()) {
-                requestContext.headers(headerName, request.getValue(headerName));
-            }
+            requestContext.headers(new SimpleRequestHeaders(request));
             requestContext.setWriter(responseWriter);
             requestContext.setRequestScopedInitializer(new RequestScopedInitializer() {
                 @Override
@@ -40,6 +40,8 @@
 package org.glassfish.jersey.client;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -53,6 +55,7 @@ import org.glassfish.jersey.ExtendedConfig;
 import org.glassfish.jersey.client.internal.LocalizationMessages;
 import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.client.spi.PerRequestPropertiesConnector;
 import org.glassfish.jersey.internal.inject.Injections;
 import org.glassfish.jersey.internal.inject.JerseyClassAnalyzer;
 import org.glassfish.jersey.internal.inject.ProviderBinder;
@@ -102,15 +105,39 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
 
             @Override
             public State onChange(final State state) {
-                return state.copy();
+                return state.copyOnChange();
             }
         };
 
+        /**
+         * Names of the properties that are resolved by the client runtime itself for each request separately.
+         * Configurations that differ from each other only in values of these properties and of the properties
+         * the connector {@link PerRequestPropertiesConnector resolves per request} can share the same client runtime
+         * and connector.
+         */
+        private static final Set<String> RUNTIME_REQUEST_SCOPED_PROPERTIES =
+                Collections.singleton(ClientProperties.SUPPRESS_HTTP_COMPLIANCE_VALIDATION);
+
         private volatile StateChangeStrategy strategy;
         private final CommonConfig commonConfig;
         private final JerseyClient client;
         private volatile ConnectorProvider connectorProvider;
 
+        /**
+         * Shared state this state has been copied from on change, whose runtime or connector may be reused
+         * by this state, or {@code null} if there is no such state.
+         */
+        private volatile State runtimeSource;
+        /**
+         * {@code true} if any component (provider, feature, binder or connector provider) has been registered
+         * with this state since it has been copied from the {@link #runtimeSource runtime source} state.
+         */
+        private volatile boolean componentsChanged;
+        /**
+         * Configuration of the initialized runtime as seen by the requests created using this state.
+         */
+        private volatile ClientConfig runtimeConfig;
+
 
         private final LazyValue<ClientRuntime> runtime = Values.lazy(new Value<ClientRuntime>() {
             @Override
@@ -183,6 +210,19 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             return new State(client, this);
         }
 
+        /**
+         * Create a copy of this shared configuration state that is about to be changed. The copy keeps a reference
+         * to this state so that the runtime of this state can be reused by the copy in case the copy
+         * differs only in {@link #requestScopedProperties(ClientRuntime) request-scoped properties}.
+         *
+         * @return configuration state copy.
+         */
+        private State copyOnChange() {
+            final State state = copy();
+            state.runtimeSource = this;
+            return state;
+        }
+
         void markAsShared() {
             strategy = COPY_ON_CHANGE;
         }
@@ -205,6 +245,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State loadFrom(final Configuration config) {
             final State state = strategy.onChange(this);
             state.commonConfig.loadFrom(config);
+            state.componentsChanged = true;
             return state;
         }
 
@@ -212,6 +253,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Class<?> providerClass) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(providerClass);
+            state.componentsChanged = true;
             return state;
         }
 
@@ -219,6 +261,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Object provider) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(provider);
+            state.componentsChanged = true;
             return state;
         }
 
@@ -226,6 +269,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Class<?> providerClass, final int bindingPriority) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(providerClass, bindingPriority);
+            state.componentsChanged = true;
             return state;
         }
 
@@ -233,6 +277,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Class<?> providerClass, final Class<?>... contracts) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(providerClass, contracts);
+            state.componentsChanged = true;
             return state;
         }
 
@@ -240,6 +285,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Class<?> providerClass, final Map<Class<?>, Integer> contracts) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(providerClass, contracts);
+            state.componentsChanged = true;
             return state;
         }
 
@@ -247,6 +293,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Object provider, final int bindingPriority) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(provider, bindingPriority);
+            state.componentsChanged = true;
             return state;
         }
 
@@ -254,6 +301,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Object provider, final Class<?>... contracts) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(provider, contracts);
+            state.componentsChanged = true;
             return state;
         }
 
@@ -261,6 +309,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Object provider, final Map<Class<?>, Integer> contracts) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(provider, contracts);
+            state.componentsChanged = true;
             return state;
         }
 
@@ -270,6 +319,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             }
             final State state = strategy.onChange(this);
             state.connectorProvider = provider;
+            state.componentsChanged = true;
             return state;
         }
 
@@ -378,6 +428,20 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
              */
             markAsShared();
 
+            final State source = runtimeSource;
+            // Do not keep the chain of the previous states reachable once the runtime is initialized.
+            runtimeSource = null;
+
+            if (source != null && !componentsChanged && isCompatible(source)) {
+                final ClientRuntime sourceRuntime = source.runtime.get();
+                final Set<String> requestScoped = requestScopedProperties(sourceRuntime);
+                if (differsInRequestScopedPropertiesOnly(getProperties(), source.getProperties(), requestScoped)) {
+                    // Only request-scoped properties have changed - reuse the runtime (and connector) of the source state.
+                    runtimeConfig = source.runtimeConfig.state.overlay(this, source, requestScoped);
+                    return sourceRuntime;
+                }
+            }
+
             final State runtimeCfgState = this.copy();
             runtimeCfgState.markAsShared();
 
@@ -410,14 +474,94 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             ProviderBinder.bindProviders(runtimeCfgState.getComponentBag(), RuntimeType.CLIENT, null, locator);
 
             final ClientConfig configuration = new ClientConfig(runtimeCfgState);
-            final Connector connector = connectorProvider.getConnector(client, configuration);
-            final ClientRuntime crt = new ClientRuntime(configuration, connector, locator);
+
+            final ClientRuntime crt;
+            if (source != null && source.runtime.isInitialized() && isCompatible(source)
+                    && differsInRequestScopedPropertiesOnly(runtimeCfgState.getProperties(),
+                    source.runtimeConfig.getProperties(), requestScopedProperties(source.runtime.get()))) {
+                // Providers have changed, but the connector configuration has not - reuse the connector of the source state.
+                crt = new ClientRuntime(configuration, source.runtime.get().getConnector(), locator, false);
+            } else {
+                crt = new ClientRuntime(configuration, connectorProvider.getConnector(client, configuration), locator);
+            }
+            runtimeConfig = configuration;
 
             client.registerShutdownHook(crt);
 
             return crt;
         }
 
+        /**
+         * Check whether this state is bound to the same client and uses the same connector provider as the given state.
+         *
+         * @param source state to be checked.
+         * @return {@code true} if the runtime components of the given state may be reused by this state.
+         */
+        private boolean isCompatible(final State source) {
+            return client != null && client == source.client && connectorProvider == source.connectorProvider;
+        }
+
+        /**
+         * Get names of the properties resolved for each request separately by the given runtime and its connector.
+         * Only connectors that {@link PerRequestPropertiesConnector declare such properties} are shared among
+         * configurations with different property values.
+         *
+         * @param runtime client runtime.
+         * @return names of the request-scoped properties.
+         */
+        private static Set<String> requestScopedProperties(final ClientRuntime runtime) {
+            final Connector connector = runtime.getConnector();
+            if (!(connector instanceof PerRequestPropertiesConnector)) {
+                return RUNTIME_REQUEST_SCOPED_PROPERTIES;
+            }
+
+            final Set<String> properties = new HashSet<String>(RUNTIME_REQUEST_SCOPED_PROPERTIES);
+            properties.addAll(((PerRequestPropertiesConnector) connector).getPerRequestProperties());
+            return properties;
+        }
+
+        /**
+         * Create a copy of this runtime configuration state with values of the given request-scoped properties changed
+         * in the given configuration state with respect to the given original configuration state.
+         *
+         * @param changed       changed configuration state.
+         * @param original      original configuration state this runtime configuration state has been created for.
+         * @param requestScoped names of the request-scoped properties.
+         * @return runtime configuration reflecting the changed request-scoped properties.
+         */
+        private ClientConfig overlay(final State changed, final State original, final Set<String> requestScoped) {
+            final State state = copy();
+            for (final String name : requestScoped) {
+                final Object value = changed.getProperty(name);
+                if (!equal(value, original.getProperty(name))) {
+                    state.commonConfig.property(name, value);
+                }
+            }
+            state.markAsShared();
+            return new ClientConfig(state);
+        }
+
+        private static boolean differsInRequestScopedPropertiesOnly(final Map<String, Object> properties,
+                                                                    final Map<String, Object> sourceProperties,
+                                                                    final Set<String> requestScoped) {
+            for (final Map.Entry<String, Object> property : properties.entrySet()) {
+                if (!requestScoped.contains(property.getKey())
+                        && !equal(property.getValue(), sourceProperties.get(property.getKey()))) {
+                    return false;
+                }
+            }
+            for (final String name : sourceProperties.keySet()) {
+                if (!requestScoped.contains(name) && !properties.containsKey(name)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean equal(final Object first, final Object second) {
+            return first == null ? second == null : first.equals(second);
+        }
+
         @Override
         public boolean equals(final Object o) {
             if (this == o) {
@@ -721,6 +865,22 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         return state.runtime.get();
     }
 
+    /**
+     * Get the configuration of the configured runtime as seen by the requests created using this configuration.
+     * <p>
+     * The runtime may be shared with other configurations that differ only in values of the properties resolved
+     * separately for each request. The returned configuration reflects the values of such properties set in this
+     * configuration.
+     * </p>
+     *
+     * @return configuration of the configured runtime.
+     */
+    ClientConfig getRuntimeConfiguration() {
+        final State current = state;
+        current.runtime.get();
+        return current.runtimeConfig;
+    }
+
     /**
      * Get the parent Jersey client this configuration is bound to.
      *
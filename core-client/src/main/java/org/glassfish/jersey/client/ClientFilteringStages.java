@@ -51,6 +51,7 @@ import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.model.internal.RankedComparator;
 import org.glassfish.jersey.process.internal.AbstractChainableStage;
 import org.glassfish.jersey.process.internal.ChainableStage;
+import org.glassfish.jersey.process.internal.LinearStage;
 
 import org.glassfish.hk2.api.ServiceLocator;
 
@@ -95,7 +96,8 @@ class ClientFilteringStages {
         return responseFilters.iterator().hasNext() ? new ResponseFilterStage(responseFilters) : null;
     }
 
-    private static final class RequestFilteringStage extends AbstractChainableStage<ClientRequest> {
+    private static final class RequestFilteringStage extends AbstractChainableStage<ClientRequest>
+            implements LinearStage<ClientRequest> {
         private final Iterable<ClientRequestFilter> requestFilters;
 
         private RequestFilteringStage(final Iterable<ClientRequestFilter> requestFilters) {
@@ -105,6 +107,11 @@ class ClientFilteringStages {
 
         @Override
         public Continuation<ClientRequest> apply(ClientRequest requestContext) {
+            return Continuation.of(transform(requestContext), getDefaultNext());
+        }
+
+        @Override
+        public ClientRequest transform(ClientRequest requestContext) {
             for (ClientRequestFilter filter : requestFilters) {
                 try {
                     filter.filter(requestContext);
@@ -116,11 +123,12 @@ class ClientFilteringStages {
                     throw new ProcessingException(ex);
                 }
             }
-            return Continuation.of(requestContext, getDefaultNext());
+            return requestContext;
         }
     }
 
-    private static class ResponseFilterStage extends AbstractChainableStage<ClientResponse> {
+    private static class ResponseFilterStage extends AbstractChainableStage<ClientResponse>
+            implements LinearStage<ClientResponse> {
         private final Iterable<ClientResponseFilter> filters;
 
         private ResponseFilterStage(Iterable<ClientResponseFilter> filters) {
@@ -129,6 +137,11 @@ class ClientFilteringStages {
 
         @Override
         public Continuation<ClientResponse> apply(ClientResponse responseContext) {
+            return Continuation.of(transform(responseContext), getDefaultNext());
+        }
+
+        @Override
+        public ClientResponse transform(ClientResponse responseContext) {
             try {
                 for (ClientResponseFilter filter : filters) {
                     filter.filter(responseContext.getRequestContext(), responseContext);
@@ -137,7 +150,7 @@ class ClientFilteringStages {
                 throw new ProcessingException(ex);
             }
 
-            return Continuation.of(responseContext, getDefaultNext());
+            return responseContext;
         }
     }
 }
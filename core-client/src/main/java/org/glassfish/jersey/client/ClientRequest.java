@@ -281,7 +281,7 @@ public class ClientRequest extends OutboundMessageContext implements ClientReque
 
     @Override
     public Configuration getConfiguration() {
-        return clientConfig.getRuntime().getConfig();
+        return clientConfig.getRuntimeConfiguration();
     }
 
     /**
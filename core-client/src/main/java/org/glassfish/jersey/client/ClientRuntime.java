@@ -40,9 +40,10 @@
 package org.glassfish.jersey.client;
 
 import java.util.Arrays;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -64,8 +65,6 @@ import org.glassfish.jersey.process.internal.Stages;
 
 import org.glassfish.hk2.api.ServiceLocator;
 
-import jersey.repackaged.com.google.common.util.concurrent.SettableFuture;
-
 /**
  * Client-side request processing runtime.
  *
@@ -79,6 +78,7 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
     private final Stage<ClientResponse> responseProcessingRoot;
 
     private final Connector connector;
+    private final boolean ownsConnector;
     private final ClientConfig config;
 
     private final RequestScope requestScope;
@@ -96,6 +96,20 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
      * @param locator   HK2 service locator.
      */
     public ClientRuntime(final ClientConfig config, final Connector connector, final ServiceLocator locator) {
+        this(config, connector, locator, true);
+    }
+
+    /**
+     * Create new client request processing runtime.
+     *
+     * @param config         client runtime configuration.
+     * @param connector      client transport connector.
+     * @param locator        HK2 service locator.
+     * @param ownsConnector  if {@code true}, the connector is closed when the runtime is shut down, otherwise
+     *                       the connector is shared with another runtime that is responsible for closing it.
+     */
+    ClientRuntime(final ClientConfig config, final Connector connector, final ServiceLocator locator,
+                  final boolean ownsConnector) {
         final Stage.Builder<ClientRequest> requestingChainBuilder = Stages
                 .chain(locator.createAndInitialize(RequestProcessingInitializationStage.class));
         final ChainableStage<ClientRequest> requestFilteringStage = ClientFilteringStages.createRequestFilteringStage(locator);
@@ -108,6 +122,7 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
 
         this.config = config;
         this.connector = connector;
+        this.ownsConnector = ownsConnector;
 
         this.requestScope = locator.getService(RequestScope.class);
 
@@ -134,6 +149,11 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
      * Both, the request processing as well as response callback invocation will be executed
      * in a context of an active {@link RequestScope.Instance request scope instance}.
      * </p>
+     * <p>
+     * No executor thread is blocked while waiting for the response of a truly asynchronous
+     * connector. Once the connector delivers the response (or a failure) from its own thread,
+     * the response processing is dispatched back to the client async executor.
+     * </p>
      *
      * @param request  client request to be sent.
      * @param callback asynchronous response callback.
@@ -152,27 +172,73 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
                     return;
                 }
 
-                try {
-                    final SettableFuture<ClientResponse> responseFuture = SettableFuture.create();
-                    final AsyncConnectorCallback connectorCallback = new AsyncConnectorCallback() {
-
-                        @Override
-                        public void response(final ClientResponse response) {
-                            responseFuture.set(response);
+                final RequestScope.Instance scopeInstance = requestScope.referenceCurrent();
+                final Thread submittingThread = Thread.currentThread();
+                final AtomicBoolean applying = new AtomicBoolean(true);
+                final AtomicBoolean completed = new AtomicBoolean(false);
+                final AsyncConnectorCallback connectorCallback = new AsyncConnectorCallback() {
+
+                    @Override
+                    public void response(final ClientResponse response) {
+                        complete(new Runnable() {
+                            @Override
+                            public void run() {
+                                processResponse(response, callback);
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void failure(final Throwable failure) {
+                        complete(new Runnable() {
+                            @Override
+                            public void run() {
+                                processFailure(failure, callback);
+                            }
+                        });
+                    }
+
+                    private void complete(final Runnable task) {
+                        if (!completed.compareAndSet(false, true)) {
+                            return;
                         }
-
-                        @Override
-                        public void failure(final Throwable failure) {
-                            responseFuture.setException(failure);
+                        if (applying.get() && Thread.currentThread() == submittingThread) {
+                            // connector invoked the callback synchronously - we are still in the request scope
+                            try {
+                                task.run();
+                            } finally {
+                                scopeInstance.release();
+                            }
+                            return;
                         }
-                    };
-                    connector.apply(processedRequest, connectorCallback);
+                        // do not run response processing (and user callbacks) on connector I/O threads
+                        try {
+                            asyncExecutorsFactory.getExecutor().submit(new Runnable() {
+                                @Override
+                                public void run() {
+                                    try {
+                                        requestScope.runInScope(scopeInstance, task);
+                                    } finally {
+                                        scopeInstance.release();
+                                    }
+                                }
+                            });
+                        } catch (final RejectedExecutionException ex) {
+                            try {
+                                requestScope.runInScope(scopeInstance, task);
+                            } finally {
+                                scopeInstance.release();
+                            }
+                        }
+                    }
+                };
 
-                    processResponse(responseFuture.get(), callback);
-                } catch (final ExecutionException e) {
-                    processFailure(e.getCause(), callback);
+                try {
+                    connector.apply(processedRequest, connectorCallback);
                 } catch (final Throwable throwable) {
-                    processFailure(throwable, callback);
+                    connectorCallback.failure(throwable);
+                } finally {
+                    applying.set(false);
                 }
             }
         });
@@ -286,7 +352,9 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
             }
         } finally {
             try {
-                connector.close();
+                if (ownsConnector) {
+                    connector.close();
+                }
             } finally {
                 try {
                     asyncExecutorsFactory.close();
@@ -51,6 +51,8 @@ import java.net.URISyntaxException;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -68,7 +70,7 @@ import javax.net.ssl.HttpsURLConnection;
 
 import org.glassfish.jersey.client.internal.LocalizationMessages;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
-import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.PerRequestPropertiesConnector;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.collection.UnsafeValue;
 import org.glassfish.jersey.internal.util.collection.Values;
@@ -84,7 +86,7 @@ import jersey.repackaged.com.google.common.util.concurrent.MoreExecutors;
  *
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
-class HttpUrlConnector implements Connector {
+class HttpUrlConnector implements PerRequestPropertiesConnector {
 
     private static final Logger LOGGER = Logger.getLogger(HttpUrlConnector.class.getName());
     private static final String ALLOW_RESTRICTED_HEADERS_SYSTEM_PROPERTY = "sun.net.http.allowRestrictedHeaders";
@@ -106,6 +108,13 @@ class HttpUrlConnector implements Connector {
 
     private static final Set<String> restrictedHeaderSet = new HashSet<String>(restrictedHeaders.length);
 
+    private static final Set<String> PER_REQUEST_PROPERTIES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            ClientProperties.FOLLOW_REDIRECTS,
+            ClientProperties.CONNECT_TIMEOUT,
+            ClientProperties.READ_TIMEOUT,
+            ClientProperties.REQUEST_ENTITY_PROCESSING,
+            HttpUrlConnectorProvider.SET_METHOD_WORKAROUND)));
+
     static {
         for (String headerName : restrictedHeaders) {
             restrictedHeaderSet.add(headerName.toLowerCase());
@@ -457,4 +466,9 @@ class HttpUrlConnector implements Connector {
     public String getName() {
         return "HttpUrlConnection " + AccessController.doPrivileged(PropertiesHelper.getSystemProperty("java.version"));
     }
+
+    @Override
+    public Set<String> getPerRequestProperties() {
+        return PER_REQUEST_PROPERTIES;
+    }
 }
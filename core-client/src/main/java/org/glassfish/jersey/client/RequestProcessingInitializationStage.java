@@ -39,8 +39,6 @@
  */
 package org.glassfish.jersey.client;
 
-import java.util.Collections;
-
 import javax.ws.rs.ext.ReaderInterceptor;
 import javax.ws.rs.ext.WriterInterceptor;
 
@@ -50,12 +48,12 @@ import javax.inject.Provider;
 import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.message.internal.InterceptorList;
 import org.glassfish.jersey.model.internal.RankedComparator;
 
 import org.glassfish.hk2.api.ServiceLocator;
 
 import jersey.repackaged.com.google.common.base.Function;
-import jersey.repackaged.com.google.common.collect.Lists;
 
 /**
  * Function that can be put to an acceptor chain to properly initialize
@@ -85,10 +83,10 @@ public class RequestProcessingInitializationStage implements Function<ClientRequ
             ServiceLocator locator) {
         this.requestRefProvider = requestRefProvider;
         this.workersProvider = workersProvider;
-        writerInterceptors = Collections.unmodifiableList(Lists.newArrayList(Providers.getAllProviders(locator,
-                WriterInterceptor.class, new RankedComparator<WriterInterceptor>())));
-        readerInterceptors = Collections.unmodifiableList(Lists.newArrayList(Providers.getAllProviders(locator,
-                ReaderInterceptor.class, new RankedComparator<ReaderInterceptor>())));
+        writerInterceptors = new InterceptorList<WriterInterceptor>(WriterInterceptor.class, Providers.getAllProviders(locator,
+                WriterInterceptor.class, new RankedComparator<WriterInterceptor>()));
+        readerInterceptors = new InterceptorList<ReaderInterceptor>(ReaderInterceptor.class, Providers.getAllProviders(locator,
+                ReaderInterceptor.class, new RankedComparator<ReaderInterceptor>()));
     }
 
     @Override
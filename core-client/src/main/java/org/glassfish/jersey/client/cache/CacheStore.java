@@ -0,0 +1,84 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+/**
+ * Store of the responses cached by the {@link HttpCacheFeature client HTTP cache}.
+ * <p>
+ * Implementations must be thread-safe. A store may discard any entry at any time (e.g. to keep its size bounded).
+ * </p>
+ *
+ * @see MemoryCacheStore
+ * @see DiskCacheStore
+ * @since 2.15
+ */
+public interface CacheStore {
+
+    /**
+     * Get the response cached under the given key.
+     *
+     * @param key cache key.
+     * @return cached response or {@code null} if there is no response cached under the key.
+     */
+    public CachedResponse get(String key);
+
+    /**
+     * Cache the response under the given key. Any response previously cached under the key is replaced.
+     *
+     * @param key      cache key.
+     * @param response response to be cached.
+     */
+    public void put(String key, CachedResponse response);
+
+    /**
+     * Remove the response cached under the given key, if any.
+     *
+     * @param key cache key.
+     */
+    public void remove(String key);
+
+    /**
+     * Get the maximal {@link CachedResponse#getSize() size} of a response the store accepts. The cache stops buffering
+     * responses that grow larger than the returned size, such responses are passed to the application without being cached.
+     *
+     * @return maximal size of a cached response in bytes.
+     */
+    public long getMaxEntrySize();
+}
@@ -0,0 +1,211 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response stored in a {@link CacheStore cache store}.
+ * <p>
+ * Cached response keeps the status, headers and entity bytes of the response as received from the server, the values
+ * of the request headers listed in the {@code Vary} response header, and the times the response was requested and received.
+ * Instances are immutable.
+ * </p>
+ *
+ * @since 2.15
+ */
+public final class CachedResponse {
+
+    private final int status;
+    private final String reasonPhrase;
+    private final LinkedHashMap<String, List<String>> headers;
+    private final byte[] entity;
+    private final HashMap<String, String> varyingHeaders;
+    private final long requestTime;
+    private final long responseTime;
+
+    CachedResponse(final int status, final String reasonPhrase, final Map<String, List<String>> headers,
+                   final byte[] entity, final Map<String, String> varyingHeaders,
+                   final long requestTime, final long responseTime) {
+        this.status = status;
+        this.reasonPhrase = reasonPhrase;
+        this.headers = new LinkedHashMap<String, List<String>>();
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            this.headers.put(header.getKey(), Collections.unmodifiableList(new ArrayList<String>(header.getValue())));
+        }
+        this.entity = entity;
+        this.varyingHeaders = new HashMap<String, String>(varyingHeaders);
+        this.requestTime = requestTime;
+        this.responseTime = responseTime;
+    }
+
+    /**
+     * Get the response status code.
+     *
+     * @return response status code.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Get the response reason phrase.
+     *
+     * @return response reason phrase, may be {@code null}.
+     */
+    public String getReasonPhrase() {
+        return reasonPhrase;
+    }
+
+    /**
+     * Get the unmodifiable map of the response headers.
+     *
+     * @return response headers.
+     */
+    public Map<String, List<String>> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * Get the first value of the response header.
+     *
+     * @param name case-insensitive header name.
+     * @return first value of the header or {@code null} if the header is not present.
+     */
+    public String getHeader(final String name) {
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the response entity bytes. The returned array must not be modified.
+     *
+     * @return response entity bytes, empty if the response has no entity.
+     */
+    public byte[] getEntity() {
+        return entity;
+    }
+
+    /**
+     * Get the approximate number of bytes occupied by the response. Used to bound the size of the cache stores.
+     *
+     * @return approximate size of the response in bytes.
+     */
+    public long getSize() {
+        return entity.length + getSize(headers);
+    }
+
+    /**
+     * Get the time at which the request of the response was sent.
+     *
+     * @return request time in milliseconds.
+     */
+    public long getRequestTime() {
+        return requestTime;
+    }
+
+    /**
+     * Get the time at which the response was received (or last revalidated).
+     *
+     * @return response time in milliseconds.
+     */
+    public long getResponseTime() {
+        return responseTime;
+    }
+
+    /**
+     * Get the approximate number of bytes occupied by the given headers.
+     *
+     * @param headers response headers.
+     * @return approximate size of the headers in bytes.
+     */
+    static long getSize(final Map<String, List<String>> headers) {
+        long size = 0;
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (final String value : header.getValue()) {
+                size += header.getKey().length() + value.length();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get the values of the request headers selected by the {@code Vary} response header.
+     *
+     * @return map of lower-cased request header names to their values; a {@code null} value denotes a missing header.
+     */
+    Map<String, String> getVaryingHeaders() {
+        return varyingHeaders;
+    }
+
+    /**
+     * Create a copy of the response updated with the headers of a {@code 304 (Not Modified)} response.
+     *
+     * @param notModifiedHeaders headers of the not modified response.
+     * @param requestTime        time at which the revalidation request was sent.
+     * @param responseTime       time at which the revalidation response was received.
+     * @return revalidated response.
+     */
+    CachedResponse revalidate(final Map<String, List<String>> notModifiedHeaders,
+                              final long requestTime, final long responseTime) {
+        final LinkedHashMap<String, List<String>> updated = new LinkedHashMap<String, List<String>>(headers);
+        for (final Map.Entry<String, List<String>> header : notModifiedHeaders.entrySet()) {
+            if (header.getKey().equalsIgnoreCase("Content-Length")) {
+                continue;
+            }
+            for (final String name : new ArrayList<String>(updated.keySet())) {
+                if (name.equalsIgnoreCase(header.getKey())) {
+                    updated.remove(name);
+                }
+            }
+            updated.put(header.getKey(), header.getValue());
+        }
+        return new CachedResponse(status, reasonPhrase, updated, entity, varyingHeaders, requestTime, responseTime);
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * {@link CacheStore Cache store} that keeps the cached responses in files of a directory.
+ * <p>
+ * Each response is written into a separate file named after a digest of its cache key. The file contains the cache key,
+ * the response status, headers, entity bytes and times in a simple binary format (no Java serialization is involved,
+ * the entries cannot instantiate arbitrary classes when read). The store survives restarts of the client and may be
+ * shared by multiple clients. Entries that cannot be read (e.g. corrupted files or files of an incompatible version)
+ * are treated as missing and deleted.
+ * </p>
+ * <p>
+ * The store is bounded by the total size of the entry files; when the bound is exceeded the least recently used
+ * entries are deleted. The size is tracked by the store instance, entries written by other clients sharing the
+ * directory are accounted for when the files are evicted.
+ * </p>
+ *
+ * @since 2.15
+ */
+public final class DiskCacheStore implements CacheStore {
+
+    private static final Logger LOGGER = Logger.getLogger(DiskCacheStore.class.getName());
+    private static final String SUFFIX = ".cache";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    /**
+     * Identifies the format (and its version) of the entry files.
+     */
+    private static final int FORMAT = 0x4A435201;
+    private static final FileFilter ENTRY_FILES = new FileFilter() {
+        @Override
+        public boolean accept(final File file) {
+            return file.isFile() && file.getName().endsWith(SUFFIX);
+        }
+    };
+    private static final Comparator<File> LEAST_RECENTLY_USED = new Comparator<File>() {
+        @Override
+        public int compare(final File f1, final File f2) {
+            final long m1 = f1.lastModified();
+            final long m2 = f2.lastModified();
+            return m1 < m2 ? -1 : (m1 == m2 ? 0 : 1);
+        }
+    };
+
+    /**
+     * Default maximal total size of the cached responses in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 256 * 1024 * 1024;
+    /**
+     * Default maximal size of a cached response in bytes.
+     */
+    public static final long DEFAULT_MAX_ENTRY_SIZE = 10 * 1024 * 1024;
+
+    private final File directory;
+    private final long maxSize;
+    private final long maxEntrySize;
+    private long size;
+
+    /**
+     * Create a new disk cache store bounded by {@value #DEFAULT_MAX_SIZE} bytes and accepting responses of up to
+     * {@value #DEFAULT_MAX_ENTRY_SIZE} bytes.
+     *
+     * @param directory directory of the cached responses. The directory is created if it does not exist.
+     */
+    public DiskCacheStore(final File directory) {
+        this(directory, DEFAULT_MAX_SIZE, DEFAULT_MAX_ENTRY_SIZE);
+    }
+
+    /**
+     * Create a new disk cache store.
+     *
+     * @param directory    directory of the cached responses. The directory is created if it does not exist.
+     * @param maxSize      maximal total size of the cached responses in bytes.
+     * @param maxEntrySize maximal size of a cached response in bytes. Values greater than {@code maxSize} are
+     *                     reduced to {@code maxSize}.
+     */
+    public DiskCacheStore(final File directory, final long maxSize, final long maxEntrySize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.CACHE_DISK_STORE_SIZE_INVALID(maxSize));
+        }
+        if (maxEntrySize <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.CACHE_DISK_STORE_SIZE_INVALID(maxEntrySize));
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException(LocalizationMessages.CACHE_DISK_STORE_NOT_DIRECTORY(directory));
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.maxEntrySize = Math.min(maxSize, maxEntrySize);
+        this.size = evict(maxSize);
+    }
+
+    @Override
+    public CachedResponse get(final String key) {
+        final File file = file(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                // no length stored in the file may exceed the size of the file
+                final long limit = file.length();
+                if (in.readInt() != FORMAT) {
+                    throw new IOException(LocalizationMessages.CACHE_DISK_STORE_FAILED(file));
+                }
+                if (!key.equals(readString(in, limit))) {
+                    // digest collision, the file belongs to another key
+                    return null;
+                }
+                final CachedResponse response = read(in, limit);
+                // the modification time orders the entries for eviction
+                file.setLastModified(System.currentTimeMillis());
+                return response;
+            } finally {
+                in.close();
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.CACHE_DISK_STORE_FAILED(file), e);
+        }
+        remove(key);
+        return null;
+    }
+
+    @Override
+    public void put(final String key, final CachedResponse response) {
+        if (response.getSize() > maxEntrySize) {
+            remove(key);
+            return;
+        }
+
+        final File file = file(key);
+        File temp = null;
+        try {
+            // write into a temporary file first so that concurrent readers never see a partially written entry
+            temp = File.createTempFile(file.getName(), null, directory);
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            try {
+                out.writeInt(FORMAT);
+                writeString(out, key);
+                write(out, response);
+            } finally {
+                out.close();
+            }
+
+            synchronized (this) {
+                final long previousSize = file.length();
+                if (!temp.renameTo(file)) {
+                    file.delete();
+                    if (!temp.renameTo(file)) {
+                        size -= previousSize;
+                        throw new IOException(LocalizationMessages.CACHE_DISK_STORE_FAILED(file));
+                    }
+                }
+                size += file.length() - previousSize;
+                if (size > maxSize) {
+                    size = evict(maxSize);
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.CACHE_DISK_STORE_FAILED(file), e);
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void remove(final String key) {
+        final File file = file(key);
+        final long fileSize = file.length();
+        if (file.delete()) {
+            size -= fileSize;
+        }
+    }
+
+    @Override
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * Get the total size of the cached responses, as tracked by this store instance.
+     *
+     * @return size of the entry files in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Delete the least recently used entry files until their total size does not exceed the given bound.
+     *
+     * @param bound maximal total size of the entry files.
+     * @return total size of the remaining entry files.
+     */
+    private long evict(final long bound) {
+        final File[] files = directory.listFiles(ENTRY_FILES);
+        if (files == null) {
+            return 0;
+        }
+        long total = 0;
+        for (final File file : files) {
+            total += file.length();
+        }
+        if (total > bound) {
+            Arrays.sort(files, LEAST_RECENTLY_USED);
+            for (int i = 0; i < files.length && total > bound; i++) {
+                final long fileSize = files[i].length();
+                if (files[i].delete()) {
+                    total -= fileSize;
+                }
+            }
+        }
+        return total;
+    }
+
+    private static void write(final DataOutputStream out, final CachedResponse response) throws IOException {
+        out.writeInt(response.getStatus());
+        writeString(out, response.getReasonPhrase());
+
+        out.writeInt(response.getHeaders().size());
+        for (final Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+            writeString(out, header.getKey());
+            out.writeInt(header.getValue().size());
+            for (final String value : header.getValue()) {
+                writeString(out, value);
+            }
+        }
+
+        out.writeInt(response.getVaryingHeaders().size());
+        for (final Map.Entry<String, String> header : response.getVaryingHeaders().entrySet()) {
+            writeString(out, header.getKey());
+            writeString(out, header.getValue());
+        }
+
+        out.writeLong(response.getRequestTime());
+        out.writeLong(response.getResponseTime());
+
+        out.writeInt(response.getEntity().length);
+        out.write(response.getEntity());
+    }
+
+    private static CachedResponse read(final DataInputStream in, final long limit) throws IOException {
+        final int status = in.readInt();
+        final String reasonPhrase = readString(in, limit);
+
+        final int headerCount = count(in, limit);
+        final Map<String, List<String>> headers = new LinkedHashMap<String, List<String>>();
+        for (int i = 0; i < headerCount; i++) {
+            final String name = readString(in, limit);
+            final int valueCount = count(in, limit);
+            final List<String> values = new ArrayList<String>(valueCount);
+            for (int j = 0; j < valueCount; j++) {
+                values.add(readString(in, limit));
+            }
+            headers.put(name, values);
+        }
+
+        final int varyingCount = count(in, limit);
+        final Map<String, String> varyingHeaders = new HashMap<String, String>();
+        for (int i = 0; i < varyingCount; i++) {
+            varyingHeaders.put(readString(in, limit), readString(in, limit));
+        }
+
+        final long requestTime = in.readLong();
+        final long responseTime = in.readLong();
+
+        final byte[] entity = new byte[count(in, limit)];
+        in.readFully(entity);
+
+        return new CachedResponse(status, reasonPhrase, headers, entity, varyingHeaders, requestTime, responseTime);
+    }
+
+    /**
+     * Write a nullable string as its length (or {@code -1} for {@code null}) followed by its UTF-8 bytes.
+     */
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes("UTF-8");
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in, final long limit) throws IOException {
+        final int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        final byte[] bytes = new byte[checkCount(length, limit)];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+
+    private static int count(final DataInputStream in, final long limit) throws IOException {
+        return checkCount(in.readInt(), limit);
+    }
+
+    /**
+     * Check a length or a number of items read from an entry file. Neither may be negative or exceed the size of the
+     * file, which protects the reader from allocating huge arrays for corrupted entries.
+     */
+    private static int checkCount(final int count, final long limit) throws IOException {
+        if (count < 0 || count > limit) {
+            throw new IOException(LocalizationMessages.CACHE_DISK_STORE_CORRUPTED());
+        }
+        return count;
+    }
+
+    private File file(final String key) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes("UTF-8"));
+            final StringBuilder name = new StringBuilder(digest.length * 2 + SUFFIX.length());
+            for (final byte b : digest) {
+                name.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+            }
+            return new File(directory, name.append(SUFFIX).toString());
+        } catch (final NoSuchAlgorithmException e) {
+            // SHA-1 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        } catch (final UnsupportedEncodingException e) {
+            // UTF-8 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * Feature that enables a private HTTP response cache (RFC 7234) on the client side.
+ * <p>
+ * Responses to {@code GET} requests marked as cacheable by the server are kept in a {@link CacheStore cache store}.
+ * Fresh responses are served from the store without sending the request. Stale responses with an {@code ETag} or
+ * {@code Last-Modified} validator are revalidated with a conditional request ({@code If-None-Match},
+ * {@code If-Modified-Since}); a {@code 304 (Not Modified)} response refreshes the cached response which is then returned
+ * to the application as if it was sent by the server. Cached responses are selected using the request headers listed in
+ * the {@code Vary} response header.
+ * </p>
+ * <p>
+ * By default, the responses are cached in a {@link MemoryCacheStore memory store} of {@value #DEFAULT_MEMORY_STORE_SIZE}
+ * bytes. The store as well as the {@link #getStatistics() statistics} are shared by all clients the feature instance
+ * is registered in.
+ * </p>
+ * <pre>
+ * HttpCacheFeature cache = new HttpCacheFeature(new MemoryCacheStore(64 * 1024 * 1024));
+ * Client client = ClientBuilder.newClient().register(cache);
+ * ...
+ * long hits = cache.getStatistics().getHits();
+ * </pre>
+ *
+ * @since 2.15
+ */
+public class HttpCacheFeature implements Feature {
+
+    /**
+     * Size of the default memory cache store in bytes.
+     */
+    public static final long DEFAULT_MEMORY_STORE_SIZE = 10 * 1024 * 1024;
+
+    private final CacheStore store;
+    private final HttpCacheStatistics statistics = new HttpCacheStatistics();
+
+    /**
+     * Create a new cache feature using a memory store of the {@link #DEFAULT_MEMORY_STORE_SIZE default size}.
+     */
+    public HttpCacheFeature() {
+        this(new MemoryCacheStore(DEFAULT_MEMORY_STORE_SIZE));
+    }
+
+    /**
+     * Create a new cache feature using the given store.
+     *
+     * @param store store of the cached responses.
+     */
+    public HttpCacheFeature(final CacheStore store) {
+        if (store == null) {
+            throw new NullPointerException(LocalizationMessages.NULL_INPUT_PARAMETER("store"));
+        }
+        this.store = store;
+    }
+
+    /**
+     * Get the store of the cached responses.
+     *
+     * @return cache store.
+     */
+    public CacheStore getStore() {
+        return store;
+    }
+
+    /**
+     * Get the statistics of the cache.
+     *
+     * @return cache statistics.
+     */
+    public HttpCacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.register(new HttpCacheFilter(store, statistics));
+        return true;
+    }
+}
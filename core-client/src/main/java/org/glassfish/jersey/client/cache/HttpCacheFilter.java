@@ -0,0 +1,488 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.message.internal.HttpDateFormat;
+
+/**
+ * Client filter implementing a private HTTP cache as defined by RFC 7234.
+ * <p>
+ * Responses to {@code GET} requests are stored if they carry explicit freshness information ({@code Cache-Control: max-age}
+ * or {@code Expires}) or a validator ({@code ETag} or {@code Last-Modified}). Fresh responses are served from the
+ * {@link CacheStore store} without contacting the server, stale responses are revalidated using conditional requests.
+ * Successful requests with an unsafe method invalidate the response cached for the request URI.
+ * </p>
+ * <p>
+ * Responses to requests with an {@code Authorization} header are stored and served only if the response explicitly allows
+ * it ({@code Cache-Control: public}, {@code s-maxage} or {@code must-revalidate}). The response entity is copied into the
+ * cache as the application reads it; the response is stored once the entity has been read completely and only if it does
+ * not exceed the {@link CacheStore#getMaxEntrySize() maximal entry size} of the store.
+ * </p>
+ * <p>
+ * The filter runs after the other request filters (so that it sees the final request headers) and before the other
+ * response filters (so that it stores the response as received from the server).
+ * </p>
+ *
+ * @since 2.15
+ */
+@Priority(Priorities.USER + 1000)
+class HttpCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String REQUEST_PROPERTY_TIME = "org.glassfish.jersey.client.cache.HttpCacheFilter.requestTime";
+    private static final String REQUEST_PROPERTY_SERVED = "org.glassfish.jersey.client.cache.HttpCacheFilter.served";
+    private static final String REQUEST_PROPERTY_REVALIDATED = "org.glassfish.jersey.client.cache.HttpCacheFilter.revalidated";
+
+    private static final String AGE = "Age";
+    private static final String PRAGMA = "Pragma";
+    private static final String RANGE = "Range";
+
+    private final CacheStore store;
+    private final HttpCacheStatistics statistics;
+
+    /**
+     * Create a new cache filter.
+     *
+     * @param store      store of the cached responses.
+     * @param statistics cache statistics to be updated.
+     */
+    HttpCacheFilter(final CacheStore store, final HttpCacheStatistics statistics) {
+        this.store = store;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request) throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+
+        final Map<String, String> requestDirectives = directives(request.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+        if (requestDirectives.containsKey("no-store")
+                || request.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)
+                || request.getHeaders().containsKey(HttpHeaders.IF_MODIFIED_SINCE)
+                || request.getHeaders().containsKey(RANGE)) {
+            // not cacheable or conditional/partial request managed by the application
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        request.setProperty(REQUEST_PROPERTY_TIME, now);
+
+        final CachedResponse cached = store.get(key(request));
+        if (cached == null || !cached.getVaryingHeaders().equals(varyingHeaders(request, cached.getHeader(HttpHeaders.VARY)))
+                || !isAllowed(request, cached.getHeaders().get(HttpHeaders.CACHE_CONTROL))) {
+            statistics.miss();
+            return;
+        }
+
+        final boolean noCache = requestDirectives.containsKey("no-cache")
+                || "no-cache".equalsIgnoreCase(request.getHeaderString(PRAGMA));
+        if (!noCache && isFresh(cached, requestDirectives, now)) {
+            final Response.ResponseBuilder response = Response.status(cached.getStatus());
+            for (final Map.Entry<String, List<String>> header : cached.getHeaders().entrySet()) {
+                for (final String value : header.getValue()) {
+                    response.header(header.getKey(), value);
+                }
+            }
+            response.header(AGE, null).header(AGE, currentAge(cached, now) / 1000);
+
+            request.setProperty(REQUEST_PROPERTY_SERVED, cached);
+            statistics.hit();
+            request.abortWith(response.build());
+            return;
+        }
+
+        final String etag = cached.getHeader(HttpHeaders.ETAG);
+        final String lastModified = cached.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (etag == null && lastModified == null) {
+            statistics.miss();
+            return;
+        }
+        if (etag != null) {
+            request.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        if (lastModified != null) {
+            request.getHeaders().putSingle(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+        request.setProperty(REQUEST_PROPERTY_REVALIDATED, cached);
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        final CachedResponse served = (CachedResponse) request.getProperty(REQUEST_PROPERTY_SERVED);
+        if (served != null) {
+            response.setEntityStream(new ByteArrayInputStream(served.getEntity()));
+            return;
+        }
+
+        final String method = request.getMethod();
+        if (!HttpMethod.GET.equals(method)) {
+            if (!HttpMethod.HEAD.equals(method) && !HttpMethod.OPTIONS.equals(method) && response.getStatus() < 400) {
+                // unsafe method invalidates the cached response of the target resource
+                store.remove(key(request));
+            }
+            return;
+        }
+
+        final Long requestTime = (Long) request.getProperty(REQUEST_PROPERTY_TIME);
+        if (requestTime == null) {
+            // not cacheable request
+            return;
+        }
+        final long now = System.currentTimeMillis();
+
+        final CachedResponse revalidated = (CachedResponse) request.getProperty(REQUEST_PROPERTY_REVALIDATED);
+        if (revalidated != null) {
+            if (response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                final CachedResponse updated = revalidated.revalidate(response.getHeaders(), requestTime, now);
+                store.put(key(request), updated);
+                statistics.revalidation();
+
+                response.setStatus(updated.getStatus());
+                final MultivaluedMap<String, String> headers = response.getHeaders();
+                headers.clear();
+                for (final Map.Entry<String, List<String>> header : updated.getHeaders().entrySet()) {
+                    headers.addAll(header.getKey(), header.getValue());
+                }
+                response.setEntityStream(new ByteArrayInputStream(updated.getEntity()));
+                return;
+            }
+            statistics.miss();
+        }
+
+        if (!isCacheable(response)
+                || !isAllowed(request, response.getHeaders().get(HttpHeaders.CACHE_CONTROL))) {
+            if (response.getStatus() < 400) {
+                store.remove(key(request));
+            }
+            return;
+        }
+
+        final CachingInputStream entity = new CachingInputStream(response, key(request),
+                varyingHeaders(request, response.getHeaderString(HttpHeaders.VARY)), requestTime, now);
+        if (response.hasEntity()) {
+            response.setEntityStream(entity);
+        } else {
+            entity.store();
+        }
+    }
+
+    /**
+     * Entity input stream copying the response entity as it is read by the application and storing the response once
+     * the whole entity has been read. Copying is abandoned if the response exceeds the maximal entry size of the store.
+     */
+    private final class CachingInputStream extends FilterInputStream {
+
+        private final String key;
+        private final int status;
+        private final String reasonPhrase;
+        private final Map<String, List<String>> headers;
+        private final Map<String, String> varyingHeaders;
+        private final long requestTime;
+        private final long responseTime;
+        private final long limit;
+
+        private ByteArrayOutputStream copy;
+
+        private CachingInputStream(final ClientResponseContext response, final String key,
+                                   final Map<String, String> varyingHeaders, final long requestTime, final long responseTime) {
+            super(response.getEntityStream());
+            this.key = key;
+            this.status = response.getStatus();
+            this.reasonPhrase = response.getStatusInfo().getReasonPhrase();
+            this.headers = new LinkedHashMap<String, List<String>>();
+            for (final Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                headers.put(header.getKey(), new ArrayList<String>(header.getValue()));
+            }
+            this.varyingHeaders = varyingHeaders;
+            this.requestTime = requestTime;
+            this.responseTime = responseTime;
+            this.limit = store.getMaxEntrySize() - CachedResponse.getSize(headers);
+
+            final int length = response.getLength();
+            this.copy = limit < 0 || length > limit ? null : new ByteArrayOutputStream(Math.max(length, 32));
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b == -1) {
+                store();
+            } else if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read == -1) {
+                store();
+            } else if (copy != null) {
+                copy.write(b, off, read);
+                checkLimit();
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            // skipped bytes would be missing in the copy
+            copy = null;
+            return super.skip(n);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+
+        /**
+         * Store the response with the copied entity. Does nothing if the entity has not been copied (too large or skipped)
+         * or if the response has already been stored.
+         */
+        private void store() {
+            if (copy == null) {
+                return;
+            }
+            final byte[] entity = copy.toByteArray();
+            copy = null;
+            store.put(key, new CachedResponse(status, reasonPhrase, headers, entity, varyingHeaders, requestTime, responseTime));
+        }
+    }
+
+    /**
+     * Check whether the response with the given {@code Cache-Control} header values may be stored for (and served to)
+     * the request. Responses to requests with an {@code Authorization} header may be cached only if the response
+     * explicitly allows it (RFC 7234, section 3.2).
+     */
+    private static boolean isAllowed(final ClientRequestContext request, final List<?> cacheControl) {
+        if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return true;
+        }
+        final Map<String, String> directives = directives(cacheControl);
+        return directives.containsKey("public") || directives.containsKey("s-maxage")
+                || directives.containsKey("must-revalidate");
+    }
+
+    private static String key(final ClientRequestContext request) {
+        return request.getUri().toString();
+    }
+
+    private static boolean isCacheable(final ClientResponseContext response) {
+        switch (response.getStatus()) {
+            case 200:
+            case 203:
+            case 300:
+            case 301:
+            case 410:
+                break;
+            default:
+                return false;
+        }
+
+        final String vary = response.getHeaderString(HttpHeaders.VARY);
+        if (vary != null && vary.trim().equals("*")) {
+            return false;
+        }
+
+        final Map<String, String> directives = directives(response.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+        if (directives.containsKey("no-store")) {
+            return false;
+        }
+
+        final MultivaluedMap<String, String> headers = response.getHeaders();
+        return directives.containsKey("max-age") || headers.containsKey(HttpHeaders.EXPIRES)
+                || headers.containsKey(HttpHeaders.ETAG) || headers.containsKey(HttpHeaders.LAST_MODIFIED);
+    }
+
+    private static boolean isFresh(final CachedResponse cached, final Map<String, String> requestDirectives, final long now) {
+        final Map<String, String> directives = directives(cached.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+        if (directives.containsKey("no-cache")) {
+            return false;
+        }
+
+        long lifetime = freshnessLifetime(cached, directives);
+        long age = currentAge(cached, now);
+
+        final long maxAge = seconds(requestDirectives, "max-age", -1);
+        if (maxAge >= 0) {
+            lifetime = Math.min(lifetime, maxAge);
+        }
+        age += seconds(requestDirectives, "min-fresh", 0);
+        if (requestDirectives.containsKey("max-stale") && !directives.containsKey("must-revalidate")) {
+            final long maxStale = seconds(requestDirectives, "max-stale", Long.MAX_VALUE / 2);
+            lifetime += maxStale;
+        }
+        return lifetime > age;
+    }
+
+    private static long freshnessLifetime(final CachedResponse cached, final Map<String, String> directives) {
+        final long maxAge = seconds(directives, "max-age", -1);
+        if (maxAge >= 0) {
+            return maxAge;
+        }
+
+        final String expires = cached.getHeader(HttpHeaders.EXPIRES);
+        if (expires != null) {
+            // invalid dates (e.g. "Expires: 0") represent a time in the past
+            return Math.max(0, date(expires, 0) - date(cached.getHeader(HttpHeaders.DATE), cached.getResponseTime()));
+        }
+        // no heuristic freshness
+        return 0;
+    }
+
+    private static long currentAge(final CachedResponse cached, final long now) {
+        final long responseTime = cached.getResponseTime();
+        final long apparentAge = Math.max(0, responseTime - date(cached.getHeader(HttpHeaders.DATE), responseTime));
+
+        long ageValue = 0;
+        final String age = cached.getHeader(AGE);
+        if (age != null) {
+            try {
+                ageValue = Long.parseLong(age.trim()) * 1000;
+            } catch (final NumberFormatException e) {
+                // ignore invalid age
+            }
+        }
+
+        final long correctedAge = ageValue + (responseTime - cached.getRequestTime());
+        return Math.max(apparentAge, correctedAge) + (now - responseTime);
+    }
+
+    private static Map<String, String> varyingHeaders(final ClientRequestContext request, final String vary) {
+        if (vary == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> values = new HashMap<String, String>();
+        for (final String name : vary.split(",")) {
+            final String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                values.put(trimmed.toLowerCase(Locale.ROOT), request.getHeaderString(trimmed));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Parse the {@code Cache-Control} header values into a map of lower-cased directive names to their (unquoted)
+     * values. Directives without a value are mapped to {@code null}.
+     */
+    private static Map<String, String> directives(final List<?> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> directives = new HashMap<String, String>();
+        for (final Object headerValue : headerValues) {
+            for (final String directive : headerValue.toString().split(",")) {
+                final int eq = directive.indexOf('=');
+                final String name = (eq < 0 ? directive : directive.substring(0, eq)).trim().toLowerCase(Locale.ROOT);
+                if (name.isEmpty()) {
+                    continue;
+                }
+                String value = eq < 0 ? null : directive.substring(eq + 1).trim();
+                if (value != null && value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                directives.put(name, value);
+            }
+        }
+        return directives;
+    }
+
+    /**
+     * Get the value of the delta-seconds directive in milliseconds.
+     */
+    private static long seconds(final Map<String, String> directives, final String name, final long defaultValue) {
+        final String value = directives.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value)) * 1000;
+        } catch (final NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static long date(final String value, final long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return HttpDateFormat.readDate(value).getTime();
+        } catch (final ParseException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * In-memory {@link CacheStore cache store} bounded by the total size of the cached responses.
+ * <p>
+ * When the size of the cached responses exceeds the configured maximum, the least recently used responses are evicted.
+ * Responses larger than the maximal size are not cached at all.
+ * </p>
+ *
+ * @since 2.15
+ */
+public final class MemoryCacheStore implements CacheStore {
+
+    private final long maxSize;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true);
+    private long size = 0;
+
+    /**
+     * Create a new in-memory cache store.
+     *
+     * @param maxSize maximal total size of the cached responses in bytes.
+     */
+    public MemoryCacheStore(final long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.CACHE_MEMORY_STORE_SIZE_INVALID(maxSize));
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized CachedResponse get(final String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void put(final String key, final CachedResponse response) {
+        remove(key);
+
+        final long responseSize = response.getSize();
+        if (responseSize > maxSize) {
+            return;
+        }
+        entries.put(key, response);
+        size += responseSize;
+
+        final Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (size > maxSize) {
+            size -= iterator.next().getValue().getSize();
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public synchronized void remove(final String key) {
+        final CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.getSize();
+        }
+    }
+
+    @Override
+    public long getMaxEntrySize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the total size of the cached responses.
+     *
+     * @return size of the cached responses in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Get the number of the cached responses.
+     *
+     * @return number of the cached responses.
+     */
+    public synchronized int getCount() {
+        return entries.size();
+    }
+}
@@ -41,7 +41,11 @@ package org.glassfish.jersey.client;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.Future;
 
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
@@ -50,6 +54,9 @@ import javax.ws.rs.ext.Provider;
 
 import javax.net.ssl.SSLContext;
 
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
 import org.glassfish.jersey.internal.util.collection.UnsafeValue;
 
 import org.junit.After;
@@ -62,6 +69,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -251,4 +259,77 @@ public class ClientConfigTest {
         assertEquals(1, instance.getProperties().size());
         assertEquals("value", instance.getProperty("name"));
     }
+
+    public static class NoopFilter implements ClientRequestFilter {
+
+        @Override
+        public void filter(final ClientRequestContext requestContext) {
+        }
+    }
+
+    @Test
+    public void testRuntimeSharedAcrossRequestScopedPropertyChanges() {
+        final JerseyClient client = new JerseyClientBuilder().build();
+        final JerseyWebTarget target = client.target("http://localhost:8080");
+        final ClientRuntime runtime = target.getConfiguration().getRuntime();
+
+        final JerseyWebTarget timeoutTarget = target.path("timeout").property(ClientProperties.READ_TIMEOUT, 1000);
+        assertSame(runtime, timeoutTarget.getConfiguration().getRuntime());
+        assertEquals(1000, timeoutTarget.getConfiguration().getRuntimeConfiguration().getProperty(ClientProperties.READ_TIMEOUT));
+        assertNull(target.getConfiguration().getRuntimeConfiguration().getProperty(ClientProperties.READ_TIMEOUT));
+
+        final JerseyWebTarget filteredTarget = target.path("filtered").register(NoopFilter.class);
+        final ClientRuntime filteredRuntime = filteredTarget.getConfiguration().getRuntime();
+        assertNotSame(runtime, filteredRuntime);
+        assertSame(runtime.getConnector(), filteredRuntime.getConnector());
+
+        final JerseyWebTarget customTarget = target.path("custom").property("custom.property", "value");
+        final ClientRuntime customRuntime = customTarget.getConfiguration().getRuntime();
+        assertNotSame(runtime, customRuntime);
+        assertNotSame(runtime.getConnector(), customRuntime.getConnector());
+
+        client.close();
+    }
+
+    @Test
+    public void testConnectorNotSharedUnlessPropertiesDeclared() {
+        final ConnectorProvider defaultProvider = new HttpUrlConnectorProvider();
+        final JerseyClient client = new JerseyClientBuilder().withConfig(new ClientConfig().connectorProvider(
+                new ConnectorProvider() {
+                    @Override
+                    public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+                        final Connector delegate = defaultProvider.getConnector(client, runtimeConfig);
+                        return new Connector() {
+                            @Override
+                            public ClientResponse apply(final ClientRequest request) {
+                                return delegate.apply(request);
+                            }
+
+                            @Override
+                            public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+                                return delegate.apply(request, callback);
+                            }
+
+                            @Override
+                            public String getName() {
+                                return delegate.getName();
+                            }
+
+                            @Override
+                            public void close() {
+                                delegate.close();
+                            }
+                        };
+                    }
+                })).build();
+        final JerseyWebTarget target = client.target("http://localhost:8080");
+        final ClientRuntime runtime = target.getConfiguration().getRuntime();
+
+        final JerseyWebTarget timeoutTarget = target.path("timeout").property(ClientProperties.CONNECT_TIMEOUT, 1000);
+        final ClientRuntime timeoutRuntime = timeoutTarget.getConfiguration().getRuntime();
+        assertNotSame(runtime, timeoutRuntime);
+        assertNotSame(runtime.getConnector(), timeoutRuntime.getConnector());
+
+        client.close();
+    }
 }
@@ -0,0 +1,399 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests {@link HttpCacheFeature}.
+ */
+public class HttpCacheFeatureTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Connector serving a counter as the entity, supporting {@code ETag} validation and recording the requests.
+     */
+    private static class TestConnector implements Connector, ConnectorProvider {
+
+        private final String cacheControl;
+        private final String vary;
+        private final List<ClientRequest> requests = new ArrayList<ClientRequest>();
+        private String etag = "\"1\"";
+
+        private TestConnector(final String cacheControl, final String vary) {
+            this.cacheControl = cacheControl;
+            this.vary = vary;
+        }
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return this;
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            requests.add(request);
+            if (!HttpMethod.GET.equals(request.getMethod())) {
+                etag = "\"" + requests.size() + "\"";
+                return new ClientResponse(Response.Status.NO_CONTENT, request);
+            }
+            if (etag.equals(request.getHeaderString(HttpHeaders.IF_NONE_MATCH))) {
+                final ClientResponse response = new ClientResponse(Response.Status.NOT_MODIFIED, request);
+                response.header(HttpHeaders.ETAG, etag);
+                return response;
+            }
+
+            final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.header(HttpHeaders.ETAG, etag);
+            response.header(HttpHeaders.CONTENT_TYPE, "text/plain");
+            if (vary != null) {
+                response.header(HttpHeaders.VARY, vary);
+            }
+            response.setEntityStream(new ByteArrayInputStream(("response " + requests.size()).getBytes()));
+            return response;
+        }
+
+        @Override
+        public Future<?> apply(final ClientRequest clientRequest, final AsyncConnectorCallback callback) {
+            throw new UnsupportedOperationException("Asynchronous execution not supported.");
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        @Override
+        public String getName() {
+            return "test-connector";
+        }
+    }
+
+    private static Client client(final TestConnector connector, final HttpCacheFeature cache) {
+        return ClientBuilder.newClient(new ClientConfig().connectorProvider(connector).register(cache));
+    }
+
+    @Test
+    public void testFreshResponseServedFromCache() {
+        final TestConnector connector = new TestConnector("max-age=60", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final Client client = client(connector, cache);
+
+        assertEquals("response 1", client.target("http://localhost/a").request().get(String.class));
+        final Response response = client.target("http://localhost/a").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("response 1", response.readEntity(String.class));
+        assertNotNull(response.getHeaderString("Age"));
+
+        assertEquals(1, connector.requests.size());
+        assertEquals(1, cache.getStatistics().getHits());
+        assertEquals(1, cache.getStatistics().getMisses());
+
+        // request directive forces revalidation
+        assertEquals("response 1", client.target("http://localhost/a").request()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache").get(String.class));
+        assertEquals(2, connector.requests.size());
+        assertEquals("\"1\"", connector.requests.get(1).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1, cache.getStatistics().getRevalidations());
+    }
+
+    @Test
+    public void testRevalidation() {
+        final TestConnector connector = new TestConnector("no-cache", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final Client client = client(connector, cache);
+
+        assertEquals("response 1", client.target("http://localhost/a").request().get(String.class));
+        final Response response = client.target("http://localhost/a").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("text/plain", response.getHeaderString(HttpHeaders.CONTENT_TYPE));
+        assertEquals("response 1", response.readEntity(String.class));
+
+        assertEquals(2, connector.requests.size());
+        assertNull(connector.requests.get(0).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"1\"", connector.requests.get(1).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(0, cache.getStatistics().getHits());
+        assertEquals(1, cache.getStatistics().getRevalidations());
+    }
+
+    @Test
+    public void testUnsafeMethodInvalidates() {
+        final TestConnector connector = new TestConnector("max-age=60", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final Client client = client(connector, cache);
+
+        assertEquals("response 1", client.target("http://localhost/a").request().get(String.class));
+        client.target("http://localhost/a").request().post(Entity.text("update")).close();
+        assertEquals("response 3", client.target("http://localhost/a").request().get(String.class));
+        assertEquals(2, cache.getStatistics().getMisses());
+    }
+
+    @Test
+    public void testVary() {
+        final TestConnector connector = new TestConnector("max-age=60", "Accept-Language");
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final Client client = client(connector, cache);
+
+        assertEquals("response 1", client.target("http://localhost/a").request().acceptLanguage("en").get(String.class));
+        assertEquals("response 1", client.target("http://localhost/a").request().acceptLanguage("en").get(String.class));
+        assertEquals("response 2", client.target("http://localhost/a").request().acceptLanguage("de").get(String.class));
+        assertEquals(2, connector.requests.size());
+        assertEquals(1, cache.getStatistics().getHits());
+    }
+
+    @Test
+    public void testNoStore() {
+        final TestConnector connector = new TestConnector("no-store", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final Client client = client(connector, cache);
+
+        assertEquals("response 1", client.target("http://localhost/a").request().get(String.class));
+        assertEquals("response 2", client.target("http://localhost/a").request().get(String.class));
+        assertNull(cache.getStore().get("http://localhost/a"));
+    }
+
+    @Test
+    public void testAuthorizedRequestNotCached() {
+        final TestConnector connector = new TestConnector("max-age=60", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final Client client = client(connector, cache);
+
+        assertEquals("response 1", client.target("http://localhost/a").request()
+                .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz").get(String.class));
+        assertNull(cache.getStore().get("http://localhost/a"));
+
+        // response stored for an anonymous request is not served to an authorized one
+        assertEquals("response 2", client.target("http://localhost/a").request().get(String.class));
+        assertEquals("response 3", client.target("http://localhost/a").request()
+                .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz").get(String.class));
+        assertEquals(3, connector.requests.size());
+        assertNull(connector.requests.get(2).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    public void testAuthorizedRequestPublicResponse() {
+        final TestConnector connector = new TestConnector("public, max-age=60", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final Client client = client(connector, cache);
+
+        assertEquals("response 1", client.target("http://localhost/a").request()
+                .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz").get(String.class));
+        assertEquals("response 1", client.target("http://localhost/a").request()
+                .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz").get(String.class));
+        assertEquals(1, connector.requests.size());
+        assertEquals(1, cache.getStatistics().getHits());
+    }
+
+    @Test
+    public void testOversizedResponseNotStored() {
+        final TestConnector connector = new TestConnector("max-age=60", null);
+        // headers (52 bytes) fit into the store, the entity (10 bytes) does not
+        final HttpCacheFeature cache = new HttpCacheFeature(new MemoryCacheStore(56));
+        final Client client = client(connector, cache);
+
+        assertEquals("response 1", client.target("http://localhost/a").request().get(String.class));
+        assertNull(cache.getStore().get("http://localhost/a"));
+        assertEquals("response 2", client.target("http://localhost/a").request().get(String.class));
+    }
+
+    @Test
+    public void testPartiallyReadResponseNotStored() throws Exception {
+        final TestConnector connector = new TestConnector("max-age=60", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final Client client = client(connector, cache);
+
+        final Response response = client.target("http://localhost/a").request().get();
+        final InputStream entity = response.readEntity(InputStream.class);
+        assertEquals('r', entity.read());
+        assertNull(cache.getStore().get("http://localhost/a"));
+        entity.close();
+        assertNull(cache.getStore().get("http://localhost/a"));
+
+        final InputStream complete = client.target("http://localhost/a").request().get(InputStream.class);
+        while (complete.read() != -1) {
+            // read the whole entity
+        }
+        assertEquals("response 2", new String(cache.getStore().get("http://localhost/a").getEntity()));
+        complete.close();
+    }
+
+    private static CachedResponse response(final String entity) {
+        return new CachedResponse(200, "OK", Collections.<String, List<String>>emptyMap(), entity.getBytes(),
+                Collections.<String, String>emptyMap(), 1, 2);
+    }
+
+    @Test
+    public void testMemoryStoreEviction() {
+        final MemoryCacheStore store = new MemoryCacheStore(10);
+        store.put("a", response("1234"));
+        store.put("b", response("1234"));
+        store.get("a");
+        store.put("c", response("1234"));
+
+        assertNotNull(store.get("a"));
+        assertNull(store.get("b"));
+        assertNotNull(store.get("c"));
+        assertEquals(8, store.getSize());
+
+        store.put("d", response("12345678901"));
+        assertNull(store.get("d"));
+        assertEquals(2, store.getCount());
+    }
+
+    @Test
+    public void testDiskStore() throws Exception {
+        final File directory = new File(folder.getRoot(), "cache");
+        final DiskCacheStore store = new DiskCacheStore(directory);
+        store.put("a", response("1234"));
+
+        final CachedResponse cached = new DiskCacheStore(directory).get("a");
+        assertEquals("1234", new String(cached.getEntity()));
+        assertEquals(2, cached.getResponseTime());
+        assertNull(store.get("b"));
+
+        store.remove("a");
+        assertNull(store.get("a"));
+    }
+
+    @Test
+    public void testDiskStoreCorruptedEntry() throws Exception {
+        final File directory = new File(folder.getRoot(), "cache");
+        final DiskCacheStore store = new DiskCacheStore(directory);
+        store.put("a", response("1234"));
+
+        final File[] files = directory.listFiles();
+        assertEquals(1, files.length);
+        final RandomAccessFile file = new RandomAccessFile(files[0], "rw");
+        try {
+            // huge length of the cache key
+            file.seek(4);
+            file.writeInt(Integer.MAX_VALUE - 8);
+        } finally {
+            file.close();
+        }
+
+        assertNull(store.get("a"));
+        assertFalse(files[0].exists());
+        assertEquals(0, store.getSize());
+    }
+
+    @Test
+    public void testDiskStoreEviction() throws Exception {
+        final File directory = new File(folder.getRoot(), "cache");
+        new DiskCacheStore(directory).put("x", response("1234"));
+        final long entrySize = directory.listFiles()[0].length();
+        new DiskCacheStore(directory).remove("x");
+
+        final DiskCacheStore store = new DiskCacheStore(directory, 2 * entrySize + entrySize / 2, 1024);
+        final long now = System.currentTimeMillis();
+        store.put("a", response("1234"));
+        setLastModified(directory, now - 20000);
+        store.put("b", response("5678"));
+        for (final File file : directory.listFiles()) {
+            if (file.lastModified() > now - 15000) {
+                file.setLastModified(now - 10000);
+            }
+        }
+        assertEquals(2 * entrySize, store.getSize());
+
+        // "a" becomes the most recently used entry
+        assertNotNull(store.get("a"));
+        store.put("c", response("90ab"));
+
+        assertNull(store.get("b"));
+        assertNotNull(store.get("a"));
+        assertNotNull(store.get("c"));
+        assertEquals(2 * entrySize, store.getSize());
+
+        // responses larger than the maximal entry size are not stored
+        store.put("d", response(new String(new byte[2048])));
+        assertNull(store.get("d"));
+    }
+
+    private static void setLastModified(final File directory, final long time) {
+        for (final File file : directory.listFiles()) {
+            file.setLastModified(time);
+        }
+    }
+
+    @Test
+    public void testRevalidatedHeaders() {
+        final CachedResponse revalidated = response("1234").revalidate(
+                Collections.singletonMap("etag", Collections.singletonList("\"2\"")), 3, 4);
+        final Map<String, List<String>> headers = revalidated.getHeaders();
+        assertEquals("\"2\"", revalidated.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, headers.size());
+        assertEquals(4, revalidated.getResponseTime());
+    }
+}
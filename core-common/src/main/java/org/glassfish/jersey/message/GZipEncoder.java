@@ -43,38 +43,60 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.HttpHeaders;
 
+import javax.inject.Inject;
+
+import org.glassfish.jersey.message.internal.CompressionPool;
 import org.glassfish.jersey.spi.ContentEncoder;
 
 /**
  * GZIP encoding support. Interceptor that encodes the output or decodes the input if
  * {@link HttpHeaders#CONTENT_ENCODING Content-Encoding header} value equals to {@code gzip} or {@code x-gzip}.
+ * The compression level and buffer size can be configured using {@link MessageProperties#COMPRESSION_LEVEL}
+ * and {@link MessageProperties#COMPRESSION_BUFFER_SIZE} properties.
  *
  * @author Martin Matula (martin.matula at oracle.com)
  */
 @Priority(Priorities.ENTITY_CODER)
 public class GZipEncoder extends ContentEncoder {
+
+    private final int level;
+    private final int bufferSize;
+
     /**
-     * Initialize GZipEncoder.
+     * Initialize GZipEncoder with the default compression level and buffer size.
      */
     public GZipEncoder() {
+        this(null);
+    }
+
+    /**
+     * Initialize GZipEncoder.
+     *
+     * @param config Jersey configuration properties.
+     * @since 2.15
+     */
+    @Inject
+    public GZipEncoder(final Configuration config) {
         super("gzip", "x-gzip");
+        this.level = CompressionPool.getCompressionLevel(config == null ? null : config.getProperties());
+        this.bufferSize = CompressionPool.getBufferSize(config == null ? null : config.getProperties());
     }
 
     @Override
     public InputStream decode(String contentEncoding, InputStream encodedStream)
             throws IOException {
-        return new GZIPInputStream(encodedStream);
+        return new GZIPInputStream(encodedStream, bufferSize);
     }
 
     @Override
     public OutputStream encode(String contentEncoding, OutputStream entityStream)
             throws IOException {
-        return new GZIPOutputStream(entityStream);
+        return CompressionPool.gzip(entityStream, level, bufferSize);
     }
 }
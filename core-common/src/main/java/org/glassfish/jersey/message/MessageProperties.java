@@ -113,6 +113,32 @@ public final class MessageProperties {
      */
     public static final String DEFLATE_WITHOUT_ZLIB = "jersey.config.deflate.nozlib";
 
+    /**
+     * Compression level used by the {@link GZipEncoder gzip} and {@link DeflateEncoder deflate} encoding interceptors.
+     * The property value is expected to be an integer in the range from {@code 0} (no compression) to {@code 9}
+     * (best compression) or {@code -1} for the default compression level.
+     * <p />
+     * The default value is <code>{@value java.util.zip.Deflater#DEFAULT_COMPRESSION}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     *
+     * @since 2.15
+     */
+    public static final String COMPRESSION_LEVEL = "jersey.config.compression.level";
+
+    /**
+     * Size of the buffer used by the {@link GZipEncoder gzip} and {@link DeflateEncoder deflate} encoding interceptors
+     * to compress and decompress message entities. The property value is expected to be a positive integer otherwise
+     * it will be ignored.
+     * <p />
+     * The default value is <code>{@value org.glassfish.jersey.message.internal.CompressionPool#DEFAULT_BUFFER_SIZE}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     *
+     * @since 2.15
+     */
+    public static final String COMPRESSION_BUFFER_SIZE = "jersey.config.compression.bufferSize";
+
     /**
      * If set to {@code true}, {@link javax.ws.rs.ext.MessageBodyReader MessageBodyReaders} and
      * {@link javax.ws.rs.ext.MessageBodyWriter MessageBodyWriters} will be ordered by rules from JAX-RS 1.x, where custom
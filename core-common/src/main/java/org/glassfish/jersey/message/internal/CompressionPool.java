@@ -0,0 +1,396 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.MessageProperties;
+
+/**
+ * Pool of reusable {@link Deflater} and {@link Inflater} instances and factory of compressing and decompressing
+ * streams backed by the pooled instances.
+ * <p>
+ * Creating a new {@code Deflater} or {@code Inflater} allocates native zlib structures, which is relatively expensive
+ * compared to compressing a small message entity. The streams returned from this class borrow an instance
+ * from the pool and return it (after {@link Deflater#reset() resetting} it) when the stream is closed. Streams that are
+ * never closed simply leave their instance to the garbage collector.
+ * </p>
+ *
+ * @since 2.15
+ */
+public final class CompressionPool {
+
+    /**
+     * Default size of the compression buffer, the same as the default buffer size of the JDK compression streams.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 512;
+
+    /**
+     * Maximal number of idle instances kept in a single pool.
+     */
+    private static final int MAX_IDLE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    // compression levels -1 (default) .. 9, with and without zlib wrapper
+    private static final Pool<Deflater>[] DEFLATERS = createPools(2 * 11);
+    private static final Pool<Inflater>[] INFLATERS = createPools(2);
+
+    /**
+     * Prevents instantiation.
+     */
+    private CompressionPool() {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Pool<T>[] createPools(final int count) {
+        final Pool<T>[] pools = new Pool[count];
+        for (int i = 0; i < count; i++) {
+            pools[i] = new Pool<T>();
+        }
+        return pools;
+    }
+
+    private static Pool<Deflater> deflaters(final int level, final boolean nowrap) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException(LocalizationMessages.COMPRESSION_LEVEL_INVALID(level));
+        }
+        return DEFLATERS[2 * (level + 1) + (nowrap ? 1 : 0)];
+    }
+
+    private static Pool<Inflater> inflaters(final boolean nowrap) {
+        return INFLATERS[nowrap ? 1 : 0];
+    }
+
+    /**
+     * Get the {@link MessageProperties#COMPRESSION_LEVEL compression level} configured in the given properties.
+     * Values outside of the valid range are ignored.
+     *
+     * @param properties configuration properties, may be {@code null}.
+     * @return configured compression level or {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    public static int getCompressionLevel(final Map<String, ?> properties) {
+        if (properties == null) {
+            return Deflater.DEFAULT_COMPRESSION;
+        }
+        final int level = PropertiesHelper.getValue(properties, MessageProperties.COMPRESSION_LEVEL,
+                Deflater.DEFAULT_COMPRESSION, Integer.class, null);
+        return level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION ? Deflater.DEFAULT_COMPRESSION : level;
+    }
+
+    /**
+     * Get the {@link MessageProperties#COMPRESSION_BUFFER_SIZE compression buffer size} configured in the given properties.
+     * Non-positive values are ignored.
+     *
+     * @param properties configuration properties, may be {@code null}.
+     * @return configured buffer size or {@link #DEFAULT_BUFFER_SIZE}.
+     */
+    public static int getBufferSize(final Map<String, ?> properties) {
+        if (properties == null) {
+            return DEFAULT_BUFFER_SIZE;
+        }
+        final int size = PropertiesHelper.getValue(properties, MessageProperties.COMPRESSION_BUFFER_SIZE,
+                DEFAULT_BUFFER_SIZE, Integer.class, null);
+        return size > 0 ? size : DEFAULT_BUFFER_SIZE;
+    }
+
+    /**
+     * Borrow a deflater from the pool or create a new one.
+     *
+     * @param level  compression level ({@code -1} for the default level, {@code 0} - {@code 9}).
+     * @param nowrap if {@code true}, the zlib header and checksum fields are not used.
+     * @return reset deflater.
+     */
+    public static Deflater acquireDeflater(final int level, final boolean nowrap) {
+        final Deflater deflater = deflaters(level, nowrap).poll();
+        return deflater == null ? new Deflater(level, nowrap) : deflater;
+    }
+
+    /**
+     * Return a deflater acquired by {@link #acquireDeflater(int, boolean)} to the pool.
+     *
+     * @param deflater deflater to be returned. The deflater must not be used by the caller afterwards.
+     * @param level    compression level the deflater has been acquired with.
+     * @param nowrap   {@code nowrap} flag the deflater has been acquired with.
+     */
+    public static void releaseDeflater(final Deflater deflater, final int level, final boolean nowrap) {
+        deflater.reset();
+        if (!deflaters(level, nowrap).offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Borrow an inflater from the pool or create a new one.
+     *
+     * @param nowrap if {@code true}, the zlib header and checksum fields are not expected.
+     * @return reset inflater.
+     */
+    public static Inflater acquireInflater(final boolean nowrap) {
+        final Inflater inflater = inflaters(nowrap).poll();
+        return inflater == null ? new Inflater(nowrap) : inflater;
+    }
+
+    /**
+     * Return an inflater acquired by {@link #acquireInflater(boolean)} to the pool.
+     *
+     * @param inflater inflater to be returned. The inflater must not be used by the caller afterwards.
+     * @param nowrap   {@code nowrap} flag the inflater has been acquired with.
+     */
+    public static void releaseInflater(final Inflater inflater, final boolean nowrap) {
+        inflater.reset();
+        if (!inflaters(nowrap).offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Create a GZIP compressing output stream backed by a pooled deflater.
+     *
+     * @param out        underlying output stream.
+     * @param level      compression level ({@code -1} for the default level, {@code 0} - {@code 9}).
+     * @param bufferSize compression buffer size.
+     * @return GZIP compressing output stream.
+     * @throws IOException if an IO error occurs while writing the GZIP header.
+     */
+    public static OutputStream gzip(final OutputStream out, final int level, final int bufferSize) throws IOException {
+        return new GZipOutputStream(out, level, bufferSize);
+    }
+
+    /**
+     * Create a deflate compressing output stream backed by a pooled deflater.
+     *
+     * @param out        underlying output stream.
+     * @param level      compression level ({@code -1} for the default level, {@code 0} - {@code 9}).
+     * @param nowrap     if {@code true}, the zlib header and checksum fields are not written.
+     * @param bufferSize compression buffer size.
+     * @return deflate compressing output stream.
+     */
+    public static OutputStream deflate(final OutputStream out, final int level, final boolean nowrap, final int bufferSize) {
+        return new PooledDeflaterOutputStream(out, level, nowrap, bufferSize);
+    }
+
+    /**
+     * Create a deflate decompressing input stream backed by a pooled inflater.
+     *
+     * @param in         underlying input stream.
+     * @param nowrap     if {@code true}, the zlib header and checksum fields are not expected.
+     * @param bufferSize decompression buffer size.
+     * @return deflate decompressing input stream.
+     */
+    public static InputStream inflate(final InputStream in, final boolean nowrap, final int bufferSize) {
+        return new PooledInflaterInputStream(in, nowrap, bufferSize);
+    }
+
+    /**
+     * Bounded pool of idle instances.
+     */
+    private static final class Pool<T> {
+
+        private final Queue<T> idle = new ConcurrentLinkedQueue<T>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private T poll() {
+            final T instance = idle.poll();
+            if (instance != null) {
+                size.decrementAndGet();
+            }
+            return instance;
+        }
+
+        private boolean offer(final T instance) {
+            if (size.incrementAndGet() > MAX_IDLE) {
+                size.decrementAndGet();
+                return false;
+            }
+            idle.offer(instance);
+            return true;
+        }
+    }
+
+    /**
+     * Deflater output stream that returns its deflater to the pool once closed. The stream cannot be written to
+     * after it has been closed, as the deflater may already be used by another stream.
+     */
+    private static class PooledDeflaterOutputStream extends DeflaterOutputStream {
+
+        private final int level;
+        private final boolean nowrap;
+        private boolean released = false;
+
+        PooledDeflaterOutputStream(final OutputStream out, final int level, final boolean nowrap, final int bufferSize) {
+            super(out, acquireDeflater(level, nowrap), bufferSize);
+            this.level = level;
+            this.nowrap = nowrap;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            ensureNotReleased();
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureNotReleased();
+            super.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            ensureNotReleased();
+            super.finish();
+        }
+
+        private void ensureNotReleased() throws IOException {
+            if (released) {
+                throw new IOException(LocalizationMessages.OUTPUT_STREAM_CLOSED());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (released) {
+                return;
+            }
+            try {
+                super.close();
+            } finally {
+                released = true;
+                final Deflater deflater = def;
+                // the deflater belongs to the pool from now on
+                def = null;
+                releaseDeflater(deflater, level, nowrap);
+            }
+        }
+    }
+
+    /**
+     * GZIP output stream using a pooled deflater.
+     */
+    private static final class GZipOutputStream extends PooledDeflaterOutputStream {
+
+        private static final int GZIP_MAGIC = 0x8b1f;
+        private static final byte[] HEADER = {
+                (byte) GZIP_MAGIC,         // Magic number (short)
+                (byte) (GZIP_MAGIC >> 8),  // Magic number (short)
+                Deflater.DEFLATED,         // Compression method (CM)
+                0,                         // Flags (FLG)
+                0,                         // Modification time MTIME (int)
+                0,                         // Modification time MTIME (int)
+                0,                         // Modification time MTIME (int)
+                0,                         // Modification time MTIME (int)
+                0,                         // Extra flags (XFLG)
+                0                          // Operating system (OS)
+        };
+
+        private final CRC32 crc = new CRC32();
+        private boolean finished = false;
+
+        GZipOutputStream(final OutputStream out, final int level, final int bufferSize) throws IOException {
+            super(out, level, true, bufferSize);
+            out.write(HEADER);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            super.finish();
+            finished = true;
+
+            final byte[] trailer = new byte[8];
+            writeInt((int) crc.getValue(), trailer, 0);
+            writeInt(def.getTotalIn(), trailer, 4);
+            out.write(trailer);
+        }
+
+        private static void writeInt(final int i, final byte[] buf, final int offset) {
+            buf[offset] = (byte) i;
+            buf[offset + 1] = (byte) (i >> 8);
+            buf[offset + 2] = (byte) (i >> 16);
+            buf[offset + 3] = (byte) (i >> 24);
+        }
+    }
+
+    /**
+     * Inflater input stream that returns its inflater to the pool once closed.
+     */
+    private static final class PooledInflaterInputStream extends InflaterInputStream {
+
+        private final boolean nowrap;
+        private boolean released = false;
+
+        PooledInflaterInputStream(final InputStream in, final boolean nowrap, final int bufferSize) {
+            super(in, acquireInflater(nowrap), bufferSize);
+            this.nowrap = nowrap;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!released) {
+                    released = true;
+                    releaseInflater(inf, nowrap);
+                }
+            }
+        }
+    }
+}
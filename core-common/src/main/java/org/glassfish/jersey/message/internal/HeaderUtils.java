@@ -82,6 +82,19 @@ public final class HeaderUtils {
         return new StringKeyIgnoreCaseMultivaluedMap<String>();
     }
 
+    /**
+     * Create an inbound message headers container that reads the headers through from the given native header source.
+     * Created container is mutable; the headers are copied from the source once the container is modified
+     * or iterated as a whole.
+     *
+     * @param source native header source.
+     * @return a new mutable container for inbound message headers backed by the header source.
+     * @since 2.15
+     */
+    public static MultivaluedMap<String, String> createInbound(final InboundHeaderSource source) {
+        return new InboundHeaderView(source);
+    }
+
     /**
      * Get immutable empty message headers container. The factory method can be
      * used to for both message header container types&nbsp;&nbsp;&ndash;&nbsp;&nbsp;inbound
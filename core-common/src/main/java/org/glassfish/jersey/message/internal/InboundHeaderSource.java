@@ -0,0 +1,81 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.List;
+
+/**
+ * Read-only source of inbound message headers backed by a native header structure of an underlying I/O container.
+ * <p>
+ * Container integrations may implement this interface to let {@link InboundMessageContext} read the request headers
+ * directly from the container data structures instead of copying every header into the message context eagerly.
+ * The headers are copied only once the message headers are modified or iterated as a whole.
+ * </p>
+ * <p>
+ * Implementations are expected to be used by a single request only and must look up the header values using
+ * case-insensitive header name matching.
+ * </p>
+ * <p>
+ * The headers are read from the source lazily, i.e. possibly long after the container has passed the request to Jersey.
+ * Containers that recycle their native request structures must call {@link InboundMessageContext#detachHeaders()}
+ * before the native request may be recycled, which copies the headers not copied yet. A source must not return
+ * the headers of a recycled request; it should rather fail with an {@link IllegalStateException}.
+ * </p>
+ *
+ * @see InboundMessageContext#headers(InboundHeaderSource)
+ * @since 2.15
+ */
+public interface InboundHeaderSource {
+
+    /**
+     * Get names of all the headers available in the source.
+     *
+     * @return names of the available headers.
+     */
+    public Iterable<String> getHeaderNames();
+
+    /**
+     * Get values of the header with the given name.
+     *
+     * @param name case-insensitive header name.
+     * @return header values or {@code null} if the header is not present. The returned list is not modified by Jersey.
+     */
+    public List<String> getHeaderValues(String name);
+}
@@ -0,0 +1,322 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Inbound message headers map that reads the headers through from an {@link InboundHeaderSource} and copies them
+ * into a regular mutable {@link HeaderUtils#createInbound() inbound headers map} only once the headers are modified
+ * or iterated as a whole.
+ * <p>
+ * Lists returned by {@link #get(Object)} are read-through views as well; modifying such a list copies the headers first
+ * and applies the modification to the copy. The lists are created once per header name and reused by subsequent
+ * look-ups of the header.
+ * </p>
+ * <p>
+ * Until the headers are copied, the view is only valid as long as the underlying source is. The view is
+ * {@link #detach() detached} from a source that is about to become invalid, see {@link InboundHeaderSource}.
+ * </p>
+ *
+ * @since 2.15
+ */
+final class InboundHeaderView implements MultivaluedMap<String, String> {
+
+    private final InboundHeaderSource source;
+    private MultivaluedMap<String, String> copy;
+    private Map<String, List<String>> lists;
+
+    /**
+     * Create new read-through view of the given header source.
+     *
+     * @param source native header source.
+     */
+    InboundHeaderView(final InboundHeaderSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Copy the headers from the source, if not copied already, and return the mutable copy.
+     *
+     * @return mutable copy of the headers.
+     */
+    private MultivaluedMap<String, String> copy() {
+        if (copy == null) {
+            final MultivaluedMap<String, String> headers = HeaderUtils.createInbound();
+            for (final String name : source.getHeaderNames()) {
+                final List<String> values = source.getHeaderValues(name);
+                if (values != null) {
+                    headers.addAll(name, values);
+                }
+            }
+            copy = headers;
+            // the lists of the view are not looked up any more, the lists handed out read through to the copy
+            lists = null;
+        }
+        return copy;
+    }
+
+    /**
+     * Check whether the headers have been copied from the source.
+     *
+     * @return {@code true} if the headers have been copied, {@code false} if they are still read from the source.
+     */
+    boolean isCopied() {
+        return copy != null;
+    }
+
+    /**
+     * Copy the headers from the source, if not copied already, so that the view no longer reads from the source.
+     */
+    void detach() {
+        copy();
+    }
+
+    // Read-through operations
+
+    @Override
+    public List<String> get(final Object key) {
+        if (copy != null) {
+            return copy.get(key);
+        }
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        final String name = (String) key;
+        List<String> list = lists == null ? null : lists.get(name);
+        if (list == null) {
+            final List<String> values = source.getHeaderValues(name);
+            if (values == null) {
+                return null;
+            }
+            list = new ValueList(name, values);
+            if (lists == null) {
+                lists = new HashMap<String, List<String>>();
+            }
+            lists.put(name, list);
+        }
+        return list;
+    }
+
+    @Override
+    public String getFirst(final String key) {
+        if (copy != null) {
+            return copy.getFirst(key);
+        }
+
+        final List<String> values = get(key);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (copy != null) {
+            return copy.containsKey(key);
+        }
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (copy != null) {
+            return copy.isEmpty();
+        }
+        return !source.getHeaderNames().iterator().hasNext();
+    }
+
+    @Override
+    public int size() {
+        return copy().size();
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        return copy().containsValue(value);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return copy().keySet();
+    }
+
+    @Override
+    public Collection<List<String>> values() {
+        return copy().values();
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return copy().entrySet();
+    }
+
+    @Override
+    public boolean equalsIgnoreValueOrder(final MultivaluedMap<String, String> otherMap) {
+        return copy().equalsIgnoreValueOrder(otherMap);
+    }
+
+    // Mutating operations
+
+    @Override
+    public void putSingle(final String key, final String value) {
+        copy().putSingle(key, value);
+    }
+
+    @Override
+    public void add(final String key, final String value) {
+        copy().add(key, value);
+    }
+
+    @Override
+    public void addAll(final String key, final String... newValues) {
+        copy().addAll(key, newValues);
+    }
+
+    @Override
+    public void addAll(final String key, final List<String> valueList) {
+        copy().addAll(key, valueList);
+    }
+
+    @Override
+    public void addFirst(final String key, final String value) {
+        copy().addFirst(key, value);
+    }
+
+    @Override
+    public List<String> put(final String key, final List<String> value) {
+        return copy().put(key, value);
+    }
+
+    @Override
+    public List<String> remove(final Object key) {
+        return copy().remove(key);
+    }
+
+    @Override
+    public void putAll(final Map<? extends String, ? extends List<String>> m) {
+        copy().putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        copy().clear();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || copy().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return copy().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return copy().toString();
+    }
+
+    /**
+     * Read-through view of a single header values list. Any modification copies the headers from the source first.
+     */
+    private final class ValueList extends AbstractList<String> {
+
+        private final String name;
+        private final List<String> values;
+
+        private ValueList(final String name, final List<String> values) {
+            this.name = name;
+            this.values = values;
+        }
+
+        private List<String> current() {
+            if (copy == null) {
+                return values;
+            }
+            final List<String> copied = copy.get(name);
+            return copied == null ? Collections.<String>emptyList() : copied;
+        }
+
+        private List<String> mutable() {
+            final MultivaluedMap<String, String> headers = copy();
+            List<String> copied = headers.get(name);
+            if (copied == null) {
+                copied = new LinkedList<String>();
+                headers.put(name, copied);
+            }
+            return copied;
+        }
+
+        @Override
+        public String get(final int index) {
+            return current().get(index);
+        }
+
+        @Override
+        public int size() {
+            return current().size();
+        }
+
+        @Override
+        public String set(final int index, final String element) {
+            return mutable().set(index, element);
+        }
+
+        @Override
+        public void add(final int index, final String element) {
+            mutable().add(index, element);
+        }
+
+        @Override
+        public String remove(final int index) {
+            return mutable().remove(index);
+        }
+    }
+}
@@ -48,6 +48,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -78,6 +79,8 @@ import org.glassfish.jersey.internal.PropertiesDelegate;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 
 import jersey.repackaged.com.google.common.base.Function;
+import jersey.repackaged.com.google.common.cache.Cache;
+import jersey.repackaged.com.google.common.cache.CacheBuilder;
 
 /**
  * Base inbound message context implementation.
@@ -108,12 +111,58 @@ public abstract class InboundMessageContext {
         }
     };
     private static final Annotation[] EMPTY_ANNOTATIONS = new Annotation[0];
+    private static final Iterable<ReaderInterceptor> NO_READER_INTERCEPTORS =
+            new InterceptorList<ReaderInterceptor>(ReaderInterceptor.class, Collections.<ReaderInterceptor>emptyList());
 
-    private final MultivaluedMap<String, String> headers;
+    /**
+     * Maximum number of distinct raw {@code Accept} header values kept in the {@link #ACCEPT_CACHE shared cache}.
+     */
+    private static final int ACCEPT_CACHE_MAX_SIZE = 128;
+    /**
+     * Maximum length of a raw {@code Accept} header value that is eligible for the {@link #ACCEPT_CACHE shared cache}.
+     */
+    private static final int ACCEPT_CACHE_MAX_VALUE_LENGTH = 512;
+    /**
+     * Shared cache of parsed {@code Accept} header values. Clients tend to send only a small set of distinct
+     * {@code Accept} header values, so the parsed (immutable) lists are shared among the messages. Once the cache is
+     * full, the least recently used values are evicted.
+     */
+    private static final Cache<String, List<AcceptableMediaType>> ACCEPT_CACHE =
+            CacheBuilder.newBuilder().maximumSize(ACCEPT_CACHE_MAX_SIZE).build();
+
+    private MultivaluedMap<String, String> headers;
+    /**
+     * Per-message memos of parsed header values. A memo is used only as long as the raw header value it has been
+     * parsed from is still the current value of the header, which makes any header modification invalidate it.
+     */
+    private ParsedHeader<List<AcceptableMediaType>> acceptableMediaTypes;
+    private ParsedHeader<List<AcceptableLanguageTag>> acceptableLanguages;
+    private ParsedHeader<List<AcceptableToken>> acceptCharset;
+    private ParsedHeader<List<AcceptableToken>> acceptEncoding;
+    private ParsedHeader<Map<String, Cookie>> requestCookies;
     private final EntityContent entityContent;
     private final boolean translateNce;
     private MessageBodyWorkers workers;
 
+    /**
+     * Parsed header value together with the raw header value it has been parsed from.
+     *
+     * @param <T> parsed header value type.
+     */
+    private static final class ParsedHeader<T> {
+        private final Object raw;
+        private final T value;
+
+        ParsedHeader(Object raw, T value) {
+            this.raw = raw;
+            this.value = value;
+        }
+
+        boolean isParsedFrom(Object currentRaw) {
+            return raw.equals(currentRaw);
+        }
+    }
+
     /**
      * Input stream and its state. State is represented by the {@link Type Type enum} and
      * is used to control the execution of interceptors.
@@ -240,6 +289,52 @@ public abstract class InboundMessageContext {
         return this;
     }
 
+    /**
+     * Read the message headers through from the given native header source.
+     * <p>
+     * If no headers have been added to this context yet, the headers are not copied from the source; they are read
+     * from the source on demand and copied only once they are modified or iterated as a whole. Otherwise the headers
+     * available in the source are added to the existing headers.
+     * </p>
+     * <p>
+     * The source is not copied when this method returns, hence it must stay valid for as long as the headers of this
+     * context are read through from it. Containers that recycle their native requests {@link #detachHeaders() detach}
+     * the headers from the source before the native request may be recycled.
+     * </p>
+     *
+     * @param source native header source.
+     * @return updated context.
+     * @since 2.15
+     */
+    public InboundMessageContext headers(InboundHeaderSource source) {
+        if (headers.isEmpty()) {
+            headers = HeaderUtils.createInbound(source);
+        } else {
+            for (String name : source.getHeaderNames()) {
+                final List<String> values = source.getHeaderValues(name);
+                if (values != null) {
+                    headers.addAll(name, values);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Copy the headers read through from a {@link #headers(InboundHeaderSource) native header source}, if not copied
+     * already, so that the headers stay accessible once the source is no longer valid.
+     * <p>
+     * The method does nothing if the headers are not read from a native header source.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public void detachHeaders() {
+        if (headers instanceof InboundHeaderView) {
+            ((InboundHeaderView) headers).detach();
+        }
+    }
+
     /**
      * Remove a header.
      *
@@ -464,11 +559,25 @@ public abstract class InboundMessageContext {
             return Collections.unmodifiableList(MediaTypes.GENERAL_ACCEPT_MEDIA_TYPE_LIST);
         }
 
-        try {
-            return Collections.unmodifiableList(HttpHeaderReader.readAcceptMediaType(value));
-        } catch (ParseException e) {
-            throw exception(HttpHeaders.ACCEPT, value, e);
+        final ParsedHeader<List<AcceptableMediaType>> cached = acceptableMediaTypes;
+        if (cached != null && cached.isParsedFrom(value)) {
+            return cached.value;
+        }
+
+        List<AcceptableMediaType> result = ACCEPT_CACHE.getIfPresent(value);
+        if (result == null) {
+            try {
+                result = Collections.unmodifiableList(HttpHeaderReader.readAcceptMediaType(value));
+            } catch (ParseException e) {
+                throw exception(HttpHeaders.ACCEPT, value, e);
+            }
+            if (value.length() <= ACCEPT_CACHE_MAX_VALUE_LENGTH) {
+                ACCEPT_CACHE.put(value, result);
+            }
         }
+
+        acceptableMediaTypes = new ParsedHeader<List<AcceptableMediaType>>(value, result);
+        return result;
     }
 
     /**
@@ -484,11 +593,20 @@ public abstract class InboundMessageContext {
             return Collections.singletonList(new AcceptableLanguageTag("*", null));
         }
 
+        final ParsedHeader<List<AcceptableLanguageTag>> cached = acceptableLanguages;
+        if (cached != null && cached.isParsedFrom(value)) {
+            return cached.value;
+        }
+
+        final List<AcceptableLanguageTag> result;
         try {
-            return Collections.unmodifiableList(HttpHeaderReader.readAcceptLanguage(value));
+            result = Collections.unmodifiableList(HttpHeaderReader.readAcceptLanguage(value));
         } catch (ParseException e) {
             throw exception(HttpHeaders.ACCEPT_LANGUAGE, value, e);
         }
+
+        acceptableLanguages = new ParsedHeader<List<AcceptableLanguageTag>>(value, result);
+        return result;
     }
 
     /**
@@ -503,7 +621,16 @@ public abstract class InboundMessageContext {
             if (acceptCharset == null || acceptCharset.length() == 0) {
                 return Collections.singletonList(new AcceptableToken("*"));
             }
-            return HttpHeaderReader.readAcceptToken(acceptCharset);
+
+            final ParsedHeader<List<AcceptableToken>> cached = this.acceptCharset;
+            if (cached != null && cached.isParsedFrom(acceptCharset)) {
+                // callers may modify the returned list
+                return new ArrayList<AcceptableToken>(cached.value);
+            }
+
+            final List<AcceptableToken> result = HttpHeaderReader.readAcceptToken(acceptCharset);
+            this.acceptCharset = new ParsedHeader<List<AcceptableToken>>(acceptCharset, new ArrayList<AcceptableToken>(result));
+            return result;
         } catch (java.text.ParseException e) {
             throw exception(HttpHeaders.ACCEPT_CHARSET, acceptCharset, e);
         }
@@ -521,7 +648,16 @@ public abstract class InboundMessageContext {
             if (acceptEncoding == null || acceptEncoding.length() == 0) {
                 return Collections.singletonList(new AcceptableToken("*"));
             }
-            return HttpHeaderReader.readAcceptToken(acceptEncoding);
+
+            final ParsedHeader<List<AcceptableToken>> cached = this.acceptEncoding;
+            if (cached != null && cached.isParsedFrom(acceptEncoding)) {
+                // callers may modify the returned list
+                return new ArrayList<AcceptableToken>(cached.value);
+            }
+
+            final List<AcceptableToken> result = HttpHeaderReader.readAcceptToken(acceptEncoding);
+            this.acceptEncoding = new ParsedHeader<List<AcceptableToken>>(acceptEncoding, new ArrayList<AcceptableToken>(result));
+            return result;
         } catch (java.text.ParseException e) {
             throw exception("Accept-Encoding", acceptEncoding, e);
         }
@@ -538,12 +674,21 @@ public abstract class InboundMessageContext {
             return Collections.emptyMap();
         }
 
-        Map<String, Cookie> result = new HashMap<String, Cookie>();
+        final ParsedHeader<Map<String, Cookie>> cached = requestCookies;
+        if (cached != null && cached.isParsedFrom(cookies)) {
+            // callers may modify the returned map
+            return new HashMap<String, Cookie>(cached.value);
+        }
+
+        final Map<String, Cookie> result = new HashMap<String, Cookie>();
         for (String cookie : cookies) {
             if (cookie != null) {
                 result.putAll(HttpHeaderReader.readCookies(cookie));
             }
         }
+
+        requestCookies = new ParsedHeader<Map<String, Cookie>>(new ArrayList<String>(cookies),
+                new HashMap<String, Cookie>(result));
         return result;
     }
 
@@ -856,7 +1001,7 @@ public abstract class InboundMessageContext {
                     headers,
                     propertiesDelegate,
                     entityContent.getWrappedStream(),
-                    entityContent.hasContent() ? getReaderInterceptors() : Collections.<ReaderInterceptor>emptyList(),
+                    entityContent.hasContent() ? getReaderInterceptors() : NO_READER_INTERCEPTORS,
                     translateNce);
 
             shouldClose = shouldClose && !(t instanceof Closeable) && !(t instanceof Source);
@@ -0,0 +1,99 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import jersey.repackaged.com.google.common.collect.Iterables;
+
+/**
+ * Immutable list of {@link javax.ws.rs.ext.ReaderInterceptor reader} or {@link javax.ws.rs.ext.WriterInterceptor writer}
+ * interceptors in the interceptor execution order.
+ * <p>
+ * The interceptors are kept in an array that is shared by all the {@link ReaderInterceptorExecutor reader} and
+ * {@link WriterInterceptorExecutor writer} interceptor executors created for the list. Interceptor lists should be created
+ * once (e.g. for each resource method) and passed to the executors instead of other {@link Iterable iterables} that have
+ * to be copied for each read or written entity.
+ * </p>
+ *
+ * @param <T> interceptor type.
+ * @since 2.15
+ */
+public final class InterceptorList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final T[] interceptors;
+
+    /**
+     * Create new interceptor list.
+     *
+     * @param type         interceptor type.
+     * @param interceptors interceptors in the interceptor execution order.
+     */
+    public InterceptorList(final Class<T> type, final Iterable<? extends T> interceptors) {
+        this.interceptors = Iterables.toArray(interceptors, type);
+    }
+
+    @Override
+    public T get(final int index) {
+        return interceptors[index];
+    }
+
+    @Override
+    public int size() {
+        return interceptors.length;
+    }
+
+    /**
+     * Get the interceptors as an array that must not be modified by the caller.
+     *
+     * @param interceptors interceptors in the interceptor execution order.
+     * @param type         interceptor type.
+     * @param <T>          interceptor type.
+     * @return array shared by the interceptor list if {@code interceptors} is an {@code InterceptorList}, copy of the
+     * interceptors otherwise.
+     */
+    static <T> T[] toArray(final Iterable<T> interceptors, final Class<T> type) {
+        if (interceptors instanceof InterceptorList) {
+            return ((InterceptorList<T>) interceptors).interceptors;
+        }
+        return Iterables.toArray(interceptors, type);
+    }
+}
@@ -43,8 +43,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Iterator;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -66,8 +64,6 @@ import org.glassfish.jersey.message.MessageBodyWorkers;
 
 import org.glassfish.hk2.api.ServiceLocator;
 
-import jersey.repackaged.com.google.common.collect.Lists;
-
 /**
  * Represents reader interceptor chain executor for both client and server side.
  * It constructs wrapped interceptor chain and invokes it. At the end of the chain
@@ -85,7 +81,9 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor<ReaderI
     private InputStream inputStream;
     private final MultivaluedMap<String, String> headers;
 
-    private final Iterator<ReaderInterceptor> interceptors;
+    private final ReaderInterceptor[] interceptors;
+    private final ReaderInterceptor terminalInterceptor;
+    private int next;
     private int processedCount;
     private final MessageBodyWorkers workers;
     private final boolean translateNce;
@@ -108,6 +106,7 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor<ReaderI
      * @param workers            {@link org.glassfish.jersey.message.MessageBodyWorkers Message body workers}.
      * @param readerInterceptors Reader interceptor that are to be used to intercept the reading of an entity.
      *                           The interceptors will be executed in the same order as given in this parameter.
+     *                           An {@link InterceptorList} is used without being copied.
      * @param translateNce       if {@code true}, the {@link javax.ws.rs.core.NoContentException} thrown by a selected message body
      *                           reader will be translated into a {@link javax.ws.rs.BadRequestException} as required by
      * @param serviceLocator Service locator.
@@ -130,10 +129,9 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor<ReaderI
         this.translateNce = translateNce;
         this.serviceLocator = serviceLocator;
 
-        final List<ReaderInterceptor> effectiveInterceptors = Lists.newArrayList(readerInterceptors);
-        effectiveInterceptors.add(new TerminalReaderInterceptor());
-
-        this.interceptors = effectiveInterceptors.iterator();
+        this.interceptors = InterceptorList.toArray(readerInterceptors, ReaderInterceptor.class);
+        this.terminalInterceptor = new TerminalReaderInterceptor();
+        this.next = 0;
         this.processedCount = 0;
     }
 
@@ -145,10 +143,11 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor<ReaderI
     @Override
     @SuppressWarnings("unchecked")
     public Object proceed() throws IOException {
-        if (!interceptors.hasNext()) {
+        if (next > interceptors.length) {
             throw new ProcessingException(LocalizationMessages.ERROR_INTERCEPTOR_READER_PROCEED());
         }
-        final ReaderInterceptor interceptor = interceptors.next();
+        final ReaderInterceptor interceptor = next < interceptors.length ? interceptors[next] : terminalInterceptor;
+        next++;
         traceBefore(interceptor, MsgTraceEvent.RI_BEFORE);
         try {
             return interceptor.aroundReadFrom(this);
@@ -44,8 +44,6 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Iterator;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -64,8 +62,6 @@ import org.glassfish.jersey.message.MessageBodyWorkers;
 
 import org.glassfish.hk2.api.ServiceLocator;
 
-import jersey.repackaged.com.google.common.collect.Lists;
-
 /**
  * Represents writer interceptor chain executor for both client and server side.
  * It constructs wrapped interceptor chain and invokes it. At the end of the chain
@@ -84,7 +80,9 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor<WriterI
     private final MultivaluedMap<String, Object> headers;
     private Object entity;
 
-    private final Iterator<WriterInterceptor> iterator;
+    private final WriterInterceptor[] interceptors;
+    private final WriterInterceptor terminalInterceptor;
+    private int next;
     private int processedCount;
 
     private final ServiceLocator serviceLocator;
@@ -109,6 +107,7 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor<WriterI
      *            closed after reading the entity.
      * @param workers {@link org.glassfish.jersey.message.MessageBodyWorkers Message body workers}.
      * @param writerInterceptors Writer interceptors that are to be used to intercept writing of an entity.
+     *            An {@link InterceptorList} is used without being copied.
      * @param serviceLocator Service locator.
      */
     public WriterInterceptorExecutor(final Object entity, final Class<?> rawType,
@@ -128,10 +127,9 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor<WriterI
         this.outputStream = entityStream;
         this.serviceLocator = serviceLocator;
 
-        final List<WriterInterceptor> effectiveInterceptors = Lists.newArrayList(writerInterceptors);
-        effectiveInterceptors.add(new TerminalWriterInterceptor(workers));
-
-        this.iterator = effectiveInterceptors.iterator();
+        this.interceptors = InterceptorList.toArray(writerInterceptors, WriterInterceptor.class);
+        this.terminalInterceptor = new TerminalWriterInterceptor(workers);
+        this.next = 0;
         this.processedCount = 0;
     }
 
@@ -141,10 +139,12 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor<WriterI
      * @return Next interceptor.
      */
     public WriterInterceptor getNextInterceptor() {
-        if (!iterator.hasNext()) {
+        if (next > interceptors.length) {
             return null;
         }
-        return iterator.next();
+        final WriterInterceptor interceptor = next < interceptors.length ? interceptors[next] : terminalInterceptor;
+        next++;
+        return interceptor;
     }
 
     /**
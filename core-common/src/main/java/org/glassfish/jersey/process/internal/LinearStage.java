@@ -0,0 +1,74 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.process.internal;
+
+/**
+ * Data processing stage that never alters the processing flow.
+ * <p>
+ * A linear stage always continues with its {@link #getDefaultNext() default next stage}, i.e. the result of
+ * {@link #apply(Object) apply(data)} is always equivalent to
+ * {@code Continuation.of(transform(data), getDefaultNext())}. The information allows the
+ * {@link Stages#process(Object, Stage) stage chain processing} to invoke linear stages directly, without
+ * allocating a new {@link Stage.Continuation continuation} for each stage in the chain. A stage that may
+ * need to branch away from its default next stage (other than by throwing an exception) MUST NOT implement
+ * this interface.
+ * </p>
+ *
+ * @param <DATA> processed data type.
+ * @since 2.15
+ */
+public interface LinearStage<DATA> extends Stage<DATA> {
+
+    /**
+     * Perform the data processing task and return the processed data.
+     *
+     * @param data data to be processed.
+     * @return processed data.
+     */
+    public DATA transform(DATA data);
+
+    /**
+     * Get the stage the processing continues with after this stage, or {@code null} if this stage is the
+     * terminal stage of the chain.
+     *
+     * @return next stage in the chain.
+     */
+    public Stage<DATA> getDefaultNext();
+}
@@ -40,9 +40,12 @@
 package org.glassfish.jersey.process.internal;
 
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -140,10 +143,22 @@ public class RequestScope implements Context<RequestScoped> {
 
     private static final ExtendedLogger logger = new ExtendedLogger(Logger.getLogger(RequestScope.class.getName()), Level.FINEST);
 
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_INDEXED_DESCRIPTORS = 512;
+    private static final Object[] EMPTY_VALUES = new Object[0];
+    private static final ActiveDescriptor<?>[] EMPTY_DESCRIPTORS = new ActiveDescriptor<?>[0];
+
     /**
      * A thread local copy of the current scope instance.
      */
     private final ThreadLocal<Instance> currentScopeInstance = new ThreadLocal<Instance>();
+    /**
+     * Dense indexes assigned to the request-scoped descriptors. At most {@value #MAX_INDEXED_DESCRIPTORS} descriptors
+     * are indexed; inhabitants of any further descriptors are kept in a per-instance map.
+     */
+    private final ConcurrentMap<ActiveDescriptor<?>, Integer> descriptorIndexes =
+            new ConcurrentHashMap<ActiveDescriptor<?>, Integer>();
+    private final AtomicInteger nextDescriptorIndex = new AtomicInteger();
     private volatile boolean isActive = true;
 
     @Override
@@ -293,7 +308,7 @@ public class RequestScope implements Context<RequestScoped> {
      * @return New suspended request scope instance.
      */
     public Instance createInstance() {
-        return new Instance();
+        return new Instance(this);
     }
 
     /**
@@ -447,8 +462,49 @@ public class RequestScope implements Context<RequestScoped> {
         }
     }
 
+    /**
+     * Get the dense index assigned to the request-scoped descriptor. Indexes are assigned on the first use of the descriptor
+     * and are used to address the inhabitants in the flat {@link RequestScope.Instance scope instance} storage.
+     *
+     * @param descriptor request-scoped descriptor.
+     * @return index of the descriptor or {@code -1} if the maximal number of indexed descriptors has been reached.
+     */
+    private int indexOf(final ActiveDescriptor<?> descriptor) {
+        final Integer index = descriptorIndexes.get(descriptor);
+        if (index != null) {
+            return index;
+        }
+
+        // the counter never goes past the limit, so lookups of unindexed descriptors do not modify it
+        int newIndex;
+        do {
+            newIndex = nextDescriptorIndex.get();
+            if (newIndex >= MAX_INDEXED_DESCRIPTORS) {
+                return -1;
+            }
+        } while (!nextDescriptorIndex.compareAndSet(newIndex, newIndex + 1));
+
+        final Integer previous = descriptorIndexes.putIfAbsent(descriptor, newIndex);
+        return previous != null ? previous : newIndex;
+    }
+
+    /**
+     * Get the dense index assigned to the request-scoped descriptor if any.
+     *
+     * @param descriptor request-scoped descriptor.
+     * @return index of the descriptor or {@code -1} if no index has been assigned to the descriptor yet.
+     */
+    private int existingIndexOf(final ActiveDescriptor<?> descriptor) {
+        final Integer index = descriptorIndexes.get(descriptor);
+        return index != null ? index : -1;
+    }
+
     /**
      * Implementation of the request scope instance.
+     * <p>
+     * Inhabitants are stored in a flat array addressed by the dense descriptor indexes assigned by the owning
+     * request scope. Inhabitants of descriptors without an index are stored in a map created on demand.
+     * </p>
      */
     public static final class Instance {
         /*
@@ -460,16 +516,34 @@ public class RequestScope implements Context<RequestScoped> {
 
         private final LazyUid id = new LazyUid();
         /**
-         * A map of injectable instances in this scope.
+         * Request scope this instance belongs to.
+         */
+        private final RequestScope scope;
+        /**
+         * Injectable instances in this scope indexed by the dense descriptor indexes.
+         */
+        private Object[] values;
+        /**
+         * Descriptors of the injectable instances in this scope indexed by the dense descriptor indexes.
+         */
+        private ActiveDescriptor<?>[] descriptors;
+        /**
+         * Number of injectable instances in this scope stored in the indexed storage.
+         */
+        private int size;
+        /**
+         * Injectable instances of the descriptors without an index.
          */
-        private final Map<ActiveDescriptor<?>, Object> store;
+        private Map<ActiveDescriptor<?>, Object> unindexed;
         /**
          * Holds the number of snapshots of this scope.
          */
         private final AtomicInteger referenceCounter;
 
-        private Instance() {
-            this.store = new HashMap<ActiveDescriptor<?>, Object>();
+        private Instance(final RequestScope scope) {
+            this.scope = scope;
+            this.values = EMPTY_VALUES;
+            this.descriptors = EMPTY_DESCRIPTORS;
             this.referenceCounter = new AtomicInteger(1);
         }
 
@@ -496,7 +570,11 @@ public class RequestScope implements Context<RequestScoped> {
          */
         @SuppressWarnings("unchecked")
         <T> T get(ActiveDescriptor<T> descriptor) {
-            return (T) store.get(descriptor);
+            final int index = scope.existingIndexOf(descriptor);
+            if (index < 0) {
+                return unindexed == null ? null : (T) unindexed.get(descriptor);
+            }
+            return index < values.length ? (T) values[index] : null;
         }
 
         /**
@@ -510,13 +588,39 @@ public class RequestScope implements Context<RequestScoped> {
          */
         @SuppressWarnings("unchecked")
         <T> T put(ActiveDescriptor<T> descriptor, T value) {
-            checkState(!store.containsKey(descriptor),
+            final int index = scope.indexOf(descriptor);
+            if (index < 0) {
+                if (unindexed == null) {
+                    unindexed = new HashMap<ActiveDescriptor<?>, Object>();
+                }
+                checkState(!unindexed.containsKey(descriptor),
+                        "An instance for the descriptor %s was already seeded in this scope. Old instance: %s New instance: %s",
+                        descriptor,
+                        unindexed.get(descriptor),
+                        value);
+                unindexed.put(descriptor, value);
+                return null;
+            }
+            ensureCapacity(index + 1);
+
+            checkState(descriptors[index] == null,
                     "An instance for the descriptor %s was already seeded in this scope. Old instance: %s New instance: %s",
                     descriptor,
-                    store.get(descriptor),
+                    values[index],
                     value);
 
-            return (T) store.put(descriptor, value);
+            descriptors[index] = descriptor;
+            values[index] = value;
+            size++;
+            return null;
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (values.length < capacity) {
+                final int newCapacity = Math.max(capacity, Math.max(INITIAL_CAPACITY, values.length * 2));
+                values = Arrays.copyOf(values, newCapacity);
+                descriptors = Arrays.copyOf(descriptors, newCapacity);
+            }
         }
 
         /**
@@ -524,28 +628,62 @@ public class RequestScope implements Context<RequestScoped> {
          *
          * @param descriptor key for the value to be removed.
          */
-        @SuppressWarnings("unchecked")
         <T> void remove(ActiveDescriptor<T> descriptor) {
-            final T removed = (T) store.remove(descriptor);
+            final int index = scope.existingIndexOf(descriptor);
+            if (index < 0) {
+                if (unindexed != null && unindexed.containsKey(descriptor)) {
+                    dispose(descriptor, unindexed.remove(descriptor));
+                }
+            } else if (index < values.length) {
+                remove(index);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void dispose(final ActiveDescriptor<?> descriptor, final Object removed) {
             if (removed != null) {
-                descriptor.dispose(removed);
+                ((ActiveDescriptor<Object>) descriptor).dispose(removed);
+            }
+        }
+
+        private void remove(final int index) {
+            final ActiveDescriptor<?> descriptor = descriptors[index];
+            if (descriptor == null) {
+                return;
             }
+
+            final Object removed = values[index];
+            descriptors[index] = null;
+            values[index] = null;
+            size--;
+
+            dispose(descriptor, removed);
         }
 
         private <T> boolean contains(ActiveDescriptor<T> provider) {
-            return store.containsKey(provider);
+            final int index = scope.existingIndexOf(provider);
+            if (index < 0) {
+                return unindexed != null && unindexed.containsKey(provider);
+            }
+            return index < descriptors.length && descriptors[index] != null;
         }
 
         /**
          * Release a single reference to the current request scope instance.
          *
-         * Once all instance references are released, the instance will be recycled.
+         * Once all instance references are released, the stored inhabitants are disposed of and the instance
+         * must not be used anymore.
          */
         public void release() {
             if (referenceCounter.decrementAndGet() < 1) {
                 try {
-                    for (final ActiveDescriptor<?> descriptor : Sets.newHashSet(store.keySet())) {
-                        remove(descriptor);
+                    for (int i = 0; i < descriptors.length && size > 0; i++) {
+                        remove(i);
+                    }
+                    if (unindexed != null) {
+                        for (final ActiveDescriptor<?> descriptor : Sets.newHashSet(unindexed.keySet())) {
+                            dispose(descriptor, unindexed.remove(descriptor));
+                        }
                     }
                 } finally {
                     logger.debugLog("Released scope instance {0}", this);
@@ -556,7 +694,7 @@ public class RequestScope implements Context<RequestScoped> {
         @Override
         public String toString() {
             return Objects.toStringHelper(this).add("id", id.value()).add("referenceCounter", referenceCounter.get())
-                    .add("store size", store.size()).toString();
+                    .add("store size", unindexed == null ? size : size + unindexed.size()).toString();
         }
     }
 }
@@ -53,14 +53,20 @@ import jersey.repackaged.com.google.common.base.Function;
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
 public final class Stages {
-    private static final ChainableStage IDENTITY = new AbstractChainableStage() {
+    private static final ChainableStage IDENTITY = new IdentityStage();
+
+    private static final class IdentityStage<DATA> extends AbstractChainableStage<DATA> implements LinearStage<DATA> {
+
+        @Override
+        public DATA transform(final DATA data) {
+            return data;
+        }
 
         @Override
-        public Continuation apply(Object o) {
-            //noinspection unchecked
-            return Continuation.of(o, getDefaultNext());
+        public Continuation<DATA> apply(final DATA data) {
+            return Continuation.of(data, getDefaultNext());
         }
-    };
+    }
 
     /**
      * Prevents instantiation.
@@ -165,12 +171,20 @@ public final class Stages {
      * @return processing result.
      */
     public static <DATA> DATA process(DATA data, Stage<DATA> rootStage) {
-        Stage.Continuation<DATA> continuation = Stage.Continuation.of(data, rootStage);
-        Stage<DATA> currentStage;
-        while ((currentStage = continuation.next()) != null) {
-            continuation = currentStage.apply(continuation.result());
+        Stage<DATA> currentStage = rootStage;
+        while (currentStage != null) {
+            if (currentStage instanceof LinearStage) {
+                // fast path - no continuation needed
+                final LinearStage<DATA> linearStage = (LinearStage<DATA>) currentStage;
+                data = linearStage.transform(data);
+                currentStage = linearStage.getDefaultNext();
+            } else {
+                final Stage.Continuation<DATA> continuation = currentStage.apply(data);
+                data = continuation.result();
+                currentStage = continuation.next();
+            }
         }
-        return continuation.result();
+        return data;
     }
 
     /**
@@ -191,15 +205,24 @@ public final class Stages {
             Ref<T> inflectorRef) {
 
         Stage<DATA> lastStage = rootStage;
-        Stage.Continuation<DATA> continuation = Stage.Continuation.of(data, lastStage);
-        while (continuation.next() != null) {
-            lastStage = continuation.next();
-            continuation = lastStage.apply(continuation.result());
+        Stage<DATA> currentStage = rootStage;
+        while (currentStage != null) {
+            lastStage = currentStage;
+            if (currentStage instanceof LinearStage) {
+                // fast path - no continuation needed
+                final LinearStage<DATA> linearStage = (LinearStage<DATA>) currentStage;
+                data = linearStage.transform(data);
+                currentStage = linearStage.getDefaultNext();
+            } else {
+                final Stage.Continuation<DATA> continuation = currentStage.apply(data);
+                data = continuation.result();
+                currentStage = continuation.next();
+            }
         }
 
         inflectorRef.set(Stages.<DATA, RESULT, T>extractInflector(lastStage));
 
-        return continuation.result();
+        return data;
     }
 
     private static class StageChainBuilder<DATA> implements Stage.Builder<DATA> {
@@ -277,7 +300,7 @@ public final class Stages {
      *
      * @param <DATA> processed data type.
      */
-    public static class LinkedStage<DATA> implements Stage<DATA> {
+    public static class LinkedStage<DATA> implements LinearStage<DATA> {
 
         private final Stage<DATA> nextStage;
         private final Function<DATA, DATA> transformation;
@@ -303,6 +326,16 @@ public final class Stages {
             this(transformation, null);
         }
 
+        @Override
+        public DATA transform(final DATA data) {
+            return transformation.apply(data);
+        }
+
+        @Override
+        public Stage<DATA> getDefaultNext() {
+            return nextStage;
+        }
+
         @Override
         public Stage.Continuation<DATA> apply(DATA data) {
             return Continuation.of(transformation.apply(data), nextStage);
@@ -39,11 +39,8 @@
  */
 package org.glassfish.jersey.uri;
 
-import java.io.UnsupportedEncodingException;
 import java.net.URI;
-import java.net.URLDecoder;
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -319,8 +316,8 @@ public class UriComponent {
                 }
 
                 if (sb == null) {
-                    sb = new StringBuilder();
-                    sb.append(s.substring(0, i));
+                    sb = new StringBuilder(s.length() + 16);
+                    sb.append(s, 0, i);
                 }
 
                 if (c < 0x80) {
@@ -329,8 +326,13 @@ public class UriComponent {
                     } else {
                         appendPercentEncodedOctet(sb, c);
                     }
+                } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    appendUTF8EncodedCodePoint(sb, Character.toCodePoint(c, s.charAt(++i)));
+                } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+                    // unpaired surrogate cannot be encoded, use the UTF-8 encoder replacement character
+                    appendPercentEncodedOctet(sb, '?');
                 } else {
-                    appendUTF8EncodedCharacter(sb, c);
+                    appendUTF8EncodedCodePoint(sb, c);
                 }
             }
         }
@@ -348,12 +350,19 @@ public class UriComponent {
         sb.append(HEX_DIGITS[b & 0x0F]);
     }
 
-    private static void appendUTF8EncodedCharacter(final StringBuilder sb, final char c) {
-        final ByteBuffer bb = UTF_8_CHARSET.encode("" + c);
-
-        while (bb.hasRemaining()) {
-            appendPercentEncodedOctet(sb, bb.get() & 0xFF);
+    private static void appendUTF8EncodedCodePoint(final StringBuilder sb, final int codePoint) {
+        if (codePoint < 0x800) {
+            appendPercentEncodedOctet(sb, 0xC0 | (codePoint >> 6));
+        } else {
+            if (codePoint < 0x10000) {
+                appendPercentEncodedOctet(sb, 0xE0 | (codePoint >> 12));
+            } else {
+                appendPercentEncodedOctet(sb, 0xF0 | (codePoint >> 18));
+                appendPercentEncodedOctet(sb, 0x80 | ((codePoint >> 12) & 0x3F));
+            }
+            appendPercentEncodedOctet(sb, 0x80 | ((codePoint >> 6) & 0x3F));
         }
+        appendPercentEncodedOctet(sb, 0x80 | (codePoint & 0x3F));
     }
 
     private static final String[] SCHEME = {"0-9", "A-Z", "a-z", "+", "-", "."};
@@ -430,6 +439,17 @@ public class UriComponent {
 
     private static final Charset UTF_8_CHARSET = Charset.forName("UTF-8");
 
+    /**
+     * Maximal size of the per-thread scratch buffer of the decoded octets.
+     */
+    private static final int MAX_SCRATCH_OCTETS = 1024;
+    private static final ThreadLocal<byte[]> SCRATCH_OCTETS = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[MAX_SCRATCH_OCTETS];
+        }
+    };
+
     /**
      * Decodes characters of a string that are percent-encoded octets using
      * UTF-8 decoding (if needed).
@@ -483,18 +503,7 @@ public class UriComponent {
             }
         }
 
-        if (t == null) {
-            return decode(s, n);
-        }
-
-        switch (t) {
-            case HOST:
-                return decodeHost(s, n);
-            case QUERY_PARAM:
-                return decodeQueryParam(s, n);
-            default:
-                return decode(s, n);
-        }
+        return decode(s, n, t == Type.QUERY_PARAM, t == Type.HOST);
     }
 
     /**
@@ -551,37 +560,40 @@ public class UriComponent {
             return queryParameters;
         }
 
+        final int n = q.length();
         int s = 0;
-        do {
-            final int e = q.indexOf('&', s);
-
+        while (s < n) {
+            int e = q.indexOf('&', s);
             if (e == -1) {
-                decodeQueryParam(queryParameters, q.substring(s), decodeNames, decodeValues);
-            } else if (e > s) {
-                decodeQueryParam(queryParameters, q.substring(s, e), decodeNames, decodeValues);
+                e = n;
+            }
+            if (e > s) {
+                decodeQueryParam(queryParameters, q, s, e, decodeNames, decodeValues);
             }
             s = e + 1;
-        } while (s > 0 && s < q.length());
+        }
 
         return queryParameters;
     }
 
     @SuppressWarnings("StatementWithEmptyBody")
-    private static void decodeQueryParam(final MultivaluedMap<String, String> params, final String param,
+    private static void decodeQueryParam(final MultivaluedMap<String, String> params, final String query,
+                                         final int start, final int end,
                                          final boolean decodeNames, final boolean decodeValues) {
-        try {
-            final int equals = param.indexOf('=');
-            if (equals > 0) {
-                params.add((decodeNames) ? URLDecoder.decode(param.substring(0, equals), "UTF-8") : param.substring(0, equals),
-                        (decodeValues) ? URLDecoder.decode(param.substring(equals + 1), "UTF-8") : param.substring(equals + 1));
-            } else if (equals == 0) {
-                // no key declared, ignore
-            } else if (param.length() > 0) {
-                params.add(URLDecoder.decode(param, "UTF-8"), "");
-            }
-        } catch (final UnsupportedEncodingException ex) {
-            // This should never occur
-            throw new IllegalArgumentException(ex);
+        int equals = query.indexOf('=', start);
+        if (equals >= end) {
+            equals = -1;
+        }
+
+        if (equals > start) {
+            final String name = query.substring(start, equals);
+            final String value = query.substring(equals + 1, end);
+            params.add((decodeNames) ? decode(name, Type.QUERY_PARAM) : name,
+                    (decodeValues) ? decode(value, Type.QUERY_PARAM) : value);
+        } else if (equals == start) {
+            // no key declared, ignore
+        } else {
+            params.add(decode(query.substring(start, end), Type.QUERY_PARAM), "");
         }
     }
 
@@ -739,127 +751,127 @@ public class UriComponent {
         }
     }
 
-    private static String decode(final String s, final int n) {
+    /**
+     * Decode percent-encoded octets (and optionally {@code '+'} characters) of the string in a single pass.
+     * <p/>
+     * Runs of characters that do not need decoding are copied in bulk. Contiguous sequences of percent-encoded
+     * octets are collected in a per-thread scratch buffer (strings with more than {@value #MAX_SCRATCH_OCTETS}
+     * encoded octets use a buffer of their own) and decoded from UTF-8 directly into the result.
+     */
+    private static String decode(final String s, final int n, final boolean plusAsSpace, final boolean host) {
         final StringBuilder sb = new StringBuilder(n);
-        ByteBuffer bb = null;
+        byte[] octets = null;
 
-        for (int i = 0; i < n; ) {
-            final char c = s.charAt(i++);
-            if (c != '%') {
-                sb.append(c);
-            } else {
-                bb = decodePercentEncodedOctets(s, i, bb);
-                i = decodeOctets(i, bb, sb);
+        boolean betweenBrackets = false;
+        int copyFrom = 0;
+        int i = 0;
+        while (i < n) {
+            final char c = s.charAt(i);
+            if (host) {
+                if (c == '[') {
+                    betweenBrackets = true;
+                } else if (betweenBrackets && c == ']') {
+                    betweenBrackets = false;
+                }
             }
-        }
 
-        return sb.toString();
-    }
+            if (c == '%' && !betweenBrackets) {
+                sb.append(s, copyFrom, i);
+                if (octets == null) {
+                    // maximum number of octets in any following percent-encoded sequence
+                    octets = scratchOctets((n - i) / 3);
+                }
 
-    private static String decodeQueryParam(final String s, final int n) {
-        final StringBuilder sb = new StringBuilder(n);
-        ByteBuffer bb = null;
+                int count = 0;
+                do {
+                    if (i + 2 >= n) {
+                        throw new IllegalArgumentException(LocalizationMessages.URI_COMPONENT_ENCODED_OCTET_MALFORMED(i));
+                    }
+                    octets[count++] = (byte) (decodeHex(s, i + 1) << 4 | decodeHex(s, i + 2));
+                    i += 3;
+                } while (i < n && s.charAt(i) == '%');
 
-        for (int i = 0; i < n; ) {
-            final char c = s.charAt(i++);
-            if (c != '%') {
-                if (c != '+') {
-                    sb.append(c);
-                } else {
-                    sb.append(' ');
-                }
+                decodeOctets(octets, count, sb);
+                copyFrom = i;
             } else {
-                bb = decodePercentEncodedOctets(s, i, bb);
-                i = decodeOctets(i, bb, sb);
+                if (plusAsSpace && c == '+') {
+                    sb.append(s, copyFrom, i).append(' ');
+                    copyFrom = i + 1;
+                }
+                i++;
             }
         }
+        sb.append(s, copyFrom, n);
 
         return sb.toString();
     }
 
-    private static String decodeHost(final String s, final int n) {
-        final StringBuilder sb = new StringBuilder(n);
-        ByteBuffer bb = null;
-
-        boolean betweenBrackets = false;
-        for (int i = 0; i < n; ) {
-            final char c = s.charAt(i++);
-            if (c == '[') {
-                betweenBrackets = true;
-            } else if (betweenBrackets && c == ']') {
-                betweenBrackets = false;
-            }
-
-            if (c != '%' || betweenBrackets) {
-                sb.append(c);
-            } else {
-                bb = decodePercentEncodedOctets(s, i, bb);
-                i = decodeOctets(i, bb, sb);
-            }
-        }
-
-        return sb.toString();
+    /**
+     * Get a scratch buffer for at least the given number of octets.
+     */
+    private static byte[] scratchOctets(final int size) {
+        return size > MAX_SCRATCH_OCTETS ? new byte[size] : SCRATCH_OCTETS.get();
     }
 
     /**
-     * Decode a continuous sequence of percent encoded octets.
+     * Decodes octets to characters using the UTF-8 decoding and appends
+     * the characters to a StringBuilder.
      * <p/>
-     * Assumes the index, i, starts that the first hex digit of the first
-     * percent-encoded octet.
+     * Well-formed sequences are decoded directly; once a malformed sequence is detected,
+     * the rest of the octets is decoded by the UTF-8 charset decoder, which replaces
+     * malformed input with '\uFFFD'.
      */
-    private static ByteBuffer decodePercentEncodedOctets(final String s, int i, ByteBuffer bb) {
-        if (bb == null) {
-            bb = ByteBuffer.allocate(1);
-        } else {
-            bb.clear();
-        }
-
-        while (true) {
-            // Decode the hex digits
-            bb.put((byte) (decodeHex(s, i++) << 4 | decodeHex(s, i++)));
+    private static void decodeOctets(final byte[] octets, final int count, final StringBuilder sb) {
+        int i = 0;
+        while (i < count) {
+            final int b = octets[i] & 0xFF;
+            if (b < 0x80) {
+                sb.append((char) b);
+                i++;
+                continue;
+            }
 
-            // Finish if at the end of the string
-            if (i == s.length()) {
+            final int length;
+            final int min;
+            int codePoint;
+            if (b >= 0xC2 && b <= 0xDF) {
+                length = 2;
+                min = 0x80;
+                codePoint = b & 0x1F;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                length = 3;
+                min = 0x800;
+                codePoint = b & 0x0F;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                length = 4;
+                min = 0x10000;
+                codePoint = b & 0x07;
+            } else {
                 break;
             }
 
-            // Finish if no more percent-encoded octets follow
-            if (s.charAt(i++) != '%') {
+            if (i + length > count) {
                 break;
             }
-
-            // Check if the byte buffer needs to be increased in size
-            if (bb.position() == bb.capacity()) {
-                bb.flip();
-                // Create a new byte buffer with the maximum number of possible
-                // octets, hence resize should only occur once
-                final ByteBuffer bb_new = ByteBuffer.allocate(s.length() / 3);
-                bb_new.put(bb);
-                bb = bb_new;
+            int j = 1;
+            for (; j < length; j++) {
+                final int cb = octets[i + j] & 0xFF;
+                if ((cb & 0xC0) != 0x80) {
+                    break;
+                }
+                codePoint = codePoint << 6 | (cb & 0x3F);
+            }
+            if (j < length || codePoint < min || codePoint > Character.MAX_CODE_POINT
+                    || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                break;
             }
-        }
 
-        bb.flip();
-        return bb;
-    }
+            sb.appendCodePoint(codePoint);
+            i += length;
+        }
 
-    /**
-     * Decodes octets to characters using the UTF-8 decoding and appends
-     * the characters to a StringBuffer.
-     *
-     * @return the index to the next unchecked character in the string to decode
-     */
-    private static int decodeOctets(final int i, final ByteBuffer bb, final StringBuilder sb) {
-        // If there is only one octet and is an ASCII character
-        if (bb.limit() == 1 && (bb.get(0) & 0xFF) < 0x80) {
-            // Octet can be appended directly
-            sb.append((char) bb.get(0));
-            return i + 2;
-        } else {
-            //
-            final CharBuffer cb = UTF_8_CHARSET.decode(bb);
-            sb.append(cb.toString());
-            return i + bb.limit() * 3 - 1;
+        if (i < count) {
+            sb.append(UTF_8_CHARSET.decode(ByteBuffer.wrap(octets, i, count - i)));
         }
     }
 
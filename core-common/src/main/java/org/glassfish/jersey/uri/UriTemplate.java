@@ -41,6 +41,7 @@ package org.glassfish.jersey.uri;
 
 import java.net.URI;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
@@ -54,6 +55,8 @@ import java.util.regex.PatternSyntaxException;
 import org.glassfish.jersey.uri.internal.UriTemplateParser;
 
 import jersey.repackaged.com.google.common.base.Preconditions;
+import jersey.repackaged.com.google.common.cache.Cache;
+import jersey.repackaged.com.google.common.cache.CacheBuilder;
 
 /**
  * A URI template.
@@ -156,6 +159,12 @@ public class UriTemplate {
      */
     private static final Pattern TEMPLATE_NAMES_PATTERN = Pattern.compile("\\{([\\w\\?;][-\\w\\.,]*)\\}");
 
+    /**
+     * Bounded cache of compiled URI component templates used when building URIs from (not yet normalized) templates.
+     * Only templates that contain template variables are cached.
+     */
+    private static final Cache<String, CompiledTemplate> COMPILED_TEMPLATES = CacheBuilder.newBuilder().maximumSize(1000).build();
+
     /**
      * The empty URI template that matches the {@code null} or empty URI path.
      */
@@ -198,11 +207,17 @@ public class UriTemplate {
      */
     private final int numOfCharacters;
 
+    /**
+     * The normalized URI template compiled for fast URI creation.
+     */
+    private final CompiledTemplate compiledTemplate;
+
     /**
      * Constructor for {@code NULL} template.
      */
     private UriTemplate() {
         this.template = this.normalizedTemplate = "";
+        this.compiledTemplate = CompiledTemplate.compile(normalizedTemplate);
         this.pattern = PatternWithGroups.EMPTY;
         this.endsWithSlash = false;
         this.templateVariables = Collections.emptyList();
@@ -253,6 +268,8 @@ public class UriTemplate {
 
         this.normalizedTemplate = templateParser.getNormalizedTemplate();
 
+        this.compiledTemplate = CompiledTemplate.compile(normalizedTemplate);
+
         this.pattern = initUriPattern(templateParser);
 
         this.numOfExplicitRegexes = templateParser.getNumberOfExplicitRegexes();
@@ -571,7 +588,7 @@ public class UriTemplate {
      */
     public final String createURI(final Map<String, String> values) {
         final StringBuilder sb = new StringBuilder();
-        resolveTemplate(normalizedTemplate, sb, new TemplateValueStrategy() {
+        compiledTemplate.resolve(sb, new TemplateValueStrategy() {
             @Override
             public String valueFor(String templateVariable, String matchedGroup) {
                 return values.get(templateVariable);
@@ -635,84 +652,173 @@ public class UriTemplate {
         };
 
         final StringBuilder sb = new StringBuilder();
-        resolveTemplate(normalizedTemplate, sb, ns);
+        compiledTemplate.resolve(sb, ns);
         return sb.toString();
     }
 
     /**
-     * Build a URI based on the parameters provided by the variable name strategy.
-     *
-     * @param normalizedTemplate normalized URI template. A normalized template is a template without any explicit regular
-     *                           expressions.
-     * @param builder            URI string builder to be used.
-     * @param valueStrategy      The template value producer strategy to use.
+     * Compiled form of a normalized URI template.
+     * <p>
+     * The template is split into literal parts and template variable expressions only once. Building a URI from
+     * the compiled template then merely appends the literal parts and the values provided for the template variables,
+     * without any further template parsing or regular expression matching.
+     * </p>
+     */
+    private static final class CompiledTemplate {
+
+        /**
+         * Literal template parts. There is always one more literal part than there are template variable expressions;
+         * the literal part at index {@code i} precedes the expression at index {@code i}.
+         */
+        private final String[] literals;
+        /**
+         * Template variable expressions.
+         */
+        private final Expression[] expressions;
+
+        private CompiledTemplate(final String[] literals, final Expression[] expressions) {
+            this.literals = literals;
+            this.expressions = expressions;
+        }
+
+        /**
+         * Compile a normalized template.
+         *
+         * @param normalizedTemplate normalized URI template. A normalized template is a template without any explicit
+         *                           regular expressions.
+         * @return compiled template.
+         */
+        static CompiledTemplate compile(final String normalizedTemplate) {
+            final List<String> literals = new ArrayList<String>();
+            final List<Expression> expressions = new ArrayList<Expression>();
+
+            final Matcher m = TEMPLATE_NAMES_PATTERN.matcher(normalizedTemplate);
+            int i = 0;
+            while (m.find()) {
+                literals.add(normalizedTemplate.substring(i, m.start()));
+                expressions.add(new Expression(m.group(1), m.group()));
+                i = m.end();
+            }
+            literals.add(normalizedTemplate.substring(i));
+
+            return new CompiledTemplate(
+                    literals.toArray(new String[literals.size()]), expressions.toArray(new Expression[expressions.size()]));
+        }
+
+        /**
+         * Build a URI based on the parameters provided by the variable name strategy.
+         *
+         * @param builder       URI string builder to be used.
+         * @param valueStrategy The template value producer strategy to use.
+         */
+        void resolve(final StringBuilder builder, final TemplateValueStrategy valueStrategy) {
+            for (int i = 0; i < expressions.length; i++) {
+                builder.append(literals[i]);
+                expressions[i].resolve(builder, valueStrategy);
+            }
+            builder.append(literals[expressions.length]);
+        }
+    }
+
+    /**
+     * Single template variable expression ({@code {name}}) or a query ({@code {?name1,name2}}) or matrix
+     * ({@code {;name1,name2}}) parameter expression of a compiled template.
      */
-    private static void resolveTemplate(
-            String normalizedTemplate,
-            StringBuilder builder,
-            TemplateValueStrategy valueStrategy) {
-        // Find all template variables
-        Matcher m = TEMPLATE_NAMES_PATTERN.matcher(normalizedTemplate);
-
-        int i = 0;
-        while (m.find()) {
-            builder.append(normalizedTemplate, i, m.start());
-            String variableName = m.group(1);
+    private static final class Expression {
+
+        private final String matchedGroup;
+        private final String variable;
+        private final String[] variables;
+        private final char prefix;
+        private final char separator;
+        private final String emptyValueAssignment;
+
+        private Expression(final String variableName, final String matchedGroup) {
+            this.matchedGroup = matchedGroup;
+
             // TODO matrix
-            char firstChar = variableName.charAt(0);
+            final char firstChar = variableName.charAt(0);
             if (firstChar == '?' || firstChar == ';') {
-                final char prefix;
-                final char separator;
-                final String emptyValueAssignment;
+                this.variable = null;
+                this.variables = variableName.substring(1).split(", ?");
                 if (firstChar == '?') {
                     // query
-                    prefix = '?';
-                    separator = '&';
-                    emptyValueAssignment = "=";
+                    this.prefix = '?';
+                    this.separator = '&';
+                    this.emptyValueAssignment = "=";
                 } else {
                     // matrix
-                    prefix = ';';
-                    separator = ';';
-                    emptyValueAssignment = "";
-                }
-
-                int index = builder.length();
-                String[] variables = variableName.substring(1).split(", ?");
-                for (String variable : variables) {
-                    try {
-                        String value = valueStrategy.valueFor(variable, m.group());
-                        if (value != null) {
-                            if (index != builder.length()) {
-                                builder.append(separator);
-                            }
-
-                            builder.append(variable);
-                            if (value.isEmpty()) {
-                                builder.append(emptyValueAssignment);
-                            } else {
-                                builder.append('=');
-                                builder.append(value);
-                            }
-                        }
-                    } catch (IllegalArgumentException ex) {
-                        // no value found => ignore the variable
-                    }
-                }
-
-                if (index != builder.length() && (index == 0 || builder.charAt(index - 1) != prefix)) {
-                    builder.insert(index, prefix);
+                    this.prefix = ';';
+                    this.separator = ';';
+                    this.emptyValueAssignment = "";
                 }
             } else {
-                String value = valueStrategy.valueFor(variableName, m.group());
+                this.variable = variableName;
+                this.variables = null;
+                this.prefix = this.separator = 0;
+                this.emptyValueAssignment = null;
+            }
+        }
+
+        private void resolve(final StringBuilder builder, final TemplateValueStrategy valueStrategy) {
+            if (variables == null) {
+                final String value = valueStrategy.valueFor(variable, matchedGroup);
 
                 if (value != null) {
                     builder.append(value);
                 }
+                return;
             }
 
-            i = m.end();
+            final int index = builder.length();
+            for (final String name : variables) {
+                try {
+                    final String value = valueStrategy.valueFor(name, matchedGroup);
+                    if (value != null) {
+                        if (index != builder.length()) {
+                            builder.append(separator);
+                        }
+
+                        builder.append(name);
+                        if (value.isEmpty()) {
+                            builder.append(emptyValueAssignment);
+                        } else {
+                            builder.append('=');
+                            builder.append(value);
+                        }
+                    }
+                } catch (final IllegalArgumentException ex) {
+                    // no value found => ignore the variable
+                }
+            }
+
+            if (index != builder.length() && (index == 0 || builder.charAt(index - 1) != prefix)) {
+                builder.insert(index, prefix);
+            }
+        }
+    }
+
+    /**
+     * Get the compiled form of a (not normalized) URI component template.
+     * <p>
+     * Compiled templates that contain template variables are cached in a bounded cache, hence repeated building
+     * of URIs from the same templates does not require parsing the templates again. Templates without variables
+     * (e.g. literal URI components containing a curly bracket) are compiled again on each invocation so that they
+     * do not evict the cached parameterized templates.
+     * </p>
+     *
+     * @param template URI component template.
+     * @return compiled template.
+     */
+    private static CompiledTemplate compile(final String template) {
+        CompiledTemplate compiled = COMPILED_TEMPLATES.getIfPresent(template);
+        if (compiled == null) {
+            compiled = CompiledTemplate.compile(new UriTemplateParser(template).getNormalizedTemplate());
+            if (compiled.expressions.length > 0) {
+                COMPILED_TEMPLATES.put(template, compiled);
+            }
         }
-        builder.append(normalizedTemplate, i, normalizedTemplate.length());
+        return compiled;
     }
 
     @Override
@@ -997,10 +1103,6 @@ public class UriTemplate {
             return valueOffset;
         }
 
-        // Find all template variables
-        template = new UriTemplateParser(template).getNormalizedTemplate();
-
-
         class ValuesFromArrayStrategy implements TemplateValueStrategy {
             private int offset = valueOffset;
 
@@ -1024,7 +1126,7 @@ public class UriTemplate {
             }
         }
         ValuesFromArrayStrategy cs = new ValuesFromArrayStrategy();
-        resolveTemplate(template, b, cs);
+        compile(template).resolve(b, cs);
 
         return cs.offset;
     }
@@ -1054,11 +1156,8 @@ public class UriTemplate {
 
         final Map<String, Object> mapValues = (Map<String, Object>) _mapValues;
 
-        // Find all template variables
-        template = new UriTemplateParser(template).getNormalizedTemplate();
-
         StringBuilder sb = new StringBuilder();
-        resolveTemplate(template, sb, new TemplateValueStrategy() {
+        compile(template).resolve(sb, new TemplateValueStrategy() {
             @Override
             public String valueFor(String templateVariable, String matchedGroup) {
 
@@ -803,7 +803,29 @@ public class JerseyUriBuilder extends UriBuilder {
         return _buildFromMap(false, false, values);
     }
 
+    /**
+     * Build a URI string, using the supplied values in order to replace any URI template parameters.
+     * <p>
+     * The method behaves the same way as {@link #buildFromMap(java.util.Map)}, except that the built URI
+     * is returned as a string and is not parsed into a {@link URI} instance. The result is therefore not
+     * checked for URI syntax errors.
+     * </p>
+     *
+     * @param values a map of URI template parameter names and values.
+     * @return the URI string built from the UriBuilder.
+     * @throws IllegalArgumentException if there are any URI template parameters without a supplied value,
+     *                                  or if a template parameter value is {@code null}.
+     * @since 2.15
+     */
+    public String buildFromMapToString(Map<String, ?> values) {
+        return _buildFromMapToString(true, true, values);
+    }
+
     private URI _buildFromMap(boolean encode, boolean encodeSlashInPath, Map<String, ?> values) {
+        return createURI(_buildFromMapToString(encode, encodeSlashInPath, values));
+    }
+
+    private String _buildFromMapToString(boolean encode, boolean encodeSlashInPath, Map<String, ?> values) {
         if (ssp != null) {
             throw new IllegalArgumentException(LocalizationMessages.URI_BUILDER_SCHEMA_PART_OPAQUE());
         }
@@ -811,11 +833,10 @@ public class JerseyUriBuilder extends UriBuilder {
         encodeMatrix();
         encodeQuery();
 
-        String uri = UriTemplate.createURI(
+        return UriTemplate.createURI(
                 scheme, authority,
                 userInfo, host, port,
                 path.toString(), query.toString(), fragment, values, encode, encodeSlashInPath);
-        return createURI(uri);
     }
 
     @Override
@@ -833,6 +854,25 @@ public class JerseyUriBuilder extends UriBuilder {
         return _build(false, false, values);
     }
 
+    /**
+     * Build a URI string, using the supplied values in order to replace any URI template parameters.
+     * <p>
+     * The method behaves the same way as {@link #build(Object...)}, except that the built URI is returned
+     * as a string and is not parsed into a {@link URI} instance. The result is therefore not checked for
+     * URI syntax errors. The method is suitable for producing large numbers of links (e.g. for {@code Link}
+     * headers or hypermedia representations) where the intermediate {@code URI} instances are not needed.
+     * </p>
+     *
+     * @param values a list of URI template parameter values.
+     * @return the URI string built from the UriBuilder.
+     * @throws IllegalArgumentException if there are any URI template parameters without a supplied value,
+     *                                  or if a value is {@code null}.
+     * @since 2.15
+     */
+    public String buildToString(Object... values) {
+        return _buildToString(true, true, values);
+    }
+
     @Override
     public String toTemplate() {
         encodeMatrix();
@@ -893,9 +933,13 @@ public class JerseyUriBuilder extends UriBuilder {
     }
 
     private URI _build(boolean encode, boolean encodeSlashInPath, Object... values) {
+        return createURI(_buildToString(encode, encodeSlashInPath, values));
+    }
+
+    private String _buildToString(boolean encode, boolean encodeSlashInPath, Object... values) {
         if (ssp != null) {
             if (values == null || values.length == 0) {
-                return createURI(create());
+                return create();
             }
             throw new IllegalArgumentException(LocalizationMessages.URI_BUILDER_SCHEMA_PART_OPAQUE());
         }
@@ -903,11 +947,10 @@ public class JerseyUriBuilder extends UriBuilder {
         encodeMatrix();
         encodeQuery();
 
-        String uri = UriTemplate.createURI(
+        return UriTemplate.createURI(
                 scheme, authority,
                 userInfo, host, port,
                 path.toString(), query.toString(), fragment, values, encode, encodeSlashInPath);
-        return createURI(uri);
     }
 
     private String create() {
@@ -395,6 +395,24 @@ public class ByteBufferInputStreamTest {
         bbis.close();
     }
 
+    /**
+     * Test that bytes with the highest bit set are read as unsigned values and not confused with the end of the stream.
+     *
+     * @throws Exception in case of error.
+     */
+    @Test
+    public void testReadUnsignedBytes() throws Exception {
+        final ByteBufferInputStream bbis = new ByteBufferInputStream();
+        bbis.put(ByteBuffer.wrap(new byte[] {(byte) 0xFF, (byte) 0x80}));
+        bbis.put(ByteBuffer.wrap(new byte[] {(byte) 0xFF}));
+        bbis.closeQueue();
+
+        assertEquals(0xFF, bbis.read());
+        assertEquals(0x80, bbis.tryRead());
+        assertEquals(0xFF, bbis.tryRead());
+        assertEquals(-1, bbis.read());
+    }
+
     /**
      * Test for  available() method.
      *
@@ -39,6 +39,7 @@
  */
 package org.glassfish.jersey.message;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -46,6 +47,7 @@ import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import org.junit.Test;
+import static org.junit.Assert.fail;
 
 /**
  * @author Martin Matula (martin.matula at oracle.com)
@@ -95,4 +97,39 @@ public class GZipEncodingTest extends AbstractEncodingTest {
             }
         });
     }
+
+    @Test
+    public void testEncodeDecodeRepeatedly() throws IOException {
+        final GZipEncoder encoder = new GZipEncoder();
+        for (int i = 0; i < 10; i++) {
+            test(new TestSpec() {
+                @Override
+                public OutputStream getEncoded(OutputStream stream) throws IOException {
+                    // deflater is returned to the pool on close and reused by the next stream
+                    return encoder.encode("gzip", stream);
+                }
+
+                @Override
+                public InputStream getDecoded(InputStream stream) throws IOException {
+                    return new GZIPInputStream(stream);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testWriteAfterClose() throws IOException {
+        final OutputStream stream = new GZipEncoder().encode("gzip", new ByteArrayOutputStream());
+        stream.write('a');
+        stream.close();
+        // closing again does not return the deflater to the pool twice
+        stream.close();
+        try {
+            // the deflater already belongs to the pool
+            stream.write('b');
+            fail("Writing to a closed stream should fail.");
+        } catch (final IOException expected) {
+            // ok
+        }
+    }
 }
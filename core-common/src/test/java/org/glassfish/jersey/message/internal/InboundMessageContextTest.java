@@ -43,14 +43,20 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
+import javax.ws.rs.core.Cookie;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Link;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.ReaderInterceptor;
 import javax.ws.rs.ext.RuntimeDelegate;
 
@@ -60,6 +66,7 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -223,4 +230,136 @@ public class InboundMessageContextTest {
         assertTrue(allowedMethods.contains("CCC"));
         assertTrue(allowedMethods.contains("DDD"));
     }
+
+    @Test
+    public void testHeaderSourceReadThrough() {
+        final MultivaluedMap<String, String> nativeHeaders = new MultivaluedHashMap<String, String>();
+        nativeHeaders.add("Accept", "application/json");
+        nativeHeaders.add("X-Foo", "bar");
+        nativeHeaders.add("X-Foo", "baz");
+
+        final InboundMessageContext r = createInboundMessageContext();
+        r.headers(new InboundHeaderSource() {
+            @Override
+            public Iterable<String> getHeaderNames() {
+                return nativeHeaders.keySet();
+            }
+
+            @Override
+            public List<String> getHeaderValues(final String name) {
+                for (Map.Entry<String, List<String>> entry : nativeHeaders.entrySet()) {
+                    if (entry.getKey().equalsIgnoreCase(name)) {
+                        return entry.getValue();
+                    }
+                }
+                return null;
+            }
+        });
+
+        assertEquals("application/json", r.getHeaderString("accept"));
+        assertEquals(Arrays.asList("bar", "baz"), r.getHeaders().get("x-foo"));
+        assertNull(r.getHeaders().get("X-Missing"));
+        assertFalse(((InboundHeaderView) r.getHeaders()).isCopied());
+
+        // Modifications are applied to a copy, the native headers stay untouched.
+        r.getHeaders().get("X-Foo").add("qux");
+        r.header("X-New", "value");
+        assertTrue(((InboundHeaderView) r.getHeaders()).isCopied());
+        assertEquals(Arrays.asList("bar", "baz", "qux"), r.getHeaders().get("X-Foo"));
+        assertEquals("value", r.getHeaderString("x-new"));
+        assertEquals(3, r.getHeaders().size());
+        assertEquals(Arrays.asList("bar", "baz"), nativeHeaders.get("X-Foo"));
+        assertFalse(nativeHeaders.containsKey("X-New"));
+    }
+
+    @Test
+    public void testHeaderSourceDetached() {
+        final int[] lookups = new int[1];
+        final boolean[] valid = {true};
+
+        final InboundMessageContext r = createInboundMessageContext();
+        r.headers(new InboundHeaderSource() {
+            @Override
+            public Iterable<String> getHeaderNames() {
+                assertTrue(valid[0]);
+                return Collections.singleton("X-Foo");
+            }
+
+            @Override
+            public List<String> getHeaderValues(final String name) {
+                assertTrue(valid[0]);
+                lookups[0]++;
+                return "X-Foo".equalsIgnoreCase(name) ? Collections.singletonList("bar") : null;
+            }
+        });
+
+        // repeated look-ups of a header are served by the same list
+        final List<String> values = r.getHeaders().get("X-Foo");
+        assertSame(values, r.getHeaders().get("X-Foo"));
+        assertEquals("bar", r.getHeaderString("X-Foo"));
+        assertTrue(r.getHeaders().containsKey("X-Foo"));
+        assertEquals(1, lookups[0]);
+
+        r.detachHeaders();
+        valid[0] = false;
+
+        assertEquals("bar", r.getHeaderString("x-foo"));
+        assertEquals(Collections.singletonList("bar"), values);
+        assertEquals(1, r.getHeaders().size());
+    }
+
+    @Test
+    public void testParsedAcceptTokensModifiable() {
+        final InboundMessageContext r = createInboundMessageContext();
+        r.header(HttpHeaders.ACCEPT_CHARSET, "utf-8");
+        r.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        r.getQualifiedAcceptCharset().clear();
+        r.getQualifiedAcceptEncoding().clear();
+        assertEquals("utf-8", r.getQualifiedAcceptCharset().get(0).getToken());
+        assertEquals("gzip", r.getQualifiedAcceptEncoding().get(0).getToken());
+    }
+
+    @Test
+    public void testParsedHeadersInvalidatedOnChange() {
+        final InboundMessageContext r = createInboundMessageContext();
+        r.header(HttpHeaders.ACCEPT, "text/plain;q=0.5, application/json");
+        r.header(HttpHeaders.ACCEPT_LANGUAGE, "en");
+        r.header(HttpHeaders.COOKIE, "a=b");
+
+        final List<AcceptableMediaType> mediaTypes = r.getQualifiedAcceptableMediaTypes();
+        assertEquals("application/json", mediaTypes.get(0).toString());
+        assertSame(mediaTypes, r.getQualifiedAcceptableMediaTypes());
+        final List<AcceptableLanguageTag> languages = r.getQualifiedAcceptableLanguages();
+        assertSame(languages, r.getQualifiedAcceptableLanguages());
+        // callers may modify the returned cookies without affecting the parsed value
+        r.getRequestCookies().clear();
+        assertEquals("b", r.getRequestCookies().get("a").getValue());
+
+        r.getHeaders().putSingle(HttpHeaders.ACCEPT, "text/html");
+        r.getHeaders().putSingle(HttpHeaders.ACCEPT_LANGUAGE, "cs");
+        r.getHeaders().add(HttpHeaders.COOKIE, "c=d");
+
+        assertEquals(1, r.getQualifiedAcceptableMediaTypes().size());
+        assertEquals("text/html", r.getQualifiedAcceptableMediaTypes().get(0).toString());
+        assertEquals("cs", r.getQualifiedAcceptableLanguages().get(0).getTag());
+        assertEquals(2, r.getRequestCookies().size());
+        assertEquals("d", r.getRequestCookies().get("c").getValue());
+    }
+
+    @Test
+    public void testAcceptCacheEvictsOldValues() {
+        for (int i = 0; i < 1000; i++) {
+            final InboundMessageContext r = createInboundMessageContext();
+            r.header(HttpHeaders.ACCEPT, "text/x-" + i);
+            r.getQualifiedAcceptableMediaTypes();
+        }
+
+        final InboundMessageContext first = createInboundMessageContext();
+        first.header(HttpHeaders.ACCEPT, "text/x-recent");
+        final InboundMessageContext second = createInboundMessageContext();
+        second.header(HttpHeaders.ACCEPT, "text/x-recent");
+        // a full cache still accepts new values
+        assertSame(first.getQualifiedAcceptableMediaTypes(), second.getQualifiedAcceptableMediaTypes());
+    }
 }
@@ -182,6 +182,48 @@ public class RequestScopeTest {
         assertNull(instance.get(inhab));
     }
 
+    @Test
+    public void testReleasedInstanceIsNotReused() {
+        final RequestScope requestScope = new RequestScope();
+        final TestProvider inhab = new TestProvider("a");
+
+        final Instance instance = requestScope.createInstance();
+        instance.put(inhab, "1");
+        instance.release();
+        assertNull(instance.get(inhab));
+
+        final Instance another = requestScope.createInstance();
+        assertNotSame(instance, another);
+        another.put(inhab, "2");
+        assertNull(instance.get(inhab));
+        another.release();
+    }
+
+    @Test
+    public void testManyDescriptors() {
+        final RequestScope requestScope = new RequestScope();
+        final TestProvider[] inhabs = new TestProvider[1000];
+        for (int i = 0; i < inhabs.length; i++) {
+            inhabs[i] = new TestProvider(String.valueOf(i));
+            inhabs[i].setName(inhabs[i].id);
+        }
+
+        final Instance instance = requestScope.createInstance();
+        for (final TestProvider inhab : inhabs) {
+            instance.put(inhab, inhab.id);
+        }
+        for (final TestProvider inhab : inhabs) {
+            assertEquals(inhab.id, instance.get(inhab));
+        }
+
+        instance.remove(inhabs[inhabs.length - 1]);
+        assertNull(instance.get(inhabs[inhabs.length - 1]));
+        instance.release();
+        for (final TestProvider inhab : inhabs) {
+            assertNull(instance.get(inhab));
+        }
+    }
+
     /**
      * Test request scope inhabitant.
      *
@@ -0,0 +1,126 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.process.internal;
+
+import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.internal.util.collection.Refs;
+import org.glassfish.jersey.process.Inflector;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import jersey.repackaged.com.google.common.base.Function;
+
+/**
+ * Test of the {@link Stages stage chain} processing.
+ */
+public class StagesTest {
+
+    private static final class AppendingStage extends AbstractChainableStage<String> implements LinearStage<String> {
+
+        private final String suffix;
+
+        private AppendingStage(final String suffix) {
+            this.suffix = suffix;
+        }
+
+        @Override
+        public String transform(final String data) {
+            return data + suffix;
+        }
+
+        @Override
+        public Continuation<String> apply(final String data) {
+            throw new AssertionError("Linear stage should be processed without a continuation.");
+        }
+    }
+
+    private static Function<String, String> append(final String suffix) {
+        return new Function<String, String>() {
+            @Override
+            public String apply(final String input) {
+                return input + suffix;
+            }
+        };
+    }
+
+    @Test
+    public void testProcessMixedChain() {
+        final Stage<String> branch = Stages.chain(append("-branch")).build();
+        final Stage<String> chain = Stages.chain(new AppendingStage("-a"))
+                .to(append("-b"))
+                .to(new AbstractChainableStage<String>() {
+                    @Override
+                    public Continuation<String> apply(final String data) {
+                        return data.startsWith("skip")
+                                ? Continuation.of(data + "-c", branch)
+                                : Continuation.of(data + "-c", getDefaultNext());
+                    }
+                })
+                .to(new AppendingStage("-d"))
+                .build();
+
+        assertEquals("data-a-b-c-d", Stages.process("data", chain));
+        assertEquals("skip-a-b-c-branch", Stages.process("skip", chain));
+    }
+
+    @Test
+    public void testProcessWithInflector() {
+        final Inflector<String, Integer> inflector = new Inflector<String, Integer>() {
+            @Override
+            public Integer apply(final String data) {
+                return data.length();
+            }
+        };
+        final Stage<String> chain = Stages.chain(new AppendingStage("-a"))
+                .to(Stages.<String>identity())
+                .build(Stages.asStage(inflector));
+
+        final Ref<Inflector<String, Integer>> inflectorRef = Refs.emptyRef();
+        assertEquals("data-a", Stages.process("data", chain, inflectorRef));
+        assertSame(inflector, inflectorRef.get());
+
+        final Ref<Inflector<String, Integer>> noInflectorRef = Refs.emptyRef();
+        assertEquals("data-a", Stages.process("data", new AppendingStage("-a"), noInflectorRef));
+        assertNull(noInflectorRef.get());
+    }
+}
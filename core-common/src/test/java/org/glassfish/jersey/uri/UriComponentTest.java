@@ -99,6 +99,15 @@ public class UriComponentTest {
         assertEquals("copyright\u00a9", UriComponent.decode("copyright%C2%A9", null));
     }
 
+    @Test
+    public void testMultiOctetUtf8PercentEscapedOctets() {
+        assertEquals("a\u20acb\ud83d\ude00c", UriComponent.decode("a%E2%82%ACb%F0%9F%98%80c", null));
+        assertEquals("x y\u00e9", UriComponent.decode("x+y%C3%A9", UriComponent.Type.QUERY_PARAM));
+        // malformed UTF-8 octets are replaced
+        assertEquals("a\ufffdb", UriComponent.decode("a%C3b", null));
+        assertEquals("\u00e9\ufffd", UriComponent.decode("%C3%A9%FF", null));
+    }
+
     @Test
     public void testHost() {
         assertEquals("[fec0::abcd%251]", UriComponent.decode("[fec0::abcd%251]",
@@ -112,6 +121,8 @@ public class UriComponentTest {
         assertTrue(decodeCatch(" %1"));
         assertTrue(decodeCatch("%z1"));
         assertTrue(decodeCatch("%1z"));
+        assertTrue(decodeCatch("ab%"));
+        assertTrue(decodeCatch("%20%"));
     }
 
     private boolean decodeCatch(String s) {
@@ -359,6 +370,13 @@ public class UriComponentTest {
 
     }
 
+    @Test
+    public void testEncodeSupplementaryCharacters() {
+        assertEquals("a%E2%82%ACb%F0%9F%98%80c", UriComponent.encode("a\u20acb\ud83d\ude00c", UriComponent.Type.PATH));
+        assertEquals("a\u20acb\ud83d\ude00c", UriComponent.decode(
+                UriComponent.encode("a\u20acb\ud83d\ude00c", UriComponent.Type.QUERY_PARAM), UriComponent.Type.QUERY_PARAM));
+    }
+
     @Test
     public void testEncodeTemplateNames() {
         assertEquals("%7Bfoo%7D", UriComponent.encodeTemplateNames("{foo}"));
@@ -1736,4 +1736,23 @@ public class JerseyUriBuilderTest {
         uriBuilder.queryParam("query", "{param}");
         Assert.assertEquals("http://localhost:8080/path?query=%25test", uriBuilder.buildFromEncoded("%25test").toString());
     }
+
+    @Test
+    public void testBuildToString() {
+        final JerseyUriBuilder uriBuilder = (JerseyUriBuilder) UriBuilder.fromUri("http://localhost:8080/{a}/{b: [0-9]+}");
+        uriBuilder.queryParam("query", "{c}");
+
+        for (int i = 0; i < 3; i++) {
+            final Object[] values = {"x y", i, "%25a&b"};
+            Assert.assertEquals(uriBuilder.build(values).toString(), uriBuilder.buildToString(values));
+        }
+        Assert.assertEquals("http://localhost:8080/x%20y/1?query=%2525a%26b", uriBuilder.buildToString("x y", 1, "%25a&b"));
+
+        final Map<String, Object> values = new HashMap<String, Object>();
+        values.put("a", "a/b");
+        values.put("b", 2);
+        values.put("c", "c");
+        Assert.assertEquals(uriBuilder.buildFromMap(values).toString(), uriBuilder.buildFromMapToString(values));
+        Assert.assertEquals("http://localhost:8080/a%2Fb/2?query=c", uriBuilder.buildFromMapToString(values));
+    }
 }
@@ -39,10 +39,12 @@
  */
 package org.glassfish.jersey.server;
 
+import java.io.File;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -51,6 +53,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -73,6 +77,7 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.ParamConverterProvider;
 import javax.ws.rs.ext.ReaderInterceptor;
 import javax.ws.rs.ext.WriterInterceptor;
 
@@ -117,16 +122,20 @@ import org.glassfish.jersey.server.model.ModelValidationException;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.model.internal.ModelErrors;
+import org.glassfish.jersey.server.model.internal.ResourceModelSnapshot;
 import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
 import org.glassfish.jersey.server.spi.ComponentProvider;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.glassfish.jersey.server.spi.ExternalRequestScope;
+import org.glassfish.jersey.server.spi.internal.ValueFactoryProvider;
 
+import org.glassfish.hk2.api.ActiveDescriptor;
 import org.glassfish.hk2.api.DynamicConfiguration;
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.utilities.Binder;
+import org.glassfish.hk2.utilities.BuilderHelper;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.glassfish.hk2.utilities.binding.ScopedBindingBuilder;
 
@@ -399,25 +408,32 @@ public final class ApplicationHandler {
             }
 
             // Introspecting classes & instances
-            for (final Class<?> c : runtimeConfig.getClasses()) {
-                try {
-                    final Resource resource = Resource.from(c, disableValidation);
-                    if (resource != null) {
-                        resourceBagBuilder.registerResource(c, resource);
-                    }
-                } catch (final IllegalArgumentException ex) {
-                    LOGGER.warning(ex.getMessage());
+            final Set<Class<?>> classes = runtimeConfig.getClasses();
+            final Set<Object> singletons = runtimeConfig.getSingletons();
+
+            final List<Class<?>> introspected = new ArrayList<>(classes.size() + singletons.size());
+            introspected.addAll(classes);
+            for (final Object o : singletons) {
+                introspected.add(o.getClass());
+            }
+
+            final int parallelism = ServerProperties.getValue(runtimeConfig.getProperties(),
+                    ServerProperties.BOOTSTRAP_PARALLELISM,
+                    1,
+                    Integer.class);
+            final Iterator<Resource> resources = introspectResources(introspected, disableValidation, parallelism).iterator();
+
+            for (final Class<?> c : classes) {
+                final Resource resource = resources.next();
+                if (resource != null) {
+                    resourceBagBuilder.registerResource(c, resource);
                 }
             }
 
-            for (final Object o : runtimeConfig.getSingletons()) {
-                try {
-                    final Resource resource = Resource.from(o.getClass(), disableValidation);
-                    if (resource != null) {
-                        resourceBagBuilder.registerResource(o, resource);
-                    }
-                } catch (final IllegalArgumentException ex) {
-                    LOGGER.warning(ex.getMessage());
+            for (final Object o : singletons) {
+                final Resource resource = resources.next();
+                if (resource != null) {
+                    resourceBagBuilder.registerResource(o, resource);
                 }
             }
 
@@ -491,8 +507,7 @@ public final class ApplicationHandler {
             resourceModel = processResourceModel(resourceModel);
 
             if (!disableValidation) {
-                final ComponentModelValidator validator = new ComponentModelValidator(locator);
-                validator.validate(resourceModel);
+                validateResourceModel(resourceModel, introspected, componentBag, componentProviders);
             }
 
             if (Errors.fatalIssuesFound() && !ignoreValidationErrors) {
@@ -680,6 +695,181 @@ public final class ApplicationHandler {
         return result;
     }
 
+    /**
+     * Validate the resource model unless it matches the {@link ServerProperties#RESOURCE_MODEL_SNAPSHOT resource model
+     * snapshot}. If the validation does not report any issue, the snapshot is updated.
+     *
+     * @param resourceModel      resource model to be validated.
+     * @param components         classes registered in the application (including classes of registered instances).
+     * @param componentBag       application component bag.
+     * @param componentProviders component providers.
+     */
+    private void validateResourceModel(final ResourceModel resourceModel,
+                                       final List<Class<?>> components,
+                                       final ComponentBag componentBag,
+                                       final List<ComponentProvider> componentProviders) {
+        final String snapshotPath = ServerProperties.getValue(runtimeConfig.getProperties(),
+                ServerProperties.RESOURCE_MODEL_SNAPSHOT, String.class);
+
+        if (snapshotPath == null) {
+            new ComponentModelValidator(locator).validate(resourceModel);
+            return;
+        }
+
+        final File snapshot = new File(snapshotPath);
+        final String fingerprint = ResourceModelSnapshot.fingerprint(resourceModel,
+                getModelContributors(components, componentBag, componentProviders), runtimeConfig.getProperties());
+        if (ResourceModelSnapshot.matches(snapshot, fingerprint)) {
+            LOGGER.config(LocalizationMessages.RESOURCE_MODEL_SNAPSHOT_VALIDATION_SKIPPED(snapshot));
+            return;
+        }
+
+        Errors.mark();
+        try {
+            new ComponentModelValidator(locator).validate(resourceModel);
+            if (Errors.getErrorMessages(true).isEmpty()) {
+                ResourceModelSnapshot.store(snapshot, fingerprint);
+            }
+        } finally {
+            Errors.unmark();
+        }
+    }
+
+    /**
+     * Get classes of all the components and providers that contribute to the resource model validation result.
+     * <p>
+     * Besides the registered classes these are the classes of registered instances, features and binders (including
+     * auto-discovered ones), component providers and of all the message body workers, parameter converters, parameter
+     * value factories and model processors available in the service locator (including providers registered via
+     * {@code META-INF/services}). The providers are taken from the implementation classes of their bindings, so that
+     * they are not instantiated just to compute the fingerprint.
+     * </p>
+     */
+    private Set<Class<?>> getModelContributors(final List<Class<?>> components,
+                                               final ComponentBag componentBag,
+                                               final List<ComponentProvider> componentProviders) {
+        final Set<Class<?>> contributors = new HashSet<>(components);
+        contributors.addAll(componentBag.getClasses());
+        for (final Object instance : componentBag.getInstances()) {
+            contributors.add(instance.getClass());
+        }
+        for (final ComponentProvider componentProvider : componentProviders) {
+            contributors.add(componentProvider.getClass());
+        }
+        for (final Class<?> contract : new Class<?>[] {MessageBodyReader.class, MessageBodyWriter.class,
+                ParamConverterProvider.class, ValueFactoryProvider.class, ModelProcessor.class}) {
+            for (final ActiveDescriptor<?> descriptor : locator.getDescriptors(
+                    BuilderHelper.createContractFilter(contract.getName()))) {
+                // reification introspects the implementation class without creating an instance
+                contributors.add(descriptor.isReified()
+                        ? descriptor.getImplementationClass() : locator.reifyDescriptor(descriptor).getImplementationClass());
+            }
+        }
+        return contributors;
+    }
+
+    /**
+     * Introspect the given classes and create their resource models.
+     * <p>
+     * If the parallelism is greater than {@code 1}, the classes are introspected concurrently in a fork-join pool.
+     * Resource model issues reported during the concurrent introspection are collected separately for each class
+     * and replayed in the order of the given classes in the calling thread.
+     * </p>
+     *
+     * @param classes           classes to be introspected.
+     * @param disableValidation if {@code true}, the resource model validation is disabled.
+     * @param parallelism       maximal number of threads used to introspect the classes.
+     * @return list of resource models in the order of the given classes; {@code null} element is returned
+     * for each class that is not a resource.
+     */
+    private static List<Resource> introspectResources(final List<Class<?>> classes,
+                                                      final boolean disableValidation,
+                                                      final int parallelism) {
+        final List<Resource> resources = new ArrayList<>(classes.size());
+
+        if (parallelism <= 1 || classes.size() < 2) {
+            for (final Class<?> c : classes) {
+                resources.add(introspectResource(c, disableValidation));
+            }
+            return resources;
+        }
+
+        final List<IntrospectionTask> tasks = new ArrayList<>(classes.size());
+        for (final Class<?> c : classes) {
+            tasks.add(new IntrospectionTask(c, disableValidation));
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, classes.size()));
+        try {
+            pool.invokeAll(tasks);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (final IntrospectionTask task : tasks) {
+            for (final Errors.ErrorMessage issue : task.issues) {
+                Errors.error(issue.getSource(), issue.getMessage(), issue.getSeverity());
+            }
+            if (task.failure instanceof RuntimeException) {
+                throw (RuntimeException) task.failure;
+            } else if (task.failure instanceof Error) {
+                throw (Error) task.failure;
+            }
+            resources.add(task.resource);
+        }
+        return resources;
+    }
+
+    private static Resource introspectResource(final Class<?> c, final boolean disableValidation) {
+        try {
+            return Resource.from(c, disableValidation);
+        } catch (final IllegalArgumentException ex) {
+            LOGGER.warning(ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Resource class introspection executed in a fork-join pool worker thread.
+     * <p>
+     * The task runs in its own error processing scope. Any reported issues are removed from the scope
+     * and kept in the task so that they can be reported in the initializing thread.
+     * </p>
+     */
+    private static final class IntrospectionTask implements Callable<Void> {
+
+        private final Class<?> resourceClass;
+        private final boolean disableValidation;
+
+        private Resource resource;
+        private List<Errors.ErrorMessage> issues = Collections.emptyList();
+        private Throwable failure;
+
+        private IntrospectionTask(final Class<?> resourceClass, final boolean disableValidation) {
+            this.resourceClass = resourceClass;
+            this.disableValidation = disableValidation;
+        }
+
+        @Override
+        public Void call() {
+            Errors.process(new Runnable() {
+                @Override
+                public void run() {
+                    Errors.mark();
+                    try {
+                        resource = introspectResource(resourceClass, disableValidation);
+                    } catch (final RuntimeException | Error e) {
+                        failure = e;
+                    } finally {
+                        issues = Errors.getErrorMessages(true);
+                        Errors.reset();
+                    }
+                }
+            });
+            return null;
+        }
+    }
+
     private ProcessingProviders getProcessingProviders(final ComponentBag componentBag) {
 
         // scan for NameBinding annotations attached to the application class
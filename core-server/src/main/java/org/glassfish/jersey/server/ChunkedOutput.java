@@ -47,6 +47,11 @@ import java.util.Collections;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.Callable;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.ws.rs.container.ConnectionCallback;
 import javax.ws.rs.core.GenericType;
@@ -69,13 +74,118 @@ import org.glassfish.jersey.server.internal.process.MappableException;
  */
 // TODO:  something like prequel/sequel - usable for EventChannelWriter and XML related writers
 public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(ChunkedOutput.class.getName());
     private static final byte[] ZERO_LENGTH_DELIMITER = new byte[0];
 
+    /**
+     * Policy that determines when the chunks written to a {@link ChunkedOutput chunked output} are flushed
+     * to the client.
+     * <p>
+     * Each flush of the underlying container output stream typically results in a separate network write. Coalescing
+     * multiple small chunks into a single flush reduces the flush overhead of high-frequency chunk streams at the cost
+     * of an increased latency of individual chunks.
+     * </p>
+     *
+     * @see #setFlushPolicy(FlushPolicy)
+     * @since 2.15
+     */
+    public static final class FlushPolicy {
+
+        private static final FlushPolicy IMMEDIATE = new FlushPolicy(0, 0, false);
+        private static final FlushPolicy EXPLICIT = new FlushPolicy(Long.MAX_VALUE, 0, true);
+
+        private final long maxBytes;
+        private final long maxDelayNanos;
+        private final boolean explicit;
+
+        private FlushPolicy(final long maxBytes, final long maxDelayNanos, final boolean explicit) {
+            this.maxBytes = maxBytes;
+            this.maxDelayNanos = maxDelayNanos;
+            this.explicit = explicit;
+        }
+
+        /**
+         * Get a policy that flushes every chunk as soon as it has been written. This is the default policy.
+         *
+         * @return immediate flush policy.
+         */
+        public static FlushPolicy immediate() {
+            return IMMEDIATE;
+        }
+
+        /**
+         * Get a policy that flushes written chunks only when {@link ChunkedOutput#flush()} is invoked or
+         * when the chunked output is closed. The underlying container may still decide to send the data
+         * once its own output buffer is full.
+         *
+         * @return explicit flush policy.
+         */
+        public static FlushPolicy explicit() {
+            return EXPLICIT;
+        }
+
+        /**
+         * Get a policy that coalesces written chunks. Written chunks are flushed once at least {@code maxBytes}
+         * bytes are pending or once the first pending chunk has been waiting for the specified maximal delay,
+         * whichever comes first.
+         *
+         * @param maxBytes maximal number of bytes pending in the output stream before the stream is flushed.
+         * @param maxDelay maximal time a written chunk may wait before the output stream is flushed.
+         * @param unit     maximal delay time unit.
+         * @return coalescing flush policy.
+         */
+        public static FlushPolicy coalescing(final int maxBytes, final long maxDelay, final TimeUnit unit) {
+            if (maxBytes < 0 || maxDelay < 0) {
+                throw new IllegalArgumentException(LocalizationMessages.CHUNKED_OUTPUT_FLUSH_POLICY_NEGATIVE());
+            }
+            return new FlushPolicy(maxBytes, unit.toNanos(maxDelay), false);
+        }
+
+        @Override
+        public String toString() {
+            if (explicit) {
+                return "FlushPolicy{explicit}";
+            }
+            return "FlushPolicy{maxBytes=" + maxBytes + ", maxDelayNanos=" + maxDelayNanos + '}';
+        }
+    }
+
+    /**
+     * Strategy applied when a chunk is written to a {@link ChunkedOutput chunked output} whose queue of chunks
+     * waiting to be sent has reached its capacity.
+     *
+     * @see #setQueueCapacity(int, OverflowStrategy)
+     * @since 2.15
+     */
+    public static enum OverflowStrategy {
+        /**
+         * The {@link ChunkedOutput#write(Object) write} fails with an {@link IOException}. The chunked output
+         * remains open.
+         */
+        FAIL,
+        /**
+         * The oldest chunk waiting in the queue is discarded to make room for the new chunk.
+         */
+        DROP_OLDEST,
+        /**
+         * The new chunk is discarded.
+         */
+        DROP_NEWEST
+    }
+
     private final BlockingDeque<T> queue = new LinkedBlockingDeque<>();
     private final byte[] chunkDelimiter;
 
+    private volatile FlushPolicy flushPolicy = FlushPolicy.immediate();
+    private volatile int queueCapacity = Integer.MAX_VALUE;
+    private volatile OverflowStrategy overflowStrategy = OverflowStrategy.FAIL;
+
     private volatile boolean closed = false;
     private boolean flushing = false;
+    private boolean flushRequested = false;
+    private volatile CountingOutputStream pendingStream;
+    private ScheduledFuture<?> scheduledFlush;
+    private volatile ScheduledExecutorService scheduler;
     private volatile RequestScope requestScope;
     private volatile RequestScope.Instance requestScopeInstance;
     private volatile ContainerRequest requestContext;
@@ -162,8 +272,81 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         }
     }
 
+    /**
+     * Set the policy that determines when the written chunks are flushed to the client.
+     * <p>
+     * By default, each chunk is {@link FlushPolicy#immediate() flushed immediately}.
+     * </p>
+     *
+     * @param flushPolicy chunk flush policy. Must not be {@code null}.
+     * @since 2.15
+     */
+    public void setFlushPolicy(final FlushPolicy flushPolicy) {
+        if (flushPolicy == null) {
+            throw new NullPointerException(LocalizationMessages.CHUNKED_OUTPUT_FLUSH_POLICY_NULL());
+        }
+        this.flushPolicy = flushPolicy;
+    }
+
+    /**
+     * Get the policy that determines when the written chunks are flushed to the client.
+     *
+     * @return chunk flush policy.
+     * @since 2.15
+     */
+    public FlushPolicy getFlushPolicy() {
+        return flushPolicy;
+    }
+
+    /**
+     * Limit the number of chunks waiting in the queue to be sent to the client.
+     * <p>
+     * Chunks wait in the queue until the chunked output is returned from the resource method and while another thread
+     * is busy sending previously written chunks, e.g. to a slow client. By default, the queue is not bounded.
+     * </p>
+     *
+     * @param capacity         maximal number of chunks waiting in the queue. Must be positive.
+     * @param overflowStrategy strategy applied when a chunk is written to a full queue. Must not be {@code null}.
+     * @since 2.15
+     */
+    public void setQueueCapacity(final int capacity, final OverflowStrategy overflowStrategy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(LocalizationMessages.CHUNKED_OUTPUT_QUEUE_CAPACITY_INVALID(capacity));
+        }
+        if (overflowStrategy == null) {
+            throw new NullPointerException(LocalizationMessages.CHUNKED_OUTPUT_OVERFLOW_STRATEGY_NULL());
+        }
+        this.overflowStrategy = overflowStrategy;
+        this.queueCapacity = capacity;
+    }
+
+    /**
+     * Get the number of written chunks waiting in the queue to be sent to the client.
+     *
+     * @return number of queued chunks.
+     * @since 2.15
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Get the number of bytes of the already serialized chunks that have not been flushed to the client yet.
+     *
+     * @return number of bytes pending in the output stream.
+     * @since 2.15
+     */
+    public long getPendingBytes() {
+        final CountingOutputStream stream = pendingStream;
+        return stream == null ? 0 : stream.pending;
+    }
+
     /**
      * Write a chunk.
+     * <p>
+     * If the {@link #setQueueCapacity(int, OverflowStrategy) queue capacity} has been reached,
+     * the configured overflow strategy is applied.
+     * </p>
      *
      * @param chunk a chunk instance to be written.
      * @throws IOException if this response is closed or when encountered any problem during serializing or writing a chunk.
@@ -174,7 +357,59 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         }
 
         if (chunk != null) {
-            queue.add(chunk);
+            if (queueCapacity == Integer.MAX_VALUE) {
+                queue.add(chunk);
+            } else if (!offer(chunk)) {
+                return;
+            }
+        }
+
+        flushQueue();
+    }
+
+    /**
+     * Add a chunk to the bounded queue.
+     *
+     * @param chunk chunk to be added.
+     * @return {@code true} if the chunk has been added, {@code false} if it has been dropped.
+     * @throws IOException if the queue is full and the overflow strategy is {@link OverflowStrategy#FAIL}.
+     */
+    private boolean offer(final T chunk) throws IOException {
+        synchronized (queue) {
+            while (queue.size() >= queueCapacity) {
+                switch (overflowStrategy) {
+                    case DROP_NEWEST:
+                        return false;
+                    case DROP_OLDEST:
+                        queue.pollFirst();
+                        break;
+                    default:
+                        throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_QUEUE_FULL(queueCapacity));
+                }
+            }
+            queue.addLast(chunk);
+            return true;
+        }
+    }
+
+    /**
+     * Flush the chunks written so far to the client.
+     * <p>
+     * The method is useful mainly in combination with the {@link FlushPolicy#explicit() explicit}
+     * or {@link FlushPolicy#coalescing(int, long, TimeUnit) coalescing} flush policy. If the chunked output has not
+     * been returned from the resource method yet, the flush is performed once the chunked output is ready to send chunks.
+     * </p>
+     *
+     * @throws IOException if this response is closed or when encountered any problem during serializing or writing a chunk.
+     * @since 2.15
+     */
+    public void flush() throws IOException {
+        if (closed) {
+            throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED());
+        }
+
+        synchronized (this) {
+            flushRequested = true;
         }
 
         flushQueue();
@@ -193,7 +428,7 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
                     boolean shouldClose;
                     T t;
 
-                    synchronized (this) {
+                    synchronized (ChunkedOutput.this) {
                         if (flushing) {
                             // if another thread is already flushing the queue, we don't have to do anything
                             return null;
@@ -205,75 +440,54 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
                         // undelivered)
                         shouldClose = closed;
                         t = queue.poll();
-                        if (t != null || shouldClose) {
-                            // no other thread is flushing this queue at the moment and it is not empty and/or we should close ->
-                            // set the flushing flag so that other threads know it is already being taken care of
-                            // and they don't have to bother
-                            flushing = true;
+                        if (t == null && !shouldClose && !flushRequested) {
+                            return null;
                         }
+                        // no other thread is flushing this queue at the moment and it is not empty and/or we should close
+                        // or flush -> set the flushing flag so that other threads know it is already being taken care of
+                        // and they don't have to bother
+                        flushing = true;
                     }
 
-                    while (t != null) {
-                        try {
-                            final OutputStream origStream = responseContext.getEntityStream();
-                            final OutputStream writtenStream = requestContext.getWorkers().writeTo(
-                                    t,
-                                    t.getClass(),
-                                    getType(),
-                                    responseContext.getEntityAnnotations(),
-                                    responseContext.getMediaType(),
-                                    responseContext.getHeaders(),
-                                    requestContext.getPropertiesDelegate(),
-                                    origStream,
-                                    // The output stream stored in the response context for this chunked output
-                                    // is already intercepted as a whole (if there are any interceptors);
-                                    // no need to intercept the individual chunks.
-                                    Collections.<WriterInterceptor>emptyList());
-
-                            //noinspection ArrayEquality
-                            if (chunkDelimiter != ZERO_LENGTH_DELIMITER) {
-                                // if the chunked output is configured with a custom delimiter, use it
-                                writtenStream.write(chunkDelimiter);
-                            }
+                    if (pendingStream == null) {
+                        // count the bytes written to the response entity stream since the last flush
+                        pendingStream = new CountingOutputStream(responseContext.getEntityStream());
+                        responseContext.setEntityStream(pendingStream);
+                    }
 
-                            // flush the chunk (some writers do it, but some don't)
-                            writtenStream.flush();
+                    while (true) {
+                        while (t != null) {
+                            writeChunk(t);
+                            t = queue.poll();
+                        }
+                        responseContext.commitStream();
 
-                            if (origStream != writtenStream) {
-                                // if MBW replaced the stream, let's make sure to set it in the response context.
-                                responseContext.setEntityStream(writtenStream);
+                        final boolean flush;
+                        synchronized (ChunkedOutput.this) {
+                            // queue seems empty
+                            // check again in the synchronized block before clearing the flushing flag
+                            // first remember the closed flag (this has to be before polling the queue,
+                            // otherwise we could miss the last chunk)
+                            shouldClose = closed;
+                            t = queue.poll();
+                            if (t != null) {
+                                continue;
                             }
-                        } catch (final IOException ioe) {
-                            connectionCallback.onDisconnect(asyncContext.get());
-                            throw ioe;
-                        } catch (final MappableException mpe) {
-                            if (mpe.getCause() instanceof IOException) {
-                                connectionCallback.onDisconnect(asyncContext.get());
-                            }
-                            throw mpe;
-                        }
-                        t = queue.poll();
-                        if (t == null) {
-                            synchronized (this) {
-                                // queue seems empty
-                                // check again in the synchronized block before clearing the flushing flag
-                                // first remember the closed flag (this has to be before polling the queue,
-                                // otherwise we could miss the last chunk)
-                                shouldClose = closed;
-                                t = queue.poll();
-                                if (t == null) {
-                                    // ok, it is really empty - if anyone adds a chunk while we are here,
-                                    // other thread will take care of it -> flush the stream and unset
-                                    // the flushing flag at the very end (to make sure it is unset only if no
-                                    // exception is thrown)
-                                    responseContext.commitStream();
-                                    // if closing, we keep the "flushing" flag set, since no other thread needs to flush
-                                    // this queue anymore - finally clause will take care of closing the stream
-                                    flushing = shouldClose;
-                                    break;
-                                }
+                            // ok, it is really empty - if anyone adds a chunk while we are here,
+                            // other thread will take care of it
+                            flush = !shouldClose && isFlushDue();
+                            if (!flush) {
+                                // unset the flushing flag at the very end (to make sure it is unset only if no
+                                // exception is thrown); if closing, we keep the "flushing" flag set, since no other
+                                // thread needs to flush this queue anymore - finally clause will take care of closing
+                                // the stream
+                                flushing = shouldClose;
+                                break;
                             }
                         }
+                        // the stream is flushed outside of the lock, so that writers are not blocked by the network
+                        // write; chunks written in the meantime are picked up in the next iteration
+                        flushStream();
                     }
                     return null;
                 }
@@ -284,6 +498,8 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
             ex = e;
         } finally {
             if (closed) {
+                cancelScheduledFlush();
+
                 try {
                     responseContext.close();
                 } catch (final Exception e) {
@@ -306,6 +522,98 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         }
     }
 
+    /**
+     * Serialize a single chunk into the response entity stream. Must be invoked by the flushing thread only.
+     *
+     * @param t chunk to be written.
+     * @throws IOException in case of the IO error.
+     */
+    private void writeChunk(final T t) throws IOException {
+        try {
+            final OutputStream origStream = responseContext.getEntityStream();
+            final OutputStream writtenStream = requestContext.getWorkers().writeTo(
+                    t,
+                    t.getClass(),
+                    getType(),
+                    responseContext.getEntityAnnotations(),
+                    responseContext.getMediaType(),
+                    responseContext.getHeaders(),
+                    requestContext.getPropertiesDelegate(),
+                    origStream,
+                    // The output stream stored in the response context for this chunked output
+                    // is already intercepted as a whole (if there are any interceptors);
+                    // no need to intercept the individual chunks.
+                    Collections.<WriterInterceptor>emptyList());
+
+            //noinspection ArrayEquality
+            if (chunkDelimiter != ZERO_LENGTH_DELIMITER) {
+                // if the chunked output is configured with a custom delimiter, use it
+                writtenStream.write(chunkDelimiter);
+            }
+
+            if (origStream != writtenStream) {
+                // if MBW replaced the stream, let's make sure to set it in the response context.
+                responseContext.setEntityStream(writtenStream);
+            }
+
+            // flush the chunk (some writers do it, but some don't) unless the flush policy says otherwise
+            if (pendingStream.pending >= flushPolicy.maxBytes) {
+                flushStream();
+            }
+        } catch (final IOException ioe) {
+            connectionCallback.onDisconnect(asyncContext.get());
+            throw ioe;
+        } catch (final MappableException mpe) {
+            if (mpe.getCause() instanceof IOException) {
+                connectionCallback.onDisconnect(asyncContext.get());
+            }
+            throw mpe;
+        }
+    }
+
+    /**
+     * Decide whether the bytes pending in the response entity stream should be flushed once the queue has been drained;
+     * schedule a delayed flush if the flush policy says so. Must be invoked by the flushing thread while holding the lock.
+     *
+     * @return {@code true} if the stream should be flushed right away.
+     */
+    private boolean isFlushDue() {
+        final FlushPolicy policy = flushPolicy;
+
+        if (flushRequested || (pendingStream.pending > 0 && !policy.explicit && policy.maxDelayNanos == 0)) {
+            flushRequested = false;
+            return true;
+        } else if (pendingStream.pending > 0 && !policy.explicit && scheduledFlush == null && scheduler != null) {
+            scheduledFlush = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if (!closed) {
+                            flush();
+                        }
+                    } catch (final IOException e) {
+                        LOGGER.log(Level.FINE, LocalizationMessages.ERROR_WRITING_RESPONSE_ENTITY_CHUNK(), e);
+                    }
+                }
+            }, policy.maxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+        return false;
+    }
+
+    private void flushStream() throws IOException {
+        cancelScheduledFlush();
+        responseContext.getEntityStream().flush();
+    }
+
+    private void cancelScheduledFlush() {
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+        }
+    }
+
     /**
      * Close this response - it will be finalized and underlying connections will be closed
      * or made available for another response.
@@ -355,6 +663,7 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
      * @param responseContext          response context.
      * @param connectionCallbackRunner connection callback.
      * @param asyncContext             async context value.
+     * @param scheduler                scheduler used to flush coalesced chunks.
      * @throws IOException when encountered any problem during serializing or writing a chunk.
      */
     void setContext(final RequestScope requestScope,
@@ -362,7 +671,9 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
                     final ContainerRequest requestContext,
                     final ContainerResponse responseContext,
                     final ConnectionCallback connectionCallbackRunner,
-                    final Value<AsyncContext> asyncContext) throws IOException {
+                    final Value<AsyncContext> asyncContext,
+                    final ScheduledExecutorService scheduler) throws IOException {
+        this.scheduler = scheduler;
         this.requestScope = requestScope;
         this.requestScopeInstance = requestScopeInstance;
         this.requestContext = requestContext;
@@ -371,4 +682,40 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         this.asyncContext = asyncContext;
         flushQueue();
     }
+
+    /**
+     * Output stream counting the bytes written since the last flush.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        private volatile long pending;
+
+        private CountingOutputStream(final OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            delegate.write(b);
+            pending++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            delegate.write(b, off, len);
+            pending += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
 }
@@ -39,7 +39,8 @@
  */
 package org.glassfish.jersey.server;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.container.ContainerResponseFilter;
@@ -50,13 +51,17 @@ import org.glassfish.jersey.message.internal.TracingLogger;
 import org.glassfish.jersey.model.internal.RankedComparator;
 import org.glassfish.jersey.model.internal.RankedProvider;
 import org.glassfish.jersey.process.internal.AbstractChainableStage;
+import org.glassfish.jersey.process.internal.LinearStage;
 import org.glassfish.jersey.process.internal.Stages;
 import org.glassfish.jersey.server.internal.ServerTraceEvent;
 import org.glassfish.jersey.server.internal.process.Endpoint;
 import org.glassfish.jersey.server.internal.process.MappableException;
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
+import org.glassfish.jersey.server.model.ResourceMethodInvoker;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 
+import jersey.repackaged.com.google.common.collect.Lists;
+
 /**
  * Container filtering stage responsible for execution of request and response filters
  * on each request-response message exchange.
@@ -66,8 +71,14 @@ import org.glassfish.jersey.server.monitoring.RequestEvent;
  */
 class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingContext> {
 
-    private final Iterable<RankedProvider<ContainerRequestFilter>> requestFilters;
-    private final Iterable<RankedProvider<ContainerResponseFilter>> responseFilters;
+    /**
+     * Sorted global request filters (either pre or post match - depending on the stage).
+     */
+    private final List<ContainerRequestFilter> requestFilters;
+    /**
+     * Sorted global response filters (for pre-match stage) or {@code null} (for post-match stage).
+     */
+    private final List<ContainerResponseFilter> responseFilters;
 
     /**
      * Create a new container filtering stage specifying global request and response filters. This stage class
@@ -77,6 +88,11 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
      * response filters should still be executed. For the post-match filter stage creation, {@code null} is passed
      * to the responseFilters parameter.
      * </p>
+     * <p>
+     * The global filters are sorted once, when the stage is created. Global and name-bound filters of a matched
+     * resource method are resolved into the final filter chains by the method's {@link ResourceMethodInvoker}
+     * at model build time, so no merging or sorting takes place while a request is being processed.
+     * </p>
      *
      * @param requestFilters  list of global (unbound) request filters (either pre or post match - depending on the
      *                        stage being created).
@@ -87,14 +103,18 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
             Iterable<RankedProvider<ContainerRequestFilter>> requestFilters,
             Iterable<RankedProvider<ContainerResponseFilter>> responseFilters) {
 
-        this.requestFilters = requestFilters;
-        this.responseFilters = responseFilters;
+        this.requestFilters = sort(new RankedComparator<ContainerRequestFilter>(), requestFilters);
+        this.responseFilters = responseFilters == null ? null
+                : sort(new RankedComparator<ContainerResponseFilter>(RankedComparator.Order.DESCENDING), responseFilters);
+    }
+
+    private static <T> List<T> sort(final RankedComparator<T> comparator, final Iterable<RankedProvider<T>> providers) {
+        return Collections.unmodifiableList(Lists.newArrayList(Providers.sortRankedProviders(comparator, providers)));
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Continuation<RequestProcessingContext> apply(RequestProcessingContext context) {
-        Iterable<ContainerRequestFilter> sortedRequestFilters;
+        final List<ContainerRequestFilter> sortedRequestFilters;
         final boolean postMatching = responseFilters == null;
 
         final ContainerRequest request = context.request();
@@ -102,12 +122,8 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
         final TracingLogger tracingLogger = TracingLogger.getInstance(request);
         if (postMatching) {
             // post-matching
-            final ArrayList<Iterable<RankedProvider<ContainerRequestFilter>>> rankedProviders =
-                    new ArrayList<>(2);
-            rankedProviders.add(requestFilters);
-            rankedProviders.add(request.getRequestFilters());
-            sortedRequestFilters = Providers.mergeAndSortRankedProviders(
-                    new RankedComparator<ContainerRequestFilter>(), rankedProviders);
+            final List<ContainerRequestFilter> methodRequestFilters = request.getSortedRequestFilters();
+            sortedRequestFilters = methodRequestFilters != null ? methodRequestFilters : requestFilters;
 
             context.monitoringEventBuilder().setContainerRequestFilters(sortedRequestFilters);
             context.triggerEvent(RequestEvent.Type.REQUEST_MATCHED);
@@ -116,7 +132,7 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
             // pre-matching (response filter stage is pushed in pre-matching phase, so that if pre-matching filter
             // throws exception, response filters get still invoked)
             context.push(new ResponseFilterStage(context, responseFilters, tracingLogger));
-            sortedRequestFilters = Providers.sortRankedProviders(new RankedComparator<ContainerRequestFilter>(), requestFilters);
+            sortedRequestFilters = requestFilters;
         }
 
         final TracingLogger.Event summaryEvent =
@@ -125,7 +141,8 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
         int processedCount = 0;
         try {
             final TracingLogger.Event filterEvent = (postMatching ? ServerTraceEvent.REQUEST_FILTER : ServerTraceEvent.PRE_MATCH);
-            for (ContainerRequestFilter filter : sortedRequestFilters) {
+            for (int i = 0, size = sortedRequestFilters.size(); i < size; i++) {
+                final ContainerRequestFilter filter = sortedRequestFilters.get(i);
                 final long filterTimestamp = tracingLogger.timestamp(filterEvent);
                 try {
                     filter.filter(request);
@@ -159,14 +176,15 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
         return Continuation.of(context, getDefaultNext());
     }
 
-    private static class ResponseFilterStage extends AbstractChainableStage<ContainerResponse> {
+    private static class ResponseFilterStage extends AbstractChainableStage<ContainerResponse>
+            implements LinearStage<ContainerResponse> {
         // TODO remove the field - processing context should be made available on the response chain directly.
         private final RequestProcessingContext processingContext;
-        private final Iterable<RankedProvider<ContainerResponseFilter>> filters;
+        private final List<ContainerResponseFilter> filters;
         private final TracingLogger tracingLogger;
 
         private ResponseFilterStage(final RequestProcessingContext processingContext,
-                                    final Iterable<RankedProvider<ContainerResponseFilter>> filters,
+                                    final List<ContainerResponseFilter> filters,
                                     final TracingLogger tracingLogger) {
             this.processingContext = processingContext;
             this.filters = filters;
@@ -174,22 +192,25 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public Continuation<ContainerResponse> apply(ContainerResponse responseContext) {
-            final ArrayList<Iterable<RankedProvider<ContainerResponseFilter>>> rankedProviders = new ArrayList<>(2);
-            rankedProviders.add(filters);
-            rankedProviders.add(responseContext.getRequestContext().getResponseFilters());
-            Iterable<ContainerResponseFilter> sortedResponseFilters = Providers.mergeAndSortRankedProviders(
-                    new RankedComparator<ContainerResponseFilter>(RankedComparator.Order.DESCENDING), rankedProviders);
+            return Continuation.of(transform(responseContext), getDefaultNext());
+        }
 
+        @Override
+        public ContainerResponse transform(ContainerResponse responseContext) {
             final ContainerRequest request = responseContext.getRequestContext();
+            final List<ContainerResponseFilter> methodResponseFilters = request.getSortedResponseFilters();
+            final List<ContainerResponseFilter> sortedResponseFilters =
+                    methodResponseFilters != null ? methodResponseFilters : filters;
+
             processingContext.monitoringEventBuilder().setContainerResponseFilters(sortedResponseFilters);
             processingContext.triggerEvent(RequestEvent.Type.RESP_FILTERS_START);
 
             final long timestamp = tracingLogger.timestamp(ServerTraceEvent.RESPONSE_FILTER_SUMMARY);
             int processedCount = 0;
             try {
-                for (ContainerResponseFilter filter : sortedResponseFilters) {
+                for (int i = 0, size = sortedResponseFilters.size(); i < size; i++) {
+                    final ContainerResponseFilter filter = sortedResponseFilters.get(i);
                     final long filterTimestamp = tracingLogger.timestamp(ServerTraceEvent.RESPONSE_FILTER);
                     try {
                         filter.filter(request, responseContext);
@@ -205,7 +226,7 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
                 tracingLogger.logDuration(ServerTraceEvent.RESPONSE_FILTER_SUMMARY, timestamp, processedCount);
             }
 
-            return Continuation.of(responseContext, getDefaultNext());
+            return responseContext;
         }
     }
 }
@@ -45,7 +45,6 @@ import java.lang.reflect.Type;
 import java.net.URI;
 import java.text.ParseException;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -77,7 +76,6 @@ import org.glassfish.jersey.message.internal.InboundMessageContext;
 import org.glassfish.jersey.message.internal.MatchingEntityTag;
 import org.glassfish.jersey.message.internal.TracingAwarePropertiesDelegate;
 import org.glassfish.jersey.message.internal.VariantSelector;
-import org.glassfish.jersey.model.internal.RankedProvider;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
@@ -313,28 +311,27 @@ public class ContainerRequest extends InboundMessageContext
     }
 
     /**
-     * Get all bound request filters applicable to this request.
+     * Get the precomputed, sorted chain of global and bound request filters of the matched resource method.
      *
-     * @return All bound (dynamically or by name) request filters applicable to the matched inflector (or an empty
-     * collection if no inflector matched yet).
+     * @return sorted request filters of the matched resource method or {@code null} if no resource method
+     * matched yet.
      */
-    Iterable<RankedProvider<ContainerRequestFilter>> getRequestFilters() {
+    List<ContainerRequestFilter> getSortedRequestFilters() {
         final Inflector<RequestProcessingContext, ContainerResponse> inflector = getInflector();
-        return emptyIfNull(inflector instanceof ResourceMethodInvoker ?
-                ((ResourceMethodInvoker) inflector).getRequestFilters() : null);
+        return inflector instanceof ResourceMethodInvoker ?
+                ((ResourceMethodInvoker) inflector).getSortedRequestFilters() : null;
     }
 
     /**
-     * Get all bound response filters applicable to this request.
-     * This is populated once the right resource method is matched.
+     * Get the precomputed, sorted chain of global and bound response filters of the matched resource method.
      *
-     * @return All bound (dynamically or by name) response filters applicable to the matched inflector (or an empty
-     * collection if no inflector matched yet).
+     * @return sorted response filters of the matched resource method or {@code null} if no resource method
+     * matched yet.
      */
-    Iterable<RankedProvider<ContainerResponseFilter>> getResponseFilters() {
+    List<ContainerResponseFilter> getSortedResponseFilters() {
         final Inflector<RequestProcessingContext, ContainerResponse> inflector = getInflector();
-        return emptyIfNull(inflector instanceof ResourceMethodInvoker ?
-                ((ResourceMethodInvoker) inflector).getResponseFilters() : null);
+        return inflector instanceof ResourceMethodInvoker ?
+                ((ResourceMethodInvoker) inflector).getSortedResponseFilters() : null;
     }
 
     /**
@@ -369,10 +366,6 @@ public class ContainerRequest extends InboundMessageContext
         return uriRoutingContext.getInflector();
     }
 
-    private static <T> Iterable<T> emptyIfNull(Iterable<T> iterable) {
-        return iterable == null ? Collections.<T>emptyList() : iterable;
-    }
-
     /**
      * Get base request URI.
      *
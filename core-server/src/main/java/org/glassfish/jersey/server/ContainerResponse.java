@@ -415,10 +415,12 @@ public class ContainerResponse implements ContainerResponseContext {
     }
 
     /**
-     * Returns {@code true} if the response entity is a {@link ChunkedOutput} instance.
-     * @return {@code true} if the entity is a {@link ChunkedOutput} instance, {@code false} otherwise.
+     * Returns {@code true} if the response entity is a {@link ChunkedOutput} instance or a {@link Flow.Publisher publisher}
+     * (publishers are written as chunked output).
+     * @return {@code true} if the entity is a {@link ChunkedOutput} instance or a publisher, {@code false} otherwise.
      */
     public boolean isChunked() {
-        return hasEntity() && ChunkedOutput.class.isAssignableFrom(getEntity().getClass());
+        return hasEntity() && (ChunkedOutput.class.isAssignableFrom(getEntity().getClass())
+                || PublisherResponseWriter.isPublisher(getEntity().getClass()));
     }
 }
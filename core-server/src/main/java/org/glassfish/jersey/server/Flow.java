@@ -0,0 +1,308 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.ws.rs.ProcessingException;
+
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * Interfaces of demand-driven streams of items, where a {@link Publisher publisher} produces items consumed by
+ * a {@link Subscriber subscriber} at the rate requested by the subscriber through its {@link Subscription subscription}.
+ * <p>
+ * The interfaces are equivalent to the interfaces of the <a href="http://www.reactive-streams.org">Reactive Streams</a>
+ * specification. Reactive Streams publishers (e.g. RxJava {@code Observable} converted to a publisher) are adapted
+ * to a {@link Publisher} using {@link #fromReactiveStreams(Object)}; Reactive Streams publishers returned as response
+ * entities are adapted automatically. Reactive Streams is not a dependency of Jersey, the adapter accesses
+ * the Reactive Streams interfaces reflectively.
+ * </p>
+ * <p>
+ * A resource method may return a {@link Publisher} as the response entity. Jersey subscribes to the publisher
+ * and requests the next item only after the previous one has been written to the container, so that a slow client
+ * slows down the producer instead of making Jersey buffer the produced items. Depending on the response media type,
+ * the items are written as a JSON array ({@code application/json}), as server-sent events ({@code text/event-stream})
+ * or one after another (any other media type). Each item is serialized using a {@link javax.ws.rs.ext.MessageBodyWriter}
+ * selected for the item type.
+ * </p>
+ *
+ * @since 2.15
+ */
+public final class Flow {
+
+    /**
+     * Producer of items consumed by subscribers.
+     *
+     * @param <T> item type.
+     */
+    public static interface Publisher<T> {
+
+        /**
+         * Request the publisher to start streaming items to the subscriber.
+         * <p>
+         * The publisher invokes {@link Subscriber#onSubscribe(Subscription)} and then sends items to the subscriber
+         * only as requested using the {@link Subscription#request(long) subscription}.
+         * </p>
+         *
+         * @param subscriber subscriber that will consume the items.
+         */
+        public void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * Consumer of the items produced by a publisher.
+     * <p>
+     * Signals of a subscription are invoked serially, never concurrently.
+     * </p>
+     *
+     * @param <T> item type.
+     */
+    public static interface Subscriber<T> {
+
+        /**
+         * Invoked before any other signal of a new subscription. No items are sent until
+         * {@link Subscription#request(long)} is invoked.
+         *
+         * @param subscription new subscription.
+         */
+        public void onSubscribe(Subscription subscription);
+
+        /**
+         * Next item of the subscription.
+         *
+         * @param item next item.
+         */
+        public void onNext(T item);
+
+        /**
+         * Terminal signal of a subscription failed with an unrecoverable error.
+         *
+         * @param throwable failure.
+         */
+        public void onError(Throwable throwable);
+
+        /**
+         * Terminal signal of a successfully completed subscription.
+         */
+        public void onComplete();
+    }
+
+    /**
+     * Link between a publisher and a subscriber.
+     */
+    public static interface Subscription {
+
+        /**
+         * Add {@code n} items to the current unfulfilled demand of the subscription.
+         *
+         * @param n number of requested items, must be positive.
+         */
+        public void request(long n);
+
+        /**
+         * Request the publisher to stop sending items. Some items may still be sent to the subscriber
+         * after the subscription is cancelled.
+         */
+        public void cancel();
+    }
+
+    private static final String RS_PUBLISHER = "org.reactivestreams.Publisher";
+    private static final String RS_SUBSCRIBER = "org.reactivestreams.Subscriber";
+    private static final String RS_SUBSCRIPTION = "org.reactivestreams.Subscription";
+
+    /**
+     * Adapt a <a href="http://www.reactive-streams.org">Reactive Streams</a> {@code org.reactivestreams.Publisher}
+     * to a {@link Publisher}.
+     * <p>
+     * Subscribers of the returned publisher are subscribed to the Reactive Streams publisher and receive all its signals.
+     * </p>
+     *
+     * @param publisher instance of {@code org.reactivestreams.Publisher}.
+     * @param <T>       item type.
+     * @return publisher delegating to the Reactive Streams publisher.
+     * @throws IllegalArgumentException if the given instance is not a Reactive Streams publisher.
+     */
+    public static <T> Publisher<T> fromReactiveStreams(final Object publisher) {
+        final Class<?> publisherInterface = findInterface(publisher.getClass(), RS_PUBLISHER);
+        if (publisherInterface == null) {
+            throw new IllegalArgumentException(LocalizationMessages.PUBLISHER_NOT_REACTIVE_STREAMS(publisher.getClass()));
+        }
+
+        return new Publisher<T>() {
+            @Override
+            public void subscribe(final Subscriber<? super T> subscriber) {
+                final ClassLoader loader = publisherInterface.getClassLoader();
+                try {
+                    final Class<?> subscriberInterface = Class.forName(RS_SUBSCRIBER, false, loader);
+                    final Object adapter = Proxy.newProxyInstance(loader, new Class<?>[] {subscriberInterface},
+                            new SubscriberHandler<>(subscriber));
+
+                    publisherInterface.getMethod("subscribe", subscriberInterface).invoke(publisher, adapter);
+                } catch (final InvocationTargetException e) {
+                    throw rethrow(e.getCause(), publisher);
+                } catch (final ReflectiveOperationException e) {
+                    throw new ProcessingException(LocalizationMessages.PUBLISHER_REFLECTION_FAILED(publisher), e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Check whether the given type implements the Reactive Streams {@code org.reactivestreams.Publisher} interface.
+     *
+     * @param type checked type.
+     * @return {@code true} if the type is a Reactive Streams publisher.
+     */
+    static boolean isReactiveStreamsPublisher(final Class<?> type) {
+        return findInterface(type, RS_PUBLISHER) != null;
+    }
+
+    private static Class<?> findInterface(final Class<?> type, final String name) {
+        if (type == null) {
+            return null;
+        } else if (type.isInterface() && type.getName().equals(name)) {
+            return type;
+        }
+        for (final Class<?> implemented : type.getInterfaces()) {
+            final Class<?> found = findInterface(implemented, name);
+            if (found != null) {
+                return found;
+            }
+        }
+        return findInterface(type.getSuperclass(), name);
+    }
+
+    private static RuntimeException rethrow(final Throwable cause, final Object publisher) {
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new ProcessingException(LocalizationMessages.PUBLISHER_REFLECTION_FAILED(publisher), cause);
+    }
+
+    /**
+     * Handler of the {@code org.reactivestreams.Subscriber} proxy forwarding the signals to a {@link Subscriber}.
+     */
+    private static final class SubscriberHandler<T> implements InvocationHandler {
+
+        private final Subscriber<? super T> subscriber;
+
+        private SubscriberHandler(final Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "onSubscribe":
+                    subscriber.onSubscribe(new ReactiveStreamsSubscription(args[0]));
+                    return null;
+                case "onNext":
+                    subscriber.onNext((T) args[0]);
+                    return null;
+                case "onError":
+                    subscriber.onError((Throwable) args[0]);
+                    return null;
+                case "onComplete":
+                    subscriber.onComplete();
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return subscriber.toString();
+                default:
+                    throw new UnsupportedOperationException(method.toString());
+            }
+        }
+    }
+
+    /**
+     * {@link Subscription} delegating to an {@code org.reactivestreams.Subscription}.
+     */
+    private static final class ReactiveStreamsSubscription implements Subscription {
+
+        private final Object subscription;
+        private final Method request;
+        private final Method cancel;
+
+        private ReactiveStreamsSubscription(final Object subscription) {
+            final Class<?> subscriptionInterface = findInterface(subscription.getClass(), RS_SUBSCRIPTION);
+            try {
+                this.subscription = subscription;
+                this.request = subscriptionInterface.getMethod("request", long.class);
+                this.cancel = subscriptionInterface.getMethod("cancel");
+            } catch (final NoSuchMethodException e) {
+                throw new ProcessingException(LocalizationMessages.PUBLISHER_REFLECTION_FAILED(subscription), e);
+            }
+        }
+
+        @Override
+        public void request(final long n) {
+            invoke(request, n);
+        }
+
+        @Override
+        public void cancel() {
+            invoke(cancel);
+        }
+
+        private void invoke(final Method method, final Object... args) {
+            try {
+                method.invoke(subscription, args);
+            } catch (final InvocationTargetException e) {
+                throw rethrow(e.getCause(), subscription);
+            } catch (final IllegalAccessException e) {
+                throw new ProcessingException(LocalizationMessages.PUBLISHER_REFLECTION_FAILED(subscription), e);
+            }
+        }
+    }
+
+    private Flow() {
+        // prevents instantiation
+    }
+}
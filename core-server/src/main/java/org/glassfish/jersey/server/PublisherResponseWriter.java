@@ -0,0 +1,447 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ConnectionCallback;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.WriterInterceptor;
+
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.process.internal.RequestScope;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.internal.process.AsyncContext;
+
+/**
+ * Used for writing {@link Flow.Publisher publishers} returned as response entities.
+ * <p>
+ * Publishers are not written by the thread writing the response. The server runtime replaces the publisher with
+ * a {@link ChunkedOutput chunked output} that subscribes to the publisher once the response is ready to be written
+ * and writes the items as chunks in the thread that publishes them. The writer requests one item at a time; the next
+ * item is requested only after the previous one has been serialized and written to the container, so that the item
+ * production is driven by the rate at which the container accepts the written data. The response is completed once
+ * the publisher completes.
+ * </p>
+ * <p>
+ * Publishers implementing the <a href="http://www.reactive-streams.org">Reactive Streams</a> {@code Publisher} interface
+ * are written as well, they are {@link Flow#fromReactiveStreams(Object) adapted} to {@link Flow.Publisher}.
+ * If the publisher does not send the next item (or completes) within the
+ * {@value org.glassfish.jersey.server.ServerProperties#PUBLISHER_ITEM_TIMEOUT configured timeout}, if it fails
+ * or if writing an item fails, the subscription is cancelled and the response is closed.
+ * </p>
+ *
+ * @see Flow
+ * @since 2.15
+ */
+public final class PublisherResponseWriter implements MessageBodyWriter<Object> {
+
+    private static final Logger LOGGER = Logger.getLogger(PublisherResponseWriter.class.getName());
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final MediaType SERVER_SENT_EVENTS_TYPE = new MediaType("text", "event-stream");
+    private static final long DEFAULT_ITEM_TIMEOUT = 60000;
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                               final MediaType mediaType) {
+        return isPublisher(type);
+    }
+
+    @Override
+    public long getSize(final Object publisher, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final Object publisher, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream)
+            throws IOException, WebApplicationException {
+        // do nothing, the items are written by the chunked output the publisher has been replaced with.
+    }
+
+    /**
+     * Check whether instances of the given type are written as publishers.
+     *
+     * @param type entity type.
+     * @return {@code true} if the type is a {@link Flow.Publisher} or a Reactive Streams publisher.
+     */
+    static boolean isPublisher(final Class<?> type) {
+        return Flow.Publisher.class.isAssignableFrom(type) || Flow.isReactiveStreamsPublisher(type);
+    }
+
+    /**
+     * Create a chunked output writing the items of the given publisher.
+     *
+     * @param publisher     publisher returned as a response entity.
+     * @param genericType   generic type of the response entity.
+     * @param configuration server runtime configuration.
+     * @return chunked output subscribing to the publisher once it is ready to write the items.
+     */
+    static ChunkedOutput<byte[]> toChunkedOutput(final Object publisher, final Type genericType,
+                                                 final Configuration configuration) {
+        final Flow.Publisher<?> flowPublisher = publisher instanceof Flow.Publisher
+                ? (Flow.Publisher<?>) publisher : Flow.fromReactiveStreams(publisher);
+        final long timeout = ServerProperties.getValue(configuration.getProperties(),
+                ServerProperties.PUBLISHER_ITEM_TIMEOUT, DEFAULT_ITEM_TIMEOUT, Long.class);
+
+        return new PublisherOutput(flowPublisher, getItemType(genericType), timeout);
+    }
+
+    private static byte[] serialize(final ContainerRequest request, final Object item, final Type itemType,
+                                    final Annotation[] annotations, final MediaType itemMediaType) throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final OutputStream written = request.getWorkers().writeTo(
+                item,
+                item.getClass(),
+                itemType == null ? item.getClass() : itemType,
+                annotations,
+                itemMediaType,
+                new MultivaluedHashMap<String, Object>(),
+                request.getPropertiesDelegate(),
+                buffer,
+                // The entity stream is already intercepted as a whole (if there are any interceptors);
+                // no need to intercept the individual items.
+                Collections.<WriterInterceptor>emptyList());
+        written.flush();
+        return buffer.toByteArray();
+    }
+
+    private static Type getItemType(final Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            final Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+            if (argument instanceof Class || argument instanceof ParameterizedType) {
+                return argument;
+            }
+        }
+        // resolved from the item class
+        return null;
+    }
+
+    /**
+     * Framing of the items in the entity stream.
+     */
+    private static class Framing {
+
+        private final byte[] start;
+        private final byte[] separator;
+        private final byte[] end;
+
+        private Framing(final String start, final String separator, final String end) {
+            this.start = start.getBytes(UTF8);
+            this.separator = separator.getBytes(UTF8);
+            this.end = end.getBytes(UTF8);
+        }
+
+        static Framing of(final MediaType mediaType) {
+            if (mediaType.isCompatible(SERVER_SENT_EVENTS_TYPE)) {
+                return new ServerSentEventsFraming();
+            } else if (mediaType.getSubtype().equals("json") || mediaType.getSubtype().endsWith("+json")) {
+                // JSON array of the items
+                return new Framing("[", ",", "]");
+            } else {
+                // items written one after another
+                return new Framing("", "", "");
+            }
+        }
+
+        MediaType itemMediaType(final MessageBodyWorkers workers, final Object item, final Type itemType,
+                                final Annotation[] annotations, final MediaType mediaType) {
+            return mediaType;
+        }
+
+        void writeItem(final byte[] item, final OutputStream out) throws IOException {
+            out.write(item);
+        }
+    }
+
+    /**
+     * Items written as {@code data} fields of server-sent events.
+     */
+    private static final class ServerSentEventsFraming extends Framing {
+
+        private static final byte[] DATA = "data: ".getBytes(UTF8);
+        private static final byte[] EOL = "\n".getBytes(UTF8);
+
+        private ServerSentEventsFraming() {
+            super("", "", "");
+        }
+
+        @Override
+        MediaType itemMediaType(final MessageBodyWorkers workers, final Object item, final Type itemType,
+                                final Annotation[] annotations, final MediaType mediaType) {
+            final boolean json = workers.getMessageBodyWriter(item.getClass(), itemType == null ? item.getClass() : itemType,
+                    annotations, MediaType.APPLICATION_JSON_TYPE) != null;
+            return json ? MediaType.APPLICATION_JSON_TYPE : MediaType.TEXT_PLAIN_TYPE;
+        }
+
+        @Override
+        void writeItem(final byte[] item, final OutputStream out) throws IOException {
+            // every line of the data is sent in a separate data field; CR, LF and CRLF terminate a line
+            // and the terminator of the last line does not start another (empty) data field
+            int lineStart = 0;
+            do {
+                int lineEnd = lineStart;
+                while (lineEnd < item.length && item[lineEnd] != '\n' && item[lineEnd] != '\r') {
+                    lineEnd++;
+                }
+                out.write(DATA);
+                out.write(item, lineStart, lineEnd - lineStart);
+                out.write(EOL);
+
+                lineStart = lineEnd + 1;
+                if (lineStart < item.length && item[lineEnd] == '\r' && item[lineStart] == '\n') {
+                    lineStart++;
+                }
+            } while (lineStart < item.length);
+            // empty line dispatches the event
+            out.write(EOL);
+        }
+    }
+
+    /**
+     * Chunked output subscribed to a publisher, writing the published items as chunks.
+     */
+    private static final class PublisherOutput extends ChunkedOutput<byte[]> implements Flow.Subscriber<Object> {
+
+        private final Flow.Publisher<?> publisher;
+        private final Type itemType;
+        private final long timeout;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private volatile RequestScope requestScope;
+        private volatile RequestScope.Instance requestScopeInstance;
+        private volatile ContainerRequest request;
+        private volatile MediaType mediaType;
+        private volatile Annotation[] annotations;
+        private volatile Framing framing;
+        private volatile ScheduledExecutorService scheduler;
+        private volatile Flow.Subscription subscription;
+        private volatile ScheduledFuture<?> timeoutFuture;
+        // items are signalled one after another, no need for synchronization
+        private boolean first = true;
+
+        private PublisherOutput(final Flow.Publisher<?> publisher, final Type itemType, final long timeout) {
+            super(byte[].class);
+            this.publisher = publisher;
+            this.itemType = itemType;
+            this.timeout = timeout;
+        }
+
+        @Override
+        void setContext(final RequestScope requestScope,
+                        final RequestScope.Instance requestScopeInstance,
+                        final ContainerRequest requestContext,
+                        final ContainerResponse responseContext,
+                        final ConnectionCallback connectionCallbackRunner,
+                        final Value<AsyncContext> asyncContext,
+                        final ScheduledExecutorService scheduler) throws IOException {
+            this.requestScope = requestScope;
+            this.requestScopeInstance = requestScopeInstance;
+            this.request = requestContext;
+            this.mediaType = responseContext.getMediaType();
+            this.annotations = responseContext.getEntityAnnotations();
+            this.framing = Framing.of(mediaType);
+            this.scheduler = scheduler;
+            super.setContext(requestScope, requestScopeInstance, requestContext, responseContext, connectionCallbackRunner,
+                    asyncContext, scheduler);
+
+            writeFraming(framing.start);
+            scheduleTimeout();
+            try {
+                publisher.subscribe(this);
+            } catch (final RuntimeException e) {
+                fail(Level.WARNING, LocalizationMessages.PUBLISHER_FAILED(), e);
+            }
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (done.get()) {
+                // writing has been given up before the subscription arrived
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(final Object item) {
+            cancelTimeout();
+            if (done.get()) {
+                return;
+            }
+
+            final Flow.Subscription current = subscription;
+            if (current == null) {
+                // item sent without a preceding onSubscribe signal
+                fail(Level.WARNING, LocalizationMessages.PUBLISHER_NOT_SUBSCRIBED(), null);
+                return;
+            }
+
+            try {
+                final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+                if (!first) {
+                    chunk.write(framing.separator);
+                }
+                first = false;
+                framing.writeItem(serializeInScope(item), chunk);
+
+                // returns once the chunk has been written to the container
+                write(chunk.toByteArray());
+            } catch (final Exception e) {
+                // the client may have closed the connection, other failures are not expected
+                fail(e instanceof IOException ? Level.FINE : Level.WARNING,
+                        LocalizationMessages.ERROR_WRITING_RESPONSE_ENTITY_CHUNK(), e);
+                return;
+            }
+
+            scheduleTimeout();
+            current.request(1);
+        }
+
+        private byte[] serializeInScope(final Object item) throws Exception {
+            return requestScope.runInScope(requestScopeInstance, new Callable<byte[]>() {
+                @Override
+                public byte[] call() throws IOException {
+                    return serialize(request, item, itemType, annotations, framing.itemMediaType(
+                            request.getWorkers(), item, itemType, annotations, mediaType));
+                }
+            });
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            cancelTimeout();
+            if (done.compareAndSet(false, true)) {
+                LOGGER.log(Level.WARNING, LocalizationMessages.PUBLISHER_FAILED(), throwable);
+                closeQuietly();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            cancelTimeout();
+            if (done.compareAndSet(false, true)) {
+                try {
+                    writeFraming(framing.end);
+                } catch (final IOException e) {
+                    LOGGER.log(Level.FINE, LocalizationMessages.ERROR_WRITING_RESPONSE_ENTITY_CHUNK(), e);
+                }
+                closeQuietly();
+            }
+        }
+
+        private void writeFraming(final byte[] bytes) throws IOException {
+            if (bytes.length > 0) {
+                write(bytes);
+            }
+        }
+
+        /**
+         * Give up writing the items: cancel the subscription and close the response.
+         *
+         * @param level   log level of the failure.
+         * @param message failure message.
+         * @param cause   failure cause, may be {@code null}.
+         */
+        private void fail(final Level level, final String message, final Throwable cause) {
+            cancelTimeout();
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            LOGGER.log(level, message, cause);
+
+            final Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+            closeQuietly();
+        }
+
+        private void closeQuietly() {
+            try {
+                close();
+            } catch (final IOException e) {
+                LOGGER.log(Level.FINE, LocalizationMessages.ERROR_CLOSING_COMMIT_OUTPUT_STREAM(), e);
+            }
+        }
+
+        private void scheduleTimeout() {
+            if (timeout > 0 && scheduler != null) {
+                timeoutFuture = scheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        fail(Level.WARNING, LocalizationMessages.PUBLISHER_TIMEOUT(timeout), null);
+                    }
+                }, timeout, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void cancelTimeout() {
+            final ScheduledFuture<?> current = timeoutFuture;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+    }
+}
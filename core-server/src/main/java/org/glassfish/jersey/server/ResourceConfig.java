@@ -69,6 +69,7 @@ import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.scanning.AnnotationAcceptingListener;
 import org.glassfish.jersey.server.internal.scanning.FilesScanner;
 import org.glassfish.jersey.server.internal.scanning.PackageNamesScanner;
+import org.glassfish.jersey.server.internal.scanning.ResourceIndex;
 import org.glassfish.jersey.server.model.Resource;
 
 import org.glassfish.hk2.api.ServiceLocator;
@@ -653,6 +654,11 @@ public class ResourceConfig extends Application implements Configurable<Resource
 
     /**
      * Adds array of package names which will be used to scan for components.
+     * <p>
+     * If enabled via {@link ServerProperties#PROVIDER_SCANNING_INDEX} and a build-time generated
+     * {@link ResourceIndexProcessor resource index} is available, the classes of the packages are looked up in the index
+     * instead of being scanned.
+     * </p>
      *
      * @param recursive defines whether any nested packages in the collection of specified
      *                  package names should be recursively scanned (value of {@code true})
@@ -881,9 +887,19 @@ public class ResourceConfig extends Application implements Configurable<Resource
             rfs.add(new FilesScanner(classPathElements, true));
         }
 
+        final ResourceIndex index = PropertiesHelper.isProperty(getProperty(ServerProperties.PROVIDER_SCANNING_INDEX))
+                ? ResourceIndex.load(_state.getClassLoader()) : null;
+
         final AnnotationAcceptingListener afl =
                 AnnotationAcceptingListener.newJaxrsResourceAndProviderListener(_state.getClassLoader());
         for (final ResourceFinder resourceFinder : rfs) {
+            if (index != null && resourceFinder instanceof PackageNamesScanner) {
+                // build-time index replaces scanning of the package class files
+                final PackageNamesScanner scanner = (PackageNamesScanner) resourceFinder;
+                result.addAll(index.getClasses(scanner.getPackages(), scanner.isRecursive()));
+                continue;
+            }
+
             while (resourceFinder.hasNext()) {
                 final String next = resourceFinder.next();
                 if (afl.accept(next)) {
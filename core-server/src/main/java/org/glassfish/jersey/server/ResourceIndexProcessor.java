@@ -0,0 +1,202 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.glassfish.jersey.server.internal.scanning.ResourceIndex;
+
+/**
+ * Annotation processor that generates the index of JAX-RS resource and provider classes at compile time.
+ * <p>
+ * The processor writes fully qualified names of all public (or public static nested) classes annotated with
+ * {@link javax.ws.rs.Path &#64;Path} or {@link javax.ws.rs.ext.Provider &#64;Provider} into
+ * the <tt>{@value org.glassfish.jersey.server.internal.scanning.ResourceIndex#RESOURCE_NAME}</tt> class output resource.
+ * At runtime, {@link ResourceConfig#packages(boolean, String...) package scanning} looks the classes up in the index
+ * instead of opening and parsing every class file of the configured packages
+ * (see {@link ServerProperties#PROVIDER_SCANNING_INDEX}).
+ * </p>
+ * <p>
+ * The processor is not registered automatically. To generate the index, add the processor to the compilation
+ * of the application classes, e.g. using the {@code -processor org.glassfish.jersey.server.ResourceIndexProcessor}
+ * {@code javac} option or the {@code annotationProcessors} configuration of the Maven compiler plugin.
+ * </p>
+ * <p>
+ * An index already present in the class output (e.g. in case of an incremental compilation) is merged with the classes
+ * found in the current compilation. Classes of the existing index that are compiled again (and are no longer
+ * annotated) or that do not exist anymore are removed from the index.
+ * </p>
+ *
+ * @since 2.15
+ */
+@SupportedAnnotationTypes({"javax.ws.rs.Path", "javax.ws.rs.ext.Provider"})
+public class ResourceIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> classNames = new TreeSet<>();
+    private final Set<String> compiledClassNames = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            addCompiled(type);
+        }
+
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind().isClass() || element.getKind() == ElementKind.INTERFACE) {
+                    final TypeElement type = (TypeElement) element;
+                    if (isScoped(type)) {
+                        classNames.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+                    }
+                }
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+
+        // do not claim the annotations, other processors may be interested in them as well
+        return false;
+    }
+
+    /**
+     * Check that the class would be accepted by class path scanning, i.e. that it is a public top-level class
+     * or a public static nested class.
+     */
+    private static boolean isScoped(final TypeElement type) {
+        if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+            return false;
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER) {
+            return (type.getModifiers().contains(Modifier.STATIC) || type.getKind() == ElementKind.INTERFACE)
+                    && isScoped((TypeElement) type.getEnclosingElement());
+        }
+        return type.getNestingKind() == NestingKind.TOP_LEVEL;
+    }
+
+    private void addCompiled(final TypeElement type) {
+        compiledClassNames.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        for (final TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            addCompiled(nested);
+        }
+    }
+
+    /**
+     * Add the classes of the index already present in the class output that are neither compiled in the current
+     * compilation nor removed.
+     */
+    private void mergeExistingIndex() {
+        final Set<String> existing = new TreeSet<>();
+        try {
+            final FileObject index = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", ResourceIndex.RESOURCE_NAME);
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(index.openInputStream(), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && line.charAt(0) != '#') {
+                        existing.add(line);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (final IOException e) {
+            // no index generated by a previous compilation
+            return;
+        }
+
+        for (final String className : existing) {
+            if (!compiledClassNames.contains(className)
+                    && processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null) {
+                classNames.add(className);
+            }
+        }
+    }
+
+    private void writeIndex() {
+        mergeExistingIndex();
+        try {
+            final FileObject index = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", ResourceIndex.RESOURCE_NAME);
+            final Writer writer = new OutputStreamWriter(index.openOutputStream(), "UTF-8");
+            try {
+                writer.write("# JAX-RS resource and provider classes, generated by " + getClass().getName() + "\n");
+                for (final String className : classNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + ResourceIndex.RESOURCE_NAME + ": " + e.getMessage());
+        }
+    }
+}
@@ -115,6 +115,9 @@ class ServerBinder extends AbstractBinder {
         //ChunkedResponseWriter
         bind(ChunkedResponseWriter.class).to(MessageBodyWriter.class).in(Singleton.class);
 
+        // PublisherResponseWriter
+        bind(PublisherResponseWriter.class).to(MessageBodyWriter.class).in(Singleton.class);
+
         // JSONP
         bind(JsonWithPaddingInterceptor.class).to(WriterInterceptor.class).in(Singleton.class);
     }
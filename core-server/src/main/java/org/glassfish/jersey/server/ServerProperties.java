@@ -105,6 +105,34 @@ public final class ServerProperties {
      */
     public static final String PROVIDER_SCANNING_RECURSIVE = "jersey.config.server.provider.scanning.recursive";
 
+    /**
+     * If {@code true}, package scanning uses the build-time generated resource index, if present,
+     * instead of scanning class files of the configured packages.
+     * <p>
+     * The index is stored in the <tt>{@value org.glassfish.jersey.server.internal.scanning.ResourceIndex#RESOURCE_NAME}</tt>
+     * class path resources that are generated at compile time by the {@link ResourceIndexProcessor} annotation
+     * processor. When at least one index is found by the application class loader, classes of the
+     * {@link #PROVIDER_PACKAGES provided packages} (and of packages registered via
+     * {@link ResourceConfig#packages(String...)}) are looked up in the indexes only. Enable the property only if all
+     * the class path elements that contain classes of the scanned packages contain an index as well - classes of
+     * class path elements without an index are not found.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@code Boolean} type or a {@code String} convertible
+     * to {@code Boolean} type.
+     * </p>
+     * <p>
+     * A default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #PROVIDER_PACKAGES
+     * @since 2.15
+     */
+    public static final String PROVIDER_SCANNING_INDEX = "jersey.config.server.provider.scanning.index";
+
     /**
      * Defines class-path that contains application-specific resources and
      * providers.
@@ -346,6 +374,95 @@ public final class ServerProperties {
     @PropertyAlias
     public static final String OUTBOUND_CONTENT_LENGTH_BUFFER = CommonProperties.OUTBOUND_CONTENT_LENGTH_BUFFER_SERVER;
 
+    /**
+     * An integer value that defines the maximal number of bytes of a request entity read by the container in a non-blocking
+     * way before the request is handed over to the application.
+     * <p>
+     * If set to a positive value, containers that support non-blocking reads of the request entity (Grizzly HTTP
+     * container and Servlet 3.1 containers) do not occupy a worker thread while the request entity is being received.
+     * The request is processed (i.e. the resource method is invoked) only once the entity has been fully received or once
+     * the number of the buffered entity bytes reaches the configured value. In the latter case the rest of the entity is read
+     * as the application consumes the entity stream. Requests without an entity are processed immediately. Containers
+     * that do not support non-blocking reads ignore the property.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@code Integer} type or a {@code String} convertible
+     * to {@code Integer} type.
+     * </p>
+     * <p>
+     * The default value is {@code 0} (the request entity is read by the application in a blocking way).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public static final String INBOUND_ENTITY_NON_BLOCKING_BUFFER = "jersey.config.server.inbound.nonBlockingBuffer";
+
+    /**
+     * A long value that defines the maximal time in milliseconds a container waits for the request entity read in
+     * a {@link #INBOUND_ENTITY_NON_BLOCKING_BUFFER non-blocking way} before the request is handed over to the application.
+     * <p>
+     * If the buffered part of the entity is not received within the timeout, the request is not processed and
+     * the container responds with {@code 408 Request Timeout} status. A value of zero or less means no timeout.
+     * The timeout is supported by the Grizzly HTTP container.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@code Long} type or a {@code String} convertible
+     * to {@code Long} type.
+     * </p>
+     * <p>
+     * The default value is {@code 60000} (one minute).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public static final String INBOUND_ENTITY_NON_BLOCKING_TIMEOUT = "jersey.config.server.inbound.nonBlockingTimeout";
+
+    /**
+     * A long value that defines the maximal time in milliseconds to wait for the next item (or for the completion)
+     * of a {@link org.glassfish.jersey.server.Flow.Publisher publisher} returned as a response entity.
+     * <p>
+     * If the publisher does not send any signal within the timeout, the subscription is cancelled and the response
+     * is closed. A value of zero or less means no timeout.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@code Long} type or a {@code String} convertible
+     * to {@code Long} type.
+     * </p>
+     * <p>
+     * The default value is {@code 60000} (one minute).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public static final String PUBLISHER_ITEM_TIMEOUT = "jersey.config.server.publisher.itemTimeout";
+
+    /**
+     * If {@code true} then requests with the {@code Cache-Control: no-cache} header bypass the lookup in the
+     * {@link org.glassfish.jersey.server.cache.ResponseCache response cache} and refresh the cached response.
+     * <p>
+     * If set to {@code false}, the request directive is ignored and such requests are served from the cache as well,
+     * so that clients cannot force the (possibly expensive) resource methods to be invoked.
+     * </p>
+     * <p>
+     * The default value is {@code true}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public static final String RESPONSE_CACHE_NO_CACHE_BYPASS = "jersey.config.server.responseCache.noCacheBypass";
+
     /**
      * If {@code true} then disable configuration of Json Processing (JSR-353) feature on server.
      *
@@ -446,6 +563,155 @@ public final class ServerProperties {
     public static final String RESOURCE_VALIDATION_IGNORE_ERRORS =
             "jersey.config.server.resource.validation.ignoreErrors";
 
+    /**
+     * Path of a file holding a snapshot of the validated application resource model.
+     * <p>
+     * If set, a fingerprint of the application resource model, registered classes and configuration properties is
+     * recorded in the file once the resource model has been validated without any issue. If the fingerprint of
+     * the resource model built on a later application start matches the recorded one, the resource model validation
+     * is skipped. A snapshot that does not match (e.g. because the application classes or configuration have changed)
+     * is ignored and overwritten once the new resource model is successfully validated.
+     * </p>
+     * <p>
+     * The property is ignored if the resource model validation is {@link #RESOURCE_VALIDATION_DISABLE disabled}.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@link String}.
+     * </p>
+     * <p>
+     * A default value is not set.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public static final String RESOURCE_MODEL_SNAPSHOT = "jersey.config.server.resource.model.snapshot";
+
+    /**
+     * Minimal size of a response entity in bytes that is compressed by the
+     * {@link org.glassfish.jersey.server.filter.EncodingFilter encoding filter}.
+     * <p>
+     * Smaller entities are sent without any content encoding. The entity size is determined from the
+     * {@code Content-Length} response header, if set, or from the entity itself if the entity is a {@code byte[]}
+     * or a {@link java.io.File}. Otherwise the beginning of the serialized entity is buffered until it reaches the minimal
+     * size. Entities written as {@link org.glassfish.jersey.server.ChunkedOutput chunks} and entities sent to clients
+     * that do not accept the identity encoding are always compressed.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@code Integer} type or a {@code String} convertible
+     * to {@code Integer} type.
+     * </p>
+     * <p>
+     * The default value is {@code 0} (all entities are compressed).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public static final String ENCODING_MIN_SIZE = "jersey.config.server.encoding.minSize";
+
+    /**
+     * Media types of response entities that are compressed by the
+     * {@link org.glassfish.jersey.server.filter.EncodingFilter encoding filter}.
+     * <p>
+     * If set, only entities whose media type is compatible with one of the listed media types are compressed.
+     * Wildcard media types (e.g. {@code text/*}) are supported.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@link String} or {@code String[]} array. Each {@code String}
+     * instance represents one or more media types separated by commas or white spaces.
+     * </p>
+     * <p>
+     * A default value is not set (entities of all media types are compressed).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #ENCODING_MEDIA_TYPES_EXCLUDE
+     * @since 2.15
+     */
+    public static final String ENCODING_MEDIA_TYPES_INCLUDE = "jersey.config.server.encoding.mediaTypes.include";
+
+    /**
+     * Media types of response entities that are never compressed by the
+     * {@link org.glassfish.jersey.server.filter.EncodingFilter encoding filter}, typically media types
+     * of already compressed content such as {@code image/*} or {@code application/zip}.
+     * <p>
+     * Exclusions take precedence over {@link #ENCODING_MEDIA_TYPES_INCLUDE inclusions}. Wildcard media types
+     * are supported.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@link String} or {@code String[]} array. Each {@code String}
+     * instance represents one or more media types separated by commas or white spaces.
+     * </p>
+     * <p>
+     * A default value is not set.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #ENCODING_MEDIA_TYPES_INCLUDE
+     * @since 2.15
+     */
+    public static final String ENCODING_MEDIA_TYPES_EXCLUDE = "jersey.config.server.encoding.mediaTypes.exclude";
+
+    /**
+     * Tick duration in milliseconds of the hashed timing wheel used by the Jersey runtime
+     * {@link org.glassfish.jersey.server.BackgroundScheduler background scheduler} to keep one-shot delayed tasks,
+     * such as the suspend timeouts of {@link javax.ws.rs.container.AsyncResponse asynchronous responses}.
+     * <p>
+     * If set to a positive value, one-shot delayed tasks submitted to the background scheduler are kept in a timing wheel
+     * where scheduling and cancelling a task is a constant time operation. A task is executed at most one tick later than
+     * its delay elapses. The timing wheel is useful for applications that keep very large numbers of suspended requests
+     * (e.g. long-polling endpoints), where the delay queue of the background scheduler and the cancellation of timeout
+     * tasks on each resumed request becomes a bottleneck. Periodic tasks are not affected.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@code Integer} type or a {@code String} convertible
+     * to {@code Integer} type.
+     * </p>
+     * <p>
+     * The default value is {@code 0} (the timing wheel is not used).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public static final String BACKGROUND_SCHEDULER_TIMING_WHEEL_TICK =
+            "jersey.config.server.backgroundScheduler.timingWheel.tick";
+
+    /**
+     * Maximal number of threads used to introspect registered resource classes and instances when an application
+     * is being initialized.
+     * <p>
+     * If set to a value greater than {@code 1}, registered classes and instances are introspected concurrently
+     * in a fork-join pool with the given parallelism. The pool is created only for the time of the application
+     * initialization. The resulting resource model as well as the reported model issues are the same as if the classes
+     * were introspected sequentially.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@code Integer} type or a {@code String} convertible
+     * to {@code Integer} type.
+     * </p>
+     * <p>
+     * The default value is {@code 1} (resources are introspected sequentially in the initializing thread).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.15
+     */
+    public static final String BOOTSTRAP_PARALLELISM = "jersey.config.server.bootstrap.parallelism";
+
     /**
      * If {@code true} then application monitoring will be enabled.
      *
@@ -560,6 +826,9 @@ public final class ServerProperties {
      *     <li>{@code OFF} - tracing support is disabled.</li>
      *     <li>{@code ON_DEMAND} - tracing support is in 'stand by' mode, it is enabled on demand by existence of request HTTP header</li>
      *     <li>{@code ALL} - tracing support is enabled for every request.</li>
+     *     <li>{@code SAMPLED} - tracing support is enabled for a sample of requests (see {@link #TRACING_SAMPLE_RATE}),
+     *     the traces are published to the registered {@link org.glassfish.jersey.server.monitoring.TraceListener trace
+     *     listeners} instead of the response headers.</li>
      * </ul>
      * Type of the property value is {@code String}. The default value is {@code "OFF"}.
      * </p>
@@ -595,6 +864,31 @@ public final class ServerProperties {
      */
     public static final String TRACING_THRESHOLD = "jersey.config.server.tracing.threshold";
 
+    /**
+     * Fraction of requests traced in the {@link org.glassfish.jersey.server.TracingConfig#SAMPLED sampled} tracing mode.
+     * <p>
+     * Sampled requests record their tracing events without formatting any messages and the completed traces are
+     * published to the registered {@link org.glassfish.jersey.server.monitoring.TraceListener trace listeners}.
+     * Together with the {@code SUMMARY} {@link #TRACING_THRESHOLD tracing threshold}, which is also the default threshold
+     * of the sampled tracing mode, this provides per-stage timings of the request processing at a low overhead.
+     * Tracing request headers are ignored in the sampled tracing mode.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@code Double} type or a {@code String} convertible
+     * to {@code Double} type, in the range from {@code 0.0} to {@code 1.0}.
+     * </p>
+     * <p>
+     * The default value is {@code 0.01} (1% of requests are traced).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #TRACING
+     * @since 2.15
+     */
+    public static final String TRACING_SAMPLE_RATE = "jersey.config.server.tracing.sampleRate";
+
     /**
      * Whenever response status is {@code 4xx} or {@code 5xx} it is possible to choose between {@code sendError} or
      * {@code setStatus} on container specific {@code Response} implementation. E.g. on servlet container Jersey
@@ -87,6 +87,7 @@ import org.glassfish.jersey.message.internal.MessageBodyProviderNotFoundExceptio
 import org.glassfish.jersey.message.internal.OutboundJaxrsResponse;
 import org.glassfish.jersey.message.internal.OutboundMessageContext;
 import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.model.internal.RankedComparator;
 import org.glassfish.jersey.process.internal.RequestExecutorFactory;
 import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.process.internal.Stage;
@@ -94,6 +95,7 @@ import org.glassfish.jersey.process.internal.Stages;
 import org.glassfish.jersey.server.internal.BackgroundScheduler;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
+import org.glassfish.jersey.server.internal.SampledTracingLogger;
 import org.glassfish.jersey.server.internal.ServerTraceEvent;
 import org.glassfish.jersey.server.internal.monitoring.EmptyRequestEventBuilder;
 import org.glassfish.jersey.server.internal.monitoring.RequestEventBuilder;
@@ -106,6 +108,7 @@ import org.glassfish.jersey.server.internal.routing.UriRoutingContext;
 import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.glassfish.jersey.server.monitoring.TraceListener;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.glassfish.jersey.server.spi.ExternalRequestContext;
 import org.glassfish.jersey.server.spi.ExternalRequestScope;
@@ -145,6 +148,7 @@ public class ServerRuntime {
 
     private final TracingConfig tracingConfig;
     private final TracingLogger.Level tracingThreshold;
+    private final SampledTracingLogger.Sampler tracingSampler;
 
     private final boolean processResponseErrors;
 
@@ -240,6 +244,12 @@ public class ServerRuntime {
 
         this.tracingConfig = TracingUtils.getTracingConfig(configuration);
         this.tracingThreshold = TracingUtils.getTracingThreshold(configuration);
+        this.tracingSampler = tracingConfig == TracingConfig.SAMPLED
+                ? new SampledTracingLogger.Sampler(
+                        ServerProperties.getValue(configuration.getProperties(), ServerProperties.TRACING_SAMPLE_RATE,
+                                0.01d, Double.class),
+                        Providers.getAllProviders(locator, TraceListener.class, new RankedComparator<TraceListener>()))
+                : null;
 
         this.processResponseErrors = PropertiesHelper.isProperty(
                 configuration.getProperty(ServerProperties.PROCESSING_RESPONSE_ERRORS_ENABLED));
@@ -251,7 +261,7 @@ public class ServerRuntime {
      * @param request container request to be processed.
      */
     public void process(final ContainerRequest request) {
-        TracingUtils.initTracingSupport(tracingConfig, tracingThreshold, request);
+        TracingUtils.initTracingSupport(tracingConfig, tracingThreshold, tracingSampler, request);
         TracingUtils.logStart(request);
 
         final UriRoutingContext routingContext = request.getUriRoutingContext();
@@ -637,6 +647,12 @@ public class ServerRuntime {
                 return response;
             }
 
+            if (PublisherResponseWriter.isPublisher(response.getEntity().getClass())) {
+                // items of the publisher are written as chunks once they are published, not by this thread
+                response.setEntity(PublisherResponseWriter.toChunkedOutput(response.getEntity(), response.getEntityType(),
+                        runtime.configuration), response.getEntityAnnotations());
+            }
+
             final Object entity = response.getEntity();
             boolean skipFinally = false;
 
@@ -714,7 +730,8 @@ public class ServerRuntime {
                                     request,
                                     response,
                                     connectionCallbackRunner,
-                                    processingContext.asyncContextValue());
+                                    processingContext.asyncContextValue(),
+                                    runtime.backgroundScheduler);
                         } catch (final IOException ex) {
                             LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_WRITING_RESPONSE_ENTITY_CHUNK(), ex);
                             close = true;
@@ -58,5 +58,14 @@ public enum TracingConfig {
     /**
      * Tracing support is enabled for every request.
      */
-    ALL
+    ALL,
+    /**
+     * Tracing support is enabled for a random sample of requests. Tracing events of the sampled requests are recorded
+     * without formatting any messages and published to the registered
+     * {@link org.glassfish.jersey.server.monitoring.TraceListener trace listeners} instead of the response headers.
+     *
+     * @see org.glassfish.jersey.server.ServerProperties#TRACING_SAMPLE_RATE
+     * @since 2.15
+     */
+    SAMPLED
 }
@@ -46,6 +46,7 @@ import javax.ws.rs.core.HttpHeaders;
 
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.server.internal.SampledTracingLogger;
 import org.glassfish.jersey.server.internal.ServerTraceEvent;
 
 import jersey.repackaged.com.google.common.collect.Lists;
@@ -83,8 +84,28 @@ public final class TracingUtils {
      *                         if tracing support is enabled for the request.
      */
     public static void initTracingSupport(TracingConfig type, TracingLogger.Level appThreshold, ContainerRequest containerRequest) {
+        initTracingSupport(type, appThreshold, null, containerRequest);
+    }
+
+    /**
+     * According to configuration/request header it initialize {@link TracingLogger} and put it to the request properties.
+     *
+     * @param type             application-wide tracing configuration type.
+     * @param appThreshold     application-wide tracing level threshold.
+     * @param sampler          sampler of the {@link TracingConfig#SAMPLED sampled} tracing mode, may be {@code null}
+     *                         for other tracing configuration types.
+     * @param containerRequest request instance to get runtime properties to store {@link TracingLogger} instance to
+     *                         if tracing support is enabled for the request.
+     * @since 2.15
+     */
+    public static void initTracingSupport(TracingConfig type,
+                                          TracingLogger.Level appThreshold,
+                                          SampledTracingLogger.Sampler sampler,
+                                          ContainerRequest containerRequest) {
         final TracingLogger tracingLogger;
-        if (isTracingSupportEnabled(type, containerRequest)) {
+        if (type == TracingConfig.SAMPLED && sampler != null) {
+            tracingLogger = sampler.createLogger(appThreshold, containerRequest);
+        } else if (isTracingSupportEnabled(type, containerRequest)) {
             tracingLogger = TracingLogger.create(
                     getTracingThreshold(appThreshold, containerRequest),
                     getTracingLoggerNameSuffix(containerRequest));
@@ -103,6 +124,11 @@ public final class TracingUtils {
      */
     public static void logStart(ContainerRequest request) {
         TracingLogger tracingLogger = TracingLogger.getInstance(request);
+        if (tracingLogger instanceof SampledTracingLogger) {
+            // sampled traces are structured, do not format the request details
+            tracingLogger.log(ServerTraceEvent.START);
+            return;
+        }
         if (tracingLogger.isLogEnabled(ServerTraceEvent.START)) {
             StringBuilder textSB = new StringBuilder();
             textSB.append(String.format("baseUri=[%s] requestUri=[%s] method=[%s] authScheme=[%s]",
@@ -183,7 +209,11 @@ public final class TracingUtils {
                 configuration.getProperties(),
                 ServerProperties.TRACING_THRESHOLD, String.class);
 
-        return (thresholdText == null) ? TracingLogger.DEFAULT_LEVEL : TracingLogger.Level.valueOf(thresholdText);
+        if (thresholdText == null) {
+            return getTracingConfig(configuration) == TracingConfig.SAMPLED
+                    ? TracingLogger.Level.SUMMARY : TracingLogger.DEFAULT_LEVEL;
+        }
+        return TracingLogger.Level.valueOf(thresholdText);
     }
 
     private static TracingLogger.Level getTracingThreshold(TracingLogger.Level appThreshold, ContainerRequest containerRequest) {
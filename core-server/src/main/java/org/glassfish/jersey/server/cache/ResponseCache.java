@@ -0,0 +1,254 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * In-memory cache of serialized responses of {@link ResponseCached cached} resource methods.
+ * <p>
+ * The cache is bounded by the total size of the cached entities; when the bound is exceeded the least recently used
+ * responses are evicted. Expired responses are removed when they are looked up. The cache instance of an application
+ * can be obtained from {@link ResponseCacheFeature#getCache()} or injected into the application components and used
+ * to invalidate responses whose underlying data have changed.
+ * </p>
+ *
+ * @since 2.15
+ */
+public final class ResponseCache {
+
+    private final long maxSize;
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Cached response. The headers are copied into unmodifiable lists, so the entry is not affected by (and cannot affect)
+     * the headers of the responses it is stored from or served to.
+     */
+    static final class Entry {
+
+        private final Class<?> resourceClass;
+        private final String path;
+        private final MultivaluedMap<String, Object> headers;
+        private final byte[] entity;
+        private final long expires;
+
+        Entry(final Class<?> resourceClass, final String path, final MultivaluedMap<String, Object> headers,
+              final byte[] entity, final long expires) {
+            this.resourceClass = resourceClass;
+            this.path = path;
+            this.headers = new MultivaluedHashMap<>();
+            for (final Map.Entry<String, List<Object>> header : headers.entrySet()) {
+                this.headers.put(header.getKey(), Collections.unmodifiableList(new ArrayList<>(header.getValue())));
+            }
+            this.entity = entity;
+            this.expires = expires;
+        }
+
+        MultivaluedMap<String, Object> getHeaders() {
+            return headers;
+        }
+
+        byte[] getEntity() {
+            return entity;
+        }
+
+        private long getSize() {
+            long entrySize = entity.length;
+            for (final Map.Entry<String, List<Object>> header : headers.entrySet()) {
+                for (final Object value : header.getValue()) {
+                    entrySize += header.getKey().length() + String.valueOf(value).length();
+                }
+            }
+            return entrySize;
+        }
+    }
+
+    /**
+     * Create a new response cache.
+     *
+     * @param maxSize maximal total size of the cached responses in bytes.
+     */
+    ResponseCache(final long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.RESPONSE_CACHE_SIZE_INVALID(maxSize));
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the maximal total size of the cached responses.
+     *
+     * @return maximal size of the cached responses in bytes.
+     */
+    long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the non-expired response cached under the key and update the hit and miss counters.
+     */
+    synchronized Entry get(final Object key, final long now) {
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.expires <= now) {
+            remove(key);
+        } else if (entry != null) {
+            hits.incrementAndGet();
+            return entry;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    synchronized void put(final Object key, final Entry entry) {
+        remove(key);
+
+        final long entrySize = entry.getSize();
+        if (entrySize > maxSize) {
+            return;
+        }
+        entries.put(key, entry);
+        size += entrySize;
+
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (size > maxSize) {
+            size -= iterator.next().getSize();
+            iterator.remove();
+        }
+    }
+
+    private void remove(final Object key) {
+        final Entry removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.getSize();
+        }
+    }
+
+    /**
+     * Remove all cached responses.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Remove all cached responses of the given request path.
+     *
+     * @param path request path relative to the application base URI, as returned by
+     *             {@link javax.ws.rs.core.UriInfo#getPath()}.
+     */
+    public synchronized void invalidate(final String path) {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (entry.path.equals(path)) {
+                size -= entry.getSize();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all cached responses produced by resource methods of the given resource class.
+     *
+     * @param resourceClass resource class.
+     */
+    public synchronized void invalidate(final Class<?> resourceClass) {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (entry.resourceClass == resourceClass) {
+                size -= entry.getSize();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Get the total size of the cached responses.
+     *
+     * @return size of the cached responses in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Get the number of the cached responses.
+     *
+     * @return number of the cached responses.
+     */
+    public synchronized int getCount() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of requests served from the cache.
+     *
+     * @return number of cache hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of requests to cached resource methods that had to be processed by the resource method.
+     *
+     * @return number of cache misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+}
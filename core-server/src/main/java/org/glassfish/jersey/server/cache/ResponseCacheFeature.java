@@ -0,0 +1,121 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.cache;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+/**
+ * Feature that enables the server-side cache of the responses of {@link ResponseCached cached} resource methods.
+ * <p>
+ * Responses of {@code GET} requests to the annotated resource methods are serialized (and encoded, if a content
+ * encoding is in use) once and then served from the in-memory {@link ResponseCache} without invoking the resource
+ * method, the request filters executed after the security filters and the entity providers, until the response
+ * expires or is invalidated. Only {@code 200 (OK)} responses with an entity are cached. Requests with
+ * {@code Cache-Control: no-cache} bypass the cache lookup and refresh the cached response, unless disabled by the
+ * {@value org.glassfish.jersey.server.ServerProperties#RESPONSE_CACHE_NO_CACHE_BYPASS} property.
+ * </p>
+ * <pre>
+ * ResponseCacheFeature cacheFeature = new ResponseCacheFeature(64 * 1024 * 1024);
+ * resourceConfig.register(cacheFeature);
+ *
+ * &#64;GET
+ * &#64;Path("{id}")
+ * &#64;ResponseCached(ttl = 30, queryParams = "fields")
+ * public Item getItem(@PathParam("id") String id, @QueryParam("fields") String fields) { ... }
+ * </pre>
+ * <p>
+ * The {@link ResponseCache} is also available for injection in the application.
+ * </p>
+ *
+ * @since 2.15
+ */
+public class ResponseCacheFeature implements Feature {
+
+    /**
+     * Default maximal size of the cached responses in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 16 * 1024 * 1024;
+
+    private final ResponseCache cache;
+
+    /**
+     * Create a new response cache feature with the {@link #DEFAULT_MAX_SIZE default} size bound.
+     */
+    public ResponseCacheFeature() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Create a new response cache feature.
+     *
+     * @param maxSize maximal total size of the cached responses in bytes.
+     */
+    public ResponseCacheFeature(final long maxSize) {
+        this.cache = new ResponseCache(maxSize);
+    }
+
+    /**
+     * Get the response cache.
+     *
+     * @return response cache.
+     */
+    public ResponseCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final boolean noCacheBypass = ServerProperties.getValue(context.getConfiguration().getProperties(),
+                ServerProperties.RESPONSE_CACHE_NO_CACHE_BYPASS, Boolean.TRUE, Boolean.class);
+        context.register(new ResponseCacheFilter(cache, noCacheBypass));
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(cache).to(ResponseCache.class);
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.server.model.Invocable;
+
+/**
+ * Filter serving the responses of {@link ResponseCached cached} resource methods from the {@link ResponseCache}.
+ * <p>
+ * The cache is looked up by a post-matching request filter running after the authentication and authorization filters.
+ * A cached response aborts the request processing, so that the remaining request filters and the resource method are
+ * not invoked. The cached bytes are written by the writer interceptor which does not proceed to the entity providers,
+ * so neither message body writers nor entity coders are invoked. Responses of cache misses are written through to the
+ * client and copied by the same interceptor, which is placed before the entity coders, so that the stored entity is
+ * already encoded. The copy is abandoned as soon as the entity exceeds the size bound of the cache.
+ * </p>
+ *
+ * @since 2.15
+ */
+@ResponseCached(ttl = 0)
+@Priority(Priorities.HEADER_DECORATOR - 100) // after security filters, before entity coders and entity tag computation
+class ResponseCacheFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final String PROPERTY_HIT = ResponseCacheFilter.class.getName() + ".hit";
+    private static final String PROPERTY_MISS = ResponseCacheFilter.class.getName() + ".miss";
+    private static final String PROPERTY_RESPONSE = ResponseCacheFilter.class.getName() + ".response";
+
+    private final ResponseCache cache;
+    private final boolean noCacheBypass;
+
+    /**
+     * Create a new response cache filter.
+     *
+     * @param cache         response cache.
+     * @param noCacheBypass if {@code true}, requests with {@code Cache-Control: no-cache} bypass the cache lookup.
+     */
+    ResponseCacheFilter(final ResponseCache cache, final boolean noCacheBypass) {
+        this.cache = cache;
+        this.noCacheBypass = noCacheBypass;
+    }
+
+    /**
+     * Request missing in the cache.
+     */
+    private static final class Miss {
+
+        private final CacheKey key;
+        private final Class<?> resourceClass;
+        private final String path;
+        private final long ttl;
+
+        private Miss(final CacheKey key, final Class<?> resourceClass, final String path, final long ttl) {
+            this.key = key;
+            this.resourceClass = resourceClass;
+            this.path = path;
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Key of a cached response.
+     */
+    private static final class CacheKey {
+
+        private final Method method;
+        private final String path;
+        private final List<Object> parts;
+
+        private CacheKey(final Method method, final String path, final List<Object> parts) {
+            this.method = method;
+            this.path = path;
+            this.parts = parts;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) o;
+            return method.equals(other.method) && path.equals(other.path) && parts.equals(other.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = method.hashCode();
+            result = 31 * result + path.hashCode();
+            result = 31 * result + parts.hashCode();
+            return result;
+        }
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext request) throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+        final ExtendedUriInfo uriInfo = (ExtendedUriInfo) request.getUriInfo();
+        final Invocable invocable = uriInfo.getMatchedResourceMethod().getInvocable();
+        final ResponseCached cached = getAnnotation(invocable);
+        if (cached == null || cached.ttl() <= 0) {
+            return;
+        }
+
+        final String path = uriInfo.getPath();
+        final List<Object> parts = new ArrayList<>(cached.queryParams().length + cached.headers().length);
+        final MultivaluedMap<String, String> queryParameters = uriInfo.getQueryParameters();
+        for (final String name : cached.queryParams()) {
+            parts.add(queryParameters.get(name));
+        }
+        for (final String name : cached.headers()) {
+            parts.add(request.getHeaders().get(name));
+        }
+        final CacheKey key = new CacheKey(invocable.getHandlingMethod(), path, parts);
+
+        final String cacheControl = request.getHeaderString(HttpHeaders.CACHE_CONTROL);
+        final boolean noCache = noCacheBypass && cacheControl != null && CacheControl.valueOf(cacheControl).isNoCache();
+
+        final ResponseCache.Entry entry = noCache ? null : cache.get(key, System.currentTimeMillis());
+        if (entry != null) {
+            request.setProperty(PROPERTY_HIT, entry);
+
+            final Response.ResponseBuilder response = Response.ok(entry.getEntity());
+            for (final Map.Entry<String, List<Object>> header : entry.getHeaders().entrySet()) {
+                for (final Object value : header.getValue()) {
+                    response.header(header.getKey(), value);
+                }
+            }
+            request.abortWith(response.build());
+        } else {
+            request.setProperty(PROPERTY_MISS, new Miss(key, invocable.getHandler().getHandlerClass(), path,
+                    cached.unit().toMillis(cached.ttl())));
+        }
+    }
+
+    private static ResponseCached getAnnotation(final Invocable invocable) {
+        for (final Method method : Arrays.asList(invocable.getHandlingMethod(), invocable.getDefinitionMethod())) {
+            final ResponseCached cached = method.getAnnotation(ResponseCached.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        for (final Class<?> type : Arrays.asList(invocable.getHandler().getHandlerClass(),
+                invocable.getDefinitionMethod().getDeclaringClass())) {
+            final ResponseCached cached = type.getAnnotation(ResponseCached.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext request, final ContainerResponseContext response) throws IOException {
+        // chunked entities are written once the entity has been intercepted, they cannot be copied
+        if (request.getProperty(PROPERTY_MISS) != null && response.getStatus() == Response.Status.OK.getStatusCode()
+                && response.hasEntity() && !((ContainerResponse) response).isChunked()) {
+            request.setProperty(PROPERTY_RESPONSE, response);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
+        final ResponseCache.Entry hit = (ResponseCache.Entry) context.getProperty(PROPERTY_HIT);
+        if (hit != null) {
+            // headers possibly modified by response filters are reset to the cached (already encoded) representation
+            final MultivaluedMap<String, Object> headers = context.getHeaders();
+            headers.clear();
+            for (final Map.Entry<String, List<Object>> header : hit.getHeaders().entrySet()) {
+                headers.put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+            context.getOutputStream().write(hit.getEntity());
+            return;
+        }
+
+        final Miss miss = (Miss) context.getProperty(PROPERTY_MISS);
+        final ContainerResponseContext response = (ContainerResponseContext) context.getProperty(PROPERTY_RESPONSE);
+        if (miss == null || response == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(PROPERTY_MISS);
+        context.removeProperty(PROPERTY_RESPONSE);
+
+        final OutputStream entityStream = context.getOutputStream();
+        final CachingOutputStream caching = new CachingOutputStream(entityStream, cache.getMaxSize());
+        context.setOutputStream(caching);
+        context.proceed();
+
+        final OutputStream inner = context.getOutputStream();
+        if (inner != caching) {
+            // finish streams of the inner interceptors (e.g. trailers of content encodings), the entity stream stays open
+            inner.close();
+        }
+        context.setOutputStream(entityStream);
+
+        final byte[] entity = caching.getCopy();
+        // the status may have been changed by inner interceptors (e.g. to 304 Not Modified)
+        if (entity != null && response.getStatus() == Response.Status.OK.getStatusCode()) {
+            cache.put(miss.key, new ResponseCache.Entry(miss.resourceClass, miss.path,
+                    context.getHeaders(), entity, System.currentTimeMillis() + miss.ttl));
+        }
+    }
+
+    /**
+     * Output stream writing the entity through to the client and copying it until the copy exceeds the size limit.
+     * Closing the stream does not close the underlying entity stream.
+     */
+    private static final class CachingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private final long limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private CachingOutputStream(final OutputStream out, final long limit) {
+            this.out = out;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+
+        /**
+         * Get the copied entity.
+         *
+         * @return copied entity or {@code null} if the entity exceeded the size limit.
+         */
+        private byte[] getCopy() {
+            return copy == null ? null : copy.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.NameBinding;
+import javax.ws.rs.core.HttpHeaders;
+
+/**
+ * Marks {@code GET} resource methods (or all resource methods of a resource class) whose serialized responses are kept
+ * in the {@link ResponseCache response cache} of the {@link ResponseCacheFeature}.
+ * <p>
+ * Cached responses are selected by the matched resource method, the request path (and thus the values of all path
+ * parameters), the values of the listed query parameters and the values of the listed request headers. Responses must not
+ * depend on any other part of the request; in particular, responses that differ per user must not be cached unless
+ * the header identifying the user is listed in {@link #headers()}.
+ * </p>
+ *
+ * @see ResponseCacheFeature
+ * @since 2.15
+ */
+@NameBinding
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ResponseCached {
+
+    /**
+     * Time to live of the cached responses.
+     *
+     * @return time to live in {@link #unit() units}.
+     */
+    long ttl();
+
+    /**
+     * Time unit of the {@link #ttl() time to live}.
+     *
+     * @return time unit, seconds by default.
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    /**
+     * Names of the query parameters the response depends on.
+     *
+     * @return query parameter names, none by default.
+     */
+    String[] queryParams() default {};
+
+    /**
+     * Names of the request headers the response depends on.
+     *
+     * @return request header names, {@code Accept} and {@code Accept-Encoding} by default.
+     */
+    String[] headers() default {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING};
+}
@@ -39,27 +39,39 @@
  */
 package org.glassfish.jersey.server.filter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.text.ParseException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.ws.rs.NotAcceptableException;
 import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
 
 import javax.annotation.Priority;
 import javax.inject.Inject;
 
+import org.glassfish.jersey.internal.util.Tokenizer;
 import org.glassfish.jersey.message.internal.HttpHeaderReader;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.spi.ContentEncoder;
 
 import org.glassfish.hk2.api.ServiceLocator;
@@ -77,18 +89,31 @@ import jersey.repackaged.com.google.common.collect.Sets;
  * <p>
  *     The filter also ensures Accept-Encoding is added to the Vary header, for proper interaction with web caches.
  * </p>
+ * <p>
+ *     Entities smaller than {@link ServerProperties#ENCODING_MIN_SIZE} bytes and entities whose media type is excluded
+ *     by {@link ServerProperties#ENCODING_MEDIA_TYPES_INCLUDE} or {@link ServerProperties#ENCODING_MEDIA_TYPES_EXCLUDE}
+ *     properties are sent without any content encoding. If the size of an entity is not known in advance, the beginning
+ *     of the serialized entity is buffered until it reaches the minimal size (smaller entities are then sent without
+ *     any content encoding), unless the client does not accept the identity encoding.
+ * </p>
  *
  * @author Martin Matula (martin.matula at oracle.com)
  */
 @Priority(Priorities.HEADER_DECORATOR)
-public final class EncodingFilter implements ContainerResponseFilter {
+public final class EncodingFilter implements ContainerResponseFilter, WriterInterceptor {
     // name for the identity encoding
     private static final String IDENTITY_ENCODING = "identity";
+    // content encoding to be used if an entity of unknown size reaches the minimal size
+    private static final String PROPERTY_DEFERRED_ENCODING = EncodingFilter.class.getName() + ".deferredEncoding";
 
     @Inject
     private ServiceLocator serviceLocator;
+    @Inject
+    private Configuration config;
     // sorted set to keep the order same for different invocations of the app
     private volatile SortedSet<String> supportedEncodings = null;
+    private volatile List<ContentEncoder> encoders = null;
+    private volatile CompressionRules compressionRules = null;
 
     /**
      * Enables this filter along with the provided {@link org.glassfish.jersey.spi.ContentEncoder encoders}
@@ -146,13 +171,41 @@ public final class EncodingFilter implements ContainerResponseFilter {
         // in the Accept-Content header by assigning q=0
         encodings.add(new ContentEncoding(IDENTITY_ENCODING, -1));
 
-        // get a copy of supported encoding (we'll be modifying this set, hence the copy)
-        SortedSet<String> acceptedEncodings = Sets.newTreeSet(getSupportedEncodings());
+        // small entities and entities of excluded media types are not compressed, however identity encoding still
+        // has to be acceptable for them
+        final CompressionRules rules = getCompressionRules();
+        final String contentEncoding = negotiate(encodings,
+                rules.isCompressible(response) ? getSupportedEncodings() : Collections.singleton(IDENTITY_ENCODING));
+        if (contentEncoding == null) {
+            // no acceptable encoding can be sent -> return NOT ACCEPTABLE status code back to the client
+            throw new NotAcceptableException();
+        }
+
+        // finally set the header - but no need to set for identity encoding
+        if (!IDENTITY_ENCODING.equals(contentEncoding)) {
+            response.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+
+            if (rules.isSizeUnknown(response)
+                    && IDENTITY_ENCODING.equals(negotiate(encodings, Collections.singleton(IDENTITY_ENCODING)))) {
+                // the minimal size is checked while the entity is being written
+                request.setProperty(PROPERTY_DEFERRED_ENCODING, contentEncoding);
+            }
+        }
+    }
+
+    /**
+     * Choose a content encoding.
+     *
+     * @param encodings encodings accepted by the client sorted by their quality, identity encoding being the last one.
+     * @param supported encodings that can be used for the response entity.
+     * @return chosen encoding or {@code null} if none of the supported encodings is acceptable.
+     */
+    private static String negotiate(final List<ContentEncoding> encodings, final Collection<String> supported) {
+        // get a copy of supported encodings (we'll be modifying this set, hence the copy)
+        final SortedSet<String> acceptedEncodings = Sets.newTreeSet(supported);
 
         // indicates that we can pick any of the encodings that remained in the acceptedEncodings set
         boolean anyRemaining = false;
-        // final resulting value of the Content-Encoding header to be set
-        String contentEncoding = null;
 
         // iterate through the accepted encodings, starting with the highest quality one
         for (ContentEncoding encoding : encodings) {
@@ -172,27 +225,123 @@ public final class EncodingFilter implements ContainerResponseFilter {
                 } else {
                     if (acceptedEncodings.contains(encoding.name)) {
                         // found an acceptable one -> we are done
-                        contentEncoding = encoding.name;
-                        break;
+                        return encoding.name;
                     }
                 }
             }
         }
 
-        if (contentEncoding == null) {
-            // haven't found any explicit acceptable encoding, let's see if we can just pick any of the remaining ones
-            // (if there are any left)
-            if (anyRemaining && !acceptedEncodings.isEmpty()) {
-                contentEncoding = acceptedEncodings.first();
-            } else {
-                // no acceptable encoding can be sent -> return NOT ACCEPTABLE status code back to the client
-                throw new NotAcceptableException();
+        // haven't found any explicit acceptable encoding, let's see if we can just pick any of the remaining ones
+        // (if there are any left)
+        return anyRemaining && !acceptedEncodings.isEmpty() ? acceptedEncodings.first() : null;
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
+        final String encoding = (String) context.getProperty(PROPERTY_DEFERRED_ENCODING);
+        final ContentEncoder encoder = encoding == null ? null : getEncoder(encoding);
+        if (encoder == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(PROPERTY_DEFERRED_ENCODING);
+
+        // entity coders must not encode the entity, it is encoded by the threshold stream once it reaches the minimal size
+        context.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+        final OutputStream entityStream = context.getOutputStream();
+        final ThresholdOutputStream threshold = new ThresholdOutputStream(context, entityStream, encoder, encoding,
+                getCompressionRules().minSize);
+        context.setOutputStream(threshold);
+        context.proceed();
+
+        final OutputStream inner = context.getOutputStream();
+        if (inner != threshold) {
+            // finish streams of the inner interceptors
+            inner.close();
+        }
+        threshold.close();
+        context.setOutputStream(entityStream);
+    }
+
+    /**
+     * Output stream buffering the beginning of an entity of unknown size. The entity is encoded once it reaches
+     * the minimal size, smaller entities are written without any content encoding when the stream is closed.
+     */
+    private static final class ThresholdOutputStream extends OutputStream {
+
+        private final WriterInterceptorContext context;
+        private final OutputStream entityStream;
+        private final ContentEncoder encoder;
+        private final String encoding;
+        private final long minSize;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        // encoded stream, null until the entity reaches the minimal size
+        private OutputStream out = null;
+        private boolean closed = false;
+
+        private ThresholdOutputStream(final WriterInterceptorContext context, final OutputStream entityStream,
+                                      final ContentEncoder encoder, final String encoding, final long minSize) {
+            this.context = context;
+            this.entityStream = entityStream;
+            this.encoder = encoder;
+            this.encoding = encoding;
+            this.minSize = minSize;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (out == null) {
+                if (buffer.size() + 1 < minSize) {
+                    buffer.write(b);
+                    return;
+                }
+                startEncoding();
             }
+            out.write(b);
         }
 
-        // finally set the header - but no need to set for identity encoding
-        if (!IDENTITY_ENCODING.equals(contentEncoding)) {
-            response.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (out == null) {
+                if (buffer.size() + len < minSize) {
+                    buffer.write(b, off, len);
+                    return;
+                }
+                startEncoding();
+            }
+            out.write(b, off, len);
+        }
+
+        private void startEncoding() throws IOException {
+            // nothing has been written to the entity stream yet, so the headers are not committed
+            context.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, encoding);
+            out = encoder.encode(encoding, entityStream);
+            buffer.writeTo(out);
+            buffer = null;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // the beginning of the entity is kept in the buffer until the content encoding is decided
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            if (out != null) {
+                out.close();
+            } else {
+                buffer.writeTo(entityStream);
+                buffer = null;
+                entityStream.flush();
+            }
         }
     }
 
@@ -234,6 +383,103 @@ public final class EncodingFilter implements ContainerResponseFilter {
         }
     }
 
+    // rules determining which response entities should be compressed
+    private static class CompressionRules {
+        private final long minSize;
+        private final List<MediaType> included;
+        private final List<MediaType> excluded;
+
+        CompressionRules(final Map<String, Object> properties) {
+            this.minSize = ServerProperties.getValue(properties, ServerProperties.ENCODING_MIN_SIZE, 0, Integer.class);
+            this.included = mediaTypes(properties.get(ServerProperties.ENCODING_MEDIA_TYPES_INCLUDE));
+            this.excluded = mediaTypes(properties.get(ServerProperties.ENCODING_MEDIA_TYPES_EXCLUDE));
+        }
+
+        private static List<MediaType> mediaTypes(final Object value) {
+            final String[] tokens;
+            if (value instanceof String) {
+                tokens = Tokenizer.tokenize((String) value, " ,\n");
+            } else if (value instanceof String[]) {
+                tokens = Tokenizer.tokenize((String[]) value, " ,\n");
+            } else {
+                return Collections.emptyList();
+            }
+
+            final List<MediaType> types = Lists.newArrayListWithCapacity(tokens.length);
+            for (final String token : tokens) {
+                types.add(MediaType.valueOf(token));
+            }
+            return types;
+        }
+
+        private static boolean matches(final List<MediaType> types, final MediaType mediaType) {
+            for (final MediaType type : types) {
+                if (type.isCompatible(mediaType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Check whether the response entity size has to be measured while the entity is being written.
+         *
+         * @param response container response.
+         * @return {@code true} if the minimal size is set and the entity size is not known in advance.
+         */
+        boolean isSizeUnknown(final ContainerResponseContext response) {
+            // chunks have to be sent as soon as they are written, they cannot wait until the minimal size is reached
+            return minSize > 0 && entitySize(response) < 0 && !((ContainerResponse) response).isChunked();
+        }
+
+        boolean isCompressible(final ContainerResponseContext response) {
+            if (minSize > 0) {
+                final long size = entitySize(response);
+                if (size >= 0 && size < minSize) {
+                    return false;
+                }
+            }
+
+            final MediaType mediaType = response.getMediaType();
+            if (mediaType != null) {
+                if (!included.isEmpty() && !matches(included, mediaType)) {
+                    return false;
+                }
+                if (matches(excluded, mediaType)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long entitySize(final ContainerResponseContext response) {
+            if (response.getLength() >= 0) {
+                return response.getLength();
+            }
+
+            final Object entity = response.getEntity();
+            if (entity instanceof byte[]) {
+                return ((byte[]) entity).length;
+            } else if (entity instanceof String) {
+                // an encoded character takes at least one byte, short strings have to be measured once encoded
+                final int length = ((String) entity).length();
+                return length >= minSize ? length : -1;
+            } else if (entity instanceof File) {
+                return ((File) entity).length();
+            }
+            return -1;
+        }
+    }
+
+    private CompressionRules getCompressionRules() {
+        // no need for synchronization - in case of a race condition, the rules
+        // may be computed twice, but it does not break anything
+        if (compressionRules == null) {
+            compressionRules = new CompressionRules(config.getProperties());
+        }
+        return compressionRules;
+    }
+
     /**
      * Returns a (lexically) sorted set of supported encodings.
      * @return sorted set of supported encodings.
@@ -243,8 +489,7 @@ public final class EncodingFilter implements ContainerResponseFilter {
         // may be set twice, but it does not break anything
         if (supportedEncodings == null) {
             SortedSet<String> se = Sets.newTreeSet();
-            List<ContentEncoder> encoders = serviceLocator.getAllServices(ContentEncoder.class);
-            for (ContentEncoder encoder : encoders) {
+            for (ContentEncoder encoder : getEncoders()) {
                 se.addAll(encoder.getSupportedEncodings());
             }
             se.add(IDENTITY_ENCODING);
@@ -252,4 +497,21 @@ public final class EncodingFilter implements ContainerResponseFilter {
         }
         return supportedEncodings;
     }
+
+    private List<ContentEncoder> getEncoders() {
+        // no need for synchronization - in case of a race condition, the encoders may be looked up twice
+        if (encoders == null) {
+            encoders = serviceLocator.getAllServices(ContentEncoder.class);
+        }
+        return encoders;
+    }
+
+    private ContentEncoder getEncoder(final String encoding) {
+        for (final ContentEncoder encoder : getEncoders()) {
+            if (encoder.getSupportedEncodings().contains(encoding)) {
+                return encoder;
+            }
+        }
+        return null;
+    }
 }
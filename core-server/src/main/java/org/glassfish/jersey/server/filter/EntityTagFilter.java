@@ -0,0 +1,189 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.ParseException;
+import java.util.Set;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.message.internal.HttpHeaderReader;
+import org.glassfish.jersey.message.internal.MatchingEntityTag;
+
+/**
+ * Server-side filter that computes weak entity tags of the responses of {@link ComputedEntityTag annotated} resource
+ * methods and answers matching conditional {@code GET} requests with {@code 304 (Not Modified)}.
+ * <p>
+ * The serialized response entity (including the effect of any content encoding) is buffered and hashed with a 64-bit
+ * FNV-1a hash, which is sent in a weak {@code ETag} header. If the value of the {@code If-None-Match} request header
+ * matches the entity tag, the response status is changed to {@code 304 (Not Modified)} and the buffered entity is discarded,
+ * so that repeatedly polling clients do not download unchanged representations. Responses that already contain
+ * an {@code ETag} header (e.g. computed by the resource method itself) are left intact.
+ * </p>
+ * <p>
+ * Since the whole entity is buffered in memory, the filter should not be bound to resource methods producing large or
+ * streamed entities. To enable the filter, register it in the application and annotate the resource methods:
+ * </p>
+ * <pre>
+ * resourceConfig.register(EntityTagFilter.class);
+ *
+ * &#64;GET
+ * &#64;ComputedEntityTag
+ * public Report getReport() { ... }
+ * </pre>
+ *
+ * @since 2.15
+ */
+@ComputedEntityTag
+@Priority(Priorities.HEADER_DECORATOR) // must wrap the entity coders to see the final representation
+public class EntityTagFilter implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String PROPERTY_RESPONSE = EntityTagFilter.class.getName() + ".response";
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    @Override
+    public void filter(final ContainerRequestContext request, final ContainerResponseContext response) throws IOException {
+        if (HttpMethod.GET.equals(request.getMethod())
+                && response.getStatus() == Response.Status.OK.getStatusCode()
+                && response.hasEntity()
+                && !response.getHeaders().containsKey(HttpHeaders.ETAG)) {
+            request.setProperty(PROPERTY_RESPONSE, new ConditionalResponse(response,
+                    request.getHeaderString(HttpHeaders.IF_NONE_MATCH)));
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
+        final ConditionalResponse conditional = (ConditionalResponse) context.getProperty(PROPERTY_RESPONSE);
+        if (conditional == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(PROPERTY_RESPONSE);
+
+        final OutputStream entityStream = context.getOutputStream();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        context.setOutputStream(buffer);
+        context.proceed();
+
+        final OutputStream inner = context.getOutputStream();
+        if (inner != buffer) {
+            // finish streams of the inner interceptors (e.g. trailers of content encodings) into the buffer
+            inner.close();
+        }
+        context.setOutputStream(entityStream);
+
+        final byte[] entity = buffer.toByteArray();
+        final EntityTag entityTag = new EntityTag(hash(entity), true);
+        context.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+
+        if (conditional.matches(entityTag)) {
+            conditional.response.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+            context.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+            context.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+        } else {
+            entityStream.write(entity);
+        }
+    }
+
+    private static String hash(final byte[] data) {
+        long hash = FNV_OFFSET_BASIS;
+        for (final byte b : data) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return Long.toHexString(hash) + '-' + Integer.toHexString(data.length);
+    }
+
+    /**
+     * Response to be conditionally discarded and the entity tags it is conditioned by.
+     */
+    private static final class ConditionalResponse {
+
+        private final ContainerResponseContext response;
+        private final String ifNoneMatch;
+
+        private ConditionalResponse(final ContainerResponseContext response, final String ifNoneMatch) {
+            this.response = response;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        private boolean matches(final EntityTag entityTag) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+
+            final Set<MatchingEntityTag> matchingTags;
+            try {
+                matchingTags = HttpHeaderReader.readMatchingEntityTag(ifNoneMatch);
+            } catch (final ParseException e) {
+                // invalid header is ignored
+                return false;
+            }
+            if (matchingTags == MatchingEntityTag.ANY_MATCH) {
+                return true;
+            }
+            // weak comparison
+            for (final MatchingEntityTag tag : matchingTags) {
+                if (tag.getValue().equals(entityTag.getValue())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link ScheduledExecutorService Scheduled executor service} that keeps one-shot delayed tasks in a hashed timing wheel.
+ * <p>
+ * Scheduling and cancelling a one-shot task is an O(1) operation that does not touch the delay queue of the underlying
+ * executor. The wheel is advanced by a single periodic task running in the underlying executor, which hands the expired
+ * tasks off to a separate task executor, so that long running tasks do not delay the wheel. Tasks are therefore never
+ * executed before their delay elapses, but they may be executed up to one tick later (or later, if the task executor
+ * is busy). This makes the executor suitable for large numbers of frequently rescheduled or cancelled timeouts,
+ * such as the suspend timeouts of asynchronous requests.
+ * </p>
+ * <p>
+ * All other operations, including periodic tasks, are delegated to the underlying executor. Delays longer than
+ * {@code Long.MAX_VALUE / 2} nanoseconds (about 146 years) are truncated to prevent a deadline overflow.
+ * </p>
+ *
+ * @since 2.15
+ */
+final class HashedWheelScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private static final Logger LOGGER = Logger.getLogger(HashedWheelScheduledExecutor.class.getName());
+
+    /**
+     * Maximum delay of a wheel task; keeps the task deadlines (relative to the wheel start time) from overflowing.
+     */
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 1;
+
+    private final ScheduledExecutorService delegate;
+    private final ExecutorService taskExecutor;
+    private final long tickNanos;
+    private final WheelTask<?>[] wheel;
+    private final int mask;
+    private final long startTime;
+
+    private final Queue<WheelTask<?>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTask<?>> cancelled = new ConcurrentLinkedQueue<>();
+    private final ScheduledFuture<?> ticker;
+
+    private long tick = 0; // accessed by the ticker only
+
+    /**
+     * Create new timing wheel scheduled executor.
+     *
+     * @param delegate     underlying executor used to advance the wheel and to execute all other tasks.
+     * @param taskExecutor executor used to execute the expired wheel tasks. It is shut down together with
+     *                     the timing wheel executor.
+     * @param tickDuration duration of a single wheel tick.
+     * @param unit         tick duration time unit.
+     * @param wheelSize    number of wheel buckets, rounded up to the nearest power of two.
+     */
+    HashedWheelScheduledExecutor(final ScheduledExecutorService delegate,
+                                 final ExecutorService taskExecutor,
+                                 final long tickDuration,
+                                 final TimeUnit unit,
+                                 final int wheelSize) {
+        this.delegate = delegate;
+        this.taskExecutor = taskExecutor;
+        this.tickNanos = Math.max(1, unit.toNanos(tickDuration));
+
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new WheelTask<?>[size];
+        this.mask = size - 1;
+
+        this.startTime = System.nanoTime();
+        this.ticker = delegate.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                advance();
+            }
+        }, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        if (delay <= 0) {
+            return delegate.schedule(command, delay, unit);
+        }
+        return schedule(new WheelTask<Void>(Executors.callable(command, (Void) null), delay, unit));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(final Callable<V> callable, final long delay, final TimeUnit unit) {
+        if (callable == null) {
+            throw new NullPointerException();
+        }
+        if (delay <= 0) {
+            return delegate.schedule(callable, delay, unit);
+        }
+        return schedule(new WheelTask<>(callable, delay, unit));
+    }
+
+    private <V> ScheduledFuture<V> schedule(final WheelTask<V> task) {
+        if (delegate.isShutdown()) {
+            // let the underlying executor reject the task according to its policy
+            delegate.schedule(task, task.getDelay(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        } else {
+            scheduled.add(task);
+        }
+        return task;
+    }
+
+    /**
+     * Advance the wheel to the current time and hand the expired tasks off to the task executor.
+     * Invoked by the ticker only.
+     */
+    private void advance() {
+        try {
+            final long now = System.nanoTime() - startTime;
+
+            WheelTask<?> task;
+            while ((task = cancelled.poll()) != null) {
+                unlink(task);
+            }
+            while ((task = scheduled.poll()) != null) {
+                if (!task.isCancelled()) {
+                    link(task);
+                }
+            }
+
+            while (tick * tickNanos <= now) {
+                expire(tick & mask);
+                tick++;
+            }
+        } catch (final Throwable t) {
+            // an exception would cancel the periodic ticker
+            LOGGER.log(Level.WARNING, LocalizationMessages.TIMING_WHEEL_TICK_FAILED(), t);
+        }
+    }
+
+    private void link(final WheelTask<?> task) {
+        final long ticks = Math.max((task.deadline - startTime + tickNanos - 1) / tickNanos, tick);
+        task.remainingRounds = (ticks - tick) / wheel.length;
+        task.bucket = (int) (ticks & mask);
+
+        final WheelTask<?> head = wheel[task.bucket];
+        task.next = head;
+        task.previous = null;
+        if (head != null) {
+            head.previous = task;
+        }
+        wheel[task.bucket] = task;
+    }
+
+    private void unlink(final WheelTask<?> task) {
+        if (task.bucket < 0) {
+            // not linked yet (or already expired)
+            return;
+        }
+        if (task.previous != null) {
+            task.previous.next = task.next;
+        } else {
+            wheel[task.bucket] = task.next;
+        }
+        if (task.next != null) {
+            task.next.previous = task.previous;
+        }
+        task.next = null;
+        task.previous = null;
+        task.bucket = -1;
+    }
+
+    private void expire(final long bucket) {
+        WheelTask<?> task = wheel[(int) bucket];
+        while (task != null) {
+            final WheelTask<?> next = task.next;
+            if (task.remainingRounds <= 0) {
+                unlink(task);
+                try {
+                    taskExecutor.execute(task);
+                } catch (final RejectedExecutionException e) {
+                    // task executor has been shut down
+                    task.cancel(false);
+                }
+            } else {
+                task.remainingRounds--;
+            }
+            task = next;
+        }
+    }
+
+    /**
+     * One-shot task kept in the timing wheel.
+     */
+    private final class WheelTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+        private final long deadline;
+
+        // wheel bookkeeping, accessed by the ticker only
+        private int bucket = -1;
+        private long remainingRounds;
+        private WheelTask<?> next;
+        private WheelTask<?> previous;
+
+        private WheelTask(final Callable<V> callable, final long delay, final TimeUnit unit) {
+            super(callable);
+            this.deadline = System.nanoTime() + Math.min(unit.toNanos(delay), MAX_DELAY_NANOS);
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            final long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+            return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean result = super.cancel(mayInterruptIfRunning);
+            if (result) {
+                cancelled.add(this);
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command,
+                                                  final long initialDelay,
+                                                  final long period,
+                                                  final TimeUnit unit) {
+        return delegate.scheduleAtFixedRate(command, initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command,
+                                                     final long initialDelay,
+                                                     final long delay,
+                                                     final TimeUnit unit) {
+        return delegate.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        delegate.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        ticker.cancel(false);
+        delegate.shutdown();
+        taskExecutor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        ticker.cancel(false);
+        final List<Runnable> tasks = new ArrayList<>(delegate.shutdownNow());
+        tasks.addAll(taskExecutor.shutdownNow());
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated() && taskExecutor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return delegate.awaitTermination(timeout, unit)
+                && taskExecutor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+}
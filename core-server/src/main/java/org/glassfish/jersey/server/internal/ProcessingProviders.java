@@ -57,6 +57,7 @@ import javax.inject.Singleton;
 import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.message.internal.InterceptorList;
 import org.glassfish.jersey.model.internal.RankedComparator;
 import org.glassfish.jersey.model.internal.RankedProvider;
 
@@ -141,10 +142,10 @@ public class ProcessingProviders {
         this.globalReaderInterceptors = globalReaderInterceptors;
         this.globalWriterInterceptors = globalWriterInterceptors;
         this.dynamicFeatures = dynamicFeatures;
-        this.sortedGlobalReaderInterceptors = Providers.sortRankedProviders(new RankedComparator<ReaderInterceptor>(),
-                globalReaderInterceptors);
-        this.sortedGlobalWriterInterceptors = Providers.sortRankedProviders(new RankedComparator<WriterInterceptor>(),
-                globalWriterInterceptors);
+        this.sortedGlobalReaderInterceptors = new InterceptorList<>(ReaderInterceptor.class,
+                Providers.sortRankedProviders(new RankedComparator<ReaderInterceptor>(), globalReaderInterceptors));
+        this.sortedGlobalWriterInterceptors = new InterceptorList<>(WriterInterceptor.class,
+                Providers.sortRankedProviders(new RankedComparator<WriterInterceptor>(), globalWriterInterceptors));
 
         this.sortedGlobalRequestFilters = Providers.sortRankedProviders(new RankedComparator<ContainerRequestFilter>(),
                 globalRequestFilters);
@@ -0,0 +1,160 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+
+import org.glassfish.jersey.internal.util.collection.ByteBufferInputStream;
+
+/**
+ * Buffer of a request entity received by a container in a non-blocking way.
+ * <p>
+ * The container {@link #put(java.nio.ByteBuffer) puts} the entity data into the buffer as they arrive and hands the request
+ * over to the application once the entity is {@link #complete() complete} or once the buffer is {@link #isFull() full}.
+ * In the latter case, the entity stream of the request is {@link #partial(java.io.InputStream) composed} of the buffered data
+ * followed by the remaining data read from the blocking entity stream of the container.
+ * </p>
+ * <p>
+ * Instances are not thread-safe; the container is expected to feed the buffer from one thread at a time.
+ * </p>
+ *
+ * @see org.glassfish.jersey.server.ServerProperties#INBOUND_ENTITY_NON_BLOCKING_BUFFER
+ * @since 2.15
+ */
+public final class RequestEntityBuffer {
+
+    private final int capacity;
+    private final ByteBufferInputStream buffered = new ByteBufferInputStream();
+    private int size = 0;
+
+    /**
+     * Create a new request entity buffer.
+     *
+     * @param capacity number of bytes after which the buffer is considered to be full.
+     */
+    public RequestEntityBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.REQUEST_ENTITY_BUFFER_CAPACITY_INVALID(capacity));
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Put the received entity data into the buffer.
+     * <p>
+     * The buffer takes the ownership of the given byte buffer; the caller must not modify it afterwards.
+     * </p>
+     *
+     * @param data received entity data.
+     * @return {@code true} if the buffer is {@link #isFull() full} after the data have been put into it.
+     */
+    public boolean put(final ByteBuffer data) {
+        size += data.remaining();
+        try {
+            buffered.put(data);
+        } catch (final InterruptedException e) {
+            // the byte buffer input stream queue is unbounded, the put operation does not block
+            Thread.currentThread().interrupt();
+        }
+        return isFull();
+    }
+
+    /**
+     * Get the number of bytes put into the buffer.
+     *
+     * @return number of buffered bytes.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the number of bytes after which the buffer is considered to be full.
+     *
+     * @return capacity of the buffer.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Check whether the number of buffered bytes has reached the capacity of the buffer.
+     *
+     * @return {@code true} if the buffer is full.
+     */
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    /**
+     * Close the buffer after the whole entity has been received.
+     *
+     * @return entity stream of the buffered data.
+     */
+    public InputStream complete() {
+        buffered.closeQueue();
+        return buffered;
+    }
+
+    /**
+     * Close the buffer before the whole entity has been received.
+     *
+     * @param remaining blocking stream of the rest of the entity.
+     * @return entity stream of the buffered data followed by the data read from the {@code remaining} stream.
+     */
+    public InputStream partial(final InputStream remaining) {
+        buffered.closeQueue();
+        return new SequenceInputStream(buffered, remaining);
+    }
+
+    /**
+     * Close the buffer after receiving of the entity has failed.
+     *
+     * @param cause failure cause.
+     * @return entity stream of the buffered data that throws an {@link java.io.IOException} caused by the failure
+     * once the buffered data have been read.
+     */
+    public InputStream fail(final Throwable cause) {
+        buffered.closeQueue(cause);
+        return buffered;
+    }
+}
@@ -42,15 +42,20 @@ package org.glassfish.jersey.server.internal;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.Configuration;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.spi.RuntimeThreadProvider;
 
 import org.glassfish.hk2.api.AnnotationLiteral;
@@ -65,16 +70,25 @@ import jersey.repackaged.com.google.common.util.concurrent.ThreadFactoryBuilder;
  * Binder for injectable Jersey runtime executor services.
  *
  * Presently it implements a binding  for a {@link BackgroundScheduler background scheduler} singleton
- * executor service.
+ * executor service. If {@link ServerProperties#BACKGROUND_SCHEDULER_TIMING_WHEEL_TICK} is set, one-shot delayed
+ * tasks of the background scheduler are kept in a {@link HashedWheelScheduledExecutor hashed timing wheel}.
  *
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
 public class RuntimeExecutorsBinder extends AbstractBinder {
     private static class BackgroundSchedulerFactory implements Factory<ScheduledExecutorService> {
+        // number of buckets of the background scheduler timing wheel
+        private static final int TIMING_WHEEL_SIZE = 512;
+        // idle time after which the threads executing expired timing wheel tasks are stopped
+        private static final long TIMING_WHEEL_THREAD_KEEP_ALIVE_SECONDS = 60;
+
         private final RuntimeThreadProvider runtimeThreadProvider;
+        private final Configuration config;
 
         @Inject
-        public BackgroundSchedulerFactory(@Optional RuntimeThreadProvider rtp) {
+        public BackgroundSchedulerFactory(@Optional RuntimeThreadProvider rtp, @Optional final Configuration config) {
+            this.config = config;
+
             if (rtp == null) {
                 rtp = new RuntimeThreadProvider() {
                     @Override
@@ -103,12 +117,33 @@ public class RuntimeExecutorsBinder extends AbstractBinder {
                     .setThreadFactory(runtimeThreadProvider.getBackgroundThreadFactory())
                     .build();
 
-            return new ScheduledThreadPoolExecutor(1, threadFactory, new RejectedExecutionHandler() {
-                @Override
-                public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-                    // TODO: implement method.
-                }
-            });
+            final ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1, threadFactory,
+                    new RejectedExecutionHandler() {
+                        @Override
+                        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                            // TODO: implement method.
+                        }
+                    });
+
+            final int tick = config == null ? 0 : ServerProperties.getValue(config.getProperties(),
+                    ServerProperties.BACKGROUND_SCHEDULER_TIMING_WHEEL_TICK, 0, Integer.class);
+            return tick > 0
+                    ? new HashedWheelScheduledExecutor(scheduler, createTimingWheelTaskExecutor(), tick, TimeUnit.MILLISECONDS,
+                            TIMING_WHEEL_SIZE)
+                    : scheduler;
+        }
+
+        private ThreadPoolExecutor createTimingWheelTaskExecutor() {
+            final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("jersey-background-task-timeout-%d")
+                    .setThreadFactory(runtimeThreadProvider.getBackgroundThreadFactory())
+                    .build();
+
+            final int threads = Runtime.getRuntime().availableProcessors();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                    TIMING_WHEEL_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
         }
 
         @Override
@@ -0,0 +1,259 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.RequestTrace;
+import org.glassfish.jersey.server.monitoring.TraceListener;
+
+/**
+ * Tracing logger of the {@link org.glassfish.jersey.server.TracingConfig#SAMPLED sampled} tracing mode.
+ * <p>
+ * The logger records the tracing events into preallocated arrays without formatting any messages and publishes
+ * the completed trace to the registered {@link TraceListener trace listeners} instead of writing it into the response
+ * headers.
+ * </p>
+ *
+ * @since 2.15
+ */
+public final class SampledTracingLogger extends TracingLogger implements RequestTrace {
+
+    private static final Logger LOGGER = Logger.getLogger(SampledTracingLogger.class.getName());
+
+    /**
+     * Maximal number of events recorded per request.
+     */
+    static final int CAPACITY = 64;
+
+    private final TracingLogger.Level threshold;
+    private final Iterable<TraceListener> listeners;
+    private final String method;
+    private final URI requestUri;
+
+    private final long startTime = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+
+    private final TracingLogger.Event[] events = new TracingLogger.Event[CAPACITY];
+    private final long[] times = new long[CAPACITY];
+    private final long[] durations = new long[CAPACITY];
+    private int size = 0;
+    private int dropped = 0;
+
+    private int status = -1;
+    private long duration = -1;
+
+    private SampledTracingLogger(final TracingLogger.Level threshold,
+                                 final Iterable<TraceListener> listeners,
+                                 final ContainerRequest request) {
+        this.threshold = threshold;
+        this.listeners = listeners;
+        this.method = request.getMethod();
+        this.requestUri = request.getRequestUri();
+    }
+
+    /**
+     * Decides which requests are traced and creates the tracing loggers for them.
+     */
+    public static final class Sampler {
+
+        private final double rate;
+        private final Iterable<TraceListener> listeners;
+
+        /**
+         * Create new sampler.
+         *
+         * @param rate      fraction of requests to be traced, {@code 0.0} to {@code 1.0}.
+         * @param listeners trace listeners the completed traces are published to.
+         */
+        public Sampler(final double rate, final Iterable<TraceListener> listeners) {
+            this.rate = rate;
+            this.listeners = listeners;
+        }
+
+        /**
+         * Get tracing logger for the request.
+         *
+         * @param threshold tracing level threshold.
+         * @param request   container request.
+         * @return new sampled tracing logger if the request has been sampled, {@link TracingLogger#empty() empty}
+         * tracing logger otherwise.
+         */
+        public TracingLogger createLogger(final TracingLogger.Level threshold, final ContainerRequest request) {
+            if (rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate)) {
+                return new SampledTracingLogger(threshold, listeners, request);
+            }
+            return TracingLogger.empty();
+        }
+    }
+
+    @Override
+    public boolean isLogEnabled(final TracingLogger.Event event) {
+        return duration < 0 && threshold.ordinal() >= event.level().ordinal();
+    }
+
+    @Override
+    public void log(final TracingLogger.Event event, final Object... args) {
+        logDuration(event, -1, args);
+    }
+
+    @Override
+    public void logDuration(final TracingLogger.Event event, final long fromTimestamp, final Object... args) {
+        if (!isLogEnabled(event)) {
+            return;
+        }
+        final long now = System.nanoTime();
+        if (event == ServerTraceEvent.FINISHED && args.length > 0 && args[0] instanceof Response.StatusType) {
+            status = ((Response.StatusType) args[0]).getStatusCode();
+        }
+        if (size == CAPACITY) {
+            dropped++;
+            return;
+        }
+        events[size] = event;
+        times[size] = now - startNanos;
+        durations[size] = fromTimestamp == -1 ? 0 : now - fromTimestamp;
+        size++;
+    }
+
+    @Override
+    public long timestamp(final TracingLogger.Event event) {
+        return isLogEnabled(event) ? System.nanoTime() : -1;
+    }
+
+    @Override
+    public void flush(final MultivaluedMap<String, Object> headers) {
+        if (duration >= 0) {
+            // already published
+            return;
+        }
+        duration = System.nanoTime() - startNanos;
+
+        for (final TraceListener listener : listeners) {
+            try {
+                listener.onTrace(this);
+            } catch (final RuntimeException e) {
+                LOGGER.log(java.util.logging.Level.WARNING, LocalizationMessages.TRACING_LISTENER_FAILED(listener), e);
+            }
+        }
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public URI getRequestUri() {
+        return requestUri;
+    }
+
+    @Override
+    public long getStartTime() {
+        return startTime;
+    }
+
+    @Override
+    public long getDuration() {
+        return duration;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public int getEventCount() {
+        return size;
+    }
+
+    @Override
+    public int getDroppedEventCount() {
+        return dropped;
+    }
+
+    @Override
+    public String getEventName(final int index) {
+        return event(index).name();
+    }
+
+    @Override
+    public String getEventCategory(final int index) {
+        return event(index).category();
+    }
+
+    @Override
+    public long getEventTime(final int index) {
+        event(index);
+        return times[index];
+    }
+
+    @Override
+    public long getEventDuration(final int index) {
+        event(index);
+        return durations[index];
+    }
+
+    @Override
+    public long getStageDuration(final String category) {
+        long result = 0;
+        for (int i = 0; i < size; i++) {
+            if (events[i].level() == TracingLogger.Level.SUMMARY && events[i].category().equals(category)) {
+                result += durations[i];
+            }
+        }
+        return result;
+    }
+
+    private TracingLogger.Event event(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return events[index];
+    }
+}
@@ -40,9 +40,7 @@
 package org.glassfish.jersey.server.internal.inject;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.security.AccessController;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
@@ -160,14 +158,15 @@ final class MultivaluedParameterExtractorFactory implements MultivaluedParameter
                 return null;
             }
 
-            // Check for static valueOf(String )
-            Method valueOf = AccessController.doPrivileged(ReflectionHelper.getValueOfStringMethodPA(rawType));
-            if (valueOf != null) {
+            // Use the direct wrapper class converter instead of reflective valueOf(String)
+            final ParamConverter<?> primitiveConverter = ParamConverters.KnownTypeProvider.getKnownConverter(rawType);
+            if (primitiveConverter != null) {
                 try {
                     Object defaultDefaultValue = PrimitiveMapper.primitiveToDefaultValueMap.get(rawType);
-                    return new PrimitiveValueOfExtractor(valueOf, parameterName, defaultValue, defaultDefaultValue);
+                    return new PrimitiveValueOfExtractor(primitiveConverter, parameterName, defaultValue, defaultDefaultValue);
                 } catch (Exception e) {
-                    throw new ProcessingException(LocalizationMessages.DEFAULT_COULD_NOT_PROCESS_METHOD(defaultValue, valueOf));
+                    throw new ProcessingException(LocalizationMessages.DEFAULT_COULD_NOT_PROCESS_METHOD(defaultValue,
+                            rawType.getName() + ".valueOf(String)"));
                 }
             }
 
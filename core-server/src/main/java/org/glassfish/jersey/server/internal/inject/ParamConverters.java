@@ -44,9 +44,14 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.security.AccessController;
 import java.text.ParseException;
 import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.WebApplicationException;
@@ -106,6 +111,145 @@ class ParamConverters {
 
     }
 
+    /**
+     * Base class for {@link ParamConverter param converters} of well-known Java types that parse the string value
+     * directly, without reflection.
+     * <p>
+     * The converters behave the same way as the reflection-based converters would for the same types: {@code null} value
+     * is rejected with {@link IllegalArgumentException}, an unparseable empty string is converted to {@code null}
+     * and an unparseable non-empty string results in {@link ExtractorException}.
+     * </p>
+     */
+    private static abstract class KnownTypeReader<T> implements ParamConverter<T> {
+
+        @Override
+        public T fromString(final String value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Supplied value is null");
+            }
+            try {
+                return parse(value);
+            } catch (final IllegalArgumentException ex) {
+                // if the value is an empty string, return null
+                if (value.isEmpty()) {
+                    return null;
+                }
+                throw new ExtractorException(ex);
+            }
+        }
+
+        /**
+         * Parse the supplied non-null string value.
+         *
+         * @param value string value.
+         * @return parsed value.
+         * @throws IllegalArgumentException in case the value cannot be parsed.
+         */
+        protected abstract T parse(String value) throws IllegalArgumentException;
+
+        @Override
+        public String toString(final T value) throws IllegalArgumentException {
+            return value.toString();
+        }
+    }
+
+    /**
+     * Provider of {@link ParamConverter param converters} for well-known Java types (primitive type wrappers,
+     * {@link UUID}, {@link BigDecimal} and {@link BigInteger}) that parse the string value directly instead of
+     * reflectively invoking {@code valueOf(String)}, {@code fromString(String)} or a {@code String} constructor.
+     */
+    @Singleton
+    public static class KnownTypeProvider implements ParamConverterProvider {
+
+        private static final Map<Class<?>, ParamConverter<?>> CONVERTERS = createConverters();
+
+        private static Map<Class<?>, ParamConverter<?>> createConverters() {
+            final Map<Class<?>, ParamConverter<?>> converters = new IdentityHashMap<>();
+
+            converters.put(Integer.class, new KnownTypeReader<Integer>() {
+                @Override
+                protected Integer parse(final String value) {
+                    return Integer.valueOf(value);
+                }
+            });
+            converters.put(Long.class, new KnownTypeReader<Long>() {
+                @Override
+                protected Long parse(final String value) {
+                    return Long.valueOf(value);
+                }
+            });
+            converters.put(Short.class, new KnownTypeReader<Short>() {
+                @Override
+                protected Short parse(final String value) {
+                    return Short.valueOf(value);
+                }
+            });
+            converters.put(Byte.class, new KnownTypeReader<Byte>() {
+                @Override
+                protected Byte parse(final String value) {
+                    return Byte.valueOf(value);
+                }
+            });
+            converters.put(Double.class, new KnownTypeReader<Double>() {
+                @Override
+                protected Double parse(final String value) {
+                    return Double.valueOf(value);
+                }
+            });
+            converters.put(Float.class, new KnownTypeReader<Float>() {
+                @Override
+                protected Float parse(final String value) {
+                    return Float.valueOf(value);
+                }
+            });
+            converters.put(Boolean.class, new KnownTypeReader<Boolean>() {
+                @Override
+                protected Boolean parse(final String value) {
+                    return Boolean.valueOf(value);
+                }
+            });
+            converters.put(UUID.class, new KnownTypeReader<UUID>() {
+                @Override
+                protected UUID parse(final String value) {
+                    return UUID.fromString(value);
+                }
+            });
+            converters.put(BigDecimal.class, new KnownTypeReader<BigDecimal>() {
+                @Override
+                protected BigDecimal parse(final String value) {
+                    return new BigDecimal(value);
+                }
+            });
+            converters.put(BigInteger.class, new KnownTypeReader<BigInteger>() {
+                @Override
+                protected BigInteger parse(final String value) {
+                    return new BigInteger(value);
+                }
+            });
+
+            return converters;
+        }
+
+        /**
+         * Get a direct (non-reflective) converter for the given well-known type.
+         *
+         * @param rawType type to get the converter for.
+         * @param <T>     converted Java type.
+         * @return param converter or {@code null} if the type is not a well-known type.
+         */
+        @SuppressWarnings("unchecked")
+        static <T> ParamConverter<T> getKnownConverter(final Class<T> rawType) {
+            return (ParamConverter<T>) CONVERTERS.get(rawType);
+        }
+
+        @Override
+        public <T> ParamConverter<T> getConverter(final Class<T> rawType,
+                                                  final Type genericType,
+                                                  final Annotation[] annotations) {
+            return getKnownConverter(rawType);
+        }
+    }
+
     /**
      * Provider of {@link ParamConverter param converter} that produce the target Java type instance
      * by invoking a single {@code String} parameter constructor on the target type.
@@ -236,6 +380,7 @@ class ParamConverters {
                     // ordering is important (e.g. Date provider must be executed before String Constructor
                     // as Date has a deprecated String constructor
                     locator.createAndInitialize(DateProvider.class),
+                    locator.createAndInitialize(KnownTypeProvider.class),
                     locator.createAndInitialize(TypeFromStringEnum.class),
                     locator.createAndInitialize(TypeValueOf.class),
                     locator.createAndInitialize(TypeFromString.class),
@@ -39,24 +39,23 @@
  */
 package org.glassfish.jersey.server.internal.inject;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-
-import javax.ws.rs.ProcessingException;
-import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.ParamConverter;
 
 /**
  * Extract primitive parameter value from the {@link MultivaluedMap multivalued parameter map}
- * using one of the {@code valueOf(String)} methods on the primitive Java type wrapper
- * classes.
+ * using a {@link ParamConverter param converter} of the primitive Java type wrapper class.
+ * <p>
+ * The converters provided by {@link ParamConverters.KnownTypeProvider} parse the values directly, equivalently
+ * to the {@code valueOf(String)} methods on the primitive Java type wrapper classes, but without reflection.
+ * </p>
  *
  * @author Paul Sandoz
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
 final class PrimitiveValueOfExtractor implements MultivaluedParameterExtractor<Object> {
 
-    private final Method valueOf;
+    private final ParamConverter<?> converter;
     private final String parameter;
     private final String defaultStringValue;
     private final Object defaultValue;
@@ -65,14 +64,14 @@ final class PrimitiveValueOfExtractor implements MultivaluedParameterExtractor<O
     /**
      * Create new primitive parameter value extractor.
      *
-     * @param valueOf                   {@code valueOf()} method handler.
+     * @param converter                 primitive type wrapper converter.
      * @param parameter                 string parameter value.
      * @param defaultStringValue        default string value.
      * @param defaultPrimitiveTypeValue default primitive type value.
      */
-    public PrimitiveValueOfExtractor(Method valueOf, String parameter,
+    public PrimitiveValueOfExtractor(ParamConverter<?> converter, String parameter,
                                      String defaultStringValue, Object defaultPrimitiveTypeValue) {
-        this.valueOf = valueOf;
+        this.converter = converter;
         this.parameter = parameter;
         this.defaultStringValue = defaultStringValue;
         this.defaultValue = (defaultStringValue != null)
@@ -91,18 +90,12 @@ final class PrimitiveValueOfExtractor implements MultivaluedParameterExtractor<O
     }
 
     private Object getValue(String v) {
-        try {
-            return valueOf.invoke(null, v);
-        } catch (InvocationTargetException ex) {
-            Throwable target = ex.getTargetException();
-            if (target instanceof WebApplicationException) {
-                throw (WebApplicationException) target;
-            } else {
-                throw new ExtractorException(target);
-            }
-        } catch (Exception ex) {
-            throw new ProcessingException(ex);
+        final Object value = converter.fromString(v);
+        if (value == null) {
+            // the converter maps an empty string to null, valueOf(String) rejects it
+            throw new ExtractorException(new NumberFormatException("For input string: \"" + v + "\""));
         }
+        return value;
     }
 
     @Override
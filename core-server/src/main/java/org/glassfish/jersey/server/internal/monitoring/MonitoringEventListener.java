@@ -40,16 +40,25 @@
 
 package org.glassfish.jersey.server.internal.monitoring;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.ext.InterceptorContext;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
 
 import javax.annotation.Priority;
 import javax.inject.Inject;
 
+import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.monitoring.ApplicationEvent;
@@ -57,6 +66,7 @@ import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
 import org.glassfish.jersey.server.monitoring.DestroyListener;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.glassfish.jersey.server.monitoring.ResourceMethodStageStatistics;
 import org.glassfish.jersey.uri.UriTemplate;
 
 import org.glassfish.hk2.api.ServiceLocator;
@@ -76,16 +86,27 @@ import jersey.repackaged.com.google.common.collect.Queues;
  * This event listener must be registered as a standard provider when monitoring statistics are required
  * in the runtime.
  * </p>
+ * <p>
+ * The listener is also a {@link ReaderInterceptor reader} and {@link WriterInterceptor writer interceptor} that
+ * measures the time spent by reading and writing of entities in order to provide the durations of
+ * the {@link ResourceMethodStageStatistics.Stage request processing stages}.
+ * </p>
  *
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  * @see MonitoringStatisticsProcessor
  */
 @Priority(ApplicationInfoListener.PRIORITY + 100)
-public final class MonitoringEventListener implements ApplicationEventListener {
+public final class MonitoringEventListener implements ApplicationEventListener, ReaderInterceptor, WriterInterceptor {
 
     private static final Logger LOGGER = Logger.getLogger(MonitoringEventListener.class.getName());
     private static final int EVENT_QUEUE_SIZE = 50000;
 
+    /**
+     * Request property names of the accumulated entity reading and writing times in nanoseconds.
+     */
+    private static final String ENTITY_READ_TIME = MonitoringEventListener.class.getName() + ".entityReadTime";
+    private static final String ENTITY_WRITE_TIME = MonitoringEventListener.class.getName() + ".entityWriteTime";
+
     @Inject
     private ServiceLocator serviceLocator;
 
@@ -155,11 +176,14 @@ public final class MonitoringEventListener implements ApplicationEventListener {
 
         private final TimeStats requestStats;
         private final MethodStats methodStats; // might be null if a method was not executed during a request
+        private final long[] stageDurations; // null if a method was not executed during a request
         private final String requestUri;
 
-        private RequestStats(final TimeStats requestStats, final MethodStats methodStats, final String requestUri) {
+        private RequestStats(final TimeStats requestStats, final MethodStats methodStats, final long[] stageDurations,
+                             final String requestUri) {
             this.requestStats = requestStats;
             this.methodStats = methodStats;
+            this.stageDurations = stageDurations;
             this.requestUri = requestUri;
         }
 
@@ -181,6 +205,16 @@ public final class MonitoringEventListener implements ApplicationEventListener {
             return methodStats;
         }
 
+        /**
+         * Get durations of the request processing stages.
+         *
+         * @return Stage durations in microseconds indexed by {@link ResourceMethodStageStatistics.Stage#ordinal() stage ordinal}
+         * or {@code null} if a resource method was not executed during the request.
+         */
+        long[] getStageDurations() {
+            return stageDurations;
+        }
+
         /**
          * Get the request uri.
          *
@@ -240,27 +274,91 @@ public final class MonitoringEventListener implements ApplicationEventListener {
         }
     }
 
+    @Override
+    public Object aroundReadFrom(final ReaderInterceptorContext context) throws IOException, WebApplicationException {
+        final long start = System.nanoTime();
+        try {
+            return context.proceed();
+        } finally {
+            addEntityTime(context, ENTITY_READ_TIME, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
+        final long start = System.nanoTime();
+        try {
+            context.proceed();
+        } finally {
+            addEntityTime(context, ENTITY_WRITE_TIME, System.nanoTime() - start);
+        }
+    }
+
+    private static void addEntityTime(final InterceptorContext context, final String property, final long duration) {
+        final Object time = context.getProperty(property);
+        context.setProperty(property, time instanceof Long ? (Long) time + duration : duration);
+    }
+
+    private static long getEntityTime(final ContainerRequest request, final String property) {
+        final Object time = request == null ? null : request.getProperty(property);
+        return time instanceof Long ? (Long) time : 0;
+    }
+
     private class ReqEventListener implements RequestEventListener {
 
         private final long requestTimeStart;
         private volatile long methodTimeStart;
         private volatile MethodStats methodStats;
 
+        // stage boundaries in nanoseconds
+        private final long requestNanosStart;
+        private volatile long matchingStart = -1;
+        private volatile long requestMatched = -1;
+        private volatile long requestFiltered = -1;
+        private volatile long methodNanosStart = -1;
+        private volatile long methodNanosDuration = -1;
+        private volatile long methodEntityReadTimeStart;
+        private volatile long methodEntityReadTime;
+        private volatile long respFiltersStart = -1;
+        private volatile long respFiltersFinished = -1;
+
         public ReqEventListener() {
             this.requestTimeStart = System.currentTimeMillis();
+            this.requestNanosStart = System.nanoTime();
         }
 
         @Override
         public void onEvent(final RequestEvent event) {
             final long now = System.currentTimeMillis();
+            final long nanos = System.nanoTime();
 
             switch (event.getType()) {
+                case MATCHING_START:
+                    this.matchingStart = nanos;
+                    break;
+                case REQUEST_MATCHED:
+                    this.requestMatched = nanos;
+                    break;
+                case REQUEST_FILTERED:
+                    this.requestFiltered = nanos;
+                    break;
                 case RESOURCE_METHOD_START:
                     this.methodTimeStart = now;
+                    this.methodNanosStart = nanos;
+                    this.methodEntityReadTimeStart = getEntityTime(event.getContainerRequest(), ENTITY_READ_TIME);
                     break;
                 case RESOURCE_METHOD_FINISHED:
                     final ResourceMethod method = event.getUriInfo().getMatchedResourceMethod();
                     methodStats = new MethodStats(method, methodTimeStart, now - methodTimeStart);
+                    methodNanosDuration = nanos - methodNanosStart;
+                    methodEntityReadTime = getEntityTime(event.getContainerRequest(), ENTITY_READ_TIME)
+                            - methodEntityReadTimeStart;
+                    break;
+                case RESP_FILTERS_START:
+                    this.respFiltersStart = nanos;
+                    break;
+                case RESP_FILTERS_FINISHED:
+                    this.respFiltersFinished = nanos;
                     break;
                 case EXCEPTION_MAPPING_FINISHED:
                     if (!exceptionMapperEvents.offer(event)) {
@@ -285,12 +383,39 @@ public final class MonitoringEventListener implements ApplicationEventListener {
                     }
 
                     if (!requestQueuedItems.offer(new RequestStats(new TimeStats(requestTimeStart, now - requestTimeStart),
-                            methodStats, sb.toString()))) {
+                            methodStats, methodStats == null ? null : getStageDurations(event), sb.toString()))) {
                         LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_REQUEST());
                     }
 
             }
         }
+
+        private long[] getStageDurations(final RequestEvent event) {
+            final long[] durations = new long[ResourceMethodStageStatistics.Stage.values().length];
+
+            // pre-matching filters run between the start of the request processing and the start of the matching
+            long requestFilters = matchingStart < 0 ? 0 : matchingStart - requestNanosStart;
+            if (requestMatched >= 0 && requestFiltered >= 0) {
+                requestFilters += requestFiltered - requestMatched;
+            }
+
+            setDuration(durations, ResourceMethodStageStatistics.Stage.ROUTING,
+                    matchingStart >= 0 && requestMatched >= 0 ? requestMatched - matchingStart : 0);
+            setDuration(durations, ResourceMethodStageStatistics.Stage.REQUEST_FILTERS, requestFilters);
+            setDuration(durations, ResourceMethodStageStatistics.Stage.ENTITY_READ,
+                    getEntityTime(event.getContainerRequest(), ENTITY_READ_TIME));
+            setDuration(durations, ResourceMethodStageStatistics.Stage.METHOD, methodNanosDuration - methodEntityReadTime);
+            setDuration(durations, ResourceMethodStageStatistics.Stage.RESPONSE_FILTERS,
+                    respFiltersStart >= 0 && respFiltersFinished >= 0 ? respFiltersFinished - respFiltersStart : 0);
+            setDuration(durations, ResourceMethodStageStatistics.Stage.ENTITY_WRITE,
+                    getEntityTime(event.getContainerRequest(), ENTITY_WRITE_TIME));
+
+            return durations;
+        }
+
+        private void setDuration(final long[] durations, final ResourceMethodStageStatistics.Stage stage, final long nanos) {
+            durations[stage.ordinal()] = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+        }
     }
 
     /**
@@ -187,6 +187,19 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
                     .addResourceMethodExecution(methodTime, methodDuration, requestTime, requestDuration);
         }
 
+        /**
+         * Add durations of the request processing stages of a request matched to a resource method.
+         *
+         * @param resourceMethod Resource method.
+         * @param requestTime Time when the request has been received by Jersey (Unix timestamp format).
+         * @param stageDurations Durations of the request processing stages in microseconds indexed by
+         *                       {@link org.glassfish.jersey.server.monitoring.ResourceMethodStageStatistics.Stage#ordinal()
+         *                       stage ordinal}.
+         */
+        void addStageExecutions(final ResourceMethod resourceMethod, final long requestTime, final long[] stageDurations) {
+            methodFactory.getOrCreate(resourceMethod).addStageExecutions(requestTime, stageDurations);
+        }
+
 
         /**
          * Add a response status code produces by Jersey.
@@ -168,6 +168,9 @@ final class MonitoringStatisticsProcessor {
                 statisticsBuilder.addExecution(event.getRequestUri(), method,
                         methodStat.getStartTime(), methodStat.getDuration(),
                         requestStats.getStartTime(), requestStats.getDuration());
+                if (event.getStageDurations() != null) {
+                    statisticsBuilder.addStageExecutions(method, requestStats.getStartTime(), event.getStageDurations());
+                }
             }
         }
     }
@@ -40,11 +40,12 @@
 
 package org.glassfish.jersey.server.internal.monitoring;
 
+import java.util.EnumMap;
 import java.util.Map;
 
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
-import org.glassfish.jersey.server.monitoring.ResourceMethodStatistics;
+import org.glassfish.jersey.server.monitoring.ResourceMethodStageStatistics;
 
 import jersey.repackaged.com.google.common.collect.Maps;
 
@@ -53,7 +54,7 @@ import jersey.repackaged.com.google.common.collect.Maps;
  *
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  */
-final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
+final class ResourceMethodStatisticsImpl implements ResourceMethodStageStatistics {
 
     /**
      * Factory for creating and storing resource method statistics. One instance per resource method.
@@ -81,6 +82,8 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
 
         private ExecutionStatisticsImpl.Builder resourceMethodExecutionStatisticsBuilder;
         private ExecutionStatisticsImpl.Builder requestExecutionStatisticsBuilder;
+        private final Map<Stage, ExecutionStatisticsImpl.Builder> stageExecutionStatisticsBuilders =
+                new EnumMap<>(Stage.class);
 
         private ResourceMethodStatisticsImpl cached;
 
@@ -108,7 +111,14 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
             final ExecutionStatistics requestStats = requestExecutionStatisticsBuilder == null ?
                     ExecutionStatisticsImpl.EMPTY : requestExecutionStatisticsBuilder.build();
 
-            final ResourceMethodStatisticsImpl stats = new ResourceMethodStatisticsImpl(resourceMethod, methodStats, requestStats);
+            final Map<Stage, ExecutionStatistics> stageStats = new EnumMap<>(Stage.class);
+            for (final Stage stage : Stage.values()) {
+                final ExecutionStatisticsImpl.Builder builder = stageExecutionStatisticsBuilders.get(stage);
+                stageStats.put(stage, builder == null ? ExecutionStatisticsImpl.EMPTY : builder.build());
+            }
+
+            final ResourceMethodStatisticsImpl stats = new ResourceMethodStatisticsImpl(resourceMethod, methodStats, requestStats,
+                    stageStats);
 
             if (MonitoringUtils.isCacheable(methodStats)) {
                 cached = stats;
@@ -141,19 +151,42 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
             }
             requestExecutionStatisticsBuilder.addExecution(requestStartTime, requestDuration);
         }
+
+        /**
+         * Add durations of the request processing stages of a request matched to the resource method.
+         *
+         * @param requestStartTime Time when the request has been received by Jersey (Unix timestamp format).
+         * @param stageDurations Durations of the request processing stages in microseconds indexed by
+         *                       {@link Stage#ordinal() stage ordinal}.
+         */
+        void addStageExecutions(final long requestStartTime, final long[] stageDurations) {
+            cached = null;
+
+            for (final Stage stage : Stage.values()) {
+                ExecutionStatisticsImpl.Builder builder = stageExecutionStatisticsBuilders.get(stage);
+                if (builder == null) {
+                    builder = new ExecutionStatisticsImpl.Builder();
+                    stageExecutionStatisticsBuilders.put(stage, builder);
+                }
+                builder.addExecution(requestStartTime, stageDurations[stage.ordinal()]);
+            }
+        }
     }
 
     private final ExecutionStatistics resourceMethodExecutionStatistics;
     private final ExecutionStatistics requestExecutionStatistics;
+    private final Map<Stage, ExecutionStatistics> stageExecutionStatistics;
     private final ResourceMethod resourceMethod;
 
     private ResourceMethodStatisticsImpl(final ResourceMethod resourceMethod,
                                          final ExecutionStatistics resourceMethodExecutionStatistics,
-                                         final ExecutionStatistics requestExecutionStatistics) {
+                                         final ExecutionStatistics requestExecutionStatistics,
+                                         final Map<Stage, ExecutionStatistics> stageExecutionStatistics) {
         this.resourceMethod = resourceMethod;
 
         this.resourceMethodExecutionStatistics = resourceMethodExecutionStatistics;
         this.requestExecutionStatistics = requestExecutionStatistics;
+        this.stageExecutionStatistics = stageExecutionStatistics;
     }
 
     @Override
@@ -166,12 +199,17 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
         return resourceMethodExecutionStatistics;
     }
 
+    @Override
+    public ExecutionStatistics getStageStatistics(final Stage stage) {
+        return stageExecutionStatistics.get(stage);
+    }
+
     public ResourceMethod getResourceMethod() {
         return resourceMethod;
     }
 
     @Override
-    public ResourceMethodStatistics snapshot() {
+    public ResourceMethodStageStatistics snapshot() {
         // snapshot functionality not yet implemented
         return this;
     }
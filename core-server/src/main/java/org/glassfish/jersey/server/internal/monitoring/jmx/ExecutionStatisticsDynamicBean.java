@@ -71,7 +71,9 @@ public class ExecutionStatisticsDynamicBean implements DynamicMBean {
     private final MBeanInfo mBeanInfo;
 
 
-    private MBeanInfo initMBeanInfo(final ExecutionStatistics initialStatistics) {
+    private MBeanInfo initMBeanInfo(final ExecutionStatistics initialStatistics, final boolean microseconds) {
+        final String unit = microseconds ? "[us]_" : "[ms]_";
+        final String unitName = microseconds ? "microseconds" : "milliseconds";
         final Map<Long, TimeWindowStatistics> statsMap = initialStatistics.getTimeWindowStatistics();
         MBeanAttributeInfo[] attrs = new MBeanAttributeInfo[statsMap.size() * 5];
         int i = 0;
@@ -79,8 +81,8 @@ public class ExecutionStatisticsDynamicBean implements DynamicMBean {
             final long interval = stats.getTimeWindow();
             final String postfix = convertIntervalToString((int) interval);
 
-            String name = "MinTime[ms]_" + postfix;
-            attrs[i++] = new MBeanAttributeInfo(name, "long", "Minimum request processing time in milliseconds in last "
+            String name = "MinTime" + unit + postfix;
+            attrs[i++] = new MBeanAttributeInfo(name, "long", "Minimum request processing time in " + unitName + " in last "
                     + postfix + ".", true, false, false);
 
             attributeValues.put(name, new Value<Object>() {
@@ -90,8 +92,8 @@ public class ExecutionStatisticsDynamicBean implements DynamicMBean {
                 }
             });
 
-            name = "MaxTime[ms]_" + postfix;
-            attrs[i++] = new MBeanAttributeInfo(name, "long", "Minimum request processing time  in milliseconds in last "
+            name = "MaxTime" + unit + postfix;
+            attrs[i++] = new MBeanAttributeInfo(name, "long", "Minimum request processing time  in " + unitName + " in last "
                     + postfix + ".", true, false, false);
 
             attributeValues.put(name, new Value<Object>() {
@@ -101,8 +103,8 @@ public class ExecutionStatisticsDynamicBean implements DynamicMBean {
                 }
             });
 
-            name = "AverageTime[ms]_" + postfix;
-            attrs[i++] = new MBeanAttributeInfo(name, "long", "Average request processing time in milliseconds in last "
+            name = "AverageTime" + unit + postfix;
+            attrs[i++] = new MBeanAttributeInfo(name, "long", "Average request processing time in " + unitName + " in last "
                     + postfix + ".", true, false, false);
 
             attributeValues.put(name, new Value<Object>() {
@@ -176,8 +178,22 @@ public class ExecutionStatisticsDynamicBean implements DynamicMBean {
      */
     public ExecutionStatisticsDynamicBean(ExecutionStatistics executionStatistics, MBeanExposer mBeanExposer,
                                           String parentBeanName, String beanName) {
+        this(executionStatistics, mBeanExposer, parentBeanName, beanName, false);
+    }
+
+    /**
+     * Create a new MXBean and register it into the mbean server using {@code mBeanExposer}.
+     * @param executionStatistics Execution statistics to be exposed.
+     * @param mBeanExposer mbean exposer.
+     * @param parentBeanName Name of the parent mxbean.
+     * @param beanName A required name of this exposed bean.
+     * @param microseconds {@code true} if the durations of the execution statistics are measured in microseconds,
+     *                     {@code false} if they are measured in milliseconds.
+     */
+    public ExecutionStatisticsDynamicBean(ExecutionStatistics executionStatistics, MBeanExposer mBeanExposer,
+                                          String parentBeanName, String beanName, boolean microseconds) {
         this.executionStatistics = executionStatistics;
-        this.mBeanInfo = initMBeanInfo(executionStatistics);
+        this.mBeanInfo = initMBeanInfo(executionStatistics, microseconds);
         mBeanExposer.registerMBean(this, parentBeanName + ",executionTimes=" + beanName);
 
     }
@@ -77,6 +77,7 @@ public class MBeanExposer extends AbstractContainerLifecycleListener implements
     private static final String PROPERTY_SUBTYPE_GLOBAL = "Global";
     static final String PROPERTY_EXECUTION_TIMES_REQUESTS = "RequestTimes";
     static final String PROPERTY_EXECUTION_TIMES_METHODS = "MethodTimes";
+    static final String PROPERTY_EXECUTION_TIMES_STAGE_PREFIX = "StageTimes_";
 
     // MBeans
     private volatile ExecutionStatisticsDynamicBean requestMBean;
@@ -40,9 +40,13 @@
 
 package org.glassfish.jersey.server.internal.monitoring.jmx;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import org.glassfish.jersey.message.internal.MediaTypes;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.monitoring.ResourceMethodMXBean;
+import org.glassfish.jersey.server.monitoring.ResourceMethodStageStatistics;
 import org.glassfish.jersey.server.monitoring.ResourceMethodStatistics;
 
 /**
@@ -52,6 +56,8 @@ import org.glassfish.jersey.server.monitoring.ResourceMethodStatistics;
 public class ResourceMethodMXBeanImpl implements ResourceMethodMXBean {
     private volatile ExecutionStatisticsDynamicBean methodExecutionStatisticsMxBean;
     private volatile ExecutionStatisticsDynamicBean requestExecutionStatisticsMxBean;
+    private final Map<ResourceMethodStageStatistics.Stage, ExecutionStatisticsDynamicBean> stageExecutionStatisticsMxBeans =
+            new EnumMap<>(ResourceMethodStageStatistics.Stage.class);
     private final String path;
     private final String name;
     private final ResourceMethod resourceMethod;
@@ -108,6 +114,13 @@ public class ResourceMethodMXBeanImpl implements ResourceMethodMXBean {
                 mBeanExposer, methodBeanName, MBeanExposer.PROPERTY_EXECUTION_TIMES_METHODS);
         requestExecutionStatisticsMxBean = new ExecutionStatisticsDynamicBean(methodStatistics.getRequestStatistics(),
                 mBeanExposer, methodBeanName, MBeanExposer.PROPERTY_EXECUTION_TIMES_REQUESTS);
+        if (methodStatistics instanceof ResourceMethodStageStatistics) {
+            for (final ResourceMethodStageStatistics.Stage stage : ResourceMethodStageStatistics.Stage.values()) {
+                stageExecutionStatisticsMxBeans.put(stage, new ExecutionStatisticsDynamicBean(
+                        ((ResourceMethodStageStatistics) methodStatistics).getStageStatistics(stage), mBeanExposer,
+                        methodBeanName, MBeanExposer.PROPERTY_EXECUTION_TIMES_STAGE_PREFIX + stage.name(), true));
+            }
+        }
     }
 
     /**
@@ -117,6 +130,13 @@ public class ResourceMethodMXBeanImpl implements ResourceMethodMXBean {
     public void updateResourceMethodStatistics(ResourceMethodStatistics resourceMethodStatisticsImpl) {
         this.methodExecutionStatisticsMxBean.updateExecutionStatistics(resourceMethodStatisticsImpl.getMethodStatistics());
         this.requestExecutionStatisticsMxBean.updateExecutionStatistics(resourceMethodStatisticsImpl.getRequestStatistics());
+        if (resourceMethodStatisticsImpl instanceof ResourceMethodStageStatistics) {
+            final ResourceMethodStageStatistics stageStatistics = (ResourceMethodStageStatistics) resourceMethodStatisticsImpl;
+            for (final Map.Entry<ResourceMethodStageStatistics.Stage, ExecutionStatisticsDynamicBean> entry
+                    : stageExecutionStatisticsMxBeans.entrySet()) {
+                entry.getValue().updateExecutionStatistics(stageStatistics.getStageStatistics(entry.getKey()));
+            }
+        }
     }
 
 
@@ -39,6 +39,9 @@
  */
 package org.glassfish.jersey.server.internal.routing;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 
 /**
@@ -47,9 +50,9 @@ import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
  *
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
-final class MatchResultInitializerRouter implements Router {
+final class MatchResultInitializerRouter implements LinearRouter {
 
-    private final Router rootRouter;
+    private final List<Router> rootRouter;
 
     /**
      * Create a new match result initializer.
@@ -57,14 +60,24 @@ final class MatchResultInitializerRouter implements Router {
      * @param rootRouter root router.
      */
     MatchResultInitializerRouter(Router rootRouter) {
-        this.rootRouter = rootRouter;
+        this.rootRouter = Collections.singletonList(rootRouter);
     }
 
     @Override
     public Continuation apply(final RequestProcessingContext processingContext) {
+        route(processingContext);
+
+        return Continuation.of(processingContext, rootRouter);
+    }
+
+    @Override
+    public void route(final RequestProcessingContext processingContext) {
         final RoutingContext rc = processingContext.routingContext();
         rc.pushMatchResult(new SingleMatchResult("/" + processingContext.request().getPath(false)));
+    }
 
-        return Continuation.of(processingContext, rootRouter);
+    @Override
+    public List<Router> getNextRouters() {
+        return rootRouter;
     }
 }
@@ -39,6 +39,9 @@
  */
 package org.glassfish.jersey.server.internal.routing;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 import org.glassfish.jersey.server.model.ResourceMethod;
 
@@ -48,7 +51,7 @@ import org.glassfish.jersey.server.model.ResourceMethod;
  *
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  */
-class PushMatchedMethodRouter implements Router {
+class PushMatchedMethodRouter implements LinearRouter {
 
     private final ResourceMethod resourceMethod;
 
@@ -64,7 +67,13 @@ class PushMatchedMethodRouter implements Router {
 
     @Override
     public Continuation apply(final RequestProcessingContext processingContext) {
+        route(processingContext);
+
+        return Continuation.of(processingContext);
+    }
 
+    @Override
+    public void route(final RequestProcessingContext processingContext) {
         final RoutingContext rc = processingContext.routingContext();
 
         switch (resourceMethod.getType()) {
@@ -76,7 +85,10 @@ class PushMatchedMethodRouter implements Router {
                 rc.pushMatchedLocator(resourceMethod);
                 break;
         }
+    }
 
-        return Continuation.of(processingContext);
+    @Override
+    public List<Router> getNextRouters() {
+        return Collections.emptyList();
     }
 }
@@ -39,6 +39,9 @@
  */
 package org.glassfish.jersey.server.internal.routing;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 import org.glassfish.jersey.server.model.RuntimeResource;
 
@@ -49,7 +52,7 @@ import org.glassfish.jersey.server.model.RuntimeResource;
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  */
 
-class PushMatchedRuntimeResourceRouter implements Router {
+class PushMatchedRuntimeResourceRouter implements LinearRouter {
 
     private final RuntimeResource resource;
 
@@ -64,7 +67,18 @@ class PushMatchedRuntimeResourceRouter implements Router {
 
     @Override
     public Continuation apply(final RequestProcessingContext context) {
-        context.routingContext().pushMatchedRuntimeResource(resource);
+        route(context);
+
         return Continuation.of(context);
     }
+
+    @Override
+    public void route(final RequestProcessingContext context) {
+        context.routingContext().pushMatchedRuntimeResource(resource);
+    }
+
+    @Override
+    public List<Router> getNextRouters() {
+        return Collections.emptyList();
+    }
 }
@@ -39,6 +39,9 @@
  */
 package org.glassfish.jersey.server.internal.routing;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 import org.glassfish.jersey.uri.UriTemplate;
 
@@ -51,7 +54,7 @@ import org.glassfish.jersey.uri.UriTemplate;
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  * @see RoutingContext#pushTemplates(org.glassfish.jersey.uri.UriTemplate, org.glassfish.jersey.uri.UriTemplate)
  */
-class PushMatchedTemplateRouter implements Router {
+class PushMatchedTemplateRouter implements LinearRouter {
 
     private final UriTemplate resourceTemplate;
     private final UriTemplate methodTemplate;
@@ -88,8 +91,18 @@ class PushMatchedTemplateRouter implements Router {
 
     @Override
     public Continuation apply(final RequestProcessingContext context) {
-        context.routingContext().pushTemplates(resourceTemplate, methodTemplate);
+        route(context);
 
         return Continuation.of(context);
     }
+
+    @Override
+    public void route(final RequestProcessingContext context) {
+        context.routingContext().pushTemplates(resourceTemplate, methodTemplate);
+    }
+
+    @Override
+    public List<Router> getNextRouters() {
+        return Collections.emptyList();
+    }
 }
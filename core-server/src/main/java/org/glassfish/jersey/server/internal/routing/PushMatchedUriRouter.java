@@ -39,6 +39,9 @@
  */
 package org.glassfish.jersey.server.internal.routing;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 
 /**
@@ -47,12 +50,22 @@ import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
  *
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
-class PushMatchedUriRouter implements Router {
+class PushMatchedUriRouter implements LinearRouter {
 
     @Override
     public Continuation apply(final RequestProcessingContext context) {
-        context.routingContext().pushLeftHandPath();
+        route(context);
 
         return Continuation.of(context);
     }
+
+    @Override
+    public void route(final RequestProcessingContext context) {
+        context.routingContext().pushLeftHandPath();
+    }
+
+    @Override
+    public List<Router> getNextRouters() {
+        return Collections.emptyList();
+    }
 }
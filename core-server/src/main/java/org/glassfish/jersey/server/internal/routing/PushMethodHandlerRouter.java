@@ -39,6 +39,9 @@
  */
 package org.glassfish.jersey.server.internal.routing;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 import org.glassfish.jersey.server.model.MethodHandler;
 
@@ -48,10 +51,10 @@ import org.glassfish.jersey.server.model.MethodHandler;
  *
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
-class PushMethodHandlerRouter implements Router {
+class PushMethodHandlerRouter implements LinearRouter {
 
     private final MethodHandler methodHandler;
-    private final Router next;
+    private final List<Router> next;
 
     /**
      * Create a new {@code PushMethodHandlerRouter} instance.
@@ -62,11 +65,18 @@ class PushMethodHandlerRouter implements Router {
      */
     PushMethodHandlerRouter(final MethodHandler methodHandler, final Router next) {
         this.methodHandler = methodHandler;
-        this.next = next;
+        this.next = Collections.singletonList(next);
     }
 
     @Override
     public Continuation apply(final RequestProcessingContext context) {
+        route(context);
+
+        return Continuation.of(context, next);
+    }
+
+    @Override
+    public void route(final RequestProcessingContext context) {
         final RoutingContext routingContext = context.routingContext();
 
         final Object storedResource = routingContext.peekMatchedResource();
@@ -74,6 +84,10 @@ class PushMethodHandlerRouter implements Router {
             Object handlerInstance = methodHandler.getInstance(context.serviceLocator());
             routingContext.pushMatchedResource(handlerInstance);
         }
-        return Continuation.of(context, next);
+    }
+
+    @Override
+    public List<Router> getNextRouters() {
+        return next;
     }
 }
@@ -43,8 +43,6 @@ import java.util.Collections;
 
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 
-import jersey.repackaged.com.google.common.collect.Lists;
-
 /**
  * Hierarchical request router that can be used to create dynamic routing tree
  * structures.  Each routing tree can be executed using a dedicated
@@ -101,7 +99,7 @@ public interface Router {
          *         request.
          */
         public static Continuation of(final RequestProcessingContext request, final Router next) {
-            return new Continuation(request, Lists.newArrayList(next));
+            return new Continuation(request, Collections.singletonList(next));
         }
 
         private Continuation(final RequestProcessingContext request, final Iterable<Router> next) {
@@ -117,7 +117,7 @@ public final class Routers {
     }
 
     private static class InflectingRouter
-            implements Router, Inflecting<RequestProcessingContext, ContainerResponse> {
+            implements LinearRouter, Inflecting<RequestProcessingContext, ContainerResponse> {
 
         private final Inflector<RequestProcessingContext, ContainerResponse> inflector;
 
@@ -131,9 +131,19 @@ public final class Routers {
         }
 
         @Override
-        public Continuation apply(RequestProcessingContext context) {
+        public Continuation apply(final RequestProcessingContext context) {
             return Continuation.of(context);
         }
+
+        @Override
+        public void route(final RequestProcessingContext context) {
+            // nothing to route
+        }
+
+        @Override
+        public List<Router> getNextRouters() {
+            return Collections.emptyList();
+        }
     }
 
     private static class RouterBuilder implements Router.Builder {
@@ -39,10 +39,13 @@
  */
 package org.glassfish.jersey.server.internal.routing;
 
+import java.util.List;
+import java.util.RandomAccess;
+
 import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.process.internal.AbstractChainableStage;
 import org.glassfish.jersey.process.internal.Inflecting;
-import org.glassfish.jersey.process.internal.Stage;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.internal.ServerTraceEvent;
@@ -93,41 +96,70 @@ public class RoutingStage extends AbstractChainableStage<RequestProcessingContex
         try {
             final TransformableData<RequestProcessingContext, ContainerResponse> result = _apply(context, routingRoot);
 
-            Stage<RequestProcessingContext> nextStage = null;
-            if (result.hasInflector()) {
+            if (result != null) {
                 context.routingContext().setInflector(result.inflector());
-                nextStage = getDefaultNext();
+                return Continuation.of(result.data(), getDefaultNext());
             }
 
-            return Continuation.of(result.data(), nextStage);
+            return Continuation.of(context);
         } finally {
             tracingLogger.logDuration(ServerTraceEvent.MATCH_SUMMARY, timestamp);
         }
     }
 
+    /**
+     * Route the request through the routing hierarchy starting at the given router.
+     *
+     * @return routing result with the found inflector or {@code null} if no inflector has been found
+     *         in the routing hierarchy.
+     */
     @SuppressWarnings("unchecked")
     private TransformableData<RequestProcessingContext, ContainerResponse> _apply(
             final RequestProcessingContext request, final Router router) {
 
-        final Router.Continuation continuation = router.apply(request);
-
-        for (Router child : continuation.next()) {
-            TransformableData<RequestProcessingContext, ContainerResponse> result =
-                    _apply(continuation.requestContext(), child);
+        final RequestProcessingContext routed;
+        final Iterable<Router> next;
+        if (router instanceof LinearRouter) {
+            // fast path - no continuation needed
+            final LinearRouter linearRouter = (LinearRouter) router;
+            linearRouter.route(request);
+            routed = request;
+            next = linearRouter.getNextRouters();
+        } else {
+            final Router.Continuation continuation = router.apply(request);
+            routed = continuation.requestContext();
+            next = continuation.next();
+        }
 
-            if (result.hasInflector()) {
-                // we're done
-                return result;
-            } // else continue
+        if (next instanceof RandomAccess) {
+            final List<Router> children = (List<Router>) next;
+            for (int i = 0; i < children.size(); i++) {
+                final TransformableData<RequestProcessingContext, ContainerResponse> result = _apply(routed, children.get(i));
+                if (result != null) {
+                    // we're done
+                    return result;
+                } // else continue
+            }
+        } else {
+            for (final Router child : next) {
+                final TransformableData<RequestProcessingContext, ContainerResponse> result = _apply(routed, child);
+                if (result != null) {
+                    // we're done
+                    return result;
+                } // else continue
+            }
         }
 
         if (router instanceof Inflecting) {
-            // inflector at terminal stage found
-            return TransformableData.of(continuation.requestContext(),
-                    ((Inflecting<RequestProcessingContext, ContainerResponse>) router).inflector());
+            final Inflector<RequestProcessingContext, ContainerResponse> inflector =
+                    ((Inflecting<RequestProcessingContext, ContainerResponse>) router).inflector();
+            if (inflector != null) {
+                // inflector at terminal stage found
+                return TransformableData.of(routed, inflector);
+            }
         }
 
         // inflector at terminal stage not found
-        return TransformableData.of(continuation.requestContext());
+        return null;
     }
 }
@@ -41,11 +41,16 @@ package org.glassfish.jersey.server.internal.routing;
 
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.MatchResult;
 
 import javax.ws.rs.core.MultivaluedHashMap;
@@ -89,7 +94,7 @@ public class UriRoutingContext implements RoutingContext, ExtendedUriInfo {
     private final ImmutableMultivaluedMap<String, String> encodedTemplateValuesView =
             new ImmutableMultivaluedMap<>(encodedTemplateValues);
 
-    private MultivaluedHashMap<String, String> decodedTemplateValues;
+    private DecodedValues decodedTemplateValues;
     private ImmutableMultivaluedMap<String, String> decodedTemplateValuesView;
 
     private ImmutableMultivaluedMap<String, String> encodedQueryParamsView;
@@ -175,11 +180,9 @@ public class UriRoutingContext implements RoutingContext, ExtendedUriInfo {
         for (String templateVariable : template.getTemplateVariables()) {
             final String value = matchResult.group(i++);
             encodedTemplateValues.addFirst(templateVariable, value);
-            if (decodedTemplateValues != null) {
-                decodedTemplateValues.addFirst(
-                        UriComponent.decode(templateVariable, UriComponent.Type.PATH_SEGMENT),
-                        UriComponent.decode(value, UriComponent.Type.PATH));
-            }
+        }
+        if (decodedTemplateValues != null) {
+            decodedTemplateValues.invalidate();
         }
     }
 
@@ -316,31 +319,173 @@ public class UriRoutingContext implements RoutingContext, ExtendedUriInfo {
     @Override
     public MultivaluedMap<String, String> getPathParameters(boolean decode) {
         if (decode) {
-            if (decodedTemplateValuesView != null) {
-                return decodedTemplateValuesView;
-            } else if (decodedTemplateValues == null) {
-                decodedTemplateValues = new MultivaluedHashMap<>();
-                for (Map.Entry<String, List<String>> e : encodedTemplateValues.entrySet()) {
-                    decodedTemplateValues.put(
-                            UriComponent.decode(e.getKey(), UriComponent.Type.PATH_SEGMENT),
-                            // we need to keep the ability to add new entries
-                            new LinkedList<>(Lists.transform(e.getValue(), new Function<String, String>() {
-
-                                @Override
-                                public String apply(String input) {
-                                    return UriComponent.decode(input, UriComponent.Type.PATH);
-                                }
-                            })));
-                }
+            if (decodedTemplateValuesView == null) {
+                decodedTemplateValues = new DecodedValues(encodedTemplateValues, UriComponent.Type.PATH);
+                decodedTemplateValuesView = new ImmutableMultivaluedMap<>(decodedTemplateValues);
             }
-            decodedTemplateValuesView = new ImmutableMultivaluedMap<>(decodedTemplateValues);
-
             return decodedTemplateValuesView;
         } else {
             return encodedTemplateValuesView;
         }
     }
 
+    /**
+     * Read-only view of decoded URI component values (template values or query parameters) that decodes only
+     * the values actually accessed.
+     * <p>
+     * The view uses the same keys as the underlying map of encoded values, i.e. the keys must already be in the decoded
+     * form (template variable names cannot contain percent-encoded characters, query parameter names are always decoded).
+     * Decoded values are cached until the view is {@link #invalidate() invalidated}.
+     * </p>
+     */
+    private static final class DecodedValues extends AbstractMap<String, List<String>>
+            implements MultivaluedMap<String, String> {
+
+        private final MultivaluedMap<String, String> encoded;
+        private final UriComponent.Type type;
+        private Map<String, List<String>> decoded;
+
+        /**
+         * Create new decoded values view.
+         *
+         * @param encoded encoded values.
+         * @param type    URI component type used to decode the values.
+         */
+        DecodedValues(final MultivaluedMap<String, String> encoded, final UriComponent.Type type) {
+            this.encoded = encoded;
+            this.type = type;
+        }
+
+        /**
+         * Invalidate decoded values cache.
+         */
+        void invalidate() {
+            if (decoded != null) {
+                decoded.clear();
+            }
+        }
+
+        @Override
+        public List<String> get(final Object key) {
+            if (decoded != null) {
+                final List<String> values = decoded.get(key);
+                if (values != null) {
+                    return values;
+                }
+            }
+
+            final List<String> encodedValues = encoded.get(key);
+            if (encodedValues == null) {
+                return null;
+            }
+
+            final List<String> values = new ArrayList<>(encodedValues.size());
+            for (final String value : encodedValues) {
+                values.add(UriComponent.decode(value, type));
+            }
+            if (decoded == null) {
+                decoded = new HashMap<>();
+            }
+            decoded.put((String) key, values);
+            return values;
+        }
+
+        @Override
+        public String getFirst(final String key) {
+            final List<String> values = get(key);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return encoded.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return encoded.size();
+        }
+
+        @Override
+        public Set<Entry<String, List<String>>> entrySet() {
+            return new AbstractSet<Entry<String, List<String>>>() {
+                @Override
+                public Iterator<Entry<String, List<String>>> iterator() {
+                    final Iterator<String> keys = encoded.keySet().iterator();
+                    return new Iterator<Entry<String, List<String>>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return keys.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, List<String>> next() {
+                            final String key = keys.next();
+                            return new SimpleImmutableEntry<>(key, get(key));
+                        }
+
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return encoded.size();
+                }
+            };
+        }
+
+        @Override
+        public boolean equalsIgnoreValueOrder(final MultivaluedMap<String, String> otherMap) {
+            if (otherMap == this) {
+                return true;
+            }
+            if (!keySet().equals(otherMap.keySet())) {
+                return false;
+            }
+            for (final Entry<String, List<String>> e : entrySet()) {
+                final List<String> olist = otherMap.get(e.getKey());
+                if (e.getValue().size() != olist.size()) {
+                    return false;
+                }
+                for (final String v : e.getValue()) {
+                    if (!olist.contains(v)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void putSingle(final String key, final String value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(final String key, final String value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addAll(final String key, final String... newValues) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addAll(final String key, final List<String> valueList) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addFirst(final String key, final String value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     @Override
     public List<PathSegment> getPathSegments() {
         return getPathSegments(true);
@@ -364,8 +509,9 @@ public class UriRoutingContext implements RoutingContext, ExtendedUriInfo {
                 return decodedQueryParamsView;
             }
 
-            decodedQueryParamsView =
-                    new ImmutableMultivaluedMap<>(UriComponent.decodeQuery(getRequestUri(), true));
+            // query is parsed only once, values are decoded lazily only for the parameters actually accessed
+            decodedQueryParamsView = new ImmutableMultivaluedMap<>(
+                    new DecodedValues(getQueryParameters(false), UriComponent.Type.QUERY_PARAM));
 
             return decodedQueryParamsView;
         } else {
@@ -159,6 +159,26 @@ public class PackageNamesScanner implements ResourceFinder {
         }
     }
 
+    /**
+     * Get the names of the packages to be scanned.
+     *
+     * @return names of the scanned packages.
+     * @since 2.15
+     */
+    public String[] getPackages() {
+        return packages.clone();
+    }
+
+    /**
+     * Check whether the nested packages of the {@link #getPackages() scanned packages} are scanned as well.
+     *
+     * @return {@code true} if the packages are scanned recursively, {@code false} otherwise.
+     * @since 2.15
+     */
+    public boolean isRecursive() {
+        return recursive;
+    }
+
     @Override
     public boolean hasNext() {
         return resourceFinderStack.hasNext();
@@ -0,0 +1,209 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.OsgiRegistry;
+import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * Build-time generated index of JAX-RS resource and provider classes.
+ * <p>
+ * The index is read from all <tt>{@value #RESOURCE_NAME}</tt> class path resources visible to a class loader.
+ * Each index resource lists fully qualified names of public (or public static nested) classes annotated with
+ * {@link javax.ws.rs.Path &#64;Path} or {@link javax.ws.rs.ext.Provider &#64;Provider}, one class name per line.
+ * Empty lines and lines starting with {@code '#'} are ignored. The index resources are generated by
+ * the {@link org.glassfish.jersey.server.ResourceIndexProcessor} annotation processor.
+ * </p>
+ * <p>
+ * Looking up classes of a package in the index replaces opening and parsing all class files of the package
+ * during the application start-up.
+ * </p>
+ *
+ * @since 2.15
+ */
+public final class ResourceIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(ResourceIndex.class.getName());
+
+    /**
+     * Name of the resource index class path resource.
+     */
+    public static final String RESOURCE_NAME = "META-INF/jersey/resources.idx";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Set<String> classNames;
+    private final ClassLoader classLoader;
+
+    private ResourceIndex(final Set<String> classNames, final ClassLoader classLoader) {
+        this.classNames = classNames;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Load the resource index from all the index resources visible to the given class loader.
+     *
+     * @param classLoader class loader used to look up the index resources and to load the indexed classes.
+     * @return resource index or {@code null} if there is no index resource visible to the class loader.
+     */
+    public static ResourceIndex load(final ClassLoader classLoader) {
+        final Enumeration<URL> resources;
+        try {
+            resources = classLoader == null
+                    ? ClassLoader.getSystemResources(RESOURCE_NAME) : classLoader.getResources(RESOURCE_NAME);
+        } catch (final IOException e) {
+            LOGGER.log(Level.CONFIG, LocalizationMessages.RESOURCE_INDEX_UNABLE_TO_READ(RESOURCE_NAME), e);
+            return null;
+        }
+
+        if (!resources.hasMoreElements()) {
+            return null;
+        }
+
+        final Set<String> classNames = new LinkedHashSet<>();
+        while (resources.hasMoreElements()) {
+            final URL url = resources.nextElement();
+            try {
+                read(url, classNames);
+            } catch (final IOException e) {
+                // fall back to scanning, the index is not complete
+                LOGGER.log(Level.WARNING, LocalizationMessages.RESOURCE_INDEX_UNABLE_TO_READ(url), e);
+                return null;
+            }
+        }
+        return new ResourceIndex(classNames, classLoader);
+    }
+
+    private static void read(final URL url, final Set<String> classNames) throws IOException {
+        final InputStream in = url.openStream();
+        try {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    classNames.add(line);
+                }
+            }
+        } finally {
+            try {
+                in.close();
+            } catch (final IOException ex) {
+                LOGGER.log(Level.FINER, "Error closing resource index stream.", ex);
+            }
+        }
+    }
+
+    /**
+     * Get names of all indexed classes in the given packages.
+     *
+     * @param packages  package names.
+     * @param recursive if {@code true}, classes of nested packages are included as well.
+     * @return names of indexed classes in the given packages.
+     */
+    public Set<String> getClassNames(final String[] packages, final boolean recursive) {
+        final Set<String> result = new LinkedHashSet<>();
+        for (final String className : classNames) {
+            final int lastDot = className.lastIndexOf('.');
+            final String classPackage = lastDot < 0 ? "" : className.substring(0, lastDot);
+            for (final String p : packages) {
+                if (classPackage.equals(p) || (recursive && (p.isEmpty()
+                        || (classPackage.startsWith(p) && classPackage.charAt(p.length()) == '.')))) {
+                    result.add(className);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Load all indexed classes in the given packages.
+     *
+     * @param packages  package names.
+     * @param recursive if {@code true}, classes of nested packages are loaded as well.
+     * @return indexed classes in the given packages.
+     */
+    public Set<Class<?>> getClasses(final String[] packages, final boolean recursive) {
+        final Set<Class<?>> result = new LinkedHashSet<>();
+        for (final String className : getClassNames(packages, recursive)) {
+            result.add(getClassForName(className));
+        }
+        return result;
+    }
+
+    private Class<?> getClassForName(final String className) {
+        try {
+            final OsgiRegistry osgiRegistry = ReflectionHelper.getOsgiRegistryInstance();
+
+            if (osgiRegistry != null) {
+                return osgiRegistry.classForNameWithException(className);
+            } else {
+                return AccessController.doPrivileged(ReflectionHelper.classForNameWithExceptionPEA(className, classLoader));
+            }
+        } catch (final ClassNotFoundException ex) {
+            throw new RuntimeException(LocalizationMessages.ERROR_SCANNING_CLASS_NOT_FOUND(className), ex);
+        } catch (final PrivilegedActionException pae) {
+            final Throwable cause = pae.getCause();
+            if (cause instanceof ClassNotFoundException) {
+                throw new RuntimeException(LocalizationMessages.ERROR_SCANNING_CLASS_NOT_FOUND(className), cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+}
@@ -72,6 +72,7 @@ import org.glassfish.jersey.model.NameBound;
 import org.glassfish.jersey.model.internal.ComponentBag;
 import org.glassfish.jersey.model.internal.RankedComparator;
 import org.glassfish.jersey.model.internal.RankedProvider;
+import org.glassfish.jersey.message.internal.InterceptorList;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
@@ -111,6 +112,8 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
     private final List<RankedProvider<ContainerResponseFilter>> responseFilters = Lists.newArrayList();
     private final Iterable<ReaderInterceptor> readerInterceptors;
     private final Iterable<WriterInterceptor> writerInterceptors;
+    private final List<ContainerRequestFilter> sortedRequestFilters;
+    private final List<ContainerResponseFilter> sortedResponseFilters;
 
     /**
      * Resource method invoker "assisted" injection helper.
@@ -239,13 +242,26 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
                     method);
         }
 
-        this.readerInterceptors = Collections.unmodifiableList(Lists.newArrayList(Providers.sortRankedProviders(
-                new RankedComparator<ReaderInterceptor>(), _readerInterceptors)));
-        this.writerInterceptors = Collections.unmodifiableList(Lists.newArrayList(Providers.sortRankedProviders(
-                new RankedComparator<WriterInterceptor>(), _writerInterceptors)));
+        this.readerInterceptors = new InterceptorList<>(ReaderInterceptor.class, Providers.sortRankedProviders(
+                new RankedComparator<ReaderInterceptor>(), _readerInterceptors));
+        this.writerInterceptors = new InterceptorList<>(WriterInterceptor.class, Providers.sortRankedProviders(
+                new RankedComparator<WriterInterceptor>(), _writerInterceptors));
         this.requestFilters.addAll(_requestFilters);
         this.responseFilters.addAll(_responseFilters);
 
+        // resolve the final global + bound filter chains once, instead of merging and sorting them on each request
+        final List<Iterable<RankedProvider<ContainerRequestFilter>>> rankedRequestFilters = Lists.newArrayListWithCapacity(2);
+        rankedRequestFilters.add(processingProviders.getGlobalRequestFilters());
+        rankedRequestFilters.add(requestFilters);
+        this.sortedRequestFilters = Collections.unmodifiableList(Lists.newArrayList(Providers.mergeAndSortRankedProviders(
+                new RankedComparator<ContainerRequestFilter>(), rankedRequestFilters)));
+
+        final List<Iterable<RankedProvider<ContainerResponseFilter>>> rankedResponseFilters = Lists.newArrayListWithCapacity(2);
+        rankedResponseFilters.add(processingProviders.getGlobalResponseFilters());
+        rankedResponseFilters.add(responseFilters);
+        this.sortedResponseFilters = Collections.unmodifiableList(Lists.newArrayList(Providers.mergeAndSortRankedProviders(
+                new RankedComparator<ContainerResponseFilter>(RankedComparator.Order.DESCENDING), rankedResponseFilters)));
+
         // pre-compute & cache invocation properties
         this.methodAnnotations = invocable.getHandlingMethod().getDeclaredAnnotations();
         this.invocableResponseType = invocable.getResponseType();
@@ -415,6 +431,30 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
         return responseFilters;
     }
 
+    /**
+     * Get the final, ordered list of global and bound request filters to be executed in the post-matching
+     * filtering phase for the {@link #getResourceMethod() resource method} wrapped by this invoker.
+     *
+     * @return Sorted unmodifiable list of all request filters applicable to the {@link #getResourceMethod() resource
+     * method}.
+     * @since 2.15
+     */
+    public List<ContainerRequestFilter> getSortedRequestFilters() {
+        return sortedRequestFilters;
+    }
+
+    /**
+     * Get the final, ordered list of global and bound response filters to be executed for the
+     * {@link #getResourceMethod() resource method} wrapped by this invoker.
+     *
+     * @return Sorted unmodifiable list of all response filters applicable to the {@link #getResourceMethod() resource
+     * method}.
+     * @since 2.15
+     */
+    public List<ContainerResponseFilter> getSortedResponseFilters() {
+        return sortedResponseFilters;
+    }
+
     /**
      * Get all reader interceptors applicable to the {@link #getResourceMethod() resource method}
      * wrapped by this invoker.
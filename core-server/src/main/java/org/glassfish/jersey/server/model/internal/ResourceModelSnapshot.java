@@ -0,0 +1,299 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.model.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.Version;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.Parameter;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+/**
+ * Snapshot of a validated application resource model.
+ * <p>
+ * The snapshot is a small versioned properties file that records a fingerprint of a resource model which has been
+ * validated without any issue. The fingerprint covers the structure of the model (resource paths, resource methods,
+ * their Java methods, parameters and media types), the classes of all the components and providers that contribute
+ * to the model validation (their names and a digest of their class file bytes, so that a changed implementation of
+ * a class invalidates the snapshot) and the application configuration properties. Only values that are stable across
+ * application starts are included: property values other than strings, primitive wrappers, enums and classes
+ * (and arrays and collections of these) contribute only with their class name. If the fingerprint of the resource
+ * model built on a later start matches the recorded one, the resource model validation can be skipped.
+ * </p>
+ *
+ * @since 2.15
+ */
+public final class ResourceModelSnapshot {
+
+    private static final Logger LOGGER = Logger.getLogger(ResourceModelSnapshot.class.getName());
+
+    /**
+     * Version of the snapshot format. Snapshots of a different version are ignored.
+     */
+    public static final int VERSION = 1;
+
+    private static final String VERSION_KEY = "version";
+    private static final String FINGERPRINT_KEY = "fingerprint";
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Prevents instantiation.
+     */
+    private ResourceModelSnapshot() {
+    }
+
+    /**
+     * Compute a fingerprint of the resource model.
+     *
+     * @param resourceModel resource model.
+     * @param components    classes of components and providers that contribute to the model validation.
+     * @param properties    application configuration properties.
+     * @return hex encoded fingerprint.
+     */
+    public static String fingerprint(final ResourceModel resourceModel,
+                                     final Iterable<Class<?>> components,
+                                     final Map<String, Object> properties) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(VERSION).append('|').append(Version.getBuildId()).append('\n');
+
+        for (final Resource resource : resourceModel.getResources()) {
+            appendResource(sb, resource);
+        }
+
+        final TreeMap<String, String> componentDigests = new TreeMap<>();
+        for (final Class<?> component : components) {
+            componentDigests.put(component.getName(), classDigest(component));
+        }
+        sb.append("components:").append(componentDigests).append('\n');
+
+        final TreeMap<String, String> sortedProperties = new TreeMap<>();
+        for (final Map.Entry<String, Object> property : properties.entrySet()) {
+            sortedProperties.put(property.getKey(), stableValue(property.getValue()));
+        }
+        sb.append("properties:").append(sortedProperties).append('\n');
+
+        return toHex(digest(sb.toString().getBytes(UTF8)));
+    }
+
+    /**
+     * Get a digest of the class file of the class. Classes without a class file resource (e.g. JDK classes, generated
+     * or dynamically defined classes) contribute only with their name.
+     */
+    private static String classDigest(final Class<?> clazz) {
+        final ClassLoader loader = clazz.getClassLoader();
+        final URL resource = loader == null ? null : loader.getResource(clazz.getName().replace('.', '/') + ".class");
+        if (resource == null) {
+            return "";
+        }
+
+        try (InputStream in = resource.openStream()) {
+            final MessageDigest digest = newDigest();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return toHex(digest.digest());
+        } catch (final IOException ex) {
+            // a class that cannot be read never matches a recorded snapshot
+            return "unreadable:" + System.nanoTime();
+        }
+    }
+
+    /**
+     * Get a string representation of the property value that does not change across application starts (unlike e.g.
+     * the default {@code Object.toString()} implementation that contains the identity hash code).
+     */
+    private static String stableValue(final Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum) {
+            return String.valueOf(value);
+        } else if (value instanceof Class) {
+            return ((Class<?>) value).getName();
+        } else if (value instanceof Object[]) {
+            return stableValues(Arrays.asList((Object[]) value));
+        } else if (value instanceof Collection) {
+            return stableValues((Collection<?>) value);
+        }
+        return value.getClass().getName();
+    }
+
+    private static String stableValues(final Collection<?> values) {
+        final StringBuilder sb = new StringBuilder("[");
+        for (final Object value : values) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(stableValue(value));
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void appendResource(final StringBuilder sb, final Resource resource) {
+        sb.append("resource:").append(resource.getPath()).append('|').append(resource.getNames()).append('\n');
+
+        for (final ResourceMethod method : resource.getResourceMethods()) {
+            appendMethod(sb, method);
+        }
+        if (resource.getResourceLocator() != null) {
+            appendMethod(sb, resource.getResourceLocator());
+        }
+        for (final Resource child : resource.getChildResources()) {
+            appendResource(sb, child);
+        }
+        sb.append("end\n");
+    }
+
+    private static void appendMethod(final StringBuilder sb, final ResourceMethod method) {
+        final Invocable invocable = method.getInvocable();
+        final Method handlingMethod = invocable.getHandlingMethod();
+
+        sb.append("method:").append(method.getHttpMethod())
+                .append('|').append(method.getType())
+                .append('|').append(method.getConsumedTypes())
+                .append('|').append(method.getProducedTypes())
+                .append('|').append(method.getNameBindings())
+                .append('|').append(method.isSuspendDeclared())
+                .append('|').append(method.isManagedAsyncDeclared())
+                .append('|').append(invocable.getHandler().getHandlerClass().getName())
+                .append('|').append(handlingMethod == null ? null : handlingMethod.toGenericString())
+                .append('\n');
+
+        for (final Parameter parameter : invocable.getParameters()) {
+            sb.append("parameter:").append(parameter.getSource())
+                    .append('|').append(parameter.getSourceName())
+                    .append('|').append(parameter.getType())
+                    .append('|').append(parameter.getDefaultValue())
+                    .append('|').append(parameter.isEncoded())
+                    .append('|').append(Arrays.toString(parameter.getAnnotations()))
+                    .append('\n');
+        }
+    }
+
+    /**
+     * Check whether the snapshot file exists and records the given fingerprint.
+     *
+     * @param snapshot    snapshot file.
+     * @param fingerprint resource model fingerprint.
+     * @return {@code true} if the snapshot records the given fingerprint, {@code false} if the snapshot does not exist,
+     * cannot be read, is of a different version or records a different fingerprint.
+     */
+    public static boolean matches(final File snapshot, final String fingerprint) {
+        if (!snapshot.isFile()) {
+            return false;
+        }
+
+        final Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(snapshot)) {
+            properties.load(in);
+        } catch (final IOException ex) {
+            LOGGER.warning(LocalizationMessages.RESOURCE_MODEL_SNAPSHOT_UNABLE_TO_READ(snapshot));
+            return false;
+        }
+
+        return String.valueOf(VERSION).equals(properties.getProperty(VERSION_KEY))
+                && fingerprint.equals(properties.getProperty(FINGERPRINT_KEY));
+    }
+
+    /**
+     * Write a snapshot recording the given fingerprint. Any previous snapshot is overwritten.
+     *
+     * @param snapshot    snapshot file.
+     * @param fingerprint resource model fingerprint.
+     */
+    public static void store(final File snapshot, final String fingerprint) {
+        final Properties properties = new Properties();
+        properties.setProperty(VERSION_KEY, String.valueOf(VERSION));
+        properties.setProperty(FINGERPRINT_KEY, fingerprint);
+
+        final File parent = snapshot.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            LOGGER.warning(LocalizationMessages.RESOURCE_MODEL_SNAPSHOT_UNABLE_TO_WRITE(snapshot));
+            return;
+        }
+
+        try (OutputStream out = new FileOutputStream(snapshot)) {
+            properties.store(out, "Jersey resource model snapshot");
+        } catch (final IOException ex) {
+            LOGGER.warning(LocalizationMessages.RESOURCE_MODEL_SNAPSHOT_UNABLE_TO_WRITE(snapshot));
+        }
+    }
+
+    private static byte[] digest(final byte[] data) {
+        return newDigest().digest(data);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] digits = "0123456789abcdef".toCharArray();
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            sb.append(digits[(b >> 4) & 0xF]).append(digits[b & 0xF]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import java.net.URI;
+
+/**
+ * Structured trace of a single request captured by the {@link org.glassfish.jersey.server.TracingConfig#SAMPLED sampled}
+ * tracing mode.
+ * <p/>
+ * The trace consists of the sequence of tracing events recorded during the request processing. Each event is identified
+ * by its name and category (e.g. {@code MATCH}, {@code REQ-FILTER}, {@code INVOKE}, {@code RESP-FILTER}, {@code RI} for
+ * entity reading and {@code WI} for entity writing) and carries its time offset from the beginning of the request
+ * processing and its duration. No event messages are formatted in the sampled tracing mode.
+ * <p/>
+ * The trace is complete and does not change anymore once it is passed to a {@link TraceListener trace listener}.
+ *
+ * @since 2.15
+ */
+public interface RequestTrace {
+
+    /**
+     * Get the request method.
+     *
+     * @return request method.
+     */
+    public String getMethod();
+
+    /**
+     * Get the request URI.
+     *
+     * @return request URI.
+     */
+    public URI getRequestUri();
+
+    /**
+     * Get the time when the request processing started in milliseconds since the epoch.
+     *
+     * @return request processing start time.
+     */
+    public long getStartTime();
+
+    /**
+     * Get the duration of the request processing in nanoseconds, i.e. the time between the start of the request processing
+     * and the completion of the trace.
+     *
+     * @return request processing duration in nanoseconds.
+     */
+    public long getDuration();
+
+    /**
+     * Get the response status code.
+     *
+     * @return response status code or {@code -1} if the request has not finished with a response.
+     */
+    public int getStatus();
+
+    /**
+     * Get the number of recorded events.
+     *
+     * @return number of recorded events.
+     */
+    public int getEventCount();
+
+    /**
+     * Get the number of events that were not recorded because the capacity of the trace has been exhausted.
+     *
+     * @return number of dropped events.
+     */
+    public int getDroppedEventCount();
+
+    /**
+     * Get the name of the recorded event.
+     *
+     * @param index event index, {@code 0 <= index < getEventCount()}.
+     * @return event name.
+     */
+    public String getEventName(int index);
+
+    /**
+     * Get the category of the recorded event.
+     *
+     * @param index event index, {@code 0 <= index < getEventCount()}.
+     * @return event category.
+     */
+    public String getEventCategory(int index);
+
+    /**
+     * Get the time offset of the recorded event from the start of the request processing in nanoseconds.
+     *
+     * @param index event index, {@code 0 <= index < getEventCount()}.
+     * @return event time offset in nanoseconds.
+     */
+    public long getEventTime(int index);
+
+    /**
+     * Get the duration of the recorded event in nanoseconds.
+     *
+     * @param index event index, {@code 0 <= index < getEventCount()}.
+     * @return event duration in nanoseconds or {@code 0} if the event has no duration.
+     */
+    public long getEventDuration(int index);
+
+    /**
+     * Get the total time spent in a processing stage identified by the event category.
+     * <p/>
+     * The stage duration is the sum of durations of all recorded summary level events of the category, so that
+     * the durations of the individual filters or interceptors are not counted twice.
+     *
+     * @param category event category of the processing stage (e.g. {@code MATCH} or {@code INVOKE}).
+     * @return stage duration in nanoseconds or {@code 0} if no summary event of the category has been recorded.
+     */
+    public long getStageDuration(String category);
+}
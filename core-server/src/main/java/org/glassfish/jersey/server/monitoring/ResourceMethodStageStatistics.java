@@ -0,0 +1,102 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * {@link ResourceMethodStatistics Resource method statistics} extended with execution statistics of the individual
+ * request processing {@link Stage stages} of the requests matched to the resource method.
+ * <p/>
+ * The resource method statistics provided by the Jersey runtime implement this interface. Clients should check
+ * the type of the statistics before using the stage statistics, e.g.:
+ * <pre>
+ * if (methodStatistics instanceof ResourceMethodStageStatistics) {
+ *     ((ResourceMethodStageStatistics) methodStatistics).getStageStatistics(Stage.METHOD);
+ * }
+ * </pre>
+ *
+ * @see ResourceMethodStatistics
+ * @since 2.15
+ */
+public interface ResourceMethodStageStatistics extends ResourceMethodStatistics {
+
+    /**
+     * Request processing stage of a request matched to a resource method.
+     */
+    public static enum Stage {
+        /**
+         * Matching of the request to the resource method.
+         */
+        ROUTING,
+        /**
+         * Execution of pre-matching and post-matching container request filters.
+         */
+        REQUEST_FILTERS,
+        /**
+         * Reading of the request entity, including the execution of reader interceptors.
+         */
+        ENTITY_READ,
+        /**
+         * Execution of the resource method code, excluding the reading of the request entity.
+         */
+        METHOD,
+        /**
+         * Execution of container response filters.
+         */
+        RESPONSE_FILTERS,
+        /**
+         * Writing of the response entity, including the execution of writer interceptors.
+         */
+        ENTITY_WRITE
+    }
+
+    /**
+     * Get {@link ExecutionStatistics execution statistics} that contain measurements of times spent in the given
+     * request processing {@link Stage stage} by the requests matched to resource method defined by
+     * {@link #getResourceMethod()}. The stage statistics make it possible to find out which part of the request
+     * processing is responsible for a change of the {@link #getRequestStatistics() request execution times}.
+     * <p/>
+     * Unlike the other execution statistics, the durations of the stage statistics are measured in <b>microseconds</b>,
+     * as many stages (e.g. matching or filters) usually take less than a millisecond.
+     *
+     * @param stage request processing stage.
+     * @return Execution statistics of the request processing stage for one resource method.
+     */
+    public ExecutionStatistics getStageStatistics(Stage stage);
+}
@@ -0,0 +1,74 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+
+import org.glassfish.jersey.spi.Contract;
+
+/**
+ * Jersey specific provider that receives the {@link RequestTrace request traces} captured by the
+ * {@link org.glassfish.jersey.server.TracingConfig#SAMPLED sampled} tracing mode.
+ * <p/>
+ * The implementation of this interface can be registered as a standard Jersey/JAX-RS provider
+ * by annotating with {@link javax.ws.rs.ext.Provider @Provider} annotation in the case of
+ * class path scanning, by registering as a provider using {@link org.glassfish.jersey.server.ResourceConfig}
+ * or by returning from {@link javax.ws.rs.core.Application#getClasses()}
+ * or {@link javax.ws.rs.core.Application#getSingletons()}}. The provider can be registered only on the server
+ * side.
+ * <p/>
+ * The listener is invoked on the request processing thread once the response of a sampled request has been written.
+ * The implementation must therefore be fast (e.g. hand the trace over to a queue or a ring buffer) and thread safe.
+ *
+ * @see org.glassfish.jersey.server.ServerProperties#TRACING_SAMPLE_RATE
+ * @since 2.15
+ */
+@Contract
+@ConstrainedTo(RuntimeType.SERVER)
+public interface TraceListener {
+
+    /**
+     * Process the completed trace of a sampled request.
+     *
+     * @param trace completed request trace.
+     */
+    public void onTrace(RequestTrace trace);
+}
@@ -188,6 +188,40 @@ public class ApplicationHandlerTest {
         fail("Model validation exception was expected but not thrown.");
     }
 
+    @Test
+    public void testParallelBootstrapMergedResources() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(
+                new ResourceConfig(Resource.class, MergedA.class, MergedB.class)
+                        .register(new SingletonResource())
+                        .property(ServerProperties.BOOTSTRAP_PARALLELISM, 4));
+
+        ContainerResponse response;
+
+        response = app.apply(RequestContextBuilder.from("/merged", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals(MergedA.RESPONSE, response.getEntity());
+
+        response = app.apply(RequestContextBuilder.from("/merged", "POST").build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals(MergedB.RESPONSE, response.getEntity());
+
+        response = app.apply(RequestContextBuilder.from("/singleton", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void testParallelBootstrapValidationFailure() throws Exception {
+        try {
+            new ApplicationHandler(new ResourceConfig(Resource.class, MergedA.class, MergedA1.class)
+                    .property(ServerProperties.BOOTSTRAP_PARALLELISM, 4));
+        } catch (ModelValidationException ex) {
+            // success
+            return;
+        }
+
+        fail("Model validation exception was expected but not thrown.");
+    }
+
     public static final class CustomResponseFilter implements ContainerResponseFilter {
 
         @Override
@@ -0,0 +1,190 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link ChunkedOutput} flush policies and bounded queue.
+ */
+public class ChunkedOutputTest {
+
+    @Path("/")
+    public static class ChunkedResource {
+
+        private static volatile ChunkedOutput<String> output;
+
+        @GET
+        public ChunkedOutput<String> get() {
+            return output;
+        }
+    }
+
+    private static class FlushCountingStream extends ByteArrayOutputStream {
+
+        private volatile int flushes = 0;
+
+        @Override
+        public void flush() throws IOException {
+            flushes++;
+            super.flush();
+        }
+    }
+
+    private static ChunkedOutput<String> output(final ChunkedOutput.FlushPolicy policy, final String... chunks)
+            throws IOException {
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, ",");
+        output.setFlushPolicy(policy);
+        for (final String chunk : chunks) {
+            output.write(chunk);
+        }
+        return output;
+    }
+
+    private static Future<ContainerResponse> apply(final ChunkedOutput<String> output, final FlushCountingStream stream) {
+        ChunkedResource.output = output;
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(ChunkedResource.class));
+        return handler.apply(RequestContextBuilder.from("/", "GET").build(), stream);
+    }
+
+    private static FlushCountingStream get(final ChunkedOutput<String> output) throws Exception {
+        output.close();
+        final FlushCountingStream stream = new FlushCountingStream();
+        assertEquals(200, apply(output, stream).get().getStatus());
+        return stream;
+    }
+
+    @Test
+    public void testFlushPolicies() throws Exception {
+        final FlushCountingStream immediate = get(output(ChunkedOutput.FlushPolicy.immediate(), "a", "b", "c"));
+        assertEquals("a,b,c,", immediate.toString());
+
+        final FlushCountingStream coalescing =
+                get(output(ChunkedOutput.FlushPolicy.coalescing(1024, 1, TimeUnit.HOURS), "a", "b", "c"));
+        assertEquals("a,b,c,", coalescing.toString());
+        assertTrue("Immediate: " + immediate.flushes + ", coalescing: " + coalescing.flushes,
+                immediate.flushes >= coalescing.flushes + 3);
+
+        final ChunkedOutput<String> output = output(ChunkedOutput.FlushPolicy.explicit(), "a", "b");
+        output.flush();
+        output.write("c");
+        final FlushCountingStream explicit = get(output);
+        assertEquals("a,b,c,", explicit.toString());
+        assertEquals(coalescing.flushes, explicit.flushes);
+    }
+
+    @Test
+    public void testCoalescingMaxDelay() throws Exception {
+        final ChunkedOutput<String> output = output(ChunkedOutput.FlushPolicy.coalescing(1024, 50, TimeUnit.MILLISECONDS));
+        final FlushCountingStream stream = new FlushCountingStream();
+        final Future<ContainerResponse> response = apply(output, stream);
+
+        output.write("a");
+        assertEquals("a,", stream.toString());
+
+        // the pending bytes are below the threshold, the stream is flushed by the scheduled flush
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (output.getPendingBytes() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, output.getPendingBytes());
+        assertFalse(response.isDone());
+
+        output.close();
+        assertEquals(200, response.get().getStatus());
+        assertEquals("a,", stream.toString());
+    }
+
+    @Test
+    public void testBoundedQueue() throws Exception {
+        ChunkedOutput<String> output = new ChunkedOutput<>(String.class, ",");
+        output.setQueueCapacity(2, ChunkedOutput.OverflowStrategy.DROP_OLDEST);
+        output.write("a");
+        output.write("b");
+        output.write("c");
+        assertEquals(2, output.getQueueDepth());
+        assertEquals("b,c,", get(output).toString());
+
+        output = new ChunkedOutput<>(String.class, ",");
+        output.setQueueCapacity(2, ChunkedOutput.OverflowStrategy.DROP_NEWEST);
+        output.write("a");
+        output.write("b");
+        output.write("c");
+        assertEquals(2, output.getQueueDepth());
+        assertEquals("a,b,", get(output).toString());
+
+        output = new ChunkedOutput<>(String.class, ",");
+        output.setQueueCapacity(1, ChunkedOutput.OverflowStrategy.FAIL);
+        output.write("a");
+        try {
+            output.write("b");
+            fail("The queue is full, the write should have failed.");
+        } catch (final IOException expected) {
+            // the chunked output remains open
+            assertFalse(output.isClosed());
+        }
+        assertEquals("a,", get(output).toString());
+    }
+
+    @Test
+    public void testPendingBytes() throws Exception {
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class);
+        output.write("a");
+        assertEquals(1, output.getQueueDepth());
+        assertEquals(0, output.getPendingBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQueueCapacity() {
+        new ChunkedOutput<>(String.class).setQueueCapacity(0, ChunkedOutput.OverflowStrategy.FAIL);
+    }
+}
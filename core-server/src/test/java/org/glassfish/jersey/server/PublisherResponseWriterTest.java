@@ -0,0 +1,340 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link PublisherResponseWriter}.
+ */
+public class PublisherResponseWriterTest {
+
+    /**
+     * Publisher emitting the items synchronously upon request and recording the maximal outstanding demand.
+     */
+    private static class ListPublisher implements Flow.Publisher<String> {
+
+        private static volatile long maxOutstanding;
+
+        private final List<String> items;
+
+        private ListPublisher(final String... items) {
+            this.items = Arrays.asList(items);
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super String> subscriber) {
+            maxOutstanding = 0;
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                private long requested = 0;
+                private int next = 0;
+                private boolean emitting = false;
+
+                @Override
+                public void request(final long n) {
+                    requested += n;
+                    maxOutstanding = Math.max(maxOutstanding, requested);
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (requested > 0 && next < items.size()) {
+                        requested--;
+                        subscriber.onNext(items.get(next++));
+                    }
+                    if (next == items.size()) {
+                        next++;
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    next = items.size() + 1;
+                }
+            });
+        }
+    }
+
+    /**
+     * Publisher that never sends any item and records whether its subscription has been cancelled.
+     */
+    private static class SilentPublisher implements Flow.Publisher<String> {
+
+        private static volatile boolean cancelled;
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super String> subscriber) {
+            cancelled = false;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * Reactive Streams publisher delegating to a {@link ListPublisher}.
+     */
+    private static class ReactiveStreamsPublisher implements org.reactivestreams.Publisher<String> {
+
+        private final ListPublisher delegate;
+
+        private ReactiveStreamsPublisher(final String... items) {
+            this.delegate = new ListPublisher(items);
+        }
+
+        @Override
+        public void subscribe(final org.reactivestreams.Subscriber<? super String> subscriber) {
+            delegate.subscribe(new Flow.Subscriber<String>() {
+                @Override
+                public void onSubscribe(final Flow.Subscription subscription) {
+                    subscriber.onSubscribe(new org.reactivestreams.Subscription() {
+                        @Override
+                        public void request(final long n) {
+                            subscription.request(n);
+                        }
+
+                        @Override
+                        public void cancel() {
+                            subscription.cancel();
+                        }
+                    });
+                }
+
+                @Override
+                public void onNext(final String item) {
+                    subscriber.onNext(item);
+                }
+
+                @Override
+                public void onError(final Throwable throwable) {
+                    subscriber.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    subscriber.onComplete();
+                }
+            });
+        }
+    }
+
+    /**
+     * Publisher whose items are sent by the test, recording the outstanding demand.
+     */
+    private static class DeferredPublisher implements Flow.Publisher<String> {
+
+        private static volatile Flow.Subscriber<? super String> subscriber;
+        private static volatile long requested;
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super String> subscriber) {
+            DeferredPublisher.requested = 0;
+            DeferredPublisher.subscriber = subscriber;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    requested += n;
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+
+        private static void send(final String item) {
+            requested--;
+            subscriber.onNext(item);
+        }
+    }
+
+    @Path("/")
+    public static class PublisherResource {
+
+        @GET
+        @Path("json")
+        @Produces(MediaType.APPLICATION_JSON)
+        public Flow.Publisher<String> json() {
+            return new ListPublisher("1", "{\"a\":2}", "\"3\"");
+        }
+
+        @GET
+        @Path("empty")
+        @Produces(MediaType.APPLICATION_JSON)
+        public Flow.Publisher<String> empty() {
+            return new ListPublisher();
+        }
+
+        @GET
+        @Path("sse")
+        @Produces("text/event-stream")
+        public Flow.Publisher<String> sse() {
+            return new ListPublisher("a", "b\nc");
+        }
+
+        @GET
+        @Path("sse-line-terminators")
+        @Produces("text/event-stream")
+        public Flow.Publisher<String> sseLineTerminators() {
+            return new ListPublisher("a\n", "b\r\nc\rd\r\n", "\ne\n\n");
+        }
+
+        @GET
+        @Path("silent")
+        @Produces(MediaType.TEXT_PLAIN)
+        public Flow.Publisher<String> silent() {
+            return new SilentPublisher();
+        }
+
+        @GET
+        @Path("reactive-streams")
+        @Produces(MediaType.APPLICATION_JSON)
+        public org.reactivestreams.Publisher<String> reactiveStreams() {
+            return new ReactiveStreamsPublisher("1", "2");
+        }
+
+        @GET
+        @Path("deferred")
+        @Produces(MediaType.TEXT_PLAIN)
+        public Flow.Publisher<String> deferred() {
+            return new DeferredPublisher();
+        }
+
+        @GET
+        @Path("plain")
+        @Produces(MediaType.TEXT_PLAIN)
+        public Flow.Publisher<String> plain() {
+            return new ListPublisher("a", "b", "c");
+        }
+    }
+
+    private static String get(final String path) throws Exception {
+        return get(path, new ResourceConfig(PublisherResource.class));
+    }
+
+    private static String get(final String path, final ResourceConfig config) throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(config);
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from(path, "GET").build(), stream).get();
+        assertEquals(200, response.getStatus());
+        return stream.toString("UTF-8");
+    }
+
+    @Test
+    public void testJsonArray() throws Exception {
+        assertEquals("[1,{\"a\":2},\"3\"]", get("/json"));
+        assertEquals("[]", get("/empty"));
+    }
+
+    @Test
+    public void testServerSentEvents() throws Exception {
+        assertEquals("data: a\n\ndata: b\ndata: c\n\n", get("/sse"));
+        assertEquals("data: a\n\ndata: b\ndata: c\ndata: d\n\ndata: \ndata: e\ndata: \n\n", get("/sse-line-terminators"));
+    }
+
+    @Test
+    public void testReactiveStreamsPublisher() throws Exception {
+        assertEquals("[1,2]", get("/reactive-streams"));
+        assertEquals(1, ListPublisher.maxOutstanding);
+    }
+
+    @Test
+    public void testTimeoutCancelsSubscription() throws Exception {
+        final ResourceConfig config = new ResourceConfig(PublisherResource.class)
+                .property(ServerProperties.PUBLISHER_ITEM_TIMEOUT, 100L);
+        try {
+            get("/silent", config);
+        } catch (final ExecutionException e) {
+            // writing of the response entity has failed
+        }
+        assertTrue(SilentPublisher.cancelled);
+    }
+
+    @Test
+    public void testItemsRequestedOneByOne() throws Exception {
+        assertEquals("abc", get("/plain"));
+        assertEquals(1, ListPublisher.maxOutstanding);
+    }
+
+    @Test
+    public void testItemsWrittenAsPublished() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(PublisherResource.class));
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final Future<ContainerResponse> response = handler.apply(RequestContextBuilder.from("/deferred", "GET").build(), stream);
+
+        // the request processing has returned before any item has been published
+        assertFalse(response.isDone());
+        assertEquals(1, DeferredPublisher.requested);
+
+        DeferredPublisher.send("a");
+        assertEquals("a", stream.toString("UTF-8"));
+        assertEquals(1, DeferredPublisher.requested);
+        DeferredPublisher.send("b");
+        assertFalse(response.isDone());
+
+        DeferredPublisher.subscriber.onComplete();
+        assertEquals(200, response.get().getStatus());
+        assertEquals("ab", stream.toString("UTF-8"));
+    }
+}
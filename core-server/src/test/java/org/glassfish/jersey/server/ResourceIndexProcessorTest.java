@@ -0,0 +1,227 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.glassfish.jersey.server.config.innerstatic.InnerStaticClass;
+import org.glassfish.jersey.server.config.toplevel.PublicRootResourceClass;
+import org.glassfish.jersey.server.config.toplevelinnerstatic.PublicRootResourceInnerStaticClass;
+import org.glassfish.jersey.server.internal.scanning.ResourceIndex;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the build-time resource index generation and its usage by package scanning.
+ */
+public class ResourceIndexProcessorTest {
+
+    private static final String CONFIG_PACKAGE = "org.glassfish.jersey.server.config";
+
+    private File output;
+
+    @Before
+    public void setUp() throws IOException {
+        output = Files.createTempDirectory("jersey-index").toFile();
+        output.deleteOnExit();
+    }
+
+    @Test
+    public void testIndexGenerated() throws Exception {
+        compile("toplevel/PublicRootResourceClass.java",
+                "toplevel/PackageRootResourceClass.java",
+                "innerstatic/InnerStaticClass.java",
+                "toplevelinnerstatic/PublicRootResourceInnerStaticClass.java");
+
+        assertEquals(Arrays.asList(
+                        InnerStaticClass.PublicClass.class.getName(),
+                        PublicRootResourceClass.class.getName(),
+                        PublicRootResourceInnerStaticClass.class.getName(),
+                        PublicRootResourceInnerStaticClass.PublicClass.class.getName()),
+                readIndex());
+
+        final ResourceConfig rc = new ResourceConfig()
+                .setClassLoader(indexClassLoader())
+                .property(ServerProperties.PROVIDER_SCANNING_INDEX, true)
+                .packages(CONFIG_PACKAGE);
+
+        assertThat(rc.getClasses(), hasItem(PublicRootResourceClass.class));
+        assertThat(rc.getClasses(), hasItem(InnerStaticClass.PublicClass.class));
+        assertThat(rc.getClasses(), hasItem(PublicRootResourceInnerStaticClass.class));
+        assertThat(rc.getClasses(), hasItem(PublicRootResourceInnerStaticClass.PublicClass.class));
+        assertThat(rc.getClasses().size(), is(4));
+    }
+
+    @Test
+    public void testIndexMergedOnIncrementalCompilation() throws Exception {
+        compile("toplevel/PublicRootResourceClass.java", "innerstatic/InnerStaticClass.java");
+        assertEquals(Arrays.asList(
+                        InnerStaticClass.PublicClass.class.getName(),
+                        PublicRootResourceClass.class.getName()),
+                readIndex());
+
+        // removed class is dropped from the index
+        final List<String> index = readIndex();
+        index.add("org.example.Removed");
+        writeIndex(index.toArray(new String[index.size()]));
+
+        compile("toplevelinnerstatic/PublicRootResourceInnerStaticClass.java");
+        assertEquals(Arrays.asList(
+                        InnerStaticClass.PublicClass.class.getName(),
+                        PublicRootResourceClass.class.getName(),
+                        PublicRootResourceInnerStaticClass.class.getName(),
+                        PublicRootResourceInnerStaticClass.PublicClass.class.getName()),
+                readIndex());
+    }
+
+    @Test
+    public void testPackagesUseIndex() throws Exception {
+        writeIndex(PublicRootResourceClass.class.getName(), InnerStaticClass.PublicClass.class.getName(), "org.example.Other");
+
+        ResourceConfig rc = indexedResourceConfig().packages(CONFIG_PACKAGE);
+        assertThat(rc.getClasses(), hasItem(PublicRootResourceClass.class));
+        assertThat(rc.getClasses(), hasItem(InnerStaticClass.PublicClass.class));
+        assertThat(rc.getClasses().size(), is(2));
+
+        rc = indexedResourceConfig().packages(false, CONFIG_PACKAGE + ".toplevel");
+        assertThat(rc.getClasses(), hasItem(PublicRootResourceClass.class));
+        assertThat(rc.getClasses().size(), is(1));
+
+        rc = indexedResourceConfig().packages(false, CONFIG_PACKAGE);
+        assertThat(rc.getClasses().size(), is(0));
+    }
+
+    @Test
+    public void testIndexDisabledByDefault() throws Exception {
+        writeIndex(PublicRootResourceClass.class.getName());
+
+        final ResourceConfig rc = new ResourceConfig()
+                .setClassLoader(indexClassLoader())
+                .packages(CONFIG_PACKAGE);
+
+        assertThat(rc.getClasses(), hasItem(PublicRootResourceClass.class));
+        assertThat(rc.getClasses(), hasItem(InnerStaticClass.PublicClass.class));
+        assertThat(rc.getClasses(), hasItem(PublicRootResourceInnerStaticClass.class));
+        assertThat(rc.getClasses(), hasItem(PublicRootResourceInnerStaticClass.PublicClass.class));
+        assertThat(rc.getClasses().size(), is(4));
+    }
+
+    @Test
+    public void testIndexDisabled() throws Exception {
+        writeIndex(PublicRootResourceClass.class.getName());
+
+        final ResourceConfig rc = new ResourceConfig()
+                .setClassLoader(indexClassLoader())
+                .property(ServerProperties.PROVIDER_SCANNING_INDEX, false)
+                .packages(CONFIG_PACKAGE);
+
+        assertThat(rc.getClasses().size(), is(4));
+    }
+
+    private void compile(final String... sourceFiles) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        final File sources = new File("src/test/java/org/glassfish/jersey/server/config");
+        final File[] files = new File[sourceFiles.length];
+        for (int i = 0; i < sourceFiles.length; i++) {
+            files[i] = new File(sources, sourceFiles[i]);
+        }
+        final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(files);
+
+        final List<String> options = Arrays.asList("-d", output.getAbsolutePath(),
+                "-classpath", output.getAbsolutePath() + File.pathSeparator + System.getProperty("java.class.path"));
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+        task.setProcessors(Collections.singletonList(new ResourceIndexProcessor()));
+        assertTrue(task.call());
+        fileManager.close();
+    }
+
+    private List<String> readIndex() throws IOException {
+        final List<String> index = Files.readAllLines(
+                new File(output, ResourceIndex.RESOURCE_NAME).toPath(), Charset.forName("UTF-8"));
+        return index.subList(1, index.size());
+    }
+
+    private ResourceConfig indexedResourceConfig() throws IOException {
+        return new ResourceConfig()
+                .setClassLoader(indexClassLoader())
+                .property(ServerProperties.PROVIDER_SCANNING_INDEX, true);
+    }
+
+    private void writeIndex(final String... classNames) throws IOException {
+        final File index = new File(output, ResourceIndex.RESOURCE_NAME);
+        index.getParentFile().mkdirs();
+        final Writer writer = new OutputStreamWriter(new FileOutputStream(index), "UTF-8");
+        try {
+            writer.write("# test index\n\n");
+            for (final String className : classNames) {
+                writer.write(className + "\n");
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private ClassLoader indexClassLoader() throws IOException {
+        return new URLClassLoader(new URL[] {output.toURI().toURL()}, ResourceIndexProcessorTest.class.getClassLoader());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.server.monitoring.RequestTrace;
+import org.glassfish.jersey.server.monitoring.TraceListener;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link TracingConfig#SAMPLED sampled} tracing mode.
+ */
+public class SampledTracingTest {
+
+    @Path("resource")
+    public static class Resource {
+
+        @GET
+        public String get() {
+            return "get";
+        }
+    }
+
+    public static class CollectingListener implements TraceListener {
+
+        private final List<RequestTrace> traces = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onTrace(final RequestTrace trace) {
+            traces.add(trace);
+        }
+    }
+
+    private ApplicationHandler createApplication(final CollectingListener listener, final double rate) {
+        return new ApplicationHandler(new ResourceConfig(Resource.class)
+                .register(listener)
+                .property(ServerProperties.TRACING, TracingConfig.SAMPLED.name())
+                .property(ServerProperties.TRACING_SAMPLE_RATE, rate));
+    }
+
+    @Test
+    public void testSampledRequestPublished() throws Exception {
+        final CollectingListener listener = new CollectingListener();
+        final ApplicationHandler handler = createApplication(listener, 1.0);
+
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from("/resource", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        for (final String header : response.getHeaders().keySet()) {
+            assertFalse(header, header.startsWith("X-Jersey-Tracing-"));
+        }
+
+        assertEquals(1, listener.traces.size());
+        final RequestTrace trace = listener.traces.get(0);
+        assertEquals("GET", trace.getMethod());
+        assertEquals("/resource", trace.getRequestUri().getPath());
+        assertEquals(200, trace.getStatus());
+        assertTrue(trace.getDuration() >= 0);
+        assertEquals(0, trace.getDroppedEventCount());
+
+        assertEquals("START", trace.getEventName(0));
+        assertEquals("FINISHED", trace.getEventName(trace.getEventCount() - 1));
+        boolean invoked = false;
+        long previous = 0;
+        for (int i = 0; i < trace.getEventCount(); i++) {
+            invoked |= "INVOKE".equals(trace.getEventCategory(i));
+            assertTrue(trace.getEventTime(i) >= previous);
+            previous = trace.getEventTime(i);
+        }
+        assertTrue(invoked);
+        assertTrue(trace.getStageDuration("INVOKE") > 0);
+        assertTrue(trace.getStageDuration("MATCH") > 0);
+        assertEquals(0, trace.getStageDuration("UNKNOWN"));
+    }
+
+    @Test
+    public void testSummaryThresholdByDefault() throws Exception {
+        final CollectingListener listener = new CollectingListener();
+        final ApplicationHandler handler = createApplication(listener, 1.0);
+
+        handler.apply(RequestContextBuilder.from("/resource", "GET").build()).get();
+
+        final RequestTrace trace = listener.traces.get(0);
+        for (int i = 0; i < trace.getEventCount(); i++) {
+            // trace level events, e.g. MATCH_PATH_FIND, are not recorded
+            assertFalse(trace.getEventName(i), "MATCH_PATH_FIND".equals(trace.getEventName(i)));
+        }
+        assertEquals(TracingLogger.Level.SUMMARY, TracingUtils.getTracingThreshold(handler.getConfiguration()));
+    }
+
+    @Test
+    public void testNotSampled() throws Exception {
+        final CollectingListener listener = new CollectingListener();
+        final ApplicationHandler handler = createApplication(listener, 0.0);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, handler.apply(RequestContextBuilder.from("/resource", "GET").build()).get().getStatus());
+        }
+        assertTrue(listener.traces.isEmpty());
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Priority;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.glassfish.jersey.message.GZipEncoder;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.filter.EncodingFilter;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link ResponseCacheFeature}.
+ */
+public class ResponseCacheFeatureTest {
+
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+    private static final AtomicInteger FILTERED = new AtomicInteger();
+
+    @Path("items")
+    public static class Resource {
+
+        @GET
+        @Path("{id}")
+        @ResponseCached(ttl = 1, unit = TimeUnit.HOURS, queryParams = "fields")
+        public String item(@PathParam("id") final String id, @QueryParam("fields") final String fields,
+                           @QueryParam("ignored") final String ignored) {
+            return id + ":" + fields + ":" + INVOCATIONS.incrementAndGet();
+        }
+
+        @GET
+        @Path("short/{id}")
+        @ResponseCached(ttl = 1, unit = TimeUnit.MILLISECONDS)
+        public String shortLived(@PathParam("id") final String id) {
+            return id + ":" + INVOCATIONS.incrementAndGet();
+        }
+
+        @GET
+        @Path("large/{id}")
+        @ResponseCached(ttl = 1, unit = TimeUnit.HOURS)
+        public String large(@PathParam("id") final String id) {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                sb.append(id).append(":0123456789;");
+            }
+            return sb.append(INVOCATIONS.incrementAndGet()).toString();
+        }
+
+        @GET
+        public String uncached() {
+            return "uncached:" + INVOCATIONS.incrementAndGet();
+        }
+    }
+
+    public static class CountingFilter implements ContainerRequestFilter {
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) throws IOException {
+            FILTERED.incrementAndGet();
+        }
+    }
+
+    /**
+     * Interceptor running around the cache interceptor and appending a header value after the entity has been written.
+     */
+    @Priority(Priorities.AUTHENTICATION)
+    public static class AppendingInterceptor implements WriterInterceptor {
+
+        @Override
+        public void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
+            context.proceed();
+            context.getHeaders().get(HttpHeaders.CONTENT_TYPE).add("text/html");
+        }
+    }
+
+    private ResponseCacheFeature feature;
+    private ApplicationHandler handler;
+
+    @Before
+    public void setUp() {
+        INVOCATIONS.set(0);
+        FILTERED.set(0);
+        feature = new ResponseCacheFeature();
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class, CountingFilter.class,
+                EncodingFilter.class, GZipEncoder.class).register(feature));
+    }
+
+    private String get(final String path) throws Exception {
+        return get(path, null).toString();
+    }
+
+    private String getNoCache(final String path) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        handler.apply(RequestContextBuilder.from(path, "GET").accept(MediaType.TEXT_PLAIN)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache").build(), out).get();
+        return out.toString();
+    }
+
+    private ByteArrayOutputStream get(final String path, final String acceptEncoding) throws Exception {
+        final RequestContextBuilder request = RequestContextBuilder.from(path, "GET").accept(MediaType.TEXT_PLAIN);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = handler.apply(request.build(), out).get();
+        assertEquals(200, response.getStatus());
+        return out;
+    }
+
+    @Test
+    public void testCacheKey() throws Exception {
+        assertEquals("1:null:1", get("/items/1"));
+        assertEquals("1:null:1", get("/items/1"));
+        assertEquals("1:null:1", get("/items/1?ignored=x"));
+        assertEquals("2:null:2", get("/items/2"));
+        assertEquals("1:a:3", get("/items/1?fields=a"));
+        assertEquals("1:a:3", get("/items/1?fields=a"));
+
+        assertEquals(3, INVOCATIONS.get());
+        assertEquals(3, feature.getCache().getHits());
+        assertEquals(3, feature.getCache().getMisses());
+        assertEquals(3, feature.getCache().getCount());
+        // the user filter runs only for the cache misses
+        assertEquals(3, FILTERED.get());
+
+        assertEquals("uncached:4", get("/items"));
+        assertEquals("uncached:5", get("/items"));
+    }
+
+    @Test
+    public void testEncodedVariant() throws Exception {
+        final byte[] encoded = get("/items/1", "gzip").toByteArray();
+        assertArrayEquals(encoded, get("/items/1", "gzip").toByteArray());
+        assertEquals(1, INVOCATIONS.get());
+        // different variant
+        assertEquals("1:null:2", get("/items/1"));
+        assertEquals(2, feature.getCache().getCount());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        assertEquals("1:null:1", get("/items/1"));
+        assertEquals("2:null:2", get("/items/2"));
+
+        feature.getCache().invalidate("items/1");
+        assertEquals("1:null:3", get("/items/1"));
+        assertEquals("2:null:2", get("/items/2"));
+
+        feature.getCache().invalidate(Resource.class);
+        assertEquals(0, feature.getCache().getCount());
+        assertEquals("2:null:4", get("/items/2"));
+
+        feature.getCache().invalidateAll();
+        assertEquals(0, feature.getCache().getSize());
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        assertEquals("1:1", get("/items/short/1"));
+        Thread.sleep(10);
+        assertEquals("1:2", get("/items/short/1"));
+    }
+
+    @Test
+    public void testOversizedResponseNotCached() throws Exception {
+        feature = new ResponseCacheFeature(200);
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class).register(feature));
+
+        final String first = get("/items/large/1");
+        assertEquals(1301, first.length());
+        assertTrue(first.endsWith(";1"));
+        assertTrue(get("/items/large/1").endsWith(";2"));
+        assertEquals(0, feature.getCache().getCount());
+
+        // small responses are still cached
+        assertEquals("1:null:3", get("/items/1"));
+        assertEquals("1:null:3", get("/items/1"));
+    }
+
+    @Test
+    public void testNoCacheBypass() throws Exception {
+        assertEquals("1:null:1", get("/items/1"));
+        assertEquals("1:null:2", getNoCache("/items/1"));
+        assertEquals("1:null:2", get("/items/1"));
+    }
+
+    @Test
+    public void testNoCacheBypassDisabled() throws Exception {
+        feature = new ResponseCacheFeature();
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class).register(feature)
+                .property(ServerProperties.RESPONSE_CACHE_NO_CACHE_BYPASS, false));
+
+        assertEquals("1:null:1", get("/items/1"));
+        assertEquals("1:null:1", getNoCache("/items/1"));
+        assertEquals(1, INVOCATIONS.get());
+    }
+
+    @Test
+    public void testHitHeadersNotShared() throws Exception {
+        feature = new ResponseCacheFeature();
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class, AppendingInterceptor.class).register(feature));
+
+        for (int i = 0; i < 3; i++) {
+            final ContainerResponse response = handler.apply(RequestContextBuilder.from("/items/1", "GET")
+                    .accept(MediaType.TEXT_PLAIN).build(), new ByteArrayOutputStream()).get();
+            assertEquals(2, response.getHeaders().get(HttpHeaders.CONTENT_TYPE).size());
+        }
+        assertEquals(1, INVOCATIONS.get());
+    }
+
+    @Test
+    public void testEntryHeadersCopied() throws Exception {
+        final MultivaluedHashMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.add(HttpHeaders.CONTENT_TYPE, "text/plain");
+        final ResponseCache.Entry entry = new ResponseCache.Entry(Object.class, "a", headers, new byte[0], Long.MAX_VALUE);
+        headers.add(HttpHeaders.CONTENT_TYPE, "text/html");
+
+        final List<Object> values = entry.getHeaders().get(HttpHeaders.CONTENT_TYPE);
+        assertEquals(1, values.size());
+        try {
+            values.add("text/html");
+            fail("Cached header values must not be modifiable.");
+        } catch (final UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        final ResponseCache cache = new ResponseCache(20);
+        final MultivaluedHashMap<String, Object> headers = new MultivaluedHashMap<>();
+        cache.put("a", new ResponseCache.Entry(Object.class, "a", headers, new byte[8], Long.MAX_VALUE));
+        cache.put("b", new ResponseCache.Entry(Object.class, "b", headers, new byte[8], Long.MAX_VALUE));
+        cache.get("a", 0);
+        cache.put("c", new ResponseCache.Entry(Object.class, "c", headers, new byte[8], Long.MAX_VALUE));
+
+        assertEquals(2, cache.getCount());
+        assertEquals(16, cache.getSize());
+        assertNull(cache.get("b", 0));
+    }
+}
@@ -39,21 +39,32 @@
  */
 package org.glassfish.jersey.server.filter;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
 
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.glassfish.jersey.message.GZipEncoder;
+import org.glassfish.jersey.message.internal.ReaderWriter;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.RequestContextBuilder;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.spi.ContentEncoder;
 
 import org.junit.Test;
@@ -83,6 +94,30 @@ public class EncodingFilterTest {
         }
     }
 
+    @Path("/")
+    public static class StreamingResource {
+        @GET
+        @Path("stream/{size}")
+        public StreamingOutput stream(@PathParam("size") final int size) {
+            return new StreamingOutput() {
+                @Override
+                public void write(OutputStream output) throws IOException {
+                    for (int i = 0; i < size; i++) {
+                        output.write('a');
+                        output.flush();
+                    }
+                }
+            };
+        }
+
+        @GET
+        @Path("string")
+        public String string() {
+            // 5 characters, 10 bytes in UTF-8
+            return "\u00e9\u00e9\u00e9\u00e9\u00e9";
+        }
+    }
+
     @Test
     public void testNoInterceptor() {
         ResourceConfig rc = new ResourceConfig(EncodingFilter.class);
@@ -155,9 +190,111 @@ public class EncodingFilterTest {
         assertNull(response.getHeaders().getFirst(HttpHeaders.VARY));
     }
 
-    @SuppressWarnings("unchecked")
+    @Test
+    public void testMinSize() throws IOException {
+        final ResourceConfig rc = new ResourceConfig().property(ServerProperties.ENCODING_MIN_SIZE, 10);
+        EncodingFilter filter = initializeAndGetFilter(rc);
+
+        assertNull(filter(filter, Response.ok("small".getBytes()).build()).getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", filter(filter, Response.ok("large enough").build()).getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertNull(filter(filter, Response.ok(new byte[20]).header(HttpHeaders.CONTENT_LENGTH, 5).build())
+                .getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void testMinSizeIdentityNotAcceptable() throws IOException {
+        final ResourceConfig rc = new ResourceConfig().property(ServerProperties.ENCODING_MIN_SIZE, 10);
+        EncodingFilter filter = initializeAndGetFilter(rc);
+
+        for (final String acceptEncoding : new String[] {"gzip, identity; q=0", "gzip, *; q=0"}) {
+            ContainerRequest request = RequestContextBuilder.from("/resource", "GET")
+                    .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding).build();
+            try {
+                filter.filter(request, new ContainerResponse(request, Response.ok("small".getBytes()).build()));
+                fail(Response.Status.NOT_ACCEPTABLE + " response was expected.");
+            } catch (WebApplicationException e) {
+                assertEquals(Response.Status.NOT_ACCEPTABLE, e.getResponse().getStatusInfo());
+            }
+        }
+    }
+
+    @Test
+    public void testMinSizeUnknownEntitySize() throws Exception {
+        final ApplicationHandler handler = createStreamingApplication();
+
+        final ByteArrayOutputStream small = new ByteArrayOutputStream();
+        ContainerResponse response = handler.apply(streamingRequest("/stream/9", "gzip"), small).get();
+        assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("aaaaaaaaa", small.toString("UTF-8"));
+
+        final ByteArrayOutputStream large = new ByteArrayOutputStream();
+        response = handler.apply(streamingRequest("/stream/100", "gzip"), large).get();
+        assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        final char[] expected = new char[100];
+        Arrays.fill(expected, 'a');
+        assertEquals(new String(expected), gunzip(large.toByteArray()));
+
+        // string entities are measured in bytes, not characters
+        final ByteArrayOutputStream string = new ByteArrayOutputStream();
+        response = handler.apply(streamingRequest("/string", "gzip"), string).get();
+        assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\u00e9\u00e9\u00e9\u00e9\u00e9", gunzip(string.toByteArray()));
+    }
+
+    @Test
+    public void testMinSizeUnknownEntitySizeIdentityNotAcceptable() throws Exception {
+        final ByteArrayOutputStream small = new ByteArrayOutputStream();
+        final ContainerResponse response = createStreamingApplication()
+                .apply(streamingRequest("/stream/9", "gzip, identity; q=0"), small).get();
+        assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("aaaaaaaaa", gunzip(small.toByteArray()));
+    }
+
+    private ApplicationHandler createStreamingApplication() {
+        final ResourceConfig rc = new ResourceConfig(StreamingResource.class)
+                .property(ServerProperties.ENCODING_MIN_SIZE, 10);
+        EncodingFilter.enableFor(rc, GZipEncoder.class);
+        return new ApplicationHandler(rc);
+    }
+
+    private ContainerRequest streamingRequest(final String path, final String acceptEncoding) {
+        return RequestContextBuilder.from(path, "GET").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding).build();
+    }
+
+    private String gunzip(final byte[] entity) throws IOException {
+        return ReaderWriter.readFromAsString(new GZIPInputStream(new ByteArrayInputStream(entity)),
+                MediaType.TEXT_PLAIN_TYPE);
+    }
+
+    @Test
+    public void testMediaTypes() throws IOException {
+        final ResourceConfig rc = new ResourceConfig()
+                .property(ServerProperties.ENCODING_MEDIA_TYPES_INCLUDE, "text/*, application/json")
+                .property(ServerProperties.ENCODING_MEDIA_TYPES_EXCLUDE, "text/csv");
+        EncodingFilter filter = initializeAndGetFilter(rc);
+
+        assertEquals("gzip", filter(filter, Response.ok("a", "text/plain").build())
+                .getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", filter(filter, Response.ok("a", "application/json;charset=UTF-8").build())
+                .getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertNull(filter(filter, Response.ok("a", "text/csv").build()).getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertNull(filter(filter, Response.ok("a", "image/png").build()).getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private ContainerResponse filter(EncodingFilter filter, Response jaxrsResponse) throws IOException {
+        ContainerRequest request = RequestContextBuilder.from("/resource", "GET").header(HttpHeaders.ACCEPT_ENCODING,
+                "gzip").build();
+        ContainerResponse response = new ContainerResponse(request, jaxrsResponse);
+        filter.filter(request, response);
+        return response;
+    }
+
     private EncodingFilter initializeAndGetFilter() {
-        ResourceConfig rc = new ResourceConfig();
+        return initializeAndGetFilter(new ResourceConfig());
+    }
+
+    @SuppressWarnings("unchecked")
+    private EncodingFilter initializeAndGetFilter(ResourceConfig rc) {
         EncodingFilter.enableFor(rc, FooEncoding.class, GZipEncoder.class);
         return (EncodingFilter) new ApplicationHandler(rc).getServiceLocator().getService(ContainerResponseFilter.class);
     }
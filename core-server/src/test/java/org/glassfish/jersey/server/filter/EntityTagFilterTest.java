@@ -0,0 +1,161 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.ByteArrayOutputStream;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.GZipEncoder;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link EntityTagFilter}.
+ */
+public class EntityTagFilterTest {
+
+    @Path("/")
+    public static class Resource {
+
+        private static volatile String content = "content";
+
+        @GET
+        @Path("tagged")
+        @ComputedEntityTag
+        public String tagged() {
+            return content;
+        }
+
+        @GET
+        @Path("explicit")
+        @ComputedEntityTag
+        public Response explicit() {
+            return Response.ok(content).tag("explicit").build();
+        }
+
+        @GET
+        @Path("untagged")
+        public String untagged() {
+            return content;
+        }
+    }
+
+    private final ApplicationHandler handler = new ApplicationHandler(
+            new ResourceConfig(Resource.class, EntityTagFilter.class, EncodingFilter.class, GZipEncoder.class));
+
+    private ContainerResponse get(final String path, final String ifNoneMatch, final ByteArrayOutputStream out,
+                                  final String acceptEncoding) throws Exception {
+        final RequestContextBuilder request = RequestContextBuilder.from(path, "GET");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return handler.apply(request.build(), out).get();
+    }
+
+    @Test
+    public void testEntityTag() throws Exception {
+        Resource.content = "content";
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/tagged", null, out, null);
+        assertEquals(200, response.getStatus());
+        assertEquals("content", out.toString());
+
+        final String etag = response.getHeaderString(HttpHeaders.ETAG);
+        assertTrue(etag, etag.startsWith("W/\""));
+        assertEquals(etag, get("/tagged", null, new ByteArrayOutputStream(), null).getHeaderString(HttpHeaders.ETAG));
+
+        Resource.content = "changed";
+        assertNotEquals(etag, get("/tagged", null, new ByteArrayOutputStream(), null).getHeaderString(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        Resource.content = "content";
+        final String etag = get("/tagged", null, new ByteArrayOutputStream(), null).getHeaderString(HttpHeaders.ETAG);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse notModified = get("/tagged", "\"other\", " + etag, out, null);
+        assertEquals(304, notModified.getStatus());
+        assertEquals(etag, notModified.getHeaderString(HttpHeaders.ETAG));
+        assertEquals(0, out.size());
+
+        final ByteArrayOutputStream changedOut = new ByteArrayOutputStream();
+        Resource.content = "changed";
+        final ContainerResponse changed = get("/tagged", etag, changedOut, null);
+        assertEquals(200, changed.getStatus());
+        assertEquals("changed", changedOut.toString());
+    }
+
+    @Test
+    public void testNotModifiedEncoded() throws Exception {
+        Resource.content = "content";
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/tagged", null, encoded, "gzip");
+        assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(encoded.size() > 0);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse notModified = get("/tagged", response.getHeaderString(HttpHeaders.ETAG), out, "gzip");
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void testExplicitAndUnboundEntityTags() throws Exception {
+        assertEquals("\"explicit\"",
+                get("/explicit", null, new ByteArrayOutputStream(), null).getHeaderString(HttpHeaders.ETAG));
+        assertNull(get("/untagged", null, new ByteArrayOutputStream(), null).getHeaderString(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link HashedWheelScheduledExecutor} unit tests.
+ */
+public class HashedWheelScheduledExecutorTest {
+
+    private HashedWheelScheduledExecutor executor;
+
+    @Before
+    public void setUp() {
+        // small wheel so that the tests also cover tasks spanning multiple wheel rounds
+        executor = new HashedWheelScheduledExecutor(Executors.newSingleThreadScheduledExecutor(),
+                Executors.newSingleThreadExecutor(), 5, TimeUnit.MILLISECONDS, 4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testTaskExecutedAfterDelay() throws Exception {
+        final long start = System.nanoTime();
+        final ScheduledFuture<Long> future = executor.schedule(new Callable<Long>() {
+            @Override
+            public Long call() {
+                return System.nanoTime();
+            }
+        }, 100, TimeUnit.MILLISECONDS);
+
+        final long executed = future.get(5, TimeUnit.SECONDS);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(executed - start) >= 100);
+        assertTrue(future.isDone());
+    }
+
+    @Test
+    public void testCancelledTaskNotExecuted() throws Exception {
+        final AtomicBoolean executed = new AtomicBoolean();
+        final ScheduledFuture<?> cancelled = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                executed.set(true);
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+        final ScheduledFuture<?> later = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, 150, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel(false));
+        later.get(5, TimeUnit.SECONDS);
+
+        assertTrue(cancelled.isCancelled());
+        assertFalse(executed.get());
+    }
+
+    @Test
+    public void testTasksExecutedInDeadlineOrder() throws Exception {
+        final List<Integer> order = new CopyOnWriteArrayList<>();
+        final int[] delays = {120, 30, 90, 60, 10};
+        final CountDownLatch latch = new CountDownLatch(delays.length);
+
+        for (final int delay : delays) {
+            executor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    order.add(delay);
+                    latch.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        final List<Integer> expected = new ArrayList<>();
+        for (final int delay : delays) {
+            expected.add(delay);
+        }
+        Collections.sort(expected);
+        assertEquals(expected, order);
+    }
+
+    @Test
+    public void testLongDelayNotOverflowing() throws Exception {
+        final AtomicBoolean executed = new AtomicBoolean();
+        final ScheduledFuture<?> future = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                executed.set(true);
+            }
+        }, Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+
+        assertTrue(future.getDelay(TimeUnit.DAYS) > 0);
+        Thread.sleep(50);
+        assertFalse(executed.get());
+        assertTrue(future.cancel(false));
+    }
+
+    @Test
+    public void testLongRunningTaskDoesNotBlockTicker() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+
+        Thread.sleep(50);
+
+        // the expired task is executed by the task executor, the underlying executor (running the ticker) is not blocked
+        final CountDownLatch executed = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                executed.countDown();
+            }
+        });
+        assertTrue(executed.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void testZeroDelayExecutedImmediately() throws Exception {
+        assertEquals("ok", executor.schedule(new Callable<String>() {
+            @Override
+            public String call() {
+                return "ok";
+            }
+        }, 0, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS));
+    }
+}
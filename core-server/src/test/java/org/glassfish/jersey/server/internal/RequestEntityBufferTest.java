@@ -0,0 +1,107 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link RequestEntityBuffer}.
+ */
+public class RequestEntityBufferTest {
+
+    private static ByteBuffer data(final String data) {
+        return ByteBuffer.wrap(data.getBytes());
+    }
+
+    private static String read(final InputStream stream) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = stream.read()) != -1) {
+            out.write(b);
+        }
+        return out.toString();
+    }
+
+    @Test
+    public void testComplete() throws Exception {
+        final RequestEntityBuffer buffer = new RequestEntityBuffer(10);
+        assertFalse(buffer.put(data("abc")));
+        assertFalse(buffer.put(data("def")));
+        assertEquals(6, buffer.getSize());
+        assertEquals("abcdef", read(buffer.complete()));
+    }
+
+    @Test
+    public void testPartial() throws Exception {
+        final RequestEntityBuffer buffer = new RequestEntityBuffer(4);
+        assertFalse(buffer.put(data("abc")));
+        assertTrue(buffer.put(data("def")));
+        assertTrue(buffer.isFull());
+        assertEquals("abcdefghi", read(buffer.partial(new ByteArrayInputStream("ghi".getBytes()))));
+    }
+
+    @Test
+    public void testFail() throws Exception {
+        final RequestEntityBuffer buffer = new RequestEntityBuffer(10);
+        buffer.put(data("abc"));
+        final InputStream stream = buffer.fail(new IllegalStateException());
+        try {
+            read(stream);
+            fail("IOException expected.");
+        } catch (final IOException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new RequestEntityBuffer(0);
+    }
+}
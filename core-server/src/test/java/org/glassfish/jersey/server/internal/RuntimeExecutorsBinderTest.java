@@ -43,6 +43,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
@@ -54,10 +55,13 @@ import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.RequestContextBuilder;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.spi.RuntimeThreadProvider;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test basic application behavior.
@@ -157,4 +161,25 @@ public class RuntimeExecutorsBinderTest {
         assertEquals(200, response.getStatus());
         assertEquals("Some executor test assertions failed.", 111, response.getEntity());
     }
+
+    @Test
+    public void testTimingWheelBackgroundScheduler() throws Exception {
+        ScheduledExecutorService scheduler = new ApplicationHandler(new ResourceConfig())
+                .getServiceLocator()
+                .getService(ScheduledExecutorService.class, new RuntimeExecutorsBinder.BackgroundSchedulerLiteral());
+        assertFalse(scheduler instanceof HashedWheelScheduledExecutor);
+
+        scheduler = new ApplicationHandler(new ResourceConfig()
+                .property(ServerProperties.BACKGROUND_SCHEDULER_TIMING_WHEEL_TICK, 10))
+                .getServiceLocator()
+                .getService(ScheduledExecutorService.class, new RuntimeExecutorsBinder.BackgroundSchedulerLiteral());
+        assertTrue(scheduler instanceof HashedWheelScheduledExecutor);
+
+        assertEquals("done", scheduler.schedule(new Producer<String>() {
+            @Override
+            public String call() {
+                return "done";
+            }
+        }, 20, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS));
+    }
 }
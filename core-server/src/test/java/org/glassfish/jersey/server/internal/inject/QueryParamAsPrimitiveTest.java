@@ -45,6 +45,7 @@ import java.util.concurrent.ExecutionException;
 
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
@@ -933,4 +934,20 @@ public class QueryParamAsPrimitiveTest extends AbstractTest {
 
         assertEquals(404, response.getStatus());
     }
+
+    @Path("/")
+    public static class ResourceQueryPrimitiveEmptyDefault {
+
+        @GET
+        @Produces("application/int")
+        public String doGet(@QueryParam("int") @DefaultValue("") int v) {
+            return Integer.toString(v);
+        }
+    }
+
+    @Test(expected = ProcessingException.class)
+    public void testEmptyPrimitiveDefaultValue() throws ExecutionException, InterruptedException {
+        initiateWebApplication(ResourceQueryPrimitiveEmptyDefault.class);
+        super.getResponseContext("/", "application/int");
+    }
 }
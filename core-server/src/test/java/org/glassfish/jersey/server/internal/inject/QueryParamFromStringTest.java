@@ -41,14 +41,18 @@
 package org.glassfish.jersey.server.internal.inject;
 
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.QueryParam;
 
+import org.glassfish.jersey.server.ContainerResponse;
+
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  *
@@ -120,4 +124,43 @@ public class QueryParamFromStringTest extends AbstractTest {
 
         _test("/empty/?arg1=");
     }
+
+    @Path("/")
+    public static class ResourceUuid {
+        @GET
+        public String doGet(@QueryParam("arg1") UUID uuid) {
+            assertEquals(UUID.fromString("123e4567-e89b-12d3-a456-426655440000"), uuid);
+            return "content";
+        }
+
+        @GET
+        @Path("empty")
+        public String doGetEmpty(@QueryParam("arg1") UUID uuid) {
+            assertNull(uuid);
+            return "content";
+        }
+    }
+
+    @Test
+    public void testUuidGet() throws ExecutionException, InterruptedException {
+        initiateWebApplication(ResourceUuid.class);
+
+        _test("/?arg1=123e4567-e89b-12d3-a456-426655440000");
+    }
+
+    @Test
+    public void testUuidFromEmptyStringGet() throws ExecutionException, InterruptedException {
+        initiateWebApplication(ResourceUuid.class);
+
+        _test("/empty/?arg1=");
+    }
+
+    @Test
+    public void testBadUuidValue() throws ExecutionException, InterruptedException {
+        initiateWebApplication(ResourceUuid.class);
+
+        final ContainerResponse response = getResponseContext("/?arg1=abcdef");
+
+        assertEquals(404, response.getStatus());
+    }
 }
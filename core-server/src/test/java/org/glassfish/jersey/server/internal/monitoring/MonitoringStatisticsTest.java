@@ -57,6 +57,7 @@ import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
+import org.glassfish.jersey.server.monitoring.ResourceMethodStageStatistics;
 import org.glassfish.jersey.server.monitoring.ResourceMethodStatistics;
 import org.glassfish.jersey.server.monitoring.ResourceStatistics;
 
@@ -242,6 +243,26 @@ public class MonitoringStatisticsTest {
         }
     }
 
+    @Test
+    public void testStageExecutions() {
+        final MonitoringStatisticsImpl.Builder statBuilder = getProgStats();
+
+        final Resource.Builder resourceBuilder = Resource.builder();
+        resourceBuilder.addMethod("GET").handledBy(MyInflector.class);
+        final ResourceMethod getMethod = resourceBuilder.build().getResourceMethods().get(0);
+
+        statBuilder.addExecution("/new/elefant", getMethod, 10, 5, 8, 12);
+        statBuilder.addStageExecutions(getMethod, 8, new long[] {1, 2, 3, 4, 5, 6});
+        statBuilder.addExecution("/new/elefant", getMethod, 20, 7, 18, 14);
+        statBuilder.addStageExecutions(getMethod, 18, new long[] {3, 4, 5, 6, 7, 8});
+
+        final ResourceMethodStageStatistics methodStatistics = (ResourceMethodStageStatistics) statBuilder.build()
+                .getUriStatistics().get("/new/elefant").getResourceMethodStatistics().values().iterator().next();
+
+        for (final ResourceMethodStageStatistics.Stage stage : ResourceMethodStageStatistics.Stage.values()) {
+            Assert.assertEquals(18, methodStatistics.getStageStatistics(stage).getLastStartTime().getTime());
+        }
+    }
 
     private void check(Iterator<Map.Entry<String, ResourceStatistics>> it,
                        String expectedUri, int expectedMethods) {
@@ -0,0 +1,154 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
+import org.glassfish.jersey.server.monitoring.MonitoringStatisticsListener;
+import org.glassfish.jersey.server.monitoring.ResourceMethodStageStatistics;
+import org.glassfish.jersey.server.monitoring.ResourceMethodStatistics;
+import org.glassfish.jersey.server.monitoring.ResourceStatistics;
+import org.glassfish.jersey.server.monitoring.TimeWindowStatistics;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the per-stage statistics of resource methods.
+ */
+public class StageStatisticsTest {
+
+    private static final long FILTER_DELAY = 50;
+
+    @Path("stages")
+    public static class StagesResource {
+
+        @POST
+        public String post(final String entity) {
+            return entity;
+        }
+    }
+
+    public static class SlowFilter implements ContainerRequestFilter {
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            try {
+                Thread.sleep(FILTER_DELAY);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public static class StatisticsListener implements MonitoringStatisticsListener {
+
+        private static volatile ResourceMethodStageStatistics statistics;
+        private static final CountDownLatch LATCH = new CountDownLatch(1);
+
+        @Override
+        public void onStatistics(final MonitoringStatistics monitoringStatistics) {
+            final ResourceStatistics resourceStatistics = monitoringStatistics.getUriStatistics().get("/stages");
+            if (resourceStatistics == null) {
+                return;
+            }
+            for (final ResourceMethodStatistics methodStatistics : resourceStatistics.getResourceMethodStatistics().values()) {
+                final ResourceMethodStageStatistics stageStatistics = (ResourceMethodStageStatistics) methodStatistics;
+                if (stageStatistics.getStageStatistics(ResourceMethodStageStatistics.Stage.METHOD)
+                        .getTimeWindowStatistics().get(0L).getRequestCount() > 0) {
+                    statistics = stageStatistics;
+                    LATCH.countDown();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStageStatistics() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(StagesResource.class, SlowFilter.class,
+                StatisticsListener.class)
+                .property(ServerProperties.MONITORING_STATISTICS_ENABLED, true)
+                .property(ServerProperties.MONITORING_STATISTICS_REFRESH_INTERVAL, 10));
+
+        // no container, start the monitoring statistics processing
+        final MonitoringContainerListener containerListener = handler.getServiceLocator()
+                .getService(MonitoringContainerListener.class);
+        containerListener.onStartup(null);
+
+        // statistics of the unlimited time window are available one second after the first request
+        for (int i = 0; i < 2; i++) {
+            final ContainerResponse response = handler.apply(RequestContextBuilder.from("/stages", "POST")
+                    .entity("entity").type(MediaType.TEXT_PLAIN_TYPE).build()).get();
+            assertEquals(200, response.getStatus());
+            Thread.sleep(1100);
+        }
+
+        assertTrue(StatisticsListener.LATCH.await(5, TimeUnit.SECONDS));
+        final long count = StatisticsListener.statistics.getRequestStatistics().getTimeWindowStatistics().get(0L)
+                .getRequestCount();
+        for (final ResourceMethodStageStatistics.Stage stage : ResourceMethodStageStatistics.Stage.values()) {
+            final TimeWindowStatistics total = StatisticsListener.statistics.getStageStatistics(stage)
+                    .getTimeWindowStatistics().get(0L);
+            assertEquals(stage.name(), count, total.getRequestCount());
+        }
+        // stage durations are measured in microseconds
+        assertTrue(StatisticsListener.statistics.getStageStatistics(ResourceMethodStageStatistics.Stage.REQUEST_FILTERS)
+                .getTimeWindowStatistics().get(0L).getMaximumDuration() >= TimeUnit.MILLISECONDS.toMicros(FILTER_DELAY));
+        // sub-millisecond stages are not truncated to zero
+        assertTrue(StatisticsListener.statistics.getStageStatistics(ResourceMethodStageStatistics.Stage.ROUTING)
+                .getTimeWindowStatistics().get(0L).getMaximumDuration() > 0);
+
+        containerListener.onShutdown(null);
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.model.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link ResourceModelSnapshot}.
+ */
+public class ResourceModelSnapshotTest {
+
+    @Path("a")
+    public static class ResourceA {
+
+        @GET
+        public String get(@QueryParam("q") final String q) {
+            return "a" + q;
+        }
+    }
+
+    @Path("b")
+    public static class ResourceB {
+
+        @GET
+        public String get() {
+            return "b";
+        }
+    }
+
+    private File snapshot;
+
+    @Before
+    public void setUp() throws Exception {
+        snapshot = File.createTempFile("resource-model-", ".snapshot");
+        assertTrue(snapshot.delete());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        snapshot.delete();
+    }
+
+    private static ResourceModel model(final Class<?>... classes) {
+        final ResourceModel.Builder builder = new ResourceModel.Builder(false);
+        for (final Class<?> c : classes) {
+            builder.addResource(Resource.from(c));
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put("foo", "bar");
+        final Iterable<Class<?>> components = Collections.<Class<?>>singleton(ResourceA.class);
+
+        final String fingerprint = ResourceModelSnapshot.fingerprint(model(ResourceA.class), components, properties);
+        assertEquals(fingerprint, ResourceModelSnapshot.fingerprint(model(ResourceA.class), components, properties));
+        assertNotEquals(fingerprint, ResourceModelSnapshot.fingerprint(model(ResourceA.class, ResourceB.class), components,
+                properties));
+        assertNotEquals(fingerprint, ResourceModelSnapshot.fingerprint(model(ResourceA.class), components,
+                Collections.<String, Object>singletonMap("foo", "baz")));
+    }
+
+    @Test
+    public void testFingerprintStableProperties() throws Exception {
+        final Iterable<Class<?>> components = Collections.<Class<?>>singleton(ResourceA.class);
+
+        // identity based toString() of the values must not change the fingerprint
+        assertEquals(
+                ResourceModelSnapshot.fingerprint(model(ResourceA.class), components,
+                        Collections.<String, Object>singletonMap("foo", new Object())),
+                ResourceModelSnapshot.fingerprint(model(ResourceA.class), components,
+                        Collections.<String, Object>singletonMap("foo", new Object())));
+        assertEquals(
+                ResourceModelSnapshot.fingerprint(model(ResourceA.class), components,
+                        Collections.<String, Object>singletonMap("foo", new Object[] {"a", 1, ResourceB.class})),
+                ResourceModelSnapshot.fingerprint(model(ResourceA.class), components,
+                        Collections.<String, Object>singletonMap("foo", new Object[] {"a", 1, ResourceB.class})));
+        assertNotEquals(
+                ResourceModelSnapshot.fingerprint(model(ResourceA.class), components,
+                        Collections.<String, Object>singletonMap("foo", ResourceA.class)),
+                ResourceModelSnapshot.fingerprint(model(ResourceA.class), components,
+                        Collections.<String, Object>singletonMap("foo", ResourceB.class)));
+    }
+
+    @Test
+    public void testFingerprintClassBytes() throws Exception {
+        final String resourceName = ResourceB.class.getName().replace('.', '/') + ".class";
+        final byte[] bytes;
+        try (InputStream in = ResourceB.class.getClassLoader().getResourceAsStream(resourceName)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            bytes = out.toByteArray();
+        }
+
+        final File original = File.createTempFile("resource-b-", ".class");
+        final File changed = File.createTempFile("resource-b-", ".class");
+        try {
+            Files.write(original.toPath(), bytes);
+            Files.write(changed.toPath(), Arrays.copyOf(bytes, bytes.length + 1));
+
+            final Map<String, Object> properties = Collections.emptyMap();
+            final String fingerprint = ResourceModelSnapshot.fingerprint(model(ResourceA.class),
+                    Collections.<Class<?>>singleton(defineClass(bytes, original.toURI().toURL())), properties);
+            assertEquals(fingerprint, ResourceModelSnapshot.fingerprint(model(ResourceA.class),
+                    Collections.<Class<?>>singleton(defineClass(bytes, original.toURI().toURL())), properties));
+            // same class name, different class file
+            assertNotEquals(fingerprint, ResourceModelSnapshot.fingerprint(model(ResourceA.class),
+                    Collections.<Class<?>>singleton(defineClass(bytes, changed.toURI().toURL())), properties));
+        } finally {
+            original.delete();
+            changed.delete();
+        }
+    }
+
+    /**
+     * Define {@link ResourceB} in a new class loader that reports the given URL as its class file resource.
+     */
+    private static Class<?> defineClass(final byte[] bytes, final URL classFile) throws Exception {
+        final String name = ResourceB.class.getName();
+        final String resourceName = name.replace('.', '/') + ".class";
+        return new ClassLoader(ResourceModelSnapshotTest.class.getClassLoader()) {
+
+            @Override
+            protected synchronized Class<?> loadClass(final String className, final boolean resolve)
+                    throws ClassNotFoundException {
+                if (name.equals(className)) {
+                    final Class<?> loaded = findLoadedClass(className);
+                    return loaded != null ? loaded : defineClass(className, bytes, 0, bytes.length);
+                }
+                return super.loadClass(className, resolve);
+            }
+
+            @Override
+            public URL getResource(final String resource) {
+                return resourceName.equals(resource) ? classFile : super.getResource(resource);
+            }
+        }.loadClass(name);
+    }
+
+    @Test
+    public void testStoreAndMatch() throws Exception {
+        assertFalse(ResourceModelSnapshot.matches(snapshot, "abc"));
+
+        ResourceModelSnapshot.store(snapshot, "abc");
+        assertTrue(ResourceModelSnapshot.matches(snapshot, "abc"));
+        assertFalse(ResourceModelSnapshot.matches(snapshot, "abd"));
+    }
+
+    @Test
+    public void testApplicationStoresSnapshot() throws Exception {
+        ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(ResourceA.class, ResourceB.class)
+                .property(ServerProperties.RESOURCE_MODEL_SNAPSHOT, snapshot.getPath()));
+        assertTrue(snapshot.isFile());
+        final long length = snapshot.length();
+
+        // Second start validates against the snapshot.
+        handler = new ApplicationHandler(new ResourceConfig(ResourceA.class, ResourceB.class)
+                .property(ServerProperties.RESOURCE_MODEL_SNAPSHOT, snapshot.getPath()));
+        assertEquals(length, snapshot.length());
+
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from("/a?q=x", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("ax", response.getEntity());
+    }
+}